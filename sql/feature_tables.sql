@@ -90,6 +90,8 @@ CREATE TABLE `sys_message` (
   PRIMARY KEY (`id`) USING BTREE,
   KEY `idx_message_type` (`message_type`) USING BTREE,
   KEY `idx_status` (`status`) USING BTREE,
+  KEY `idx_status_scheduled` (`status`,`scheduled_send_time`) USING BTREE COMMENT '定时发送草稿查询索引',
+  KEY `idx_expiry_time` (`expiry_time`) USING BTREE COMMENT '过期消息清理索引',
   KEY `idx_created_time` (`created_time`) USING BTREE
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci COMMENT='系统消息表';
 
@@ -35,7 +35,7 @@ CREATE TABLE `sys_user` (
   KEY `idx_status` (`status`) USING BTREE COMMENT '状态索引',
   KEY `idx_deleted_flag` (`deleted_flag`) USING BTREE COMMENT '逻辑删除标记索引',
   KEY `idx_dept_id` (`dept_id`) USING BTREE COMMENT '部门ID索引（用于按部门查询）',
-  KEY `idx_created_time` (`created_time`) USING BTREE COMMENT '创建时间索引（用于排序和筛选）'
+  KEY `idx_created_time_id` (`created_time`,`id`) USING BTREE COMMENT '创建时间索引（用于排序、筛选和游标分页）'
 ) ENGINE=InnoDB AUTO_INCREMENT=1 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_general_ci COMMENT='用户信息表';
 
 -- ----------------------------
@@ -140,16 +140,22 @@ INSERT INTO `sys_permission` (`id`, `permission_name`, `parent_id`, `permission_
 (2, '用户管理', 1, 2, 'system:user', 'user', 'system/user/index', 'user', 1, 0, 'system', 'system', '用户管理菜单'),
 (3, '角色管理', 1, 2, 'system:role', 'role', 'system/role/index', 'peoples', 2, 0, 'system', 'system', '角色管理菜单'),
 (4, '权限管理', 1, 2, 'system:permission', 'permission', 'system/permission/index', 'lock', 3, 0, 'system', 'system', '权限管理菜单'),
+(7, '消息管理', 1, 2, 'system:message', 'message', 'system/message/index', 'message', 4, 0, 'system', 'system', '消息管理菜单'),
 (101, '用户查询', 2, 3, 'system:user:list', NULL, NULL, NULL, 1, 0, 'system', 'system', '查询用户列表权限'),
 (102, '用户新增', 2, 3, 'system:user:add', NULL, NULL, NULL, 2, 0, 'system', 'system', '新增用户权限'),
 (103, '用户修改', 2, 3, 'system:user:edit', NULL, NULL, NULL, 3, 0, 'system', 'system', '修改用户权限'),
 (104, '用户删除', 2, 3, 'system:user:remove', NULL, NULL, NULL, 4, 0, 'system', 'system', '删除用户权限'),
 (105, '用户详情', 2, 3, 'system:user:detail', NULL, NULL, NULL, 5, 0, 'system', 'system', '查看用户详情权限'),
+(106, '用户导出', 2, 3, 'system:user:export', NULL, NULL, NULL, 6, 0, 'system', 'system', '导出用户权限'),
+(107, '在线会话', 2, 3, 'system:user:session', NULL, NULL, NULL, 7, 0, 'system', 'system', '查询在线会话权限'),
+(108, '分配角色', 2, 3, 'system:user:role', NULL, NULL, NULL, 8, 0, 'system', 'system', '分配用户角色权限'),
 (201, '角色查询', 3, 3, 'system:role:list', NULL, NULL, NULL, 1, 0, 'system', 'system', '查询角色列表权限'),
 (202, '角色新增', 3, 3, 'system:role:add', NULL, NULL, NULL, 2, 0, 'system', 'system', '新增角色权限'),
 (203, '角色修改', 3, 3, 'system:role:edit', NULL, NULL, NULL, 3, 0, 'system', 'system', '修改角色权限'),
 (204, '角色删除', 3, 3, 'system:role:remove', NULL, NULL, NULL, 4, 0, 'system', 'system', '删除角色权限'),
-(301, '权限查询', 4, 3, 'system:permission:list', NULL, NULL, NULL, 1, 0, 'system', 'system', '查询权限列表权限');
+(301, '权限查询', 4, 3, 'system:permission:list', NULL, NULL, NULL, 1, 0, 'system', 'system', '查询权限列表权限'),
+(701, '消息发送', 7, 3, 'system:message:send', NULL, NULL, NULL, 1, 0, 'system', 'system', '发送消息权限'),
+(702, '消息撤回', 7, 3, 'system:message:recall', NULL, NULL, NULL, 2, 0, 'system', 'system', '撤回消息权限');
 -- Content Management Module (Example)
 INSERT INTO `sys_permission` (`id`, `permission_name`, `parent_id`, `permission_type`, `permission_key`, `path`, `component`, `icon`, `sort_order`, `status`, `created_by`, `updated_by`, `remark`) VALUES
 (5, '内容管理', 0, 1, 'content', '/content', NULL, 'documentation', 2, 0, 'system', 'system', '内容管理顶级目录'),
@@ -173,10 +179,11 @@ INSERT INTO `sys_user_role` (`user_id`, `role_id`) VALUES
 -- DELETE FROM `sys_role_permission`;
 -- Super Admin (role_id=1) gets all permissions implicitly or explicitly listed
 INSERT INTO `sys_role_permission` (`role_id`, `permission_id`) VALUES
-(1, 1), (1, 2), (1, 3), (1, 4), (1, 5), (1, 6), 
-(1, 101), (1, 102), (1, 103), (1, 104), (1, 105),
+(1, 1), (1, 2), (1, 3), (1, 4), (1, 5), (1, 6), (1, 7), 
+(1, 101), (1, 102), (1, 103), (1, 104), (1, 105), (1, 106), (1, 107), (1, 108),
 (1, 201), (1, 202), (1, 203), (1, 204),
 (1, 301),
+(1, 701), (1, 702),
 (1, 401), (1, 402), (1, 403), (1, 404);
 -- Regular User (role_id=2) gets basic system view + user detail view
 INSERT INTO `sys_role_permission` (`role_id`, `permission_id`) VALUES
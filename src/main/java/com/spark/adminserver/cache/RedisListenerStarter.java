@@ -0,0 +1,48 @@
+package com.spark.adminserver.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * 启动 Redis 消息监听容器
+ * <p>
+ * 容器不随上下文自动启动（Redis 不可用时会导致应用启动失败），而是在应用就绪后由后台线程启动，
+ * 连接失败时按固定间隔重试，期间各节点依赖本地缓存过期保证最终一致。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisListenerStarter {
+
+    private static final long RETRY_INTERVAL_MILLIS = 5000;
+
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::startWithRetry, "redis-listener-starter");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void startWithRetry() {
+        while (!listenerContainer.isRunning()) {
+            try {
+                listenerContainer.start();
+                log.info("Redis 消息监听已启动");
+            } catch (Exception e) {
+                log.warn("Redis 消息监听启动失败，{}ms 后重试：{}", RETRY_INTERVAL_MILLIS, e.getMessage());
+                try {
+                    Thread.sleep(RETRY_INTERVAL_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.spark.adminserver.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 两级缓存：一级为进程内 Caffeine，二级为 Redis
+ * <p>
+ * 读取依次查询本地与 Redis，Redis 命中时回填本地；写入同时写两级。
+ * 清除时删除两级并通过 {@link TwoLevelCacheManager} 广播，其他节点收到后清除各自的本地缓存。
+ * Redis 不可用时降级为仅使用本地缓存，不影响业务读取。
+ * <p>
+ * 缓存键统一转为字符串，保证广播消息中的键与本地缓存键一致。不缓存 null。
+ * <p>
+ * sync 加载按键合并：同一键的并发未命中只回源一次，其余线程等待其结果；不同键的加载互不阻塞。
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    /**
+     * 清空时每批 SCAN / DEL 的键数
+     */
+    private static final int CLEAR_BATCH_SIZE = 500;
+
+    private final String name;
+    private final Class<?> valueType;
+    private final Cache<String, Object> localCache;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final TwoLevelCacheManager cacheManager;
+
+    /**
+     * 正在进行的 sync 加载，同一节点上同一键的并发未命中共享一次回源
+     */
+    private final ConcurrentMap<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    public TwoLevelCache(String name, Class<?> valueType, Cache<String, Object> localCache,
+                         RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper,
+                         Duration ttl, TwoLevelCacheManager cacheManager) {
+        super(false);
+        this.name = name;
+        this.valueType = valueType;
+        this.localCache = localCache;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = key.toString();
+        Object value = localCache.getIfPresent(cacheKey);
+        if (value != null) {
+            return value;
+        }
+        value = getRemote(cacheKey);
+        if (value != null) {
+            localCache.put(cacheKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = lookup(key);
+        if (value != null) {
+            return (T) value;
+        }
+        String cacheKey = key.toString();
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = loading.putIfAbsent(cacheKey, future);
+        if (existing != null) {
+            try {
+                return (T) existing.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+        try {
+            // 首次查询后可能已被其他节点或刚结束的加载写入
+            value = lookup(key);
+            if (value == null) {
+                value = valueLoader.call();
+                put(key, value);
+            }
+            future.complete(value);
+            return (T) value;
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            loading.remove(cacheKey, future);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        String cacheKey = key.toString();
+        try {
+            redisTemplate.opsForValue().set(redisKey(cacheKey), value, ttl.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            log.warn("写入 Redis 缓存失败：{}:{}, {}", name, cacheKey, e.getMessage());
+        }
+        localCache.put(cacheKey, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = key.toString();
+        try {
+            redisTemplate.delete(redisKey(cacheKey));
+        } catch (Exception e) {
+            log.warn("删除 Redis 缓存失败：{}:{}, {}", name, cacheKey, e.getMessage());
+        }
+        localCache.invalidate(cacheKey);
+        cacheManager.publishEvict(name, cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        // 使用 SCAN 分批删除，避免 KEYS 在大键空间上阻塞 Redis
+        ScanOptions options = ScanOptions.scanOptions().match(redisKey("*")).count(CLEAR_BATCH_SIZE).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            List<String> batch = new ArrayList<>(CLEAR_BATCH_SIZE);
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == CLEAR_BATCH_SIZE) {
+                    redisTemplate.delete(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                redisTemplate.delete(batch);
+            }
+        } catch (Exception e) {
+            log.warn("清空 Redis 缓存失败：{}, {}", name, e.getMessage());
+        }
+        localCache.invalidateAll();
+        cacheManager.publishEvict(name, null);
+    }
+
+    /**
+     * 仅清除本地缓存，收到其他节点的清除广播时调用
+     *
+     * @param key 缓存键，为 null 时清空
+     */
+    void evictLocal(String key) {
+        if (key == null) {
+            localCache.invalidateAll();
+        } else {
+            localCache.invalidate(key);
+        }
+    }
+
+    private Object getRemote(String cacheKey) {
+        try {
+            Object cached = redisTemplate.opsForValue().get(redisKey(cacheKey));
+            if (cached == null || valueType.isInstance(cached)) {
+                return cached;
+            }
+            return objectMapper.convertValue(cached, valueType);
+        } catch (Exception e) {
+            log.warn("读取 Redis 缓存失败：{}:{}, {}", name, cacheKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private String redisKey(String cacheKey) {
+        return TwoLevelCacheManager.KEY_PREFIX + name + ":" + cacheKey;
+    }
+}
@@ -0,0 +1,122 @@
+package com.spark.adminserver.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 两级缓存管理器
+ * <p>
+ * 缓存需预先通过 {@link #addCache} 声明名称、值类型与各级过期时间。
+ * 任一节点清除缓存时向 {@link #EVICT_CHANNEL} 发布消息，所有节点（跳过自身）据此清除本地缓存。
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager, MessageListener {
+
+    /**
+     * Redis 缓存键前缀
+     */
+    public static final String KEY_PREFIX = "cache:";
+
+    /**
+     * 缓存清除广播频道
+     */
+    public static final String EVICT_CHANNEL = "cache:evict";
+
+    /**
+     * 广播消息字段分隔符，消息格式：节点ID|缓存名|缓存键（缓存键为空表示清空）
+     */
+    private static final String SEPARATOR = "|";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    public TwoLevelCacheManager(RedisTemplate<String, Object> redisTemplate, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 声明缓存
+     *
+     * @param name          缓存名
+     * @param valueType     缓存值类型，Redis 读取结果按此类型转换
+     * @param ttl           Redis 过期时间
+     * @param localTtl      本地缓存过期时间（兜底丢失广播的情况，应明显短于 ttl）
+     * @param localMaxSize  本地缓存最大条目数
+     * @return 当前管理器
+     */
+    public TwoLevelCacheManager addCache(String name, Class<?> valueType, Duration ttl, Duration localTtl, long localMaxSize) {
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, name);
+        caches.put(name, new TwoLevelCache(name, valueType, localCache, redisTemplate, objectMapper, ttl, this));
+        return this;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.get(name);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    /**
+     * 广播缓存清除
+     *
+     * @param name 缓存名
+     * @param key  缓存键，为 null 时表示清空
+     */
+    void publishEvict(String name, String key) {
+        try {
+            byte[] body = (nodeId + SEPARATOR + name + SEPARATOR + (key != null ? key : "")).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.publish(EVICT_CHANNEL.getBytes(StandardCharsets.UTF_8), body));
+        } catch (Exception e) {
+            // 广播失败时其他节点依赖本地缓存过期
+            log.warn("广播缓存清除失败：{}:{}, {}", name, key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\|", 3);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.evictLocal(parts[2].isEmpty() ? null : parts[2]);
+            log.debug("收到缓存清除广播：{}:{}", parts[1], parts[2]);
+        }
+    }
+}
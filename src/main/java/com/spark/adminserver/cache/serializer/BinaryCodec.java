@@ -0,0 +1,42 @@
+package com.spark.adminserver.cache.serializer;
+
+/**
+ * 单个类型的二进制编解码器
+ * <p>
+ * 字段只允许在末尾追加（同时递增版本号），新代码读取旧版本数据时缺少的字段为 null。
+ * 旧代码不读取新版本数据：{@link CompactRedisSerializer} 遇到高于当前版本的数据按缓存未命中返回 null，
+ * 因为嵌套编码（如 {@link LoginUserCodec} 中的用户）追加的字段并不位于整条数据末尾，无法安全跳过。
+ * 被嵌套的编解码器递增版本时，外层编解码器也必须递增版本。
+ *
+ * @param <T> 值类型
+ */
+public interface BinaryCodec<T> {
+
+    /**
+     * 类型标识，写入数据头，不可变更或复用
+     */
+    int typeId();
+
+    /**
+     * 当前编码版本
+     */
+    int version();
+
+    /**
+     * 值类型
+     */
+    Class<T> type();
+
+    /**
+     * 编码
+     */
+    void write(T value, BinaryOutput output);
+
+    /**
+     * 解码
+     *
+     * @param input   输入
+     * @param version 数据的编码版本
+     */
+    T read(BinaryInput input, int version);
+}
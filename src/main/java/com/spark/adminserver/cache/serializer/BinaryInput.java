@@ -0,0 +1,92 @@
+package com.spark.adminserver.cache.serializer;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * 紧凑二进制读取，与 {@link BinaryOutput} 对应
+ */
+public class BinaryInput {
+
+    private final byte[] buffer;
+    private int position;
+
+    public BinaryInput(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    public int readByte() {
+        ensureAvailable(1);
+        return buffer[position++] & 0xFF;
+    }
+
+    public long readVarLong() {
+        long zigzag = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            zigzag |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return (zigzag >>> 1) ^ -(zigzag & 1);
+            }
+        }
+        throw new SerializationException("无效的变长整数");
+    }
+
+    public int readVarInt() {
+        return (int) readVarLong();
+    }
+
+    public String readString() {
+        int length = readVarInt();
+        ensureAvailable(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public LocalDateTime readDateTime() {
+        long epochSecond = readVarLong();
+        int nano = readVarInt();
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    public List<String> readStringList() {
+        return readStrings(ArrayList::new);
+    }
+
+    public Set<String> readStringSet() {
+        return readStrings(size -> new HashSet<>(size * 4 / 3 + 1));
+    }
+
+    /**
+     * 判断位图中第 index 个字段是否非空
+     */
+    public static boolean present(int mask, int index) {
+        return (mask & (1 << index)) != 0;
+    }
+
+    private <C extends Collection<String>> C readStrings(IntFunction<C> factory) {
+        int size = readVarInt();
+        C values = factory.apply(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString());
+        }
+        return values;
+    }
+
+    private void ensureAvailable(int length) {
+        if (length < 0 || position + length > buffer.length) {
+            throw new SerializationException("二进制数据不完整");
+        }
+    }
+}
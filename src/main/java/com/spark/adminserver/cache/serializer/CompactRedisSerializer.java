@@ -0,0 +1,94 @@
+package com.spark.adminserver.cache.serializer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 紧凑二进制 Redis 值序列化器
+ * <p>
+ * 已注册编解码器的类型编码为：魔数（1 字节）+ 类型标识（1 字节）+ 版本（1 字节）+ 二进制内容；
+ * 其他类型交给 JSON 序列化器。读取时按魔数区分两种格式（JSON 的首字节不可能是该魔数），
+ * 因此切换格式或滚动发布期间新旧数据可以共存。
+ * <p>
+ * 数据版本高于当前编解码器或类型未知时（例如新版本节点写入、旧版本节点读取），按未命中返回 null。
+ */
+@Slf4j
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    /**
+     * 二进制格式魔数（UTF-8 中的续字节，不会出现在 JSON 文本开头）
+     */
+    static final int MAGIC = 0xB1;
+
+    private static final int HEADER_LENGTH = 3;
+
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    private final RedisSerializer<Object> fallback;
+
+    private final boolean binaryEnabled;
+
+    private final Map<Class<?>, BinaryCodec<?>> codecsByType = new HashMap<>();
+
+    private final BinaryCodec<?>[] codecsById = new BinaryCodec<?>[256];
+
+    /**
+     * @param fallback      未注册类型使用的序列化器
+     * @param binaryEnabled 是否以二进制格式写入；为 false 时全部写为 JSON，但仍可读取二进制数据
+     * @param codecs        编解码器
+     */
+    public CompactRedisSerializer(RedisSerializer<Object> fallback, boolean binaryEnabled, List<BinaryCodec<?>> codecs) {
+        this.fallback = fallback;
+        this.binaryEnabled = binaryEnabled;
+        for (BinaryCodec<?> codec : codecs) {
+            if (codecsById[codec.typeId()] != null) {
+                throw new IllegalArgumentException("重复的类型标识: " + codec.typeId());
+            }
+            codecsById[codec.typeId()] = codec;
+            codecsByType.put(codec.type(), codec);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        BinaryCodec<Object> codec = binaryEnabled ? (BinaryCodec<Object>) codecsByType.get(value.getClass()) : null;
+        if (codec == null) {
+            return fallback.serialize(value);
+        }
+        BinaryOutput output = new BinaryOutput(INITIAL_BUFFER_SIZE);
+        output.writeByte(MAGIC);
+        output.writeByte(codec.typeId());
+        output.writeByte(codec.version());
+        codec.write(value, output);
+        return output.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if ((bytes[0] & 0xFF) != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_LENGTH) {
+            throw new SerializationException("二进制数据头不完整");
+        }
+        BinaryCodec<?> codec = codecsById[bytes[1] & 0xFF];
+        int version = bytes[2] & 0xFF;
+        if (codec == null || version > codec.version()) {
+            log.debug("忽略无法识别的缓存数据：type={}, version={}", bytes[1] & 0xFF, version);
+            return null;
+        }
+        return codec.read(new BinaryInput(bytes, HEADER_LENGTH), version);
+    }
+}
@@ -0,0 +1,58 @@
+package com.spark.adminserver.cache.serializer;
+
+import com.spark.adminserver.security.entity.LoginUser;
+
+import static com.spark.adminserver.cache.serializer.BinaryInput.present;
+
+/**
+ * {@link LoginUser} 编解码：只保存用户、权限标识与角色标识，不保存由权限派生的 GrantedAuthority
+ */
+public class LoginUserCodec implements BinaryCodec<LoginUser> {
+
+    public static final LoginUserCodec INSTANCE = new LoginUserCodec();
+
+    @Override
+    public int typeId() {
+        return 2;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<LoginUser> type() {
+        return LoginUser.class;
+    }
+
+    @Override
+    public void write(LoginUser loginUser, BinaryOutput output) {
+        output.writeVarInt(BinaryOutput.presence(loginUser.getUser(), loginUser.getPermissions(), loginUser.getRoles()));
+        if (loginUser.getUser() != null) {
+            UserCodec.INSTANCE.write(loginUser.getUser(), output);
+        }
+        if (loginUser.getPermissions() != null) {
+            output.writeStrings(loginUser.getPermissions());
+        }
+        if (loginUser.getRoles() != null) {
+            output.writeStrings(loginUser.getRoles());
+        }
+    }
+
+    @Override
+    public LoginUser read(BinaryInput input, int version) {
+        int mask = input.readVarInt();
+        LoginUser loginUser = new LoginUser();
+        if (present(mask, 0)) {
+            loginUser.setUser(UserCodec.INSTANCE.read(input, UserCodec.INSTANCE.version()));
+        }
+        if (present(mask, 1)) {
+            loginUser.setPermissions(input.readStringSet());
+        }
+        if (present(mask, 2)) {
+            loginUser.setRoles(input.readStringList());
+        }
+        return loginUser;
+    }
+}
@@ -0,0 +1,34 @@
+package com.spark.adminserver.cache.serializer;
+
+/**
+ * {@link String} 编解码（如验证码）
+ */
+public class StringCodec implements BinaryCodec<String> {
+
+    public static final StringCodec INSTANCE = new StringCodec();
+
+    @Override
+    public int typeId() {
+        return 4;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<String> type() {
+        return String.class;
+    }
+
+    @Override
+    public void write(String value, BinaryOutput output) {
+        output.writeString(value);
+    }
+
+    @Override
+    public String read(BinaryInput input, int version) {
+        return input.readString();
+    }
+}
@@ -0,0 +1,102 @@
+package com.spark.adminserver.cache.serializer;
+
+import com.spark.adminserver.model.entity.User;
+
+import static com.spark.adminserver.cache.serializer.BinaryInput.present;
+
+/**
+ * {@link User} 编解码
+ */
+public class UserCodec implements BinaryCodec<User> {
+
+    public static final UserCodec INSTANCE = new UserCodec();
+
+    @Override
+    public int typeId() {
+        return 1;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<User> type() {
+        return User.class;
+    }
+
+    @Override
+    public void write(User user, BinaryOutput output) {
+        output.writeVarInt(BinaryOutput.presence(user.getUserId(), user.getUsername(), user.getPassword(),
+                user.getNickname(), user.getEmail(), user.getPhone(), user.getStatus(),
+                user.getCreateTime(), user.getUpdateTime(), user.getDeleted()));
+        if (user.getUserId() != null) {
+            output.writeVarLong(user.getUserId());
+        }
+        if (user.getUsername() != null) {
+            output.writeString(user.getUsername());
+        }
+        if (user.getPassword() != null) {
+            output.writeString(user.getPassword());
+        }
+        if (user.getNickname() != null) {
+            output.writeString(user.getNickname());
+        }
+        if (user.getEmail() != null) {
+            output.writeString(user.getEmail());
+        }
+        if (user.getPhone() != null) {
+            output.writeString(user.getPhone());
+        }
+        if (user.getStatus() != null) {
+            output.writeVarInt(user.getStatus());
+        }
+        if (user.getCreateTime() != null) {
+            output.writeDateTime(user.getCreateTime());
+        }
+        if (user.getUpdateTime() != null) {
+            output.writeDateTime(user.getUpdateTime());
+        }
+        if (user.getDeleted() != null) {
+            output.writeVarInt(user.getDeleted());
+        }
+    }
+
+    @Override
+    public User read(BinaryInput input, int version) {
+        int mask = input.readVarInt();
+        User user = new User();
+        if (present(mask, 0)) {
+            user.setUserId(input.readVarLong());
+        }
+        if (present(mask, 1)) {
+            user.setUsername(input.readString());
+        }
+        if (present(mask, 2)) {
+            user.setPassword(input.readString());
+        }
+        if (present(mask, 3)) {
+            user.setNickname(input.readString());
+        }
+        if (present(mask, 4)) {
+            user.setEmail(input.readString());
+        }
+        if (present(mask, 5)) {
+            user.setPhone(input.readString());
+        }
+        if (present(mask, 6)) {
+            user.setStatus(input.readVarInt());
+        }
+        if (present(mask, 7)) {
+            user.setCreateTime(input.readDateTime());
+        }
+        if (present(mask, 8)) {
+            user.setUpdateTime(input.readDateTime());
+        }
+        if (present(mask, 9)) {
+            user.setDeleted(input.readVarInt());
+        }
+        return user;
+    }
+}
@@ -0,0 +1,113 @@
+package com.spark.adminserver.cache.serializer;
+
+import com.spark.adminserver.model.vo.UserVO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.spark.adminserver.cache.serializer.BinaryInput.present;
+
+/**
+ * {@link UserVO} 编解码
+ */
+public class UserVOCodec implements BinaryCodec<UserVO> {
+
+    public static final UserVOCodec INSTANCE = new UserVOCodec();
+
+    @Override
+    public int typeId() {
+        return 3;
+    }
+
+    @Override
+    public int version() {
+        return 1;
+    }
+
+    @Override
+    public Class<UserVO> type() {
+        return UserVO.class;
+    }
+
+    @Override
+    public void write(UserVO user, BinaryOutput output) {
+        output.writeVarInt(BinaryOutput.presence(user.getUserId(), user.getUsername(), user.getNickname(),
+                user.getEmail(), user.getPhone(), user.getStatus(), user.getCreateTime(), user.getUpdateTime(),
+                user.getRoleIds(), user.getRoleNames()));
+        if (user.getUserId() != null) {
+            output.writeVarLong(user.getUserId());
+        }
+        if (user.getUsername() != null) {
+            output.writeString(user.getUsername());
+        }
+        if (user.getNickname() != null) {
+            output.writeString(user.getNickname());
+        }
+        if (user.getEmail() != null) {
+            output.writeString(user.getEmail());
+        }
+        if (user.getPhone() != null) {
+            output.writeString(user.getPhone());
+        }
+        if (user.getStatus() != null) {
+            output.writeVarInt(user.getStatus());
+        }
+        if (user.getCreateTime() != null) {
+            output.writeDateTime(user.getCreateTime());
+        }
+        if (user.getUpdateTime() != null) {
+            output.writeDateTime(user.getUpdateTime());
+        }
+        if (user.getRoleIds() != null) {
+            output.writeVarInt(user.getRoleIds().size());
+            for (Long roleId : user.getRoleIds()) {
+                output.writeVarLong(roleId);
+            }
+        }
+        if (user.getRoleNames() != null) {
+            output.writeStrings(user.getRoleNames());
+        }
+    }
+
+    @Override
+    public UserVO read(BinaryInput input, int version) {
+        int mask = input.readVarInt();
+        UserVO user = new UserVO();
+        if (present(mask, 0)) {
+            user.setUserId(input.readVarLong());
+        }
+        if (present(mask, 1)) {
+            user.setUsername(input.readString());
+        }
+        if (present(mask, 2)) {
+            user.setNickname(input.readString());
+        }
+        if (present(mask, 3)) {
+            user.setEmail(input.readString());
+        }
+        if (present(mask, 4)) {
+            user.setPhone(input.readString());
+        }
+        if (present(mask, 5)) {
+            user.setStatus(input.readVarInt());
+        }
+        if (present(mask, 6)) {
+            user.setCreateTime(input.readDateTime());
+        }
+        if (present(mask, 7)) {
+            user.setUpdateTime(input.readDateTime());
+        }
+        if (present(mask, 8)) {
+            int size = input.readVarInt();
+            List<Long> roleIds = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                roleIds.add(input.readVarLong());
+            }
+            user.setRoleIds(roleIds);
+        }
+        if (present(mask, 9)) {
+            user.setRoleNames(input.readStringList());
+        }
+        return user;
+    }
+}
@@ -1,9 +1,15 @@
 package com.spark.adminserver.common;
 
+import com.spark.adminserver.common.exception.AuthException;
 import com.spark.adminserver.common.exception.BusinessException;
+import com.spark.adminserver.common.exception.CaptchaException;
+import com.spark.adminserver.common.exception.ServiceException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.HttpRequestMethodNotSupportedException;
@@ -31,6 +37,53 @@ public class GlobalExceptionHandler {
         return Result.fail(e.getCode(), e.getMessage());
     }
 
+    /**
+     * 处理验证码异常
+     */
+    @ExceptionHandler(CaptchaException.class)
+    public Result<?> handleCaptchaException(CaptchaException e) {
+        log.warn("验证码异常: code={}, message={}", e.getCode(), e.getMessage());
+        return Result.fail(e.getCode(), e.getMessage());
+    }
+
+    /**
+     * 处理认证异常
+     */
+    @ExceptionHandler(AuthException.class)
+    public Result<?> handleAuthException(AuthException e) {
+        log.warn("认证异常: code={}, message={}", e.getCode(), e.getMessage());
+        return Result.fail(e.getCode(), e.getMessage());
+    }
+
+    /**
+     * 处理服务异常
+     * <p>
+     * 503（过载拒绝）返回真实的 HTTP 503 并带 Retry-After，便于负载均衡与客户端退避重试
+     */
+    @ExceptionHandler(ServiceException.class)
+    public ResponseEntity<Result<?>> handleServiceException(ServiceException e) {
+        // getCode() 为 Integer，需拆箱，否则会匹配到 fail(T data, String msg)
+        int code = e.getCode();
+        if (code == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            log.warn("服务繁忙: message={}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(Result.fail(code, e.getMessage()));
+        }
+        log.error("服务异常: code={}, message={}", code, e.getMessage());
+        return ResponseEntity.ok(Result.fail(code, e.getMessage()));
+    }
+
+    /**
+     * 处理 @PreAuthorize 权限校验失败的异常
+     */
+    @ExceptionHandler(AccessDeniedException.class)
+    @ResponseStatus(HttpStatus.FORBIDDEN)
+    public Result<?> handleAccessDeniedException(AccessDeniedException e) {
+        log.warn("权限不足: {}", e.getMessage());
+        return Result.fail(HttpStatus.FORBIDDEN.value(), "没有访问权限");
+    }
+
     /**
      * 处理业务参数异常 (如 Service 层直接抛出的 IllegalArgumentException)
      * 通常建议封装为 BusinessException 抛出，但保留此处理作为兼容
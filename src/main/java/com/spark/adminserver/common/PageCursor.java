@@ -0,0 +1,60 @@
+package com.spark.adminserver.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 游标分页位置
+ * <p>
+ * 记录上一页最后一条记录的排序键（创建时间 + ID），对外编码为不透明的 Base64 字符串。
+ * 创建时间可以为空（倒序排序时排在最后），编码为空字符串。
+ */
+@Getter
+@AllArgsConstructor
+public final class PageCursor {
+
+    private static final char SEPARATOR = ',';
+
+    /**
+     * 创建时间，可以为 null
+     */
+    private final LocalDateTime createTime;
+
+    private final Long id;
+
+    /**
+     * 编码为游标字符串
+     *
+     * @return 游标字符串
+     */
+    public String encode() {
+        String raw = (createTime != null ? createTime.toString() : "") + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解析游标字符串
+     *
+     * @param cursor 游标字符串
+     * @return 游标位置
+     * @throws IllegalArgumentException 游标格式不正确
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            if (index < 0) {
+                throw new IllegalArgumentException("无效的分页游标");
+            }
+            LocalDateTime createTime = index == 0 ? null : LocalDateTime.parse(raw.substring(0, index));
+            return new PageCursor(createTime, Long.valueOf(raw.substring(index + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.spark.adminserver.common;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -13,18 +14,34 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class PageResult<T> implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     /**
-     * 总记录数
+     * 总记录数（未统计时为 null）
      */
-    private long total;
+    private Long total;
 
     /**
      * 当前页数据列表
      */
     private List<T> list;
 
-} 
\ No newline at end of file
+    /**
+     * 下一页游标（仅游标分页返回，没有下一页时为 null）
+     */
+    private String nextCursor;
+
+    /**
+     * 是否还有下一页（仅游标分页返回）
+     */
+    private Boolean hasMore;
+
+    public PageResult(Long total, List<T> list) {
+        this.total = total;
+        this.list = list;
+    }
+
+}
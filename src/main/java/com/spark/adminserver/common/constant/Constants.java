@@ -16,22 +16,82 @@ public class Constants {
     public static final int CAPTCHA_EXPIRATION = 5;
     
     /**
-     * 是否启用验证码
+     * 二进制验证码接口返回验证码ID的响应头
      */
-    public static final boolean CAPTCHA_ENABLED = true;
+    public static final String CAPTCHA_ID_HEADER = "Captcha-Id";
     
     /**
      * 登录用户 Redis Key 前缀
      */
     public static final String LOGIN_USER_KEY = "login:user:";
-    
+
     /**
-     * 令牌有效期（毫秒）
+     * 在线会话索引 Redis Key（有序集合，成员为用户ID，分值为登录时间）
      */
-    public static final long TOKEN_EXPIRATION = 30 * 60 * 1000L;
-    
+    public static final String LOGIN_SESSION_KEY = "login:sessions";
+
+    /**
+     * 令牌吊销时间 Redis Key 前缀（值为吊销时间，登录时间不晚于该时间的令牌失效）
+     */
+    public static final String LOGIN_REVOKED_KEY = "login:revoked:";
+
+    /**
+     * 访问令牌中的登录时间声明（毫秒，与在线会话索引中的分值一致）
+     */
+    public static final String TOKEN_LOGIN_TIME_CLAIM = "login_time";
+
+    /**
+     * 用户详情缓存名（按用户ID缓存 UserVO）
+     */
+    public static final String USER_CACHE = "user";
+
+    /**
+     * 用户名缓存名（按用户名缓存 User，用于登录认证）
+     */
+    public static final String USER_BY_USERNAME_CACHE = "user:username";
+
+    /**
+     * 有效广播消息索引 Redis Key（有序集合，成员为消息ID，分值为过期时间戳）
+     */
+    public static final String MESSAGE_BROADCAST_KEY = "message:broadcast";
+
+    /**
+     * 广播消息索引已加载标记 Redis Key（过期后从数据库重建索引）
+     */
+    public static final String MESSAGE_BROADCAST_LOADED_KEY = "message:broadcast:loaded";
+
+    /**
+     * 用户未读私信数 Redis Key 前缀
+     */
+    public static final String MESSAGE_UNREAD_KEY = "message:unread:";
+
+    /**
+     * 用户已读广播消息 Redis Key 前缀（有序集合，成员为消息ID，分值为过期时间戳）
+     */
+    public static final String MESSAGE_READ_KEY = "message:read:";
+
+    /**
+     * 定时消息发送租约 Redis Key 前缀（按消息ID，持有租约的节点负责发送）
+     */
+    public static final String MESSAGE_DISPATCH_LEASE_KEY = "message:dispatch:";
+
+    /**
+     * 过期消息清理租约 Redis Key（每个清理周期只由一个节点执行）
+     */
+    public static final String MESSAGE_PURGE_LEASE_KEY = "message:purge";
+
+    /**
+     * 登录限流计数 Redis Key 前缀（login:limit:{ip|user}:{key}:{窗口序号}）
+     */
+    public static final String LOGIN_LIMIT_KEY = "login:limit:";
+
+    /**
+     * 近期社交绑定变化 Redis Key（有序集合，成员为 provider|openId，分值为提交时间），各节点定期读取补齐布隆过滤器
+     */
+    public static final String SOCIAL_BINDING_RECENT_KEY = "social:binding:recent";
+
     /**
-     * 令牌有效期（秒）
+     * 近期用户变化 Redis Key（有序集合，成员为用户ID，分值为提交时间），各节点定期读取补齐搜索索引
      */
-    public static final int TOKEN_EXPIRATION_SECONDS = 30 * 60;
+    public static final String USER_SEARCH_RECENT_KEY = "user:search:recent";
 } 
\ No newline at end of file
@@ -1,11 +1,17 @@
 package com.spark.adminserver.config;
 
+import com.spark.adminserver.security.password.BCryptStrengthCalibrator;
+import com.spark.adminserver.security.password.PooledPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Duration;
+
 /**
  * 全局Bean配置类
  */
@@ -14,10 +20,44 @@ public class BeanConfig {
     
     /**
      * 密码编码器
+     * <p>
+     * BCrypt 计算在独立的有界线程池中执行，不占用请求线程；强度为 0 时按目标耗时在启动时校准。
+     * 存量密码强度低于当前强度时，登录成功后自动重新加密。
+     * <p>
+     * 排队中的请求仍占用一个 Tomcat 线程，队列容量为 0 时取以下两者的较小值：
+     * 超时时间内线程池能完成的哈希数（更多的排队只会在超时后失败），以及 Tomcat 最大线程数的 1/4，
+     * 保证登录高峰时至少 3/4 的请求线程留给其他接口。
      */
     @Bean
     @Primary
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${security.password.strength:0}") int strength,
+                                           @Value("${security.password.target-hash-time:250ms}") Duration targetHashTime,
+                                           @Value("${security.password.threads:0}") int threads,
+                                           @Value("${security.password.queue-capacity:0}") int queueCapacity,
+                                           @Value("${security.password.timeout:1s}") Duration timeout,
+                                           @Value("${server.tomcat.threads.max:200}") int tomcatMaxThreads,
+                                           MeterRegistry meterRegistry) {
+        int bcryptStrength = strength > 0 ? strength : BCryptStrengthCalibrator.calibrate(targetHashTime);
+        int poolThreads = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int poolQueueCapacity = queueCapacity > 0 ? queueCapacity
+                : passwordQueueCapacity(poolThreads, timeout, targetHashTime, tomcatMaxThreads);
+        return new PooledPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), poolThreads, poolQueueCapacity,
+                timeout, meterRegistry);
+    }
+
+    /**
+     * 推导密码哈希等待队列容量
+     *
+     * @param poolThreads      哈希线程数
+     * @param timeout          排队与计算的最长等待时间
+     * @param targetHashTime   单次哈希的目标耗时
+     * @param tomcatMaxThreads Tomcat 最大请求线程数
+     * @return 队列容量，至少为 1
+     */
+    static int passwordQueueCapacity(int poolThreads, Duration timeout, Duration targetHashTime,
+                                     int tomcatMaxThreads) {
+        long hashesPerThread = Math.max(1, timeout.toMillis() / Math.max(1, targetHashTime.toMillis()));
+        long completableInTimeout = poolThreads * hashesPerThread;
+        return (int) Math.max(1, Math.min(completableInTimeout, tomcatMaxThreads / 4));
     }
-} 
\ No newline at end of file
+}
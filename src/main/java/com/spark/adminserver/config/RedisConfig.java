@@ -1,13 +1,38 @@
 package com.spark.adminserver.config;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spark.adminserver.cache.TwoLevelCacheManager;
+import com.spark.adminserver.cache.serializer.CompactRedisSerializer;
+import com.spark.adminserver.cache.serializer.LoginUserCodec;
+import com.spark.adminserver.cache.serializer.StringCodec;
+import com.spark.adminserver.cache.serializer.UserCodec;
+import com.spark.adminserver.cache.serializer.UserVOCodec;
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.model.vo.UserVO;
+import com.spark.adminserver.push.UnreadCountPusher;
+import com.spark.adminserver.search.UserSearchIndex;
+import com.spark.adminserver.security.cache.LoginUserCache;
+import com.spark.adminserver.security.cache.SocialBindingCache;
+import com.spark.adminserver.security.permission.PermissionResolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
+import java.util.List;
+
 /**
  * Redis配置类
  */
@@ -19,7 +44,8 @@ public class RedisConfig {
      * 配置RedisTemplate
      */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory) {
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory factory,
+                                                       @Value("${redis.serializer.binary-enabled:true}") boolean binaryEnabled) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(factory);
         
@@ -27,37 +53,68 @@ public class RedisConfig {
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
         
-        // 使用Jackson2JsonRedisSerializer来序列化和反序列化redis的value值
-        template.setValueSerializer(new Jackson2JsonRedisSerializer<>(Object.class));
-        template.setHashValueSerializer(new Jackson2JsonRedisSerializer<>(Object.class));
+        // 登录用户、用户缓存与验证码使用紧凑二进制格式，其他值使用Jackson2JsonRedisSerializer
+        Jackson2JsonRedisSerializer<Object> jsonSerializer = new Jackson2JsonRedisSerializer<>(redisObjectMapper(), Object.class);
+        CompactRedisSerializer valueSerializer = new CompactRedisSerializer(jsonSerializer, binaryEnabled, List.of(
+                UserCodec.INSTANCE, LoginUserCodec.INSTANCE, UserVOCodec.INSTANCE, StringCodec.INSTANCE));
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
         
         template.afterPropertiesSet();
         return template;
     }
 
-    // 如果需要配置 Spring Cache Manager 使用 Redis，可以在这里添加 CacheManager 的 Bean
-    // 例如：
-    /*
-    @Bean
-    public CacheManager cacheManager(RedisConnectionFactory factory) {
-        // ... (Ensure ObjectMapper is configured and passed to Jackson2JsonRedisSerializer constructor here too)
+    /**
+     * Redis 值序列化使用的 ObjectMapper
+     * 支持 LocalDateTime 等 Java 8 时间类型，并忽略未知字段，保证缓存对象可以被回读
+     */
+    private ObjectMapper redisObjectMapper() {
         ObjectMapper om = new ObjectMapper();
-        om.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY);
-        om.activateDefaultTyping(LaissezFaireSubTypeValidator.instance, ObjectMapper.DefaultTyping.NON_FINAL);
-
-        Jackson2JsonRedisSerializer<Object> jackson2JsonRedisSerializer = new Jackson2JsonRedisSerializer<>(om, Object.class);
-        RedisSerializer<String> redisSerializer = new StringRedisSerializer();
+        om.registerModule(new JavaTimeModule());
+        om.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        om.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return om;
+    }
 
-        // 配置 CacheConfiguration
-        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofDays(1)) // 默认缓存时间
-                .serializeKeysWith(RedisSerializationContext.SerializationPair.fromSerializer(redisSerializer))
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(jackson2JsonRedisSerializer))
-                .disableCachingNullValues(); // 不缓存空值
+    /**
+     * Spring Cache 管理器：本地 Caffeine + Redis 两级缓存，各缓存单独配置过期时间
+     */
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisTemplate<String, Object> redisTemplate,
+                                             ObjectMapper objectMapper,
+                                             MeterRegistry meterRegistry,
+                                             @Value("${cache.user.ttl:30m}") Duration userTtl,
+                                             @Value("${cache.user.local-ttl:60s}") Duration userLocalTtl,
+                                             @Value("${cache.user.local-max-size:10000}") long userLocalMaxSize) {
+        return new TwoLevelCacheManager(redisTemplate, objectMapper, meterRegistry)
+                .addCache(Constants.USER_CACHE, UserVO.class, userTtl, userLocalTtl, userLocalMaxSize)
+                .addCache(Constants.USER_BY_USERNAME_CACHE, User.class, userTtl, userLocalTtl, userLocalMaxSize);
+    }
 
-        return RedisCacheManager.builder(factory)
-                .cacheDefaults(config)
-                .build();
+    /**
+     * Redis 消息监听容器：订阅缓存清除、登录用户清除、未读数变化、社交绑定变化、搜索索引更新与权限刷新广播，由 RedisListenerStarter 在应用就绪后启动
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory factory,
+                                                                       TwoLevelCacheManager cacheManager,
+                                                                       LoginUserCache loginUserCache,
+                                                                       UnreadCountPusher unreadCountPusher,
+                                                                       SocialBindingCache socialBindingCache,
+                                                                       UserSearchIndex userSearchIndex,
+                                                                       PermissionResolver permissionResolver) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer() {
+            @Override
+            public boolean isAutoStartup() {
+                return false;
+            }
+        };
+        container.setConnectionFactory(factory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.EVICT_CHANNEL));
+        container.addMessageListener(loginUserCache, new ChannelTopic(LoginUserCache.EVICT_CHANNEL));
+        container.addMessageListener(unreadCountPusher, new ChannelTopic(UnreadCountPusher.UNREAD_CHANNEL));
+        container.addMessageListener(socialBindingCache, new ChannelTopic(SocialBindingCache.BINDING_CHANNEL));
+        container.addMessageListener(userSearchIndex, new ChannelTopic(UserSearchIndex.INDEX_CHANNEL));
+        container.addMessageListener(permissionResolver, new ChannelTopic(PermissionResolver.REFRESH_CHANNEL));
+        return container;
     }
-    */
-}
\ No newline at end of file
+}
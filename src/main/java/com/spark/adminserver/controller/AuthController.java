@@ -1,17 +1,27 @@
 package com.spark.adminserver.controller;
 
+import com.spark.adminserver.common.PageResult;
 import com.spark.adminserver.common.Result;
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.log.Log;
 import com.spark.adminserver.model.dto.LoginDTO;
+import com.spark.adminserver.model.vo.CaptchaImageVO;
 import com.spark.adminserver.model.vo.CaptchaVO;
+import com.spark.adminserver.model.vo.OnlineSessionVO;
 import com.spark.adminserver.model.vo.TokenVO;
 import com.spark.adminserver.model.vo.UserInfoVO;
 import com.spark.adminserver.service.IAuthService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -34,6 +44,19 @@ public class AuthController {
         return Result.ok(captchaVO, "获取成功");
     }
     
+    @Operation(summary = "获取图形验证码（二进制图片）", description = "直接返回 PNG/GIF 图片字节，验证码ID通过 Captcha-Id 响应头返回，校验方式与 JSON 接口一致")
+    @ApiResponse(responseCode = "200", description = "成功", content = {@Content(mediaType = "image/png"), @Content(mediaType = "image/gif")})
+    @GetMapping("/captcha/image")
+    public ResponseEntity<byte[]> getCaptchaImage() {
+        CaptchaImageVO captcha = authService.generateCaptchaImage();
+        return ResponseEntity.ok()
+                .header(Constants.CAPTCHA_ID_HEADER, captcha.getCaptchaId())
+                .cacheControl(CacheControl.noStore())
+                .contentType(MediaType.parseMediaType(captcha.getContentType()))
+                .contentLength(captcha.getImage().length)
+                .body(captcha.getImage());
+    }
+    
     @Operation(summary = "用户登录", description = "使用用户名/邮箱/手机号和密码进行登录，获取身份认证Token")
     @ApiResponse(responseCode = "200", description = "登录成功", content = @Content(mediaType = "application/json", schema = @Schema(implementation = TokenVO.class)))
     @ApiResponse(responseCode = "400", description = "参数校验失败")
@@ -46,12 +69,26 @@ public class AuthController {
     
     @Operation(summary = "用户登出", description = "退出登录，使当前用户的Token失效")
     @ApiResponse(responseCode = "200", description = "登出成功")
+    @Log(module = "auth", type = "登出", description = "用户登出")
     @PostMapping("/logout")
     public Result<Void> logout() {
         authService.logout();
         return Result.ok(null, "登出成功");
     }
     
+    @Operation(summary = "分页查询在线会话", description = "按登录时间倒序列出未过期的登录会话")
+    @ApiResponse(responseCode = "200", description = "成功", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageResult.class)))
+    @PreAuthorize("@ss.hasPermission('system:user:session')")
+    @GetMapping("/sessions")
+    public Result<PageResult<OnlineSessionVO>> listOnlineSessions(
+            @Parameter(description = "当前页码") @RequestParam(defaultValue = "1") int pageNum,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "10") int pageSize) {
+        if (pageNum < 1 || pageSize < 1 || pageSize > 500) {
+            throw new IllegalArgumentException("分页参数无效");
+        }
+        return Result.ok(authService.listOnlineSessions(pageNum, pageSize));
+    }
+    
     @Operation(summary = "获取当前登录用户信息", description = "获取当前已认证用户的基本信息、角色和权限")
     @ApiResponse(responseCode = "200", description = "成功", content = @Content(mediaType = "application/json", schema = @Schema(implementation = UserInfoVO.class)))
     @ApiResponse(responseCode = "401", description = "未登录")
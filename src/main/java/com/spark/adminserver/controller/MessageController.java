@@ -0,0 +1,110 @@
+package com.spark.adminserver.controller;
+
+import com.spark.adminserver.common.PageResult;
+import com.spark.adminserver.common.Result;
+import com.spark.adminserver.log.Log;
+import com.spark.adminserver.model.dto.MessageDTO;
+import com.spark.adminserver.model.vo.MessageVO;
+import com.spark.adminserver.service.IMessageService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 消息接口
+ */
+@Tag(name = "MessageController", description = "站内消息")
+@RestController
+@RequestMapping("/api/v1/messages")
+@RequiredArgsConstructor
+public class MessageController {
+
+    private final IMessageService messageService;
+
+    @Operation(summary = "发送消息", description = "公告、通知发送给所有用户，私信只发送给指定接收者；定时发送时间晚于当前时间时到期后发送")
+    @ApiResponse(responseCode = "200", description = "发送成功", content = @Content(schema = @Schema(type = "long", example = "1")))
+    @ApiResponse(responseCode = "400", description = "参数校验失败")
+    @PreAuthorize("@ss.hasPermission('system:message:send')")
+    @Log(module = "message", type = "新增", description = "发送消息")
+    @PostMapping
+    public Result<Long> sendMessage(@Validated @RequestBody MessageDTO messageDTO) {
+        return Result.ok(messageService.sendMessage(messageDTO), "消息发送成功");
+    }
+
+    @Operation(summary = "撤回消息", description = "撤回已发送的消息，所有用户的收件箱与未读数中不再包含该消息")
+    @ApiResponse(responseCode = "200", description = "撤回成功")
+    @ApiResponse(responseCode = "400", description = "消息不存在或未发送")
+    @PreAuthorize("@ss.hasPermission('system:message:recall')")
+    @Log(module = "message", type = "修改", description = "撤回消息")
+    @PutMapping("/{id}/recall")
+    public Result<Void> recallMessage(
+            @Parameter(description = "消息ID", required = true, example = "1") @PathVariable Long id) {
+        messageService.recallMessage(id);
+        return Result.ok(null, "消息撤回成功");
+    }
+
+    @Operation(summary = "查询收件箱", description = "按发送时间倒序列出当前用户的消息（不含内容），使用返回的 nextCursor 获取下一页")
+    @ApiResponse(responseCode = "200", description = "成功", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageResult.class)))
+    @GetMapping("/inbox")
+    public Result<PageResult<MessageVO>> getInbox(
+            @Parameter(description = "游标（上一页返回的 nextCursor）") @RequestParam(required = false) String cursor,
+            @Parameter(description = "每页数量") @RequestParam(defaultValue = "20") int pageSize) {
+        if (pageSize < 1 || pageSize > 100) {
+            throw new IllegalArgumentException("分页参数无效");
+        }
+        return Result.ok(messageService.getInbox(cursor, pageSize));
+    }
+
+    @Operation(summary = "获取未读消息数", description = "获取当前用户的未读消息数")
+    @ApiResponse(responseCode = "200", description = "成功", content = @Content(schema = @Schema(type = "long", example = "3")))
+    @GetMapping("/unread-count")
+    public Result<Long> getUnreadCount() {
+        return Result.ok(messageService.getUnreadCount());
+    }
+
+    @Operation(summary = "订阅未读数推送", description = "Server-Sent Events 长连接，连接建立后及未读数变化时推送 unread-count 事件；"
+            + "浏览器 EventSource 无法设置请求头时可通过 access_token 参数传递令牌（仅限此接口；URL 中的令牌可能被代理访问日志记录）")
+    @ApiResponse(responseCode = "200", description = "事件流", content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE))
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeUnreadCount() {
+        return messageService.subscribeUnreadCount();
+    }
+
+    @Operation(summary = "获取消息详情", description = "获取消息内容并标记为已读")
+    @ApiResponse(responseCode = "200", description = "成功", content = @Content(schema = @Schema(implementation = MessageVO.class)))
+    @ApiResponse(responseCode = "400", description = "消息不存在")
+    @GetMapping("/{id}")
+    public Result<MessageVO> getMessage(
+            @Parameter(description = "消息ID", required = true, example = "1") @PathVariable Long id) {
+        return Result.ok(messageService.getMessage(id));
+    }
+
+    @Operation(summary = "标记已读", description = "将当前用户的指定消息标记为已读")
+    @ApiResponse(responseCode = "200", description = "成功")
+    @ApiResponse(responseCode = "400", description = "消息不存在")
+    @PutMapping("/{id}/read")
+    public Result<Void> markRead(
+            @Parameter(description = "消息ID", required = true, example = "1") @PathVariable Long id) {
+        messageService.markRead(id);
+        return Result.ok(null, "已标记为已读");
+    }
+
+    @Operation(summary = "删除消息", description = "从当前用户的收件箱删除消息，不影响其他用户")
+    @ApiResponse(responseCode = "200", description = "删除成功")
+    @ApiResponse(responseCode = "400", description = "消息不存在")
+    @DeleteMapping("/{id}")
+    public Result<Void> deleteMessage(
+            @Parameter(description = "消息ID", required = true, example = "1") @PathVariable Long id) {
+        messageService.deleteMessage(id);
+        return Result.ok(null, "消息删除成功");
+    }
+}
@@ -2,9 +2,13 @@ package com.spark.adminserver.controller;
 
 import com.spark.adminserver.common.PageResult;
 import com.spark.adminserver.common.Result;
+import com.spark.adminserver.log.Log;
 import com.spark.adminserver.model.dto.UserDTO;
 import com.spark.adminserver.model.dto.UserPageQueryDTO;
+import com.spark.adminserver.model.vo.UserImportResultVO;
 import com.spark.adminserver.model.vo.UserVO;
+import com.spark.adminserver.service.IUserExportService;
+import com.spark.adminserver.service.IUserImportService;
 import com.spark.adminserver.service.IUserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,8 +18,22 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * 用户管理接口
@@ -27,9 +45,12 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final IUserService userService;
+    private final IUserImportService userImportService;
+    private final IUserExportService userExportService;
 
-    @Operation(summary = "分页查询用户列表", description = "根据条件分页获取用户列表信息")
+    @Operation(summary = "分页查询用户列表", description = "根据条件分页获取用户列表信息；pageMode=cursor 时按游标翻页，使用返回的 nextCursor 获取下一页")
     @ApiResponse(responseCode = "200", description = "成功", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageResult.class)))
+    @PreAuthorize("@ss.hasPermission('system:user:list')")
     @GetMapping("/page")
     public Result<PageResult<UserVO>> getUserPage(@Validated UserPageQueryDTO queryDTO) {
         PageResult<UserVO> userPage = userService.getUserPage(queryDTO);
@@ -39,6 +60,7 @@ public class UserController {
     @Operation(summary = "根据ID获取用户信息", description = "获取指定ID的用户详细信息")
     @ApiResponse(responseCode = "200", description = "成功", content = @Content(schema = @Schema(implementation = UserVO.class)))
     @ApiResponse(responseCode = "404", description = "用户不存在")
+    @PreAuthorize("@ss.hasPermission('system:user:detail')")
     @GetMapping("/{id}")
     public Result<UserVO> getUserById(
             @Parameter(description = "用户ID", required = true, example = "1") @PathVariable Long id) {
@@ -52,16 +74,63 @@ public class UserController {
     @Operation(summary = "新增用户", description = "创建一个新用户")
     @ApiResponse(responseCode = "200", description = "创建成功", content = @Content(schema = @Schema(type = "long", example = "1")))
     @ApiResponse(responseCode = "400", description = "参数校验失败或业务逻辑错误 (如用户名已存在)")
+    @ApiResponse(responseCode = "403", description = "携带 roleIds 但没有 system:user:role 权限，或无权分配其中的角色")
+    @PreAuthorize("@ss.hasPermission('system:user:add')")
+    @Log(module = "user", type = "新增", description = "新增用户")
     @PostMapping
     public Result<Long> createUser(@Validated @RequestBody UserDTO userDTO) {
         Long userId = userService.createUser(userDTO);
         return Result.ok(userId, "用户创建成功");
     }
 
+    @Operation(summary = "批量导入用户", description = "流式导入 CSV（表头 username,password,nickname,email,phone,roleIds，roleIds 以 | 分隔）或 JSON（数组或每行一个对象）文件，返回逐行错误与吞吐量")
+    @Parameters({
+            @Parameter(name = "file", description = "导入文件", required = true),
+            @Parameter(name = "format", description = "文件格式，不传时按文件扩展名判断", schema = @Schema(type = "string", allowableValues = {"csv", "json"}))
+    })
+    @ApiResponse(responseCode = "200", description = "导入完成", content = @Content(schema = @Schema(implementation = UserImportResultVO.class)))
+    @PreAuthorize("@ss.hasPermission('system:user:add')")
+    @Log(module = "user", type = "导入", description = "批量导入用户")
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public Result<UserImportResultVO> importUsers(@RequestParam("file") MultipartFile file,
+                                                  @RequestParam(value = "format", required = false) String format) throws IOException {
+        String importFormat = format;
+        if (importFormat == null) {
+            String filename = file.getOriginalFilename() != null ? file.getOriginalFilename().toLowerCase(Locale.ROOT) : "";
+            importFormat = filename.endsWith(".json") || filename.endsWith(".ndjson")
+                    ? IUserImportService.FORMAT_JSON : IUserImportService.FORMAT_CSV;
+        }
+        try (InputStream inputStream = file.getInputStream()) {
+            return Result.ok(userImportService.importUsers(inputStream, importFormat));
+        }
+    }
+
+    @Operation(summary = "导出用户", description = "按查询条件流式导出全部用户（分页参数不生效），返回 gzip 压缩的 CSV 或 NDJSON（每行一个 JSON 对象）文件")
+    @Parameter(name = "format", description = "导出格式", schema = @Schema(type = "string", allowableValues = {"csv", "ndjson"}, defaultValue = "csv"))
+    @ApiResponse(responseCode = "200", description = "导出文件", content = @Content(mediaType = "application/gzip"))
+    @PreAuthorize("@ss.hasPermission('system:user:export')")
+    @Log(module = "user", type = "导出", description = "导出用户", saveResult = false)
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@Validated UserPageQueryDTO queryDTO,
+                                                             @RequestParam(value = "format", defaultValue = IUserExportService.FORMAT_CSV) String format) {
+        if (!IUserExportService.FORMAT_CSV.equals(format) && !IUserExportService.FORMAT_NDJSON.equals(format)) {
+            throw new IllegalArgumentException("导出格式只能是 csv 或 ndjson");
+        }
+        String filename = "users-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss")) + "." + format + ".gz";
+        StreamingResponseBody body = outputStream -> userExportService.exportUsers(queryDTO, format, outputStream);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .body(body);
+    }
+
     @Operation(summary = "修改用户信息", description = "更新指定ID的用户信息")
     @ApiResponse(responseCode = "200", description = "更新成功")
     @ApiResponse(responseCode = "400", description = "参数校验失败或业务逻辑错误 (如用户名已存在)")
+    @ApiResponse(responseCode = "403", description = "携带 roleIds 但没有 system:user:role 权限，或无权分配其中的角色")
     @ApiResponse(responseCode = "404", description = "用户不存在")
+    @PreAuthorize("@ss.hasPermission('system:user:edit')")
+    @Log(module = "user", type = "修改", description = "修改用户信息")
     @PutMapping("/{id}")
     public Result<Void> updateUser(
             @Parameter(description = "用户ID", required = true, example = "1") @PathVariable Long id,
@@ -73,6 +142,8 @@ public class UserController {
     @Operation(summary = "删除用户", description = "逻辑删除指定ID的用户")
     @ApiResponse(responseCode = "200", description = "删除成功")
     @ApiResponse(responseCode = "404", description = "用户不存在")
+    @PreAuthorize("@ss.hasPermission('system:user:remove')")
+    @Log(module = "user", type = "删除", description = "删除用户")
     @DeleteMapping("/{id}")
     public Result<Void> deleteUser(
             @Parameter(description = "用户ID", required = true, example = "1") @PathVariable Long id) {
@@ -88,6 +159,8 @@ public class UserController {
     @ApiResponse(responseCode = "200", description = "状态更新成功")
     @ApiResponse(responseCode = "400", description = "无效的状态值")
     @ApiResponse(responseCode = "404", description = "用户不存在")
+    @PreAuthorize("@ss.hasPermission('system:user:edit')")
+    @Log(module = "user", type = "修改", description = "修改用户状态")
     @PutMapping("/{id}/status")
     public Result<Void> updateUserStatus(@PathVariable Long id, @RequestParam Integer status) {
         userService.updateUserStatus(id, status);
@@ -102,13 +175,27 @@ public class UserController {
     @ApiResponse(responseCode = "200", description = "密码重置成功")
     @ApiResponse(responseCode = "400", description = "新密码不能为空")
     @ApiResponse(responseCode = "404", description = "用户不存在")
+    @PreAuthorize("@ss.hasPermission('system:user:edit')")
+    @Log(module = "user", type = "修改", description = "重置用户密码")
     @PutMapping("/{id}/reset-password")
     public Result<Void> resetPassword(@PathVariable Long id, @RequestParam String newPassword) {
         userService.resetPassword(id, newPassword);
         return Result.ok(null, "密码重置成功");
     }
 
-    // TODO: 添加用户分配角色接口
-    // @PutMapping("/{id}/roles")
+    @Operation(summary = "分配用户角色", description = "覆盖指定ID用户的角色")
+    @ApiResponse(responseCode = "200", description = "角色分配成功")
+    @ApiResponse(responseCode = "400", description = "角色不存在")
+    @ApiResponse(responseCode = "403", description = "无权分配角色（角色的权限超出当前用户的权限）")
+    @ApiResponse(responseCode = "404", description = "用户不存在")
+    @PreAuthorize("@ss.hasPermission('system:user:role')")
+    @Log(module = "user", type = "授权", description = "分配用户角色")
+    @PutMapping("/{id}/roles")
+    public Result<Void> updateUserRoles(
+            @Parameter(description = "用户ID", required = true, example = "1") @PathVariable Long id,
+            @RequestBody List<Long> roleIds) {
+        userService.updateUserRoles(id, roleIds);
+        return Result.ok(null, "角色分配成功");
+    }
 
 } 
\ No newline at end of file
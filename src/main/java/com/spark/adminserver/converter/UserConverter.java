@@ -2,10 +2,14 @@ package com.spark.adminserver.converter;
 
 import com.spark.adminserver.model.dto.UserDTO;
 import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.model.vo.UserRoleVO;
 import com.spark.adminserver.model.vo.UserVO;
 import org.mapstruct.*;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 用户对象转换器
@@ -16,6 +20,8 @@ public interface UserConverter {
     /**
      * User 转换为 UserVO
      */
+    @Mapping(target = "roleIds", ignore = true) // 角色信息由 fillRoles 批量填充
+    @Mapping(target = "roleNames", ignore = true)
     UserVO userToUserVO(User user);
 
     /**
@@ -41,4 +47,27 @@ public interface UserConverter {
     @Mapping(target = "createTime", ignore = true) // 创建时间不应通过DTO更新
     @Mapping(target = "updateTime", ignore = true) // 更新时间由MybatisPlus自动处理
     void updateUserFromDTO(UserDTO userDTO, @MappingTarget User user);
-} 
\ No newline at end of file
+
+    /**
+     * 将批量查询到的用户角色合并到 UserVO 列表
+     * @param userVOs 用户视图对象列表
+     * @param userRoles 用户角色关联列表
+     */
+    default void fillRoles(List<UserVO> userVOs, List<UserRoleVO> userRoles) {
+        Map<Long, List<UserRoleVO>> rolesByUser = new HashMap<>();
+        for (UserRoleVO userRole : userRoles) {
+            rolesByUser.computeIfAbsent(userRole.getUserId(), id -> new ArrayList<>()).add(userRole);
+        }
+        for (UserVO userVO : userVOs) {
+            List<UserRoleVO> roles = rolesByUser.getOrDefault(userVO.getUserId(), List.of());
+            List<Long> roleIds = new ArrayList<>(roles.size());
+            List<String> roleNames = new ArrayList<>(roles.size());
+            for (UserRoleVO role : roles) {
+                roleIds.add(role.getRoleId());
+                roleNames.add(role.getRoleName());
+            }
+            userVO.setRoleIds(roleIds);
+            userVO.setRoleNames(roleNames);
+        }
+    }
+}
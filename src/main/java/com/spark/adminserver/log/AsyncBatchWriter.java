@@ -0,0 +1,202 @@
+package com.spark.adminserver.log;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 异步批量写入器
+ * <p>
+ * 调用方只向有界队列投递记录，从不等待写库；后台线程在攒满一批或距本批第一条记录超过刷新间隔时批量写入。
+ * 队列已满时按溢出策略丢弃记录并计数。写入失败的批次记录日志后丢弃，不重试，避免故障期间积压。
+ *
+ * @param <T> 记录类型
+ */
+@Slf4j
+public class AsyncBatchWriter<T> {
+
+    /**
+     * 队列已满时的溢出策略
+     */
+    public enum OverflowPolicy {
+        /**
+         * 丢弃新记录
+         */
+        DISCARD,
+        /**
+         * 丢弃队列中最早的记录，保留新记录
+         */
+        DISCARD_OLDEST;
+
+        /**
+         * 解析配置值（discard / discard-oldest）
+         */
+        public static OverflowPolicy of(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private final String name;
+    private final BlockingQueue<T> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final OverflowPolicy overflowPolicy;
+    private final Consumer<List<T>> flusher;
+    private final Thread worker;
+
+    private final Timer flushTimer;
+    private final Counter writtenCounter;
+    private final Counter droppedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param name           名称，用于线程名与指标标签
+     * @param capacity       队列容量
+     * @param batchSize      每批最大记录数
+     * @param flushInterval  刷新间隔
+     * @param overflowPolicy 溢出策略
+     * @param flusher        批量写入
+     * @param meterRegistry  指标注册
+     */
+    public AsyncBatchWriter(String name, int capacity, int batchSize, Duration flushInterval,
+                            OverflowPolicy overflowPolicy, Consumer<List<T>> flusher, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.overflowPolicy = overflowPolicy;
+        this.flusher = flusher;
+
+        Gauge.builder("log.writer.queue", queue, BlockingQueue::size)
+                .description("等待写入的日志数")
+                .tag("writer", name)
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("log.writer.flush")
+                .description("日志批量写入耗时")
+                .tag("writer", name)
+                .register(meterRegistry);
+        this.writtenCounter = counter(meterRegistry, "written");
+        this.droppedCounter = counter(meterRegistry, "dropped");
+        this.failedCounter = counter(meterRegistry, "failed");
+
+        this.worker = new Thread(this::run, name + "-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 投递记录，不阻塞
+     *
+     * @param record 记录
+     * @return 是否入队（被丢弃时返回 false）
+     */
+    public boolean submit(T record) {
+        if (queue.offer(record)) {
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.DISCARD_OLDEST) {
+            // 并发投递时可能多次失败，最多重试一次，不自旋
+            if (queue.poll() != null) {
+                droppedCounter.increment();
+            }
+            if (queue.offer(record)) {
+                return true;
+            }
+        }
+        droppedCounter.increment();
+        return false;
+    }
+
+    /**
+     * 当前队列长度
+     */
+    public int queueSize() {
+        return queue.size();
+    }
+
+    /**
+     * 停止后台线程并写入队列中剩余的记录
+     */
+    public void shutdown() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<T> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (int i = 0; i < remaining.size(); i += batchSize) {
+            flush(remaining.subList(i, Math.min(i + batchSize, remaining.size())));
+        }
+    }
+
+    private void run() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                T first = queue.poll(flushIntervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushIntervalNanos;
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                // shutdown 时中断，剩余记录由 shutdown 写入
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    private void flush(List<T> batch) {
+        long start = System.nanoTime();
+        try {
+            flusher.accept(batch);
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            failedCounter.increment(batch.size());
+            log.warn("{} 批量写入失败，丢弃 {} 条：{}", name, batch.size(), e.getMessage());
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("log.writer.records")
+                .description("日志写入记录数")
+                .tag("writer", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,43 @@
+package com.spark.adminserver.log;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 操作日志注解
+ * <p>
+ * 标注在 Controller 方法上，由 {@link OperationLogAspect} 记录到 sys_operation_log。
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Log {
+
+    /**
+     * 操作模块，同时作为采样率配置键（operation-log.sampling.{module}）
+     */
+    String module();
+
+    /**
+     * 操作类型（如 新增、修改、删除）
+     */
+    String type();
+
+    /**
+     * 操作描述
+     */
+    String description() default "";
+
+    /**
+     * 是否记录请求参数
+     */
+    boolean saveParams() default true;
+
+    /**
+     * 是否记录返回结果
+     */
+    boolean saveResult() default true;
+}
@@ -0,0 +1,91 @@
+package com.spark.adminserver.log;
+
+import com.spark.adminserver.mapper.LoginLogMapper;
+import com.spark.adminserver.model.entity.LoginLog;
+import com.spark.adminserver.util.IpUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 登录日志记录
+ * <p>
+ * 登录请求线程只采集请求信息并投递到队列，由后台线程以多行 INSERT 批量写入 sys_login_log，登录响应不等待写库。
+ */
+@Component
+public class LoginLogWriter {
+
+    /**
+     * 登录成功
+     */
+    public static final int STATUS_SUCCESS = 0;
+
+    /**
+     * 登录失败
+     */
+    public static final int STATUS_FAIL = 1;
+
+    private static final int MAX_MESSAGE_LENGTH = 255;
+    private static final int MAX_USERNAME_LENGTH = 64;
+    private static final int MAX_IP_LENGTH = 50;
+
+    private final boolean enabled;
+
+    private final AsyncBatchWriter<LoginLog> writer;
+
+    public LoginLogWriter(LoginLogMapper loginLogMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${login-log.enabled:true}") boolean enabled,
+                          @Value("${login-log.queue-capacity:10000}") int queueCapacity,
+                          @Value("${login-log.batch-size:200}") int batchSize,
+                          @Value("${login-log.flush-interval:1s}") Duration flushInterval,
+                          @Value("${login-log.overflow-policy:discard}") String overflowPolicy) {
+        this.enabled = enabled;
+        this.writer = new AsyncBatchWriter<>("login-log", queueCapacity, batchSize, flushInterval,
+                AsyncBatchWriter.OverflowPolicy.of(overflowPolicy), loginLogMapper::insertBatch, meterRegistry);
+    }
+
+    /**
+     * 记录登录日志（从当前请求中获取 IP 与 User-Agent）
+     *
+     * @param username 登录账号
+     * @param status   登录状态
+     * @param message  提示消息
+     */
+    public void record(String username, int status, String message) {
+        if (!enabled) {
+            return;
+        }
+        LoginLog loginLog = new LoginLog();
+        loginLog.setUsername(truncate(username, MAX_USERNAME_LENGTH));
+        loginLog.setStatus(status);
+        loginLog.setMessage(truncate(message, MAX_MESSAGE_LENGTH));
+        loginLog.setLoginTime(LocalDateTime.now());
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            HttpServletRequest request = servletAttributes.getRequest();
+            String userAgent = request.getHeader("User-Agent");
+            loginLog.setIpAddress(truncate(IpUtil.getIpAddress(request), MAX_IP_LENGTH));
+            loginLog.setBrowser(IpUtil.getBrowser(userAgent));
+            loginLog.setOs(IpUtil.getOs(userAgent));
+        }
+        writer.submit(loginLog);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+}
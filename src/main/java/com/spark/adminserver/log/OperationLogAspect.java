@@ -0,0 +1,319 @@
+package com.spark.adminserver.log;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.spark.adminserver.common.Result;
+import com.spark.adminserver.model.entity.OperationLog;
+import com.spark.adminserver.security.entity.LoginUser;
+import com.spark.adminserver.util.IpUtil;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 操作日志切面
+ * <p>
+ * 记录 {@link Log} 标注的 Controller 方法的耗时、操作人、请求参数与返回结果，投递给 {@link OperationLogWriter} 异步写库。
+ * <ul>
+ *     <li>采样：按模块配置采样率（operation-log.sampling.{module}，默认 operation-log.sampling.default），
+ *     未命中采样的成功请求不做任何序列化；失败请求始终记录</li>
+ *     <li>脱敏：参数名或属性名包含 password / token / secret 的值替换为 ******</li>
+ *     <li>截断：请求参数与返回结果最多保留 operation-log.max-payload-length 个字符，超出部分在序列化时直接丢弃，不生成完整字符串</li>
+ * </ul>
+ */
+@Slf4j
+@Aspect
+@Component
+public class OperationLogAspect {
+
+    /**
+     * 操作成功
+     */
+    public static final int STATUS_SUCCESS = 0;
+
+    /**
+     * 操作失败
+     */
+    public static final int STATUS_FAIL = 1;
+
+    static final String MASK = "******";
+
+    private static final String TRUNCATED_SUFFIX = "...(truncated)";
+    private static final List<String> SENSITIVE_KEYWORDS = List.of("password", "token", "secret");
+    private static final int MAX_DESCRIPTION_LENGTH = 255;
+    private static final int MAX_URL_LENGTH = 255;
+    private static final int MAX_USERNAME_LENGTH = 64;
+    private static final int MAX_IP_LENGTH = 50;
+
+    private final OperationLogWriter operationLogWriter;
+    private final ObjectWriter payloadWriter;
+    private final Environment environment;
+    private final boolean enabled;
+    private final int maxPayloadLength;
+    private final double defaultSampleRate;
+
+    private final Map<String, Double> sampleRates = new ConcurrentHashMap<>();
+
+    public OperationLogAspect(OperationLogWriter operationLogWriter,
+                              ObjectMapper objectMapper,
+                              Environment environment,
+                              @Value("${operation-log.enabled:true}") boolean enabled,
+                              @Value("${operation-log.max-payload-length:2000}") int maxPayloadLength,
+                              @Value("${operation-log.sampling.default:1.0}") double defaultSampleRate) {
+        this.operationLogWriter = operationLogWriter;
+        this.environment = environment;
+        this.enabled = enabled;
+        this.maxPayloadLength = maxPayloadLength;
+        this.defaultSampleRate = defaultSampleRate;
+        ObjectMapper maskingMapper = objectMapper.copy();
+        maskingMapper.setSerializerFactory(maskingMapper.getSerializerFactory().withSerializerModifier(new MaskingModifier()));
+        this.payloadWriter = maskingMapper.writer().without(SerializationFeature.FAIL_ON_EMPTY_BEANS);
+    }
+
+    @Around("@annotation(operation)")
+    public Object around(ProceedingJoinPoint joinPoint, Log operation) throws Throwable {
+        if (!enabled) {
+            return joinPoint.proceed();
+        }
+        boolean sampled = isSampled(operation.module());
+        // 登出等操作会在执行中清除认证信息，先取操作人
+        LoginUser loginUser = sampled ? currentUser() : null;
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            record(joinPoint, operation, loginUser != null ? loginUser : currentUser(), null, e, start);
+            throw e;
+        }
+        if (sampled || isFailure(result)) {
+            record(joinPoint, operation, loginUser != null ? loginUser : currentUser(), result, null, start);
+        }
+        return result;
+    }
+
+    private void record(ProceedingJoinPoint joinPoint, Log operation, LoginUser loginUser,
+                        Object result, Throwable error, long start) {
+        try {
+            OperationLog operationLog = new OperationLog();
+            operationLog.setDuration((int) TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            operationLog.setModule(operation.module());
+            operationLog.setType(operation.type());
+            operationLog.setDescription(truncate(operation.description(), MAX_DESCRIPTION_LENGTH));
+            operationLog.setOperationTime(LocalDateTime.now());
+            if (loginUser != null && loginUser.getUser() != null) {
+                operationLog.setUserId(loginUser.getUser().getUserId());
+                operationLog.setUsername(truncate(loginUser.getUser().getUsername(), MAX_USERNAME_LENGTH));
+            }
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes instanceof ServletRequestAttributes servletAttributes) {
+                HttpServletRequest request = servletAttributes.getRequest();
+                operationLog.setRequestMethod(request.getMethod());
+                operationLog.setRequestUrl(truncate(request.getRequestURI(), MAX_URL_LENGTH));
+                operationLog.setUserIp(truncate(IpUtil.getIpAddress(request), MAX_IP_LENGTH));
+            }
+            if (operation.saveParams()) {
+                operationLog.setRequestParams(serialize(params(joinPoint)));
+            }
+            if (error != null) {
+                operationLog.setStatus(STATUS_FAIL);
+                operationLog.setErrorMessage(truncate(String.valueOf(error.getMessage()), maxPayloadLength));
+            } else if (result instanceof Result<?> response && response.getCode() != Result.SUCCESS) {
+                operationLog.setStatus(STATUS_FAIL);
+                operationLog.setErrorMessage(truncate(response.getMsg(), maxPayloadLength));
+            } else {
+                operationLog.setStatus(STATUS_SUCCESS);
+            }
+            if (operation.saveResult() && error == null && isLoggable(result)) {
+                operationLog.setResponseResult(serialize(result));
+            }
+            operationLogWriter.submit(operationLog);
+        } catch (Exception e) {
+            // 日志记录失败不影响业务请求
+            log.warn("记录操作日志失败：{}", e.getMessage());
+        }
+    }
+
+    private boolean isSampled(String module) {
+        double rate = sampleRates.computeIfAbsent(module,
+                key -> environment.getProperty("operation-log.sampling." + key, Double.class, defaultSampleRate));
+        return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private static boolean isFailure(Object result) {
+        return result instanceof Result<?> response && response.getCode() != Result.SUCCESS;
+    }
+
+    private static LoginUser currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof LoginUser loginUser ? loginUser : null;
+    }
+
+    /**
+     * 以参数名为键收集参数，跳过请求/响应、流等无法或不应序列化的对象，敏感参数脱敏
+     */
+    private static Map<String, Object> params(ProceedingJoinPoint joinPoint) {
+        String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        Map<String, Object> params = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String name = names != null && i < names.length ? names[i] : "arg" + i;
+            Object arg = args[i];
+            if (arg instanceof MultipartFile file) {
+                params.put(name, file.getOriginalFilename() + " (" + file.getSize() + " bytes)");
+            } else if (isSensitive(name) && arg != null) {
+                params.put(name, MASK);
+            } else if (isLoggable(arg)) {
+                params.put(name, arg);
+            }
+        }
+        return params;
+    }
+
+    private static boolean isLoggable(Object value) {
+        if (value instanceof ResponseEntity<?> entity) {
+            return isLoggable(entity.getBody());
+        }
+        return !(value instanceof ServletRequest || value instanceof ServletResponse || value instanceof InputStream
+                || value instanceof StreamingResponseBody || value instanceof BindingResult || value instanceof byte[]);
+    }
+
+    static boolean isSensitive(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        for (String keyword : SENSITIVE_KEYWORDS) {
+            if (lower.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String serialize(Object value) {
+        LimitedWriter writer = new LimitedWriter(maxPayloadLength);
+        try {
+            payloadWriter.writeValue(writer, value);
+        } catch (IOException e) {
+            return "[无法序列化：" + value.getClass().getSimpleName() + "]";
+        }
+        return writer.toString();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    /**
+     * 只保留前 limit 个字符的 Writer，超出部分直接丢弃
+     */
+    static final class LimitedWriter extends Writer {
+
+        private final StringBuilder buffer;
+        private final int limit;
+        private boolean truncated;
+
+        LimitedWriter(int limit) {
+            this.limit = limit;
+            this.buffer = new StringBuilder(Math.min(limit, 256));
+        }
+
+        @Override
+        public void write(char[] chars, int off, int len) {
+            int remaining = limit - buffer.length();
+            if (len > remaining) {
+                truncated = true;
+            }
+            if (remaining > 0) {
+                buffer.append(chars, off, Math.min(len, remaining));
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            int remaining = limit - buffer.length();
+            if (len > remaining) {
+                truncated = true;
+            }
+            if (remaining > 0) {
+                buffer.append(str, off, off + Math.min(len, remaining));
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return truncated ? buffer + TRUNCATED_SUFFIX : buffer.toString();
+        }
+    }
+
+    /**
+     * 敏感属性输出为 ******
+     */
+    private static final class MaskingModifier extends BeanSerializerModifier {
+
+        @Override
+        public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                         List<BeanPropertyWriter> beanProperties) {
+            beanProperties.replaceAll(property -> isSensitive(property.getName()) ? new MaskedPropertyWriter(property) : property);
+            return beanProperties;
+        }
+    }
+
+    private static final class MaskedPropertyWriter extends BeanPropertyWriter {
+
+        MaskedPropertyWriter(BeanPropertyWriter base) {
+            super(base);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (get(bean) == null) {
+                gen.writeNullField(getName());
+            } else {
+                gen.writeStringField(getName(), MASK);
+            }
+        }
+    }
+}
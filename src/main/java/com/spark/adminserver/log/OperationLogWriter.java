@@ -0,0 +1,66 @@
+package com.spark.adminserver.log;
+
+import com.spark.adminserver.mapper.OperationLogMapper;
+import com.spark.adminserver.model.entity.OperationLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 操作日志异步写入
+ * <p>
+ * 请求线程只投递到队列，由后台线程以多行 INSERT 批量写入 sys_operation_log，接口响应不等待写库。
+ */
+@Component
+public class OperationLogWriter {
+
+    private final AsyncBatchWriter<OperationLog> writer;
+
+    @Autowired
+    public OperationLogWriter(OperationLogMapper operationLogMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${operation-log.queue-capacity:10000}") int queueCapacity,
+                              @Value("${operation-log.batch-size:200}") int batchSize,
+                              @Value("${operation-log.flush-interval:1s}") Duration flushInterval,
+                              @Value("${operation-log.overflow-policy:discard}") String overflowPolicy) {
+        this.writer = new AsyncBatchWriter<>("operation-log", queueCapacity, batchSize, flushInterval,
+                AsyncBatchWriter.OverflowPolicy.of(overflowPolicy), operationLogMapper::insertBatch, meterRegistry);
+    }
+
+    OperationLogWriter(int queueCapacity, int batchSize, Duration flushInterval,
+                       Consumer<List<OperationLog>> flusher, MeterRegistry meterRegistry) {
+        this.writer = new AsyncBatchWriter<>("operation-log", queueCapacity, batchSize, flushInterval,
+                AsyncBatchWriter.OverflowPolicy.DISCARD, flusher, meterRegistry);
+    }
+
+    /**
+     * 投递记录，不阻塞
+     *
+     * @param operationLog 操作日志
+     * @return 是否入队（队列已满被丢弃时返回 false）
+     */
+    public boolean submit(OperationLog operationLog) {
+        return writer.submit(operationLog);
+    }
+
+    /**
+     * 当前队列长度
+     */
+    public int queueSize() {
+        return writer.queueSize();
+    }
+
+    /**
+     * 停止后台线程并写入队列中剩余的记录
+     */
+    @PreDestroy
+    public void shutdown() {
+        writer.shutdown();
+    }
+}
@@ -0,0 +1,26 @@
+package com.spark.adminserver.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.spark.adminserver.model.entity.LoginLog;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 登录日志表数据访问层
+ */
+@Repository
+@Mapper
+public interface LoginLogMapper extends BaseMapper<LoginLog> {
+
+    /**
+     * 批量插入登录日志（单条多行 INSERT）
+     *
+     * @param logs 登录日志，不能为空
+     * @return 插入行数
+     */
+    int insertBatch(@Param("logs") List<LoginLog> logs);
+
+}
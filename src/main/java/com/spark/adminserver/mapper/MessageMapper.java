@@ -0,0 +1,70 @@
+package com.spark.adminserver.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.spark.adminserver.model.entity.Message;
+import com.spark.adminserver.model.vo.MessageVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 系统消息表数据访问层
+ */
+@Repository
+@Mapper
+public interface MessageMapper extends BaseMapper<Message> {
+
+    /**
+     * 查询用户可见的广播消息（按消息ID倒序，合并该用户的已读 / 删除状态）
+     *
+     * @param userId   用户ID
+     * @param beforeId 只查询ID小于该值的消息，为空时从最新开始
+     * @param now      当前时间，用于过滤已过期消息
+     * @param limit    最大条数
+     * @return 收件箱消息（不含内容）
+     */
+    List<MessageVO> selectBroadcastInbox(@Param("userId") Long userId, @Param("beforeId") Long beforeId,
+                                         @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 查询用户收到的私信（按消息ID倒序，走 uk_user_message 索引）
+     *
+     * @param userId   用户ID
+     * @param beforeId 只查询ID小于该值的消息，为空时从最新开始
+     * @param now      当前时间，用于过滤已过期消息
+     * @param limit    最大条数
+     * @return 收件箱消息（不含内容）
+     */
+    List<MessageVO> selectPrivateInbox(@Param("userId") Long userId, @Param("beforeId") Long beforeId,
+                                       @Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * 查询所有未过期的已发送广播消息（只返回ID与有效期）
+     *
+     * @param now 当前时间
+     * @return 广播消息
+     */
+    List<Message> selectLiveBroadcasts(@Param("now") LocalDateTime now);
+
+    /**
+     * 查询定时发送时间不晚于指定时间的草稿（按定时发送时间升序，只返回ID与定时发送时间）
+     *
+     * @param before 截止时间
+     * @param limit  最大条数
+     * @return 待发送消息
+     */
+    List<Message> selectDueDrafts(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * 查询已过期的消息（只返回ID与消息类型）
+     *
+     * @param now   当前时间
+     * @param limit 最大条数
+     * @return 已过期消息
+     */
+    List<Message> selectExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+}
@@ -0,0 +1,26 @@
+package com.spark.adminserver.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.spark.adminserver.model.entity.OperationLog;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 操作日志表数据访问层
+ */
+@Repository
+@Mapper
+public interface OperationLogMapper extends BaseMapper<OperationLog> {
+
+    /**
+     * 批量插入操作日志（单条多行 INSERT）
+     *
+     * @param logs 操作日志，不能为空
+     * @return 插入行数
+     */
+    int insertBatch(@Param("logs") List<OperationLog> logs);
+
+}
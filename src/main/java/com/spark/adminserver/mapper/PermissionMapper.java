@@ -0,0 +1,15 @@
+package com.spark.adminserver.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.spark.adminserver.model.entity.Permission;
+import org.apache.ibatis.annotations.Mapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 权限(菜单)表数据访问层
+ */
+@Repository
+@Mapper
+public interface PermissionMapper extends BaseMapper<Permission> {
+
+}
@@ -0,0 +1,15 @@
+package com.spark.adminserver.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.spark.adminserver.model.entity.Role;
+import org.apache.ibatis.annotations.Mapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 角色表数据访问层
+ */
+@Repository
+@Mapper
+public interface RoleMapper extends BaseMapper<Role> {
+
+}
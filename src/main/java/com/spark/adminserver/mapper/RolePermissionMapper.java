@@ -0,0 +1,15 @@
+package com.spark.adminserver.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.spark.adminserver.model.entity.RolePermission;
+import org.apache.ibatis.annotations.Mapper;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 角色权限关联表数据访问层
+ */
+@Repository
+@Mapper
+public interface RolePermissionMapper extends BaseMapper<RolePermission> {
+
+}
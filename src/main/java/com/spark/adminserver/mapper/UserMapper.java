@@ -4,10 +4,16 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.spark.adminserver.model.entity.User;
 import com.spark.adminserver.model.dto.UserPageQueryDTO;
+import com.spark.adminserver.search.SearchCandidates;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 用户表数据访问层
  */
@@ -21,9 +27,56 @@ public interface UserMapper extends BaseMapper<User> {
      *
      * @param page 分页对象
      * @param query 查询条件 DTO
+     * @param search 搜索索引候选，为 null 时用户名/昵称使用模糊查询
      * @return 分页用户列表
      */
-    Page<User> selectUserPage(Page<User> page, @Param("query") UserPageQueryDTO query);
+    Page<User> selectUserPage(Page<User> page, @Param("query") UserPageQueryDTO query,
+                              @Param("search") SearchCandidates search);
+
+    /**
+     * 游标分页查询用户信息，按 (create_time, user_id) 倒序定位到游标之后
+     *
+     * @param query 查询条件 DTO
+     * @param search 搜索索引候选，为 null 时用户名/昵称使用模糊查询
+     * @param cursorTime 游标创建时间，cursorId 不为 null 时表示游标所在记录的创建时间为空
+     * @param cursorId 游标用户ID，为 null 时从第一条开始
+     * @param limit 查询条数
+     * @return 用户列表
+     */
+    List<User> selectUserPageAfter(@Param("query") UserPageQueryDTO query,
+                                   @Param("search") SearchCandidates search,
+                                   @Param("cursorTime") LocalDateTime cursorTime,
+                                   @Param("cursorId") Long cursorId,
+                                   @Param("limit") int limit);
+
+    /**
+     * 统计满足查询条件的用户数量
+     *
+     * @param query 查询条件 DTO
+     * @param search 搜索索引候选，为 null 时用户名/昵称使用模糊查询
+     * @return 用户数量
+     */
+    long countUserPage(@Param("query") UserPageQueryDTO query, @Param("search") SearchCandidates search);
+
+    /**
+     * 获取用户分页查询的执行计划，用于根据表统计信息估算总数
+     *
+     * @param query 查询条件 DTO
+     * @param search 搜索索引候选，为 null 时用户名/昵称使用模糊查询
+     * @return EXPLAIN 结果
+     */
+    List<Map<String, Object>> explainUserPage(@Param("query") UserPageQueryDTO query,
+                                              @Param("search") SearchCandidates search);
+
+    /**
+     * 流式查询满足条件的用户，逐行交给 ResultHandler 处理，不在内存中保留结果集
+     *
+     * @param query 查询条件 DTO
+     * @param search 搜索索引候选，为 null 时用户名/昵称使用模糊查询
+     * @param handler 行处理器
+     */
+    void exportUsers(@Param("query") UserPageQueryDTO query, @Param("search") SearchCandidates search,
+                     ResultHandler<User> handler);
 
     // 后续可以根据需要添加其他自定义查询方法，例如：
     // User selectUserWithRoles(Long userId);
@@ -0,0 +1,67 @@
+package com.spark.adminserver.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.spark.adminserver.model.entity.Message;
+import com.spark.adminserver.model.entity.UserMessage;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 用户消息关联表数据访问层
+ */
+@Repository
+@Mapper
+public interface UserMessageMapper extends BaseMapper<UserMessage> {
+
+    /**
+     * 批量写入私信接收者（单条多行 INSERT IGNORE，未读）
+     *
+     * @param messageId 消息ID
+     * @param userIds   接收用户ID，不能为空
+     * @return 插入行数
+     */
+    int insertReceivers(@Param("messageId") Long messageId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 写入广播消息的已读标记（已存在时不插入）
+     *
+     * @param userId    用户ID
+     * @param messageId 消息ID
+     * @param readTime  阅读时间
+     * @return 插入行数，已存在时为 0
+     */
+    int insertReadMarker(@Param("userId") Long userId, @Param("messageId") Long messageId,
+                         @Param("readTime") LocalDateTime readTime);
+
+    /**
+     * 统计用户未读且未过期的私信数
+     *
+     * @param userId 用户ID
+     * @param now    当前时间
+     * @return 未读私信数
+     */
+    long countUnreadPrivate(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * 查询用户已读或已删除的未过期广播消息（只返回ID与有效期）
+     *
+     * @param userId 用户ID
+     * @param now    当前时间
+     * @return 广播消息
+     */
+    List<Message> selectReadBroadcasts(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * 查询指定消息中有未读记录的用户
+     *
+     * @param messageIds 消息ID，不能为空
+     * @return 用户ID（去重）
+     */
+    List<Long> selectUnreadUserIds(@Param("messageIds") Collection<Long> messageIds);
+
+}
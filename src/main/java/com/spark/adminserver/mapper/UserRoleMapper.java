@@ -0,0 +1,28 @@
+package com.spark.adminserver.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.spark.adminserver.model.entity.UserRole;
+import com.spark.adminserver.model.vo.UserRoleVO;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 用户角色关联表数据访问层
+ */
+@Repository
+@Mapper
+public interface UserRoleMapper extends BaseMapper<UserRole> {
+
+    /**
+     * 批量查询多个用户的角色（单条 IN 查询）
+     *
+     * @param userIds 用户ID集合，不能为空
+     * @return 用户角色关联列表
+     */
+    List<UserRoleVO> selectRolesByUserIds(@Param("userIds") Collection<Long> userIds);
+
+}
@@ -0,0 +1,36 @@
+package com.spark.adminserver.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.spark.adminserver.model.entity.UserSocial;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * 用户社交登录绑定表数据访问层
+ */
+@Repository
+@Mapper
+public interface UserSocialMapper extends BaseMapper<UserSocial> {
+
+    /**
+     * 按平台与 OpenID 查询绑定的用户ID（走 uk_provider_openid）
+     *
+     * @param provider 社交平台标识
+     * @param openId   平台唯一用户标识
+     * @return 用户ID，未绑定时为 null
+     */
+    Long selectUserIdByOpenId(@Param("provider") String provider, @Param("openId") String openId);
+
+    /**
+     * 按主键顺序分批查询绑定的平台与 OpenID（用于构建布隆过滤器）
+     *
+     * @param afterId 只查询ID大于该值的记录
+     * @param limit   最大条数
+     * @return 绑定记录（只包含ID、平台与 OpenID）
+     */
+    List<UserSocial> selectOpenIdsAfter(@Param("afterId") long afterId, @Param("limit") int limit);
+
+}
@@ -0,0 +1,43 @@
+package com.spark.adminserver.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 消息发送数据传输对象
+ */
+@Schema(description = "消息发送数据传输对象")
+@Data
+public class MessageDTO {
+
+    @NotBlank(message = "消息标题不能为空")
+    @Size(max = 255, message = "消息标题长度不能超过 255 个字符")
+    @Schema(description = "消息标题", requiredMode = Schema.RequiredMode.REQUIRED, example = "系统维护通知")
+    private String title;
+
+    @NotBlank(message = "消息内容不能为空")
+    @Schema(description = "消息内容", requiredMode = Schema.RequiredMode.REQUIRED)
+    private String content;
+
+    @NotBlank(message = "消息类型不能为空")
+    @Pattern(regexp = "announcement|notification|private", message = "消息类型只能是 announcement、notification 或 private")
+    @Schema(description = "消息类型：announcement、notification 发给所有用户，private 只发给接收者",
+            requiredMode = Schema.RequiredMode.REQUIRED, example = "announcement")
+    private String messageType;
+
+    @Size(max = 10000, message = "接收者不能超过 10000 个")
+    @Schema(description = "接收用户ID列表（仅 private 类型，必填）")
+    private List<Long> receiverIds;
+
+    @Schema(description = "定时发送时间（不填或早于当前时间时立即发送）")
+    private LocalDateTime scheduledSendTime;
+
+    @Schema(description = "有效期（过期后不再显示、不计入未读）")
+    private LocalDateTime expiryTime;
+}
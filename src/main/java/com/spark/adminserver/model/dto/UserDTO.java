@@ -44,6 +44,6 @@ public class UserDTO {
     // private Integer status;
 
     // 关联的角色ID列表，用于创建/更新时设置
-    @Schema(description = "关联的角色ID列表")
+    @Schema(description = "关联的角色ID列表（需要 system:user:role 权限，不修改角色时不要传）")
     private List<Long> roleIds;
 } 
\ No newline at end of file
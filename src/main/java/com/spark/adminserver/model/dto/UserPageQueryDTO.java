@@ -1,6 +1,7 @@
 package com.spark.adminserver.model.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 
@@ -18,9 +19,23 @@ public class UserPageQueryDTO {
     @Schema(description = "每页数量", defaultValue = "10")
     private Integer pageSize = 10; // 每页数量
 
+    // 分页模式
+    @Schema(description = "分页模式：offset 按页码分页，cursor 按游标分页（深度翻页成本恒定）", defaultValue = "offset", allowableValues = {"offset", "cursor"})
+    @Pattern(regexp = "^(offset|cursor)$", message = "分页模式只能是 offset 或 cursor")
+    private String pageMode = "offset"; // 分页模式
+    @Schema(description = "游标分页时上一页返回的 nextCursor，首页不传")
+    private String cursor;   // 下一页游标
+    @Schema(description = "是否统计总记录数，默认 offset 模式统计、cursor 模式不统计")
+    private Boolean searchCount; // 是否统计总数
+    @Schema(description = "总数统计方式：exact 精确统计，cached 短时缓存，estimated 按表统计信息估算（非精确值）；不传时使用服务端默认配置", allowableValues = {"exact", "cached", "estimated"})
+    @Pattern(regexp = "^(exact|cached|estimated)$", message = "总数统计方式只能是 exact、cached 或 estimated")
+    private String countMode; // 总数统计方式
+
     // 查询条件
     @Schema(description = "按用户名模糊查询", example = "john")
     private String username; // 按用户名模糊查询
+    @Schema(description = "按昵称模糊查询", example = "张")
+    private String nickname; // 按昵称模糊查询
     @Schema(description = "按手机号精确查询", example = "13800138000")
     private String phone;    // 按手机号精确查询
     @Schema(description = "按状态查询（0正常 1停用）", example = "0")
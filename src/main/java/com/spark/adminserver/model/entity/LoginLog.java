@@ -0,0 +1,74 @@
+package com.spark.adminserver.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 登录日志表实体类
+ */
+@Data
+@TableName("sys_login_log")
+public class LoginLog implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 日志主键
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 登录账号
+     */
+    @TableField("username")
+    private String username;
+
+    /**
+     * 登录IP地址
+     */
+    @TableField("ip_address")
+    private String ipAddress;
+
+    /**
+     * 登录地点
+     */
+    @TableField("login_location")
+    private String loginLocation;
+
+    /**
+     * 浏览器类型
+     */
+    @TableField("browser")
+    private String browser;
+
+    /**
+     * 操作系统
+     */
+    @TableField("os")
+    private String os;
+
+    /**
+     * 登录状态（0成功 1失败）
+     */
+    @TableField("status")
+    private Integer status;
+
+    /**
+     * 提示消息
+     */
+    @TableField("message")
+    private String message;
+
+    /**
+     * 访问时间
+     */
+    @TableField("login_time")
+    private LocalDateTime loginTime;
+}
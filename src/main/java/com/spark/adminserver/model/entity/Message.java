@@ -0,0 +1,88 @@
+package com.spark.adminserver.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 系统消息表实体类
+ * <p>
+ * 公告、通知等广播消息只保存一条，不为每个用户生成关联记录。
+ */
+@Data
+@TableName("sys_message")
+public class Message implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 消息ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 消息标题
+     */
+    @TableField("title")
+    private String title;
+
+    /**
+     * 消息内容
+     */
+    @TableField("content")
+    private String content;
+
+    /**
+     * 消息类型（announcement-公告, notification-通知, private-私信）
+     */
+    @TableField("message_type")
+    private String messageType;
+
+    /**
+     * 发送者ID（0表示系统）
+     */
+    @TableField("sender_id")
+    private Long senderId;
+
+    /**
+     * 发送者类型（system, admin）
+     */
+    @TableField("sender_type")
+    private String senderType;
+
+    /**
+     * 消息状态（draft-草稿, sent-已发送, recalled-已撤回）
+     */
+    @TableField("status")
+    private String status;
+
+    /**
+     * 定时发送时间
+     */
+    @TableField("scheduled_send_time")
+    private LocalDateTime scheduledSendTime;
+
+    /**
+     * 有效期
+     */
+    @TableField("expiry_time")
+    private LocalDateTime expiryTime;
+
+    /**
+     * 创建者（管理员用户名）
+     */
+    @TableField("created_by")
+    private String createdBy;
+
+    /**
+     * 创建时间
+     */
+    @TableField("created_time")
+    private LocalDateTime createdTime;
+}
@@ -0,0 +1,116 @@
+package com.spark.adminserver.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 操作日志表实体类
+ */
+@Data
+@TableName("sys_operation_log")
+public class OperationLog implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 日志主键
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 操作模块
+     */
+    @TableField("module")
+    private String module;
+
+    /**
+     * 操作类型（如 新增）
+     */
+    @TableField("type")
+    private String type;
+
+    /**
+     * 操作描述
+     */
+    @TableField("description")
+    private String description;
+
+    /**
+     * 请求方式
+     */
+    @TableField("request_method")
+    private String requestMethod;
+
+    /**
+     * 请求URL
+     */
+    @TableField("request_url")
+    private String requestUrl;
+
+    /**
+     * 操作人员ID
+     */
+    @TableField("user_id")
+    private Long userId;
+
+    /**
+     * 操作人员名称
+     */
+    @TableField("username")
+    private String username;
+
+    /**
+     * 操作IP
+     */
+    @TableField("user_ip")
+    private String userIp;
+
+    /**
+     * 操作地点
+     */
+    @TableField("user_location")
+    private String userLocation;
+
+    /**
+     * 请求参数（已脱敏、截断）
+     */
+    @TableField("request_params")
+    private String requestParams;
+
+    /**
+     * 返回结果（已截断）
+     */
+    @TableField("response_result")
+    private String responseResult;
+
+    /**
+     * 操作状态（0成功 1失败）
+     */
+    @TableField("status")
+    private Integer status;
+
+    /**
+     * 错误消息
+     */
+    @TableField("error_message")
+    private String errorMessage;
+
+    /**
+     * 请求耗时（毫秒）
+     */
+    @TableField("duration")
+    private Integer duration;
+
+    /**
+     * 操作时间
+     */
+    @TableField("operation_time")
+    private LocalDateTime operationTime;
+}
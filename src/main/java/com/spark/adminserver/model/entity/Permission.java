@@ -0,0 +1,73 @@
+package com.spark.adminserver.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 权限(菜单)表实体类
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("sys_permission")
+public class Permission implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 权限ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 权限/菜单名称
+     */
+    @TableField("permission_name")
+    private String permissionName;
+
+    /**
+     * 父权限ID (0表示顶级)
+     */
+    @TableField("parent_id")
+    private Long parentId;
+
+    /**
+     * 权限类型 (1=目录, 2=菜单, 3=按钮/操作, 4=API)
+     */
+    @TableField("permission_type")
+    private Integer permissionType;
+
+    /**
+     * 权限标识 (如 system:user:list)
+     */
+    @TableField("permission_key")
+    private String permissionKey;
+
+    /**
+     * 状态 (0=正常/显示, 1=禁用/隐藏)
+     */
+    @TableField("status")
+    private Integer status;
+
+    /**
+     * 显示顺序
+     */
+    @TableField("sort_order")
+    private Integer sortOrder;
+
+    /**
+     * 创建时间
+     */
+    @TableField("created_time")
+    private LocalDateTime createdTime;
+
+    /**
+     * 更新时间
+     */
+    @TableField("updated_time")
+    private LocalDateTime updatedTime;
+}
@@ -0,0 +1,74 @@
+package com.spark.adminserver.model.entity;
+
+import com.baomidou.mybatisplus.annotation.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 角色表实体类
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+@TableName("sys_role")
+public class Role implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 角色ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 角色名称
+     */
+    @TableField("role_name")
+    private String roleName;
+
+    /**
+     * 角色标识
+     */
+    @TableField("role_key")
+    private String roleKey;
+
+    /**
+     * 显示顺序
+     */
+    @TableField("role_sort")
+    private Integer roleSort;
+
+    /**
+     * 状态 (0=正常, 1=禁用)
+     */
+    @TableField("status")
+    private Integer status;
+
+    /**
+     * 创建时间
+     */
+    @TableField("created_time")
+    private LocalDateTime createdTime;
+
+    /**
+     * 更新时间
+     */
+    @TableField("updated_time")
+    private LocalDateTime updatedTime;
+
+    /**
+     * 备注
+     */
+    @TableField("remark")
+    private String remark;
+
+    /**
+     * 逻辑删除标记 (0=未删除, 1=已删除)
+     */
+    @TableLogic
+    @TableField("deleted_flag")
+    private Integer deletedFlag;
+}
@@ -0,0 +1,37 @@
+package com.spark.adminserver.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 角色权限关联表实体类
+ */
+@Data
+@TableName("sys_role_permission")
+public class RolePermission implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 关联ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 角色ID
+     */
+    @TableField("role_id")
+    private Long roleId;
+
+    /**
+     * 权限ID
+     */
+    @TableField("permission_id")
+    private Long permissionId;
+}
@@ -0,0 +1,58 @@
+package com.spark.adminserver.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 用户消息关联表实体类
+ * <p>
+ * 私信在发送时为每个接收者生成一条；广播消息只在用户阅读或删除时生成，记录该用户的已读 / 删除状态。
+ */
+@Data
+@TableName("sys_user_message")
+public class UserMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 关联ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 接收用户ID
+     */
+    @TableField("user_id")
+    private Long userId;
+
+    /**
+     * 消息ID
+     */
+    @TableField("message_id")
+    private Long messageId;
+
+    /**
+     * 阅读状态（0未读 1已读）
+     */
+    @TableField("read_status")
+    private Integer readStatus;
+
+    /**
+     * 阅读时间
+     */
+    @TableField("read_time")
+    private LocalDateTime readTime;
+
+    /**
+     * 用户侧删除（0未删 1已删）
+     */
+    @TableField("deleted_flag")
+    private Integer deletedFlag;
+}
@@ -0,0 +1,80 @@
+package com.spark.adminserver.model.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 用户社交登录绑定表实体类
+ */
+@Data
+@TableName("sys_user_social")
+public class UserSocial implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 绑定ID
+     */
+    @TableId(value = "id", type = IdType.AUTO)
+    private Long id;
+
+    /**
+     * 系统用户ID
+     */
+    @TableField("user_id")
+    private Long userId;
+
+    /**
+     * 社交平台标识（如 wechat, github）
+     */
+    @TableField("provider")
+    private String provider;
+
+    /**
+     * 平台唯一用户标识
+     */
+    @TableField("open_id")
+    private String openId;
+
+    /**
+     * 访问令牌
+     */
+    @TableField("access_token")
+    private String accessToken;
+
+    /**
+     * 刷新令牌
+     */
+    @TableField("refresh_token")
+    private String refreshToken;
+
+    /**
+     * 令牌有效期秒数
+     */
+    @TableField("expires_in")
+    private Integer expiresIn;
+
+    /**
+     * 社交平台昵称
+     */
+    @TableField("nickname")
+    private String nickname;
+
+    /**
+     * 社交平台头像
+     */
+    @TableField("avatar_url")
+    private String avatarUrl;
+
+    /**
+     * 绑定时间
+     */
+    @TableField("bind_time")
+    private LocalDateTime bindTime;
+}
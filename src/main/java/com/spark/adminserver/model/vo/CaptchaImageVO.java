@@ -0,0 +1,31 @@
+package com.spark.adminserver.model.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 验证码图片（二进制输出）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CaptchaImageVO {
+    
+    /**
+     * 验证码ID
+     */
+    private String captchaId;
+    
+    /**
+     * 图片类型，如 image/png、image/gif
+     */
+    private String contentType;
+    
+    /**
+     * 图片字节
+     */
+    private byte[] image;
+}
@@ -0,0 +1,41 @@
+package com.spark.adminserver.model.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 收件箱消息视图对象
+ */
+@Data
+@Schema(description = "收件箱消息")
+public class MessageVO {
+
+    @Schema(description = "消息ID")
+    private Long messageId;
+
+    @Schema(description = "消息标题")
+    private String title;
+
+    @Schema(description = "消息内容（仅详情返回）")
+    private String content;
+
+    @Schema(description = "消息类型", allowableValues = {"announcement", "notification", "private"})
+    private String messageType;
+
+    @Schema(description = "发送者ID（0表示系统）")
+    private Long senderId;
+
+    @Schema(description = "是否已读")
+    private Boolean read;
+
+    @Schema(description = "阅读时间")
+    private LocalDateTime readTime;
+
+    @Schema(description = "发送时间")
+    private LocalDateTime createdTime;
+
+    @Schema(description = "有效期")
+    private LocalDateTime expiryTime;
+}
@@ -0,0 +1,30 @@
+package com.spark.adminserver.model.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 在线会话视图对象
+ */
+@Data
+@Schema(description = "在线会话")
+public class OnlineSessionVO {
+
+    @Schema(description = "用户ID")
+    private Long userId;
+
+    @Schema(description = "用户名")
+    private String username;
+
+    @Schema(description = "用户昵称")
+    private String nickname;
+
+    @Schema(description = "角色标识列表")
+    private List<String> roles;
+
+    @Schema(description = "登录时间")
+    private LocalDateTime loginTime;
+}
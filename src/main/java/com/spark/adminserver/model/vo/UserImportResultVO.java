@@ -0,0 +1,54 @@
+package com.spark.adminserver.model.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量导入用户结果
+ */
+@Schema(description = "批量导入用户结果")
+@Data
+public class UserImportResultVO {
+
+    @Schema(description = "读取的数据行数")
+    private long total;
+
+    @Schema(description = "导入成功行数")
+    private long success;
+
+    @Schema(description = "导入失败行数")
+    private long failed;
+
+    @Schema(description = "总耗时（毫秒）")
+    private long elapsedMillis;
+
+    @Schema(description = "吞吐量（行/秒）")
+    private double rowsPerSecond;
+
+    @Schema(description = "失败明细（最多返回前 1000 条）")
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * 单行导入错误
+     */
+    @Schema(description = "单行导入错误")
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+
+        @Schema(description = "数据行号（CSV 不含表头，JSON 为第几个对象，从 1 开始）")
+        private long row;
+
+        @Schema(description = "用户名")
+        private String username;
+
+        @Schema(description = "错误信息")
+        private String message;
+    }
+}
@@ -0,0 +1,25 @@
+package com.spark.adminserver.model.vo;
+
+import lombok.Data;
+
+/**
+ * 用户角色关联视图对象（批量查询用户角色时使用）
+ */
+@Data
+public class UserRoleVO {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 角色ID
+     */
+    private Long roleId;
+
+    /**
+     * 角色名称
+     */
+    private String roleName;
+}
@@ -36,6 +36,9 @@ public class UserVO {
     @Schema(description = "更新时间")
     private LocalDateTime updateTime;
 
-    // @Schema(description = "用户关联的角色名称列表")
-    // private List<String> roleNames;
+    @Schema(description = "用户关联的角色ID列表")
+    private List<Long> roleIds;
+
+    @Schema(description = "用户关联的角色名称列表")
+    private List<String> roleNames;
 }
\ No newline at end of file
@@ -0,0 +1,172 @@
+package com.spark.adminserver.push;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE 连接注册表
+ * <p>
+ * 连接以 Servlet 异步请求保持，注册后请求线程立即归还容器，空闲连接不占用线程，只占用注册表中的一个 {@link SseEmitter}。
+ * 同一用户最多保持 max-connections-per-user 个连接（多个标签页），超出时关闭最早的连接。
+ * 后台线程定时发送心跳注释，写失败的连接随即移除。
+ */
+@Slf4j
+@Component
+public class SseEmitterRegistry {
+
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final long timeoutMillis;
+    private final int maxConnectionsPerUser;
+    private final ScheduledExecutorService heartbeatExecutor;
+
+    @Autowired
+    public SseEmitterRegistry(MeterRegistry meterRegistry,
+                              @Value("${message.push.timeout:30m}") Duration timeout,
+                              @Value("${message.push.max-connections-per-user:5}") int maxConnectionsPerUser,
+                              @Value("${message.push.heartbeat-interval:30s}") Duration heartbeatInterval) {
+        this.timeoutMillis = timeout.toMillis();
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-heartbeat-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = heartbeatInterval.toMillis();
+        this.heartbeatExecutor.scheduleWithFixedDelay(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+        Gauge.builder("sse.connections", connections, AtomicInteger::get)
+                .description("SSE 连接数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 为用户创建并注册连接
+     *
+     * @param userId 用户ID
+     * @return SSE 连接
+     */
+    public SseEmitter register(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(userId, emitter);
+        return emitter;
+    }
+
+    void register(Long userId, SseEmitter emitter) {
+        // 增删都在 compute 中进行，避免与移除空列表并发时连接丢失
+        List<SseEmitter> userEmitters = emitters.compute(userId, (id, current) -> {
+            List<SseEmitter> list = current != null ? current : new CopyOnWriteArrayList<>();
+            list.add(emitter);
+            return list;
+        });
+        connections.incrementAndGet();
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(() -> remove(userId, emitter));
+        emitter.onError(e -> remove(userId, emitter));
+        while (userEmitters.size() > maxConnectionsPerUser) {
+            SseEmitter oldest = userEmitters.get(0);
+            if (remove(userId, oldest)) {
+                oldest.complete();
+            }
+        }
+    }
+
+    /**
+     * 向用户的所有连接发送事件
+     *
+     * @param userId 用户ID
+     * @param name   事件名称
+     * @param data   事件数据
+     */
+    public void send(Long userId, String name, Object data) {
+        List<SseEmitter> userEmitters = emitters.get(userId);
+        if (userEmitters == null) {
+            return;
+        }
+        for (SseEmitter emitter : userEmitters) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+            } catch (IOException | IllegalStateException e) {
+                // 客户端已断开
+                remove(userId, emitter);
+                emitter.completeWithError(e);
+            }
+        }
+    }
+
+    /**
+     * 本节点有连接的用户
+     */
+    public Set<Long> connectedUserIds() {
+        return emitters.keySet();
+    }
+
+    /**
+     * 用户是否在本节点有连接
+     */
+    public boolean isConnected(Long userId) {
+        return emitters.containsKey(userId);
+    }
+
+    /**
+     * 本节点连接总数
+     */
+    public int connectionCount() {
+        return connections.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+        emitters.forEach((userId, userEmitters) -> userEmitters.forEach(SseEmitter::complete));
+        emitters.clear();
+    }
+
+    private boolean remove(Long userId, SseEmitter emitter) {
+        boolean[] removed = new boolean[1];
+        emitters.computeIfPresent(userId, (id, list) -> {
+            removed[0] = list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+        if (removed[0]) {
+            connections.decrementAndGet();
+        }
+        return removed[0];
+    }
+
+    private void heartbeat() {
+        try {
+            emitters.forEach((userId, userEmitters) -> {
+                for (SseEmitter emitter : userEmitters) {
+                    try {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } catch (IOException | IllegalStateException e) {
+                        remove(userId, emitter);
+                        emitter.completeWithError(e);
+                    }
+                }
+            });
+        } catch (Exception e) {
+            log.warn("SSE 心跳发送失败：{}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.spark.adminserver.push;
+
+import com.spark.adminserver.service.impl.MessageUnreadCounter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 未读数推送
+ * <p>
+ * 未读数变化时先推送给本节点的连接，再向 {@link #UNREAD_CHANNEL} 广播受影响的用户，其他节点（跳过自身）推送给各自的连接。
+ * 推送在独立线程池中执行，按批从 Redis 一次管道读取未读数；队列已满时丢弃推送任务，客户端重连时会重新获取未读数。
+ */
+@Slf4j
+@Component
+public class UnreadCountPusher implements MessageListener {
+
+    /**
+     * 未读数变化广播频道
+     */
+    public static final String UNREAD_CHANNEL = "message:unread";
+
+    /**
+     * SSE 事件名称
+     */
+    public static final String EVENT_UNREAD_COUNT = "unread-count";
+
+    private static final String ALL_USERS = "*";
+    private static final char SEPARATOR = '|';
+    private static final int BATCH_SIZE = 500;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final SseEmitterRegistry sseEmitterRegistry;
+    private final MessageUnreadCounter messageUnreadCounter;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ThreadPoolExecutor pushExecutor;
+
+    public UnreadCountPusher(SseEmitterRegistry sseEmitterRegistry,
+                             MessageUnreadCounter messageUnreadCounter,
+                             RedisTemplate<String, Object> redisTemplate,
+                             @Value("${message.push.threads:2}") int threads,
+                             @Value("${message.push.queue-capacity:1000}") int queueCapacity) {
+        this.sseEmitterRegistry = sseEmitterRegistry;
+        this.messageUnreadCounter = messageUnreadCounter;
+        this.redisTemplate = redisTemplate;
+        this.pushExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "sse-push-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 指定用户的未读数已变化
+     *
+     * @param userIds 用户ID
+     */
+    public void notifyUsers(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        pushAsync(userIds);
+        publish(userIds.stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * 所有用户的未读数已变化（广播消息发送或撤回）
+     */
+    public void notifyAllUsers() {
+        pushAsync(null);
+        publish(ALL_USERS);
+    }
+
+    /**
+     * 只推送本节点的连接（新连接建立时）
+     *
+     * @param userIds 用户ID
+     */
+    public void notifyLocal(Collection<Long> userIds) {
+        pushAsync(userIds);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int index = body.indexOf(SEPARATOR);
+        if (index < 0 || nodeId.equals(body.substring(0, index))) {
+            return;
+        }
+        String target = body.substring(index + 1);
+        if (ALL_USERS.equals(target)) {
+            pushAsync(null);
+            return;
+        }
+        List<Long> userIds = new ArrayList<>();
+        for (String id : target.split(",")) {
+            if (!id.isEmpty()) {
+                userIds.add(Long.valueOf(id));
+            }
+        }
+        pushAsync(userIds);
+    }
+
+    /**
+     * 推送本节点的连接
+     *
+     * @param userIds 用户ID，为 null 时推送本节点所有连接的用户
+     */
+    void push(Collection<Long> userIds) {
+        List<Long> connected = new ArrayList<>();
+        for (Long userId : userIds != null ? userIds : sseEmitterRegistry.connectedUserIds()) {
+            if (sseEmitterRegistry.isConnected(userId)) {
+                connected.add(userId);
+            }
+        }
+        for (int i = 0; i < connected.size(); i += BATCH_SIZE) {
+            Map<Long, Long> counts = messageUnreadCounter.getUnreadCounts(
+                    connected.subList(i, Math.min(i + BATCH_SIZE, connected.size())));
+            counts.forEach((userId, count) -> sseEmitterRegistry.send(userId, EVENT_UNREAD_COUNT, count));
+        }
+    }
+
+    private void pushAsync(Collection<Long> userIds) {
+        try {
+            pushExecutor.execute(() -> {
+                try {
+                    push(userIds);
+                } catch (Exception e) {
+                    log.warn("推送未读数失败：{}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("推送队列已满，丢弃未读数推送");
+        }
+    }
+
+    private void publish(String target) {
+        try {
+            byte[] body = (nodeId + SEPARATOR + target).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.publish(UNREAD_CHANNEL.getBytes(StandardCharsets.UTF_8), body));
+        } catch (Exception e) {
+            // 广播失败时其他节点的客户端在重连时获取最新未读数
+            log.warn("广播未读数变化失败：{}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pushExecutor.shutdownNow();
+    }
+}
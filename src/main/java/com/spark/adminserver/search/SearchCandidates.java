@@ -0,0 +1,21 @@
+package com.spark.adminserver.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 用户搜索索引的查询结果
+ * <p>
+ * ids 为可能满足用户名、昵称条件的用户ID，Mapper 据此按主键缩小范围，再由 SQL 的 LIKE 条件做最终判断。
+ */
+@Getter
+@AllArgsConstructor
+public class SearchCandidates {
+
+    /**
+     * 候选用户ID
+     */
+    private final List<Long> ids;
+}
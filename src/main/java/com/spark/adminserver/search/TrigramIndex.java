@@ -0,0 +1,302 @@
+package com.spark.adminserver.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 内存 Trigram（三元组）倒排索引，用于子串匹配
+ * <p>
+ * 每条文本拆分为连续三个字符的片段，每个片段对应一个按内部文档号升序排列的倒排表。
+ * 查询时对查询串所有片段的倒排表求交集，再对候选文本做一次 contains 校验（不区分大小写）。
+ * <p>
+ * 索引只用于缩小候选范围，最终仍由 SQL 的 {@code LIKE '%x%'} 判断。为保证候选不少于 LIKE 的结果：
+ * <ul>
+ *     <li>含 LIKE 通配符（% _ \）或带变音符号的拉丁字母的查询串不由索引处理（{@link #isSearchable(String)}），
+ *     这些字符在 utf8mb4_general_ci 下的匹配规则与 Java 的小写转换不同</li>
+ *     <li>含带变音符号的拉丁字母的文本无法按 contains 判断，总是作为候选返回</li>
+ * </ul>
+ * <p>
+ * 更新采用追加新文档 + 旧文档打删除标记的方式，删除标记超过一半时整体压缩。读写通过读写锁保护。
+ */
+public class TrigramIndex {
+
+    /**
+     * 最短可查询长度，更短的查询无法使用索引
+     */
+    public static final int GRAM_LENGTH = 3;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * 压缩触发的最少删除文档数
+     */
+    private static final int COMPACT_MIN_DELETED = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, Postings> postings = new HashMap<>();
+    private Map<Long, Integer> docByKey = new HashMap<>();
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private String[] texts = new String[INITIAL_CAPACITY];
+    private BitSet deleted = new BitSet();
+    // 总是作为候选返回的文档
+    private BitSet unresolved = new BitSet();
+    private int docCount;
+    private int deletedCount;
+
+    /**
+     * 新增或更新文本
+     *
+     * @param key  业务主键
+     * @param text 文本，为空时等同于删除
+     */
+    public void put(long key, String text) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+            if (text == null || text.isEmpty()) {
+                return;
+            }
+            addInternal(key, text.toLowerCase(Locale.ROOT));
+            if (deletedCount >= COMPACT_MIN_DELETED && deletedCount * 2 > docCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除文本
+     *
+     * @param key 业务主键
+     */
+    public void remove(long key) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 查询包含指定子串的业务主键
+     *
+     * @param query      查询串
+     * @param maxResults 最大结果数
+     * @return 候选业务主键（升序），包含全部匹配的文本与无法由索引判断的文本；
+     * 查询串无法由索引处理或候选数超过 maxResults 时返回 null，由调用方回退到数据库查询
+     */
+    public long[] search(String query, int maxResults) {
+        if (!isSearchable(query)) {
+            return null;
+        }
+        String normalized = query.toLowerCase(Locale.ROOT);
+        long[] grams = grams(normalized);
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = new int[0];
+            int candidateCount = 0;
+            List<Postings> lists = new ArrayList<>(grams.length);
+            for (long gram : grams) {
+                Postings list = postings.get(gram);
+                if (list == null) {
+                    lists = null;
+                    break;
+                }
+                lists.add(list);
+            }
+            if (lists != null) {
+                lists.sort(Comparator.comparingInt(list -> list.size));
+                candidates = Arrays.copyOf(lists.get(0).docs, lists.get(0).size);
+                candidateCount = candidates.length;
+                for (int i = 1; i < lists.size() && candidateCount > 0; i++) {
+                    candidateCount = intersect(candidates, candidateCount, lists.get(i));
+                }
+            }
+
+            long[] result = new long[Math.min(candidateCount + unresolved.cardinality(), maxResults + 1)];
+            int resultCount = 0;
+            for (int i = 0; i < candidateCount; i++) {
+                int doc = candidates[i];
+                if (deleted.get(doc) || unresolved.get(doc) || !texts[doc].contains(normalized)) {
+                    continue;
+                }
+                if (resultCount == maxResults) {
+                    return null;
+                }
+                result[resultCount++] = keys[doc];
+            }
+            for (int doc = unresolved.nextSetBit(0); doc >= 0; doc = unresolved.nextSetBit(doc + 1)) {
+                if (resultCount == maxResults) {
+                    return null;
+                }
+                result[resultCount++] = keys[doc];
+            }
+            long[] matched = Arrays.copyOf(result, resultCount);
+            Arrays.sort(matched);
+            return matched;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 查询串能否由索引处理：长度不短于 {@link #GRAM_LENGTH}，且不含 LIKE 通配符与带变音符号的拉丁字母
+     *
+     * @param query 查询串
+     * @return 能由索引处理时返回 true
+     */
+    public static boolean isSearchable(String query) {
+        if (query == null || query.length() < GRAM_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < query.length(); i++) {
+            char c = query.charAt(i);
+            if (c == '%' || c == '_' || c == '\\' || isCollationSensitive(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 当前有效文本数量
+     *
+     * @return 文本数量
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docCount - deletedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addInternal(long key, String text) {
+        if (docCount == keys.length) {
+            keys = Arrays.copyOf(keys, docCount * 2);
+            texts = Arrays.copyOf(texts, docCount * 2);
+        }
+        int doc = docCount++;
+        keys[doc] = key;
+        texts[doc] = text;
+        docByKey.put(key, doc);
+        if (text.chars().anyMatch(c -> isCollationSensitive((char) c))) {
+            unresolved.set(doc);
+        }
+        // 文档号单调递增，直接追加即可保持倒排表有序
+        for (long gram : grams(text)) {
+            postings.computeIfAbsent(gram, g -> new Postings()).add(doc);
+        }
+    }
+
+    private void removeInternal(long key) {
+        Integer doc = docByKey.remove(key);
+        if (doc != null) {
+            deleted.set(doc);
+            unresolved.clear(doc);
+            texts[doc] = null;
+            deletedCount++;
+        }
+    }
+
+    /**
+     * 丢弃已删除文档，重建倒排表
+     */
+    private void compact() {
+        long[] oldKeys = keys;
+        String[] oldTexts = texts;
+        BitSet oldDeleted = deleted;
+        int oldCount = docCount;
+
+        int live = oldCount - deletedCount;
+        int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(live, 1)) << 1);
+        postings = new HashMap<>();
+        docByKey = new HashMap<>(live * 2);
+        keys = new long[capacity];
+        texts = new String[capacity];
+        deleted = new BitSet();
+        unresolved = new BitSet();
+        docCount = 0;
+        deletedCount = 0;
+        for (int doc = 0; doc < oldCount; doc++) {
+            if (!oldDeleted.get(doc)) {
+                addInternal(oldKeys[doc], oldTexts[doc]);
+            }
+        }
+    }
+
+    /**
+     * 在 utf8mb4_general_ci 下与其他字符比较相等、但 Java 小写转换不会合并的字符（拉丁字母补充与扩展区，如 é 与 e）
+     */
+    private static boolean isCollationSensitive(char c) {
+        return (c >= '\u0080' && c <= '\u02AF') || (c >= '\u1E00' && c <= '\u1EFF');
+    }
+
+    /**
+     * 有序交集，结果原地写回 candidates
+     *
+     * @return 交集大小
+     */
+    private static int intersect(int[] candidates, int candidateCount, Postings other) {
+        int[] docs = other.docs;
+        int size = other.size;
+        int count = 0;
+        int j = 0;
+        for (int i = 0; i < candidateCount && j < size; i++) {
+            int doc = candidates[i];
+            while (j < size && docs[j] < doc) {
+                j++;
+            }
+            if (j < size && docs[j] == doc) {
+                candidates[count++] = doc;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 拆分为去重后的三元组，每个三元组编码为 long（每个字符 16 位）
+     */
+    private static long[] grams(String text) {
+        int length = text.length() - GRAM_LENGTH + 1;
+        if (length <= 0) {
+            return new long[0];
+        }
+        long[] grams = new long[length];
+        for (int i = 0; i < length; i++) {
+            grams[i] = ((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2);
+        }
+        return Arrays.stream(grams).distinct().toArray();
+    }
+
+    /**
+     * 倒排表：按文档号升序排列的 int 数组
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int size;
+
+        private void add(int doc) {
+            if (size > 0 && docs[size - 1] == doc) {
+                return;
+            }
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+            }
+            docs[size++] = doc;
+        }
+    }
+}
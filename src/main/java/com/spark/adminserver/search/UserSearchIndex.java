@@ -0,0 +1,444 @@
+package com.spark.adminserver.search;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.mapper.UserMapper;
+import com.spark.adminserver.model.dto.UserPageQueryDTO;
+import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.util.TransactionUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * 用户名 / 昵称搜索索引
+ * <p>
+ * 启动后在后台线程从数据库加载全部未删除用户，并按 rebuild-interval 定期重建；之后由用户的新增、修改、删除在事务提交后同步更新，
+ * 同时通过 {@link #INDEX_CHANNEL} 通知其他节点（跳过自身）按用户ID从数据库重新读取并更新本地索引。
+ * <p>
+ * 索引只提供候选用户，SQL 仍对候选执行 LIKE 条件，候选多于实际结果不影响正确性，缺少候选则会漏掉结果。
+ * 加载完成前、查询无法由索引处理或候选为空时返回 null，调用方回退到 SQL 的 LIKE 查询：
+ * 广播丢失时其他节点的索引可能缺少新用户，空结果不能确定为"没有匹配"。
+ * <p>
+ * 非空但不完整的候选同样可能出现，因此提交时同时把用户ID记录到 Redis 有序集合 {@link Constants#USER_SEARCH_RECENT_KEY}，
+ * 各节点按 sync-interval 读取上次同步以来变化的用户并从数据库刷新；同步持续失败超过 3 倍间隔时索引不再使用，
+ * 全部回退到 LIKE 查询。广播或单次同步失败时漏掉新用户、改名用户的时间因此不超过约一个同步间隔。
+ */
+@Slf4j
+@Component
+public class UserSearchIndex implements MessageListener {
+
+    /**
+     * 索引更新广播频道
+     */
+    public static final String INDEX_CHANNEL = "user:search:index";
+
+    private static final char SEPARATOR = '|';
+
+    private static final char ID_SEPARATOR = ',';
+
+    /**
+     * 同步窗口向前重叠的时间，容忍节点间的时钟偏差（重复刷新无副作用）
+     */
+    private static final long SYNC_OVERLAP_MILLIS = 10_000L;
+
+    /**
+     * 同步失败超过该倍数的间隔后不再使用索引
+     */
+    private static final int MAX_STALE_SYNC_INTERVALS = 3;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final UserMapper userMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final boolean enabled;
+    private final int maxCandidates;
+    private final long rebuildIntervalMillis;
+    private final long syncIntervalMillis;
+
+    /**
+     * 加载期间被实时更新过的用户，加载时跳过，避免旧数据覆盖新数据；同时作为索引更新的互斥锁
+     */
+    private final Set<Long> touchedDuringLoad = new HashSet<>();
+
+    /**
+     * 当前使用的索引，加载完成前为 null
+     */
+    private volatile Indexes current;
+
+    /**
+     * 正在重建的索引，重建期间的实时更新同时写入
+     */
+    private volatile Indexes building;
+
+    // 下次同步读取的起始时间（近期变化记录的分值）
+    private volatile long syncedSince;
+    // 最近一次成功加载或同步的时间，超过 3 倍同步间隔未更新时索引可能缺少候选，不再使用
+    private volatile long syncedAt;
+    private volatile boolean running = true;
+    private volatile Thread loader;
+
+    public UserSearchIndex(UserMapper userMapper,
+                           RedisTemplate<String, Object> redisTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${user.search.enabled:true}") boolean enabled,
+                           @Value("${user.search.max-candidates:5000}") int maxCandidates,
+                           @Value("${user.search.rebuild-interval:30m}") Duration rebuildInterval,
+                           @Value("${user.search.sync-interval:30s}") Duration syncInterval) {
+        this.userMapper = userMapper;
+        this.redisTemplate = redisTemplate;
+        this.enabled = enabled;
+        this.maxCandidates = maxCandidates;
+        this.rebuildIntervalMillis = rebuildInterval.toMillis();
+        this.syncIntervalMillis = syncInterval.toMillis();
+        Gauge.builder("user.search.index.size", this, UserSearchIndex::size)
+                .description("用户搜索索引中的用户数量")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 应用启动完成后在后台加载索引并定期重建，加载失败时保持 LIKE 查询
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAsync() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::rebuildPeriodically, "user-search-index-loader");
+        thread.setDaemon(true);
+        loader = thread;
+        thread.start();
+    }
+
+    /**
+     * 根据查询条件从索引获取候选用户
+     *
+     * @param queryDTO 查询条件
+     * @return 候选用户；索引未就绪或同步滞后、条件均无法由索引处理或候选为空时返回 null
+     */
+    public SearchCandidates resolve(UserPageQueryDTO queryDTO) {
+        Indexes indexes = current;
+        if (indexes == null || !isSynced()) {
+            return null;
+        }
+        long[] byUsername = StringUtils.isNotBlank(queryDTO.getUsername())
+                ? indexes.username.search(queryDTO.getUsername(), maxCandidates) : null;
+        long[] byNickname = StringUtils.isNotBlank(queryDTO.getNickname())
+                ? indexes.nickname.search(queryDTO.getNickname(), maxCandidates) : null;
+        if (byUsername == null && byNickname == null) {
+            return null;
+        }
+
+        long[] ids;
+        if (byUsername != null && byNickname != null) {
+            ids = Arrays.stream(byUsername).filter(id -> Arrays.binarySearch(byNickname, id) >= 0).toArray();
+        } else {
+            ids = byUsername != null ? byUsername : byNickname;
+        }
+        if (ids.length == 0) {
+            return null;
+        }
+        return new SearchCandidates(Arrays.stream(ids).boxed().toList());
+    }
+
+    /**
+     * 用户新增或修改后更新索引并通知其他节点（事务提交后生效）
+     *
+     * @param userId   用户ID
+     * @param username 用户名
+     * @param nickname 昵称
+     */
+    public void onUserSaved(Long userId, String username, String nickname) {
+        TransactionUtil.afterCommit(() -> {
+            put(userId, username, nickname);
+            recordRecent(List.of(userId));
+            publish(List.of(userId));
+        });
+    }
+
+    /**
+     * 批量新增用户后更新索引，只广播一次（事务提交后生效）
+     *
+     * @param users 用户
+     */
+    public void onUsersSaved(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        TransactionUtil.afterCommit(() -> {
+            for (User user : users) {
+                put(user.getUserId(), user.getUsername(), user.getNickname());
+            }
+            List<Long> userIds = users.stream().map(User::getUserId).toList();
+            recordRecent(userIds);
+            publish(userIds);
+        });
+    }
+
+    /**
+     * 用户删除后更新索引并通知其他节点（事务提交后生效）
+     *
+     * @param userId 用户ID
+     */
+    public void onUserDeleted(Long userId) {
+        TransactionUtil.afterCommit(() -> {
+            remove(userId);
+            recordRecent(List.of(userId));
+            publish(List.of(userId));
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (current == null && building == null) {
+            return;
+        }
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int index = body.indexOf(SEPARATOR);
+        if (index < 0 || nodeId.equals(body.substring(0, index))) {
+            return;
+        }
+        Set<Long> userIds;
+        try {
+            userIds = Arrays.stream(body.substring(index + 1).split(String.valueOf(ID_SEPARATOR)))
+                    .map(Long::valueOf)
+                    .collect(Collectors.toSet());
+        } catch (NumberFormatException e) {
+            log.warn("忽略无效的搜索索引更新消息：{}", body);
+            return;
+        }
+        try {
+            refresh(userIds);
+        } catch (Exception e) {
+            // 本节点索引缺少的用户在下次同步近期变化时补齐
+            log.warn("同步搜索索引更新失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 读取上次同步以来变化的用户，从数据库刷新本地索引
+     *
+     * @return 读取到的用户数
+     */
+    int syncRecent() {
+        long start = System.currentTimeMillis();
+        Set<Object> values = redisTemplate.opsForZSet().rangeByScore(Constants.USER_SEARCH_RECENT_KEY,
+                syncedSince, Double.POSITIVE_INFINITY);
+        Set<Long> userIds = new HashSet<>();
+        if (values != null) {
+            for (Object value : values) {
+                userIds.add(Long.valueOf(value.toString()));
+            }
+        }
+        if (!userIds.isEmpty()) {
+            refresh(userIds);
+        }
+        syncedSince = start - SYNC_OVERLAP_MILLIS;
+        syncedAt = start;
+        return userIds.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread thread = loader;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * 按数据库中的最新数据更新，查询不到的（已删除）从索引移除
+     */
+    private void refresh(Set<Long> userIds) {
+        LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(User::getUserId, User::getUsername, User::getNickname).in(User::getUserId, userIds);
+        Set<Long> missing = new HashSet<>(userIds);
+        for (User user : userMapper.selectList(queryWrapper)) {
+            put(user.getUserId(), user.getUsername(), user.getNickname());
+            missing.remove(user.getUserId());
+        }
+        missing.forEach(this::remove);
+    }
+
+    private void put(Long userId, String username, String nickname) {
+        synchronized (touchedDuringLoad) {
+            markTouched(userId);
+            for (Indexes indexes : targets()) {
+                indexes.username.put(userId, username);
+                indexes.nickname.put(userId, nickname);
+            }
+        }
+    }
+
+    private void remove(Long userId) {
+        synchronized (touchedDuringLoad) {
+            markTouched(userId);
+            for (Indexes indexes : targets()) {
+                indexes.username.remove(userId);
+                indexes.nickname.remove(userId);
+            }
+        }
+    }
+
+    private List<Indexes> targets() {
+        List<Indexes> targets = new ArrayList<>(2);
+        if (current != null) {
+            targets.add(current);
+        }
+        if (building != null) {
+            targets.add(building);
+        }
+        return targets;
+    }
+
+    private void markTouched(Long userId) {
+        if (building != null) {
+            touchedDuringLoad.add(userId);
+        }
+    }
+
+    private void publish(Collection<Long> userIds) {
+        try {
+            String ids = userIds.stream().map(String::valueOf).collect(Collectors.joining(String.valueOf(ID_SEPARATOR)));
+            byte[] body = (nodeId + SEPARATOR + ids).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.publish(INDEX_CHANNEL.getBytes(StandardCharsets.UTF_8), body));
+        } catch (Exception e) {
+            // 广播失败时其他节点在下次同步近期变化时补齐
+            log.warn("广播搜索索引更新失败：{}", e.getMessage());
+        }
+    }
+
+    /**
+     * 记录近期用户变化并清理超过一个重建间隔的记录（一次往返）
+     */
+    private void recordRecent(Collection<Long> userIds) {
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    for (Long userId : userIds) {
+                        ops.opsForZSet().add(Constants.USER_SEARCH_RECENT_KEY, userId.toString(), now);
+                    }
+                    ops.opsForZSet().removeRangeByScore(Constants.USER_SEARCH_RECENT_KEY, Double.NEGATIVE_INFINITY,
+                            now - rebuildIntervalMillis);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            // 其他节点仍可通过广播得知；两者都失败时在下次重建后恢复
+            log.warn("记录近期用户变化失败：{}", e.getMessage());
+        }
+    }
+
+    private void rebuildPeriodically() {
+        long nextRebuild = 0;
+        while (running) {
+            long now = System.currentTimeMillis();
+            // 近期记录只保留一个重建间隔，落后更久时记录可能已被清理，只能重建
+            if (now >= nextRebuild || now - syncedSince > rebuildIntervalMillis) {
+                try {
+                    load();
+                    nextRebuild = now + rebuildIntervalMillis;
+                } catch (Exception e) {
+                    log.warn("用户搜索索引加载失败，{}ms 后重试，期间用户名/昵称搜索使用数据库模糊查询：{}",
+                            syncIntervalMillis, e.getMessage());
+                }
+            } else {
+                try {
+                    syncRecent();
+                } catch (Exception e) {
+                    log.warn("同步近期用户变化失败：{}", e.getMessage());
+                }
+            }
+            try {
+                Thread.sleep(syncIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean isSynced() {
+        return System.currentTimeMillis() - syncedAt < syncIntervalMillis * MAX_STALE_SYNC_INTERVALS;
+    }
+
+    /**
+     * 从数据库加载全部未删除用户，替换当前索引
+     */
+    void load() {
+        long start = System.currentTimeMillis();
+        Indexes next = new Indexes();
+        synchronized (touchedDuringLoad) {
+            building = next;
+        }
+        try {
+            LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.select(User::getUserId, User::getUsername, User::getNickname);
+            userMapper.selectList(queryWrapper, context -> {
+                User user = context.getResultObject();
+                // 与实时更新互斥（仅内存操作），保证"检查是否已更新 + 写入"的原子性
+                synchronized (touchedDuringLoad) {
+                    if (!touchedDuringLoad.contains(user.getUserId())) {
+                        next.username.put(user.getUserId(), user.getUsername());
+                        next.nickname.put(user.getUserId(), user.getNickname());
+                    }
+                }
+            });
+            synchronized (touchedDuringLoad) {
+                current = next;
+            }
+            // 加载开始后提交的变化可能未被扫描到，由下次同步补齐
+            syncedSince = start - SYNC_OVERLAP_MILLIS;
+            syncedAt = start;
+            log.info("用户搜索索引加载完成：users={}, 耗时={}ms", next.username.size(), System.currentTimeMillis() - start);
+        } finally {
+            synchronized (touchedDuringLoad) {
+                building = null;
+                touchedDuringLoad.clear();
+            }
+        }
+    }
+
+    private double size() {
+        Indexes indexes = current;
+        return indexes != null ? indexes.username.size() : 0;
+    }
+
+    /**
+     * 用户名与昵称索引
+     */
+    private static final class Indexes {
+
+        private final TrigramIndex username = new TrigramIndex();
+        private final TrigramIndex nickname = new TrigramIndex();
+    }
+}
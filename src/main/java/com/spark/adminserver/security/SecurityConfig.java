@@ -2,6 +2,7 @@ package com.spark.adminserver.security;
 
 import com.spark.adminserver.security.filter.JwtAuthenticationFilter;
 import com.spark.adminserver.security.handler.AuthenticationEntryPointImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -55,8 +56,10 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // 不创建会话
                 .authorizeHttpRequests(auth -> auth
+                        // 异步分派（SSE、流式导出）沿用原请求已完成的鉴权
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         // 允许访问的公共资源
-                        .requestMatchers("/api/v1/auth/captcha").permitAll()
+                        .requestMatchers("/api/v1/auth/captcha", "/api/v1/auth/captcha/image").permitAll()
                         .requestMatchers("/api/v1/auth/login").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**","/doc.html").permitAll() // 放行Swagger资源
                         // 除上面外的所有请求全部需要鉴权认证
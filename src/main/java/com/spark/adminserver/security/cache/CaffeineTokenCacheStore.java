@@ -0,0 +1,54 @@
+package com.spark.adminserver.security.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.spark.adminserver.util.VerifiedToken;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * W-TinyLFU 淘汰策略的令牌存储（基于 Caffeine），条目按令牌 exp 单独过期
+ */
+public class CaffeineTokenCacheStore implements TokenCacheStore {
+
+    private final Cache<TokenDigest, VerifiedToken> cache;
+
+    public CaffeineTokenCacheStore(int maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<TokenDigest, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(TokenDigest key, VerifiedToken value, long currentTime) {
+                        long remainingMillis = value.getExpiration().getTime() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMillis, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(TokenDigest key, VerifiedToken value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public VerifiedToken get(TokenDigest key) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void put(TokenDigest key, VerifiedToken token) {
+        cache.put(key, token);
+    }
+
+    @Override
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -0,0 +1,235 @@
+package com.spark.adminserver.security.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spark.adminserver.security.entity.LoginUser;
+import com.spark.adminserver.security.session.LoginSessionStore;
+import com.spark.adminserver.security.session.SessionState;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 登录用户两级缓存
+ * <p>
+ * 一级为进程内缓存（容量与过期时间受限），二级为登录时写入的 Redis {@code login:user:{id}}，
+ * 两级均未命中时才回源数据库，并回填 Redis。稳态下每个请求的认证都不需要访问 MySQL。
+ * <p>
+ * 加载在调用线程上、任何监视器锁之外执行（同一用户的并发请求等待同一个 Future），
+ * 避免在 ConcurrentHashMap.compute 的 synchronized 段内做网络 I/O 导致虚拟线程钉住载体线程。
+ * <p>
+ * 缓存值同时包含用户的令牌吊销时间，登录时间不晚于吊销时间的令牌被拒绝。
+ * 退出登录以及用户被禁用、删除、重置密码后调用 {@link #revoke(Long)} 吊销此前签发的全部令牌；
+ * 变更角色后调用 {@link #evict(Long)}，只删除 Redis 中的登录用户，下次请求重新从数据库加载。
+ * 两者都通过 {@link #EVICT_CHANNEL} 通知所有节点（跳过自身）清除本地缓存，广播丢失时由本地缓存过期时间兜底。
+ */
+@Slf4j
+@Component
+public class LoginUserCache implements MessageListener {
+
+    /**
+     * 登录用户清除广播频道
+     */
+    public static final String EVICT_CHANNEL = "login:user:evict";
+
+    private static final String METRIC_NAME = "auth.login-user.cache";
+
+    private static final char SEPARATOR = '|';
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final LoginSessionStore loginSessionStore;
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    /**
+     * 清除计数，用于丢弃清除前开始、清除后才完成的回源结果，避免旧数据回填 Redis
+     */
+    private final AtomicLong evictGeneration = new AtomicLong();
+
+    /**
+     * 一级缓存：进程内
+     */
+    private final AsyncCache<Long, SessionState> localCache;
+
+    private final Counter localHit;
+    private final Counter localMiss;
+    private final Counter redisHit;
+    private final Counter redisMiss;
+
+    public LoginUserCache(LoginSessionStore loginSessionStore,
+                          RedisTemplate<String, Object> redisTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${auth.cache.max-size:10000}") long maxSize,
+                          @Value("${auth.cache.ttl:60s}") Duration ttl) {
+        this.loginSessionStore = loginSessionStore;
+        this.redisTemplate = redisTemplate;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .buildAsync();
+        this.localHit = counter(meterRegistry, "local", "hit");
+        this.localMiss = counter(meterRegistry, "local", "miss");
+        this.redisHit = counter(meterRegistry, "redis", "hit");
+        this.redisMiss = counter(meterRegistry, "redis", "miss");
+    }
+
+    /**
+     * 获取登录用户
+     *
+     * @param userId    用户ID
+     * @param loginTime 令牌中的登录时间（毫秒）
+     * @param loader    两级缓存均未命中时从数据库加载（用户不存在或已禁用时抛出异常）
+     * @return 登录用户，令牌已被吊销时返回 null
+     */
+    public LoginUser get(Long userId, long loginTime, Function<Long, LoginUser> loader) {
+        SessionState state = getState(userId, loader);
+        return state.isRevoked(loginTime) ? null : state.getLoginUser();
+    }
+
+    private SessionState getState(Long userId, Function<Long, LoginUser> loader) {
+        CompletableFuture<SessionState> cached = localCache.getIfPresent(userId);
+        if (cached != null) {
+            localHit.increment();
+            return join(cached);
+        }
+        localMiss.increment();
+
+        // 同一用户的并发未命中只会触发一次加载
+        CompletableFuture<SessionState> loading = new CompletableFuture<>();
+        CompletableFuture<SessionState> existing = localCache.asMap().putIfAbsent(userId, loading);
+        if (existing != null) {
+            return join(existing);
+        }
+        try {
+            SessionState state = loadFromRemote(userId, loader);
+            loading.complete(state);
+            return state;
+        } catch (RuntimeException e) {
+            // 失败的 Future 会被缓存自动移除
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 清除登录用户缓存（本地与 Redis），并通知其他节点清除本地缓存；已签发的令牌仍然有效
+     *
+     * @param userId 用户ID
+     */
+    public void evict(Long userId) {
+        evictLocal(userId);
+        try {
+            loginSessionStore.removeLoginUser(userId);
+        } catch (Exception e) {
+            log.warn("删除 Redis 登录用户失败：ID={}, {}", userId, e.getMessage());
+        }
+        publish(userId);
+    }
+
+    /**
+     * 吊销用户此前签发的全部令牌：清除登录用户缓存并记录吊销时间，通知其他节点清除本地缓存
+     *
+     * @param userId 用户ID
+     */
+    public void revoke(Long userId) {
+        evictLocal(userId);
+        try {
+            loginSessionStore.revoke(userId, System.currentTimeMillis());
+        } catch (Exception e) {
+            log.warn("吊销登录会话失败：ID={}, {}", userId, e.getMessage());
+        }
+        publish(userId);
+    }
+
+    private void publish(Long userId) {
+        try {
+            byte[] body = (nodeId + SEPARATOR + userId).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.publish(EVICT_CHANNEL.getBytes(StandardCharsets.UTF_8), body));
+        } catch (Exception e) {
+            // 广播失败时其他节点在本地缓存过期后恢复一致
+            log.warn("广播登录用户清除失败：ID={}, {}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * 仅清除本地缓存
+     *
+     * @param userId 用户ID
+     */
+    public void evictLocal(Long userId) {
+        evictGeneration.incrementAndGet();
+        localCache.synchronous().invalidate(userId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int index = body.indexOf(SEPARATOR);
+        if (index < 0 || nodeId.equals(body.substring(0, index))) {
+            return;
+        }
+        try {
+            evictLocal(Long.valueOf(body.substring(index + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("忽略无效的登录用户清除消息：{}", body);
+        }
+    }
+
+    /**
+     * 从 Redis 加载，登录用户未命中时回源数据库并回填 Redis
+     */
+    private SessionState loadFromRemote(Long userId, Function<Long, LoginUser> loader) {
+        SessionState stored = loginSessionStore.get(userId);
+        if (stored.getLoginUser() != null) {
+            redisHit.increment();
+            return stored;
+        }
+        redisMiss.increment();
+
+        long generation = evictGeneration.get();
+        LoginUser loginUser = loader.apply(userId);
+        SessionState state = new SessionState(loginUser, stored.getRevokedBefore());
+        if (generation != evictGeneration.get()) {
+            return state;
+        }
+        try {
+            loginSessionStore.refill(loginUser);
+        } catch (Exception e) {
+            log.warn("回填登录用户缓存失败：ID={}, {}", userId, e.getMessage());
+        }
+        return state;
+    }
+
+    private static SessionState join(CompletableFuture<SessionState> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder(METRIC_NAME)
+                .description("登录用户缓存访问次数")
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
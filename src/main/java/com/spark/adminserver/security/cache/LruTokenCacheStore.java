@@ -0,0 +1,61 @@
+package com.spark.adminserver.security.cache;
+
+import com.spark.adminserver.util.VerifiedToken;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * LRU 淘汰策略的令牌存储
+ */
+public class LruTokenCacheStore implements TokenCacheStore {
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LinkedHashMap<TokenDigest, VerifiedToken> map;
+
+    public LruTokenCacheStore(int maxSize) {
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TokenDigest, VerifiedToken> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public VerifiedToken get(TokenDigest key) {
+        lock.lock();
+        try {
+            VerifiedToken token = map.get(key);
+            if (token != null && token.getExpiration().getTime() <= System.currentTimeMillis()) {
+                map.remove(key);
+                return null;
+            }
+            return token;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void put(TokenDigest key, VerifiedToken token) {
+        lock.lock();
+        try {
+            map.put(key, token);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long size() {
+        lock.lock();
+        try {
+            return map.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
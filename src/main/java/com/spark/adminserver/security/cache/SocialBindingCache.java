@@ -0,0 +1,392 @@
+package com.spark.adminserver.security.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.mapper.UserSocialMapper;
+import com.spark.adminserver.model.entity.UserSocial;
+import com.spark.adminserver.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * 社交登录绑定查询缓存
+ * <p>
+ * (provider, openId) -> userId 的本地缓存同时缓存已绑定与未绑定的结果，未绑定结果的过期时间更短。
+ * 缓存未命中时先查布隆过滤器，判定一定未绑定的 OpenID 不再访问数据库；布隆过滤器在应用就绪后由后台线程
+ * 从 sys_user_social 构建并定期重建，构建完成前所有未命中都查询数据库。
+ * <p>
+ * 绑定在写库前先把 OpenID 加入布隆过滤器（事务回滚时只多一个误判），提交后清除本地缓存，
+ * 并通过 {@link #BINDING_CHANNEL} 通知其他节点（跳过自身）加入布隆过滤器并清除缓存。
+ * <p>
+ * 广播可能丢失，因此提交时同时把 OpenID 记录到 Redis 有序集合 {@link Constants#SOCIAL_BINDING_RECENT_KEY}，
+ * 各节点按 sync-interval 读取上次同步以来的记录补齐布隆过滤器；同步持续失败超过 3 倍间隔时布隆过滤器的否定结果不再可信，
+ * 未命中直接查询数据库。新绑定被误拒的时间因此不超过约一个同步间隔，而不是整个重建间隔。
+ */
+@Slf4j
+@Component
+public class SocialBindingCache implements MessageListener {
+
+    /**
+     * 绑定变化广播频道
+     */
+    public static final String BINDING_CHANNEL = "social:binding";
+
+    private static final String METRIC_NAME = "auth.social.cache";
+
+    /**
+     * 未绑定结果的缓存值
+     */
+    private static final Long UNBOUND = -1L;
+
+    private static final char SEPARATOR = '|';
+
+    private static final int LOAD_BATCH_SIZE = 5000;
+
+    /**
+     * 同步窗口向前重叠的时间，容忍节点间的时钟偏差（重复加入布隆过滤器无副作用）
+     */
+    private static final long SYNC_OVERLAP_MILLIS = 10_000L;
+
+    /**
+     * 同步失败超过该倍数的间隔后不再信任布隆过滤器
+     */
+    private static final int MAX_STALE_SYNC_INTERVALS = 3;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final UserSocialMapper userSocialMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final AsyncCache<String, Long> localCache;
+    private final double bloomFpp;
+    private final long rebuildIntervalMillis;
+    private final long syncIntervalMillis;
+
+    private final Counter hit;
+    private final Counter miss;
+    private final Counter rejected;
+
+    private long expectedInsertions;
+    private volatile BloomFilter bloomFilter;
+    // 重建期间的绑定同时写入新的过滤器，避免扫描遗漏
+    private volatile BloomFilter building;
+    // 下次同步读取的起始时间（近期绑定记录的分值）
+    private volatile long syncedSince;
+    // 最近一次成功构建或同步的时间，超过 3 倍同步间隔未更新时布隆过滤器的否定结果不可信
+    private volatile long syncedAt;
+    private volatile boolean running = true;
+    private volatile Thread loader;
+
+    public SocialBindingCache(UserSocialMapper userSocialMapper,
+                              RedisTemplate<String, Object> redisTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.social.cache.max-size:100000}") long maxSize,
+                              @Value("${auth.social.cache.ttl:30m}") Duration ttl,
+                              @Value("${auth.social.cache.negative-ttl:60s}") Duration negativeTtl,
+                              @Value("${auth.social.bloom.expected-insertions:1000000}") long expectedInsertions,
+                              @Value("${auth.social.bloom.fpp:0.01}") double bloomFpp,
+                              @Value("${auth.social.bloom.rebuild-interval:6h}") Duration rebuildInterval,
+                              @Value("${auth.social.bloom.sync-interval:30s}") Duration syncInterval) {
+        this.userSocialMapper = userSocialMapper;
+        this.redisTemplate = redisTemplate;
+        this.expectedInsertions = expectedInsertions;
+        this.bloomFpp = bloomFpp;
+        this.rebuildIntervalMillis = rebuildInterval.toMillis();
+        this.syncIntervalMillis = syncInterval.toMillis();
+        long ttlNanos = ttl.toNanos();
+        long negativeTtlNanos = negativeTtl.toNanos();
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String key, Long value, long currentTime) {
+                        return UNBOUND.equals(value) ? negativeTtlNanos : ttlNanos;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Long value, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Long value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .buildAsync();
+        this.hit = counter(meterRegistry, "hit");
+        this.miss = counter(meterRegistry, "miss");
+        this.rejected = counter(meterRegistry, "bloom-rejected");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread thread = new Thread(this::rebuildPeriodically, "social-bloom-loader");
+        thread.setDaemon(true);
+        loader = thread;
+        thread.start();
+    }
+
+    /**
+     * 查询绑定的用户ID
+     *
+     * @param provider 社交平台标识
+     * @param openId   平台唯一用户标识
+     * @return 用户ID，未绑定时返回 null
+     */
+    public Long getUserId(String provider, String openId) {
+        String key = key(provider, openId);
+        CompletableFuture<Long> cached = localCache.getIfPresent(key);
+        if (cached != null) {
+            hit.increment();
+            return toUserId(join(cached));
+        }
+        BloomFilter filter = bloomFilter;
+        if (filter != null && isSynced() && !filter.mightContain(key)) {
+            rejected.increment();
+            return null;
+        }
+        miss.increment();
+
+        // 同一 OpenID 的并发未命中只查询一次；加载期间被清除时结果不会写入缓存
+        CompletableFuture<Long> loading = new CompletableFuture<>();
+        CompletableFuture<Long> existing = localCache.asMap().putIfAbsent(key, loading);
+        if (existing != null) {
+            return toUserId(join(existing));
+        }
+        try {
+            Long userId = userSocialMapper.selectUserIdByOpenId(provider, openId);
+            loading.complete(userId != null ? userId : UNBOUND);
+            return userId;
+        } catch (RuntimeException e) {
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 即将绑定：加入布隆过滤器（在写库前调用）
+     *
+     * @param provider 社交平台标识
+     * @param openId   平台唯一用户标识
+     */
+    public void markBound(String provider, String openId) {
+        putBloom(key(provider, openId));
+    }
+
+    /**
+     * 绑定或解绑已提交：清除本地缓存并通知其他节点
+     *
+     * @param provider 社交平台标识
+     * @param openId   平台唯一用户标识
+     */
+    public void invalidate(String provider, String openId) {
+        String key = key(provider, openId);
+        // 写库前加入时可能恰好被并发的重建遗漏，提交后再加入一次
+        putBloom(key);
+        localCache.synchronous().invalidate(key);
+        recordRecent(key);
+        try {
+            byte[] body = (nodeId + SEPARATOR + key).getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.publish(BINDING_CHANNEL.getBytes(StandardCharsets.UTF_8), body));
+        } catch (Exception e) {
+            // 广播失败时其他节点在缓存过期、布隆过滤器重建后恢复一致
+            log.warn("广播社交绑定变化失败：{}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int index = body.indexOf(SEPARATOR);
+        if (index < 0 || nodeId.equals(body.substring(0, index))) {
+            return;
+        }
+        String key = body.substring(index + 1);
+        putBloom(key);
+        localCache.synchronous().invalidate(key);
+    }
+
+    /**
+     * 从数据库重建布隆过滤器
+     *
+     * @return 已绑定的 OpenID 数
+     */
+    long rebuild() {
+        long start = System.currentTimeMillis();
+        BloomFilter filter = new BloomFilter(expectedInsertions, bloomFpp);
+        building = filter;
+        long count = 0;
+        try {
+            long afterId = 0;
+            List<UserSocial> batch;
+            do {
+                batch = userSocialMapper.selectOpenIdsAfter(afterId, LOAD_BATCH_SIZE);
+                for (UserSocial userSocial : batch) {
+                    filter.put(key(userSocial.getProvider(), userSocial.getOpenId()));
+                    afterId = userSocial.getId();
+                }
+                count += batch.size();
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            if (count > expectedInsertions) {
+                // 超出预期容量时误判率上升，本次先启用，下次按实际数量的两倍重建
+                log.warn("社交绑定数 {} 超过布隆过滤器预期容量 {}", count, expectedInsertions);
+                expectedInsertions = count * 2;
+            }
+            bloomFilter = filter;
+            // 构建开始后提交的绑定可能未被扫描到，由下次同步补齐
+            syncedSince = start - SYNC_OVERLAP_MILLIS;
+            syncedAt = start;
+        } finally {
+            building = null;
+        }
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread thread = loader;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * 读取上次同步以来的近期绑定记录，加入布隆过滤器并清除本地缓存
+     *
+     * @return 读取到的记录数
+     */
+    int syncRecent() {
+        long start = System.currentTimeMillis();
+        Set<Object> keys = redisTemplate.opsForZSet().rangeByScore(Constants.SOCIAL_BINDING_RECENT_KEY,
+                syncedSince, Double.POSITIVE_INFINITY);
+        int count = 0;
+        if (keys != null) {
+            for (Object value : keys) {
+                String key = value.toString();
+                putBloom(key);
+                localCache.synchronous().invalidate(key);
+                count++;
+            }
+        }
+        syncedSince = start - SYNC_OVERLAP_MILLIS;
+        syncedAt = start;
+        return count;
+    }
+
+    private void rebuildPeriodically() {
+        long nextRebuild = 0;
+        while (running) {
+            long now = System.currentTimeMillis();
+            // 近期记录只保留一个重建间隔，落后更久时记录可能已被清理，只能重建
+            if (now >= nextRebuild || now - syncedSince > rebuildIntervalMillis) {
+                try {
+                    long count = rebuild();
+                    nextRebuild = now + rebuildIntervalMillis;
+                    log.info("社交绑定布隆过滤器已构建：{} 条", count);
+                } catch (Exception e) {
+                    log.warn("社交绑定布隆过滤器构建失败，{}ms 后重试：{}", syncIntervalMillis, e.getMessage());
+                }
+            } else {
+                try {
+                    syncRecent();
+                } catch (Exception e) {
+                    log.warn("同步近期社交绑定失败：{}", e.getMessage());
+                }
+            }
+            try {
+                Thread.sleep(syncIntervalMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private boolean isSynced() {
+        return System.currentTimeMillis() - syncedAt < syncIntervalMillis * MAX_STALE_SYNC_INTERVALS;
+    }
+
+    /**
+     * 记录近期绑定变化并清理超过一个重建间隔的记录（一次往返）
+     */
+    private void recordRecent(String key) {
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    ops.opsForZSet().add(Constants.SOCIAL_BINDING_RECENT_KEY, key, now);
+                    ops.opsForZSet().removeRangeByScore(Constants.SOCIAL_BINDING_RECENT_KEY, Double.NEGATIVE_INFINITY,
+                            now - rebuildIntervalMillis);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            // 其他节点仍可通过广播得知；两者都失败时在下次重建后恢复
+            log.warn("记录近期社交绑定失败：{}", e.getMessage());
+        }
+    }
+
+    private void putBloom(String key) {
+        BloomFilter filter = bloomFilter;
+        if (filter != null) {
+            filter.put(key);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(key);
+        }
+    }
+
+    private static String key(String provider, String openId) {
+        return provider + SEPARATOR + openId;
+    }
+
+    private static Long toUserId(Long cached) {
+        return UNBOUND.equals(cached) ? null : cached;
+    }
+
+    private static Long join(CompletableFuture<Long> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_NAME)
+                .description("社交绑定查询缓存访问次数")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,30 @@
+package com.spark.adminserver.security.cache;
+
+import com.spark.adminserver.util.VerifiedToken;
+
+/**
+ * 已校验令牌的存储（淘汰策略由实现决定）
+ */
+public interface TokenCacheStore {
+
+    /**
+     * 获取未过期的令牌
+     *
+     * @param key 令牌摘要
+     * @return 已校验的令牌，不存在或已过期时返回 null
+     */
+    VerifiedToken get(TokenDigest key);
+
+    /**
+     * 放入令牌，条目最晚在令牌 exp 时失效
+     *
+     * @param key   令牌摘要
+     * @param token 已校验的令牌
+     */
+    void put(TokenDigest key, VerifiedToken token);
+
+    /**
+     * 当前条目数
+     */
+    long size();
+}
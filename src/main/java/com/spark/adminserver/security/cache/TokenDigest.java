@@ -0,0 +1,42 @@
+package com.spark.adminserver.security.cache;
+
+import lombok.EqualsAndHashCode;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * 令牌摘要：取 SHA-256 的前 128 位作为缓存键，避免在缓存中保存完整令牌
+ * <p>
+ * 使用密码学摘要而非 hashCode，保证无法构造与已缓存令牌碰撞的伪造令牌。
+ */
+@EqualsAndHashCode
+public final class TokenDigest {
+
+    private final long high;
+
+    private final long low;
+
+    private TokenDigest(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    /**
+     * 计算令牌摘要
+     *
+     * @param token JWT token
+     * @return 令牌摘要
+     */
+    public static TokenDigest of(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            return new TokenDigest(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.spark.adminserver.security.cache;
+
+import com.spark.adminserver.util.JwtUtil;
+import com.spark.adminserver.util.VerifiedToken;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 已校验令牌缓存
+ * <p>
+ * 同一访问令牌在有效期内会被反复提交，命中缓存时直接跳过签名校验与声明解析。
+ * 缓存键为令牌的 SHA-256 摘要，条目最晚在令牌 exp 时失效。
+ * 这里只缓存签名校验结果，令牌是否已被吊销由 {@link LoginUserCache} 按登录时间判断。
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+
+    private static final String METRIC_NAME = "auth.token.cache";
+
+    private final JwtUtil jwtUtil;
+
+    private final boolean enabled;
+
+    private final TokenCacheStore store;
+
+    private final Counter hit;
+    private final Counter miss;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil,
+                              MeterRegistry meterRegistry,
+                              @Value("${jwt.cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.cache.max-size:10000}") int maxSize,
+                              @Value("${jwt.cache.eviction-policy:tinylfu}") String evictionPolicy) {
+        this.jwtUtil = jwtUtil;
+        this.enabled = enabled;
+        this.store = createStore(evictionPolicy, maxSize);
+        this.hit = Counter.builder(METRIC_NAME).tag("result", "hit").register(meterRegistry);
+        this.miss = Counter.builder(METRIC_NAME).tag("result", "miss").register(meterRegistry);
+        Gauge.builder(METRIC_NAME + ".size", store, TokenCacheStore::size).register(meterRegistry);
+    }
+
+    /**
+     * 校验令牌，优先使用缓存
+     *
+     * @param token JWT token
+     * @return 校验通过的令牌信息，令牌无效时返回 null
+     */
+    public VerifiedToken verify(String token) {
+        if (!enabled) {
+            return jwtUtil.verifyToken(token);
+        }
+
+        TokenDigest key = TokenDigest.of(token);
+        VerifiedToken cached = store.get(key);
+        if (cached != null) {
+            hit.increment();
+            return cached;
+        }
+        miss.increment();
+
+        // 只缓存校验通过的令牌
+        VerifiedToken verifiedToken = jwtUtil.verifyToken(token);
+        if (verifiedToken != null && verifiedToken.getExpiration() != null) {
+            store.put(key, verifiedToken);
+        }
+        return verifiedToken;
+    }
+
+    private static TokenCacheStore createStore(String evictionPolicy, int maxSize) {
+        switch (evictionPolicy.toLowerCase()) {
+            case "lru":
+                return new LruTokenCacheStore(maxSize);
+            case "tinylfu":
+                return new CaffeineTokenCacheStore(maxSize);
+            default:
+                log.warn("未知的令牌缓存淘汰策略：{}，使用 tinylfu", evictionPolicy);
+                return new CaffeineTokenCacheStore(maxSize);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.spark.adminserver.security.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.spark.adminserver.model.entity.User;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -19,6 +21,7 @@ import java.util.stream.Collectors;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class LoginUser implements UserDetails {
     
     private static final long serialVersionUID = 1L;
@@ -51,6 +54,7 @@ public class LoginUser implements UserDetails {
      * 获取权限列表
      */
     @Override
+    @JsonIgnore
     public Collection<? extends GrantedAuthority> getAuthorities() {
         if (permissions == null || permissions.isEmpty()) {
             return List.of();
@@ -64,6 +68,7 @@ public class LoginUser implements UserDetails {
      * 获取密码
      */
     @Override
+    @JsonIgnore
     public String getPassword() {
         return user.getPassword();
     }
@@ -72,6 +77,7 @@ public class LoginUser implements UserDetails {
      * 获取用户名
      */
     @Override
+    @JsonIgnore
     public String getUsername() {
         return user.getUsername();
     }
@@ -80,6 +86,7 @@ public class LoginUser implements UserDetails {
      * 账号是否未过期
      */
     @Override
+    @JsonIgnore
     public boolean isAccountNonExpired() {
         return true;
     }
@@ -88,6 +95,7 @@ public class LoginUser implements UserDetails {
      * 账号是否未锁定
      */
     @Override
+    @JsonIgnore
     public boolean isAccountNonLocked() {
         return true;
     }
@@ -96,6 +104,7 @@ public class LoginUser implements UserDetails {
      * 凭证是否未过期
      */
     @Override
+    @JsonIgnore
     public boolean isCredentialsNonExpired() {
         return true;
     }
@@ -104,6 +113,7 @@ public class LoginUser implements UserDetails {
      * 账号是否启用
      */
     @Override
+    @JsonIgnore
     public boolean isEnabled() {
         return user.getStatus() == 0;
     }
@@ -1,9 +1,11 @@
 package com.spark.adminserver.security.filter;
 
-import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.security.cache.LoginUserCache;
+import com.spark.adminserver.security.cache.VerifiedTokenCache;
+import com.spark.adminserver.security.entity.LoginUser;
 import com.spark.adminserver.security.service.UserDetailsServiceImpl;
-import com.spark.adminserver.util.JwtUtil;
-import io.jsonwebtoken.Claims;
+import com.spark.adminserver.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,7 +14,6 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -28,7 +29,8 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final LoginUserCache loginUserCache;
     private final UserDetailsServiceImpl userDetailsService;
     
     /**
@@ -41,23 +43,43 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     private static final String HEADER_NAME = "Authorization";
     
+    /**
+     * 查询参数名称（仅用于 SSE 连接，浏览器 EventSource 无法设置请求头）
+     * <p>
+     * URL 中的令牌会出现在反向代理 / 负载均衡的访问日志与浏览器历史中，部署时应在这些位置关闭该路径的查询串记录
+     * 或对 access_token 脱敏；本应用的操作日志只记录不含查询串的 URI。其他接口一律不接受该参数。
+     */
+    private static final String PARAM_NAME = "access_token";
+    
+    /**
+     * 允许通过查询参数传递token的路径（与 servletPath 比较，不含 context-path，路径已规范化）
+     */
+    private static final String STREAM_PATH = "/api/v1/messages/stream";
+    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
         try {
             // 获取token
             String token = getTokenFromRequest(request);
             
-            // 验证token
-            if (StringUtils.hasText(token) && jwtUtil.validateToken(token)) {
+            // 验证token（只解析一次，已校验过的令牌直接命中缓存）
+            VerifiedToken verifiedToken = StringUtils.hasText(token) ? verifiedTokenCache.verify(token) : null;
+            if (verifiedToken != null) {
                 // 从token中获取用户ID
-                String userId = jwtUtil.getUserIdFromToken(token);
+                String userId = verifiedToken.getSubject();
                 
-                // 加载用户信息
-                UserDetails userDetails = userDetailsService.loadUserById(Long.valueOf(userId));
+                // 加载用户信息（本地缓存 -> Redis -> 数据库，数据库加载时拒绝已禁用或删除的用户），已吊销的令牌返回 null
+                LoginUser loginUser = loginUserCache.get(Long.valueOf(userId), loginTime(verifiedToken),
+                        userDetailsService::loadUserById);
+                if (loginUser == null) {
+                    log.debug("令牌已吊销：用户ID={}", userId);
+                    filterChain.doFilter(request, response);
+                    return;
+                }
                 
                 // 创建认证信息
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        loginUser, null, loginUser.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 
                 // 设置到SecurityContext
@@ -70,6 +92,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
     
+    /**
+     * 令牌中的登录时间，缺少该声明的令牌视为最早签发
+     */
+    private static long loginTime(VerifiedToken verifiedToken) {
+        Object value = verifiedToken.getClaims().get(Constants.TOKEN_LOGIN_TIME_CLAIM);
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+    
     /**
      * 从请求中获取token
      *
@@ -81,6 +111,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(token) && token.startsWith(TOKEN_PREFIX)) {
             return token.substring(TOKEN_PREFIX.length());
         }
+        if ("GET".equals(request.getMethod()) && STREAM_PATH.equals(request.getServletPath())) {
+            return request.getParameter(PARAM_NAME);
+        }
         return null;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,250 @@
+package com.spark.adminserver.security.limit;
+
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.common.exception.ServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 登录限流
+ * <p>
+ * 按客户端 IP 限制登录请求数，按用户名限制密码错误次数，均为滑动窗口。
+ * 在验证码校验与密码校验（BCrypt）之前调用 {@link #acquire(String)}，被限流的请求不消耗 CPU。
+ * <ul>
+ *     <li>IP：每次登录请求计数（包括被拒绝的请求，持续刷请求的客户端保持被拒绝）</li>
+ *     <li>用户名：密码错误时计数，登录成功后清零</li>
+ * </ul>
+ * 计数默认只在本节点内存中；开启 redis-sync 后同时写入 Redis 按窗口分片的计数，
+ * 未被本地计数拒绝的请求再以一次管道往返读取全局计数判断。Redis 不可用时只使用本地计数。
+ * <p>
+ * IP 取 {@link HttpServletRequest#getRemoteAddr()}：经过代理时由容器只对可信代理解析转发头（见 server.forward-headers-strategy），
+ * 客户端伪造的 X-Forwarded-For 不能绕过限制。IP 与用户名计数各自限制 Key 数，满时不记录新 Key 而不是移除仍在窗口内的计数，
+ * 大量伪造 IP 或用户名的请求不能冲掉已有的锁定（未记录的次数见指标 auth.login.limit.untracked）。
+ */
+@Slf4j
+@Component
+public class LoginRateLimiter {
+
+    private static final String METRIC_NAME = "auth.login.throttled";
+    private static final String UNTRACKED_METRIC_NAME = "auth.login.limit.untracked";
+    private static final String IP_SCOPE = "ip";
+    private static final String USERNAME_SCOPE = "user";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean enabled;
+    private final boolean redisSync;
+    private final int ipMaxAttempts;
+    private final int usernameMaxFailures;
+    private final SlidingWindowCounter ipCounter;
+    private final SlidingWindowCounter usernameCounter;
+
+    private final Counter ipThrottled;
+    private final Counter usernameThrottled;
+
+    public LoginRateLimiter(StringRedisTemplate stringRedisTemplate,
+                            MeterRegistry meterRegistry,
+                            @Value("${login.limit.enabled:true}") boolean enabled,
+                            @Value("${login.limit.redis-sync:false}") boolean redisSync,
+                            @Value("${login.limit.ip.max-attempts:30}") int ipMaxAttempts,
+                            @Value("${login.limit.ip.window:1m}") Duration ipWindow,
+                            @Value("${login.limit.username.max-failures:5}") int usernameMaxFailures,
+                            @Value("${login.limit.username.window:15m}") Duration usernameWindow,
+                            @Value("${login.limit.ip.max-keys:100000}") int ipMaxKeys,
+                            @Value("${login.limit.username.max-keys:100000}") int usernameMaxKeys,
+                            @Value("${login.limit.stripes:64}") int stripes) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.redisSync = redisSync;
+        this.ipMaxAttempts = ipMaxAttempts;
+        this.usernameMaxFailures = usernameMaxFailures;
+        this.ipCounter = new SlidingWindowCounter(ipWindow.toMillis(), stripes, ipMaxKeys);
+        this.usernameCounter = new SlidingWindowCounter(usernameWindow.toMillis(), stripes, usernameMaxKeys);
+        this.ipThrottled = Counter.builder(METRIC_NAME).tag("scope", IP_SCOPE).register(meterRegistry);
+        this.usernameThrottled = Counter.builder(METRIC_NAME).tag("scope", USERNAME_SCOPE).register(meterRegistry);
+        FunctionCounter.builder(UNTRACKED_METRIC_NAME, ipCounter, SlidingWindowCounter::rejectedKeys)
+                .description("本地计数 Key 数已满而未记录的次数")
+                .tag("scope", IP_SCOPE)
+                .register(meterRegistry);
+        FunctionCounter.builder(UNTRACKED_METRIC_NAME, usernameCounter, SlidingWindowCounter::rejectedKeys)
+                .description("本地计数 Key 数已满而未记录的次数")
+                .tag("scope", USERNAME_SCOPE)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 登录请求开始：记录一次 IP 请求，超过限制时拒绝
+     *
+     * @param username 登录用户名
+     * @throws ServiceException 被限流（错误码 429）
+     */
+    public void acquire(String username) {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String user = normalize(username);
+        String ip = currentIp();
+
+        // 先检查本地计数，被拒绝的请求不访问 Redis
+        if (user != null && usernameCounter.get(user, now) >= usernameMaxFailures) {
+            throw usernameLocked();
+        }
+        if (ip != null && ipCounter.increment(ip, now) > ipMaxAttempts) {
+            if (redisSync) {
+                incrementRemote(IP_SCOPE, ip, ipCounter, now);
+            }
+            throw ipThrottled();
+        }
+        if (redisSync) {
+            checkRemote(user, ip, now);
+        }
+    }
+
+    /**
+     * 密码错误：用户名失败次数加一
+     *
+     * @param username 登录用户名
+     */
+    public void onFailure(String username) {
+        String user = normalize(username);
+        if (!enabled || user == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        usernameCounter.increment(user, now);
+        if (redisSync) {
+            incrementRemote(USERNAME_SCOPE, user, usernameCounter, now);
+        }
+    }
+
+    /**
+     * 登录成功：清零用户名失败次数
+     *
+     * @param username 登录用户名
+     */
+    public void onSuccess(String username) {
+        String user = normalize(username);
+        if (!enabled || user == null) {
+            return;
+        }
+        usernameCounter.reset(user);
+        if (redisSync) {
+            long index = usernameCounter.windowIndex(System.currentTimeMillis());
+            try {
+                stringRedisTemplate.delete(List.of(remoteKey(USERNAME_SCOPE, user, index),
+                        remoteKey(USERNAME_SCOPE, user, index - 1)));
+            } catch (Exception e) {
+                log.warn("清除登录失败计数失败：{}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 一次管道往返：读取用户名失败次数，IP 请求数加一并读取，按全局计数判断
+     */
+    private void checkRemote(String user, String ip, long now) {
+        long userIndex = usernameCounter.windowIndex(now);
+        long ipIndex = ipCounter.windowIndex(now);
+        List<Object> results;
+        try {
+            results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                if (user != null) {
+                    stringConnection.get(remoteKey(USERNAME_SCOPE, user, userIndex - 1));
+                    stringConnection.get(remoteKey(USERNAME_SCOPE, user, userIndex));
+                }
+                if (ip != null) {
+                    String current = remoteKey(IP_SCOPE, ip, ipIndex);
+                    stringConnection.get(remoteKey(IP_SCOPE, ip, ipIndex - 1));
+                    stringConnection.incr(current);
+                    stringConnection.pExpire(current, ipCounter.windowMillis() * 2);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("读取全局登录计数失败，只使用本地计数：{}", e.getMessage());
+            return;
+        }
+        int offset = 0;
+        if (user != null) {
+            double failures = usernameCounter.estimate(count(results.get(0)), count(results.get(1)), now);
+            offset = 2;
+            if (failures >= usernameMaxFailures) {
+                throw usernameLocked();
+            }
+        }
+        if (ip != null) {
+            double attempts = ipCounter.estimate(count(results.get(offset)), count(results.get(offset + 1)), now);
+            if (attempts > ipMaxAttempts) {
+                throw ipThrottled();
+            }
+        }
+    }
+
+    private void incrementRemote(String scope, String key, SlidingWindowCounter counter, long now) {
+        String current = remoteKey(scope, key, counter.windowIndex(now));
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                stringConnection.incr(current);
+                stringConnection.pExpire(current, counter.windowMillis() * 2);
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("写入全局登录计数失败：{}", e.getMessage());
+        }
+    }
+
+    private ServiceException usernameLocked() {
+        usernameThrottled.increment();
+        long minutes = Math.max(1, Duration.ofMillis(usernameCounter.windowMillis()).toMinutes());
+        return new ServiceException(429, "密码错误次数过多，请 " + minutes + " 分钟后重试");
+    }
+
+    private ServiceException ipThrottled() {
+        ipThrottled.increment();
+        return new ServiceException(429, "登录请求过于频繁，请稍后重试");
+    }
+
+    private static String remoteKey(String scope, String key, long windowIndex) {
+        return Constants.LOGIN_LIMIT_KEY + scope + ":" + key + ":" + windowIndex;
+    }
+
+    private static long count(Object value) {
+        if (value == null) {
+            return 0L;
+        }
+        return value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+    }
+
+    private static String normalize(String username) {
+        if (username == null || username.isBlank()) {
+            return null;
+        }
+        return username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String currentIp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            // 不读取转发请求头，可信代理的转发头已由容器解析到 remoteAddr
+            return servletAttributes.getRequest().getRemoteAddr();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,235 @@
+package com.spark.adminserver.security.limit;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分段滑动窗口计数器
+ * <p>
+ * 每个 Key 只保存上一窗口与当前窗口两个计数，按当前时间在窗口内的位置对上一窗口计数加权，近似滑动窗口内的总数：
+ * {@code 估算值 = 当前窗口计数 + 上一窗口计数 * 上一窗口仍在滑动窗口内的比例}。
+ * <p>
+ * Key 按哈希分到多个段，每段一把锁和一个 HashMap，不同段互不竞争；锁内只做内存计算。
+ * 段内 Key 数达到上限时只清理已过期的 Key，从不移除仍在窗口内的计数（否则大量新 Key 可以冲掉已有的限制）；
+ * 仍然没有空间时不记录新 Key 并计数，内存占用有上界。
+ */
+public class SlidingWindowCounter {
+
+    private final long windowMillis;
+    private final int maxKeysPerStripe;
+    private final Stripe[] stripes;
+    private final int mask;
+    private final LongAdder rejectedKeys = new LongAdder();
+
+    /**
+     * @param windowMillis 窗口长度（毫秒）
+     * @param stripes      段数（向上取整为 2 的幂）
+     * @param maxKeys      最大 Key 数（平均分到各段）
+     */
+    public SlidingWindowCounter(long windowMillis, int stripes, int maxKeys) {
+        if (windowMillis <= 0 || stripes <= 0 || maxKeys <= 0) {
+            throw new IllegalArgumentException("窗口长度、段数与最大 Key 数必须大于 0");
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.windowMillis = windowMillis;
+        this.maxKeysPerStripe = Math.max(1, maxKeys / size);
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * 计数加一
+     *
+     * @param key Key
+     * @param now 当前时间（毫秒）
+     * @return 加一后的滑动窗口估算值；Key 数已达上限且没有可清理的过期 Key 时不记录，返回 0
+     */
+    public double increment(String key, long now) {
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.get(key);
+            if (window == null) {
+                if (stripe.windows.size() >= maxKeysPerStripe && !evictExpired(stripe, now)) {
+                    rejectedKeys.increment();
+                    return 0;
+                }
+                window = new Window(alignedStart(now));
+                stripe.windows.put(key, window);
+            }
+            roll(window, now);
+            window.current++;
+            return estimate(window, now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 获取滑动窗口估算值
+     *
+     * @param key Key
+     * @param now 当前时间（毫秒）
+     * @return 估算值，Key 不存在时为 0
+     */
+    public double get(String key, long now) {
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            Window window = stripe.windows.get(key);
+            if (window == null) {
+                return 0;
+            }
+            roll(window, now);
+            return estimate(window, now);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 清除 Key 的计数
+     *
+     * @param key Key
+     */
+    public void reset(String key) {
+        Stripe stripe = stripe(key);
+        stripe.lock.lock();
+        try {
+            stripe.windows.remove(key);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    /**
+     * 当前 Key 数
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                size += stripe.windows.size();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 因 Key 数已达上限而未记录的新 Key 次数
+     */
+    public long rejectedKeys() {
+        return rejectedKeys.sum();
+    }
+
+    /**
+     * 窗口长度（毫秒）
+     */
+    public long windowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * 按上一窗口与当前窗口计数估算滑动窗口内的总数（可用于合并其他节点的计数）
+     *
+     * @param previous 上一窗口计数
+     * @param current  当前窗口计数
+     * @param now      当前时间（毫秒）
+     * @return 估算值
+     */
+    public double estimate(long previous, long current, long now) {
+        double elapsed = (double) (now - alignedStart(now)) / windowMillis;
+        return current + previous * (1 - elapsed);
+    }
+
+    /**
+     * 当前时间所在窗口的序号
+     *
+     * @param now 当前时间（毫秒）
+     */
+    public long windowIndex(long now) {
+        return Math.floorDiv(now, windowMillis);
+    }
+
+    private double estimate(Window window, long now) {
+        return estimate(window.previous, window.current, now);
+    }
+
+    private void roll(Window window, long now) {
+        long start = alignedStart(now);
+        if (start == window.start) {
+            return;
+        }
+        window.previous = start - window.start == windowMillis ? window.current : 0;
+        window.current = 0;
+        window.start = start;
+    }
+
+    /**
+     * 清理两个窗口内没有计数的 Key
+     * <p>
+     * 清理后仍无空间时记录最早可能过期的时间，此前不再遍历，避免段已满时每个新 Key 都在锁内扫描整段。
+     *
+     * @return 是否有空间记录新 Key
+     */
+    private boolean evictExpired(Stripe stripe, long now) {
+        if (now < stripe.nextExpiry) {
+            return false;
+        }
+        long expiredBefore = alignedStart(now) - windowMillis;
+        long oldestStart = Long.MAX_VALUE;
+        Iterator<Window> iterator = stripe.windows.values().iterator();
+        while (iterator.hasNext()) {
+            Window window = iterator.next();
+            if (window.start < expiredBefore) {
+                iterator.remove();
+            } else {
+                oldestStart = Math.min(oldestStart, window.start);
+            }
+        }
+        if (stripe.windows.size() < maxKeysPerStripe) {
+            return true;
+        }
+        // 窗口起点只会后移，最早的 Key 在其起点两个窗口后过期
+        stripe.nextExpiry = oldestStart + 2 * windowMillis;
+        return false;
+    }
+
+    private long alignedStart(long now) {
+        return now - Math.floorMod(now, windowMillis);
+    }
+
+    private Stripe stripe(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<String, Window> windows = new HashMap<>();
+        // 段已满时最早可能有 Key 过期的时间
+        private long nextExpiry;
+    }
+
+    private static final class Window {
+        private long start;
+        private long previous;
+        private long current;
+
+        private Window(long start) {
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.spark.adminserver.security.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * BCrypt 强度校准
+ * <p>
+ * 在当前机器上从最低强度开始逐级测量单次加密耗时（强度每加 1 耗时翻倍），
+ * 选择耗时不超过目标值的最高强度。
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    /**
+     * 最低强度（Spring Security 默认值）
+     */
+    public static final int MIN_STRENGTH = 10;
+
+    /**
+     * 最高强度
+     */
+    public static final int MAX_STRENGTH = 16;
+
+    private static final String SAMPLE_PASSWORD = "calibration-Password-123";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    /**
+     * 校准 BCrypt 强度
+     *
+     * @param target 单次加密的目标耗时
+     * @return 强度
+     */
+    public static int calibrate(Duration target) {
+        long targetNanos = target.toNanos();
+        int strength = MIN_STRENGTH;
+        // 预热，避免首次调用的类加载与 JIT 影响测量
+        new BCryptPasswordEncoder(4).encode(SAMPLE_PASSWORD);
+        long elapsed = measure(strength);
+        // 强度每加 1 耗时翻倍，预计下一级仍在目标内时才继续测量
+        while (strength < MAX_STRENGTH && elapsed * 2 <= targetNanos) {
+            strength++;
+            elapsed = measure(strength);
+        }
+        if (elapsed > targetNanos && strength > MIN_STRENGTH) {
+            strength--;
+        }
+        log.info("BCrypt 强度校准完成：strength={}, 目标耗时={}ms, 实测耗时={}ms",
+                strength, target.toMillis(), elapsed / 1_000_000);
+        return strength;
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        return System.nanoTime() - start;
+    }
+}
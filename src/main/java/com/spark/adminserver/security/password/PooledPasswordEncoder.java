@@ -0,0 +1,127 @@
+package com.spark.adminserver.security.password;
+
+import com.spark.adminserver.common.exception.ServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 在独立线程池中执行的密码编码器
+ * <p>
+ * BCrypt 的加密与校验都在固定大小的线程池中执行，等待队列有界：
+ * 队列已满时立即拒绝（HTTP 503“系统繁忙”），等待超时同样拒绝。
+ * 排队的调用方仍阻塞着一个请求线程，因此队列容量应远小于 Tomcat 线程数（见 BeanConfig），
+ * 使登录高峰时 CPU 密集的哈希计算不会占满请求线程、拖慢其他接口。
+ */
+@Slf4j
+public class PooledPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final String METRIC_PREFIX = "security.password.hash";
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final long timeoutMillis;
+
+    private final Timer hashTimer;
+    private final Counter rejectedCounter;
+
+    public PooledPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration timeout,
+                                 MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutMillis = timeout.toMillis();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+        this.hashTimer = Timer.builder(METRIC_PREFIX)
+                .description("密码哈希计算耗时（不含排队）")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("因队列已满或等待超时被拒绝的密码哈希请求")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue", executor, e -> e.getQueue().size())
+                .description("等待执行的密码哈希请求数")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("正在执行的密码哈希请求数")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // 只解析哈希前缀，不需要进入线程池
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 获取底层编码器，供自带线程池的批量任务直接使用
+     *
+     * @return 底层编码器
+     */
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            log.warn("密码哈希队列已满，拒绝请求：queue={}", executor.getQueue().size());
+            throw new ServiceException(503, "系统繁忙，请稍后重试");
+        }
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            log.warn("密码哈希等待超时：{}ms", timeoutMillis);
+            throw new ServiceException(503, "系统繁忙，请稍后重试");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceException("密码处理被中断");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new ServiceException("密码处理失败");
+        }
+    }
+}
@@ -0,0 +1,490 @@
+package com.spark.adminserver.security.permission;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spark.adminserver.mapper.PermissionMapper;
+import com.spark.adminserver.mapper.RoleMapper;
+import com.spark.adminserver.mapper.RolePermissionMapper;
+import com.spark.adminserver.mapper.UserRoleMapper;
+import com.spark.adminserver.model.entity.Permission;
+import com.spark.adminserver.model.entity.Role;
+import com.spark.adminserver.model.entity.RolePermission;
+import com.spark.adminserver.model.entity.UserRole;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * RBAC 权限解析器
+ * <p>
+ * 角色→权限关系一次性加载为不可变快照：权限标识映射为连续的 int 编号，每个角色对应一个 BitSet。
+ * 用户的角色在首次访问时加载，权限并集按需计算并缓存，权限校验只是一次 BitSet 查找。
+ * <p>
+ * 用户角色变更时调用 {@link #refreshUser(Long)} 只刷新该用户；角色的权限变更时调用 {@link #refreshRole(Long)}
+ * 替换该角色的 BitSet，已缓存的用户并集在下次访问时按新版本重新计算。
+ * 刷新同时通过 {@link #REFRESH_CHANNEL} 通知其他节点（跳过自身）执行相同的刷新；
+ * 用户的角色缓存与角色快照另有过期时间，广播丢失时最晚在过期后恢复一致。
+ */
+@Slf4j
+@Component
+public class PermissionResolver implements MessageListener {
+
+    /**
+     * 权限刷新广播频道
+     */
+    public static final String REFRESH_CHANNEL = "rbac:refresh";
+
+    /**
+     * 超级管理员角色标识，拥有全部权限
+     */
+    public static final String SUPER_ADMIN_ROLE = "superadmin";
+
+    private static final int STATUS_NORMAL = 0;
+
+    private static final char SEPARATOR = '|';
+
+    private static final String SCOPE_USER = "user";
+    private static final String SCOPE_ROLE = "role";
+    private static final String SCOPE_ALL = "all";
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final RoleMapper roleMapper;
+    private final PermissionMapper permissionMapper;
+    private final RolePermissionMapper rolePermissionMapper;
+    private final UserRoleMapper userRoleMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final long snapshotTtlMillis;
+
+    /**
+     * 用户 → 角色及权限并集
+     */
+    private final Cache<Long, UserGrant> userGrants;
+
+    /**
+     * 用户角色变更计数，用于丢弃变更前开始、变更后才完成的加载结果
+     */
+    private final AtomicLong assignmentGeneration = new AtomicLong();
+
+    /**
+     * 快照加载锁（加载期间有数据库 I/O，不使用 synchronized）
+     */
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public PermissionResolver(RoleMapper roleMapper,
+                              PermissionMapper permissionMapper,
+                              RolePermissionMapper rolePermissionMapper,
+                              UserRoleMapper userRoleMapper,
+                              RedisTemplate<String, Object> redisTemplate,
+                              @Value("${rbac.user-cache.max-size:10000}") long maxUsers,
+                              @Value("${rbac.user-cache.ttl:10m}") Duration ttl,
+                              @Value("${rbac.snapshot-ttl:10m}") Duration snapshotTtl) {
+        this.roleMapper = roleMapper;
+        this.permissionMapper = permissionMapper;
+        this.rolePermissionMapper = rolePermissionMapper;
+        this.userRoleMapper = userRoleMapper;
+        this.redisTemplate = redisTemplate;
+        this.snapshotTtlMillis = snapshotTtl.toMillis();
+        this.userGrants = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * 判断用户是否拥有权限
+     *
+     * @param userId        用户ID
+     * @param permissionKey 权限标识
+     * @return 拥有权限返回 true
+     */
+    public boolean hasPermission(Long userId, String permissionKey) {
+        Resolved resolved = resolve(userId);
+        if (resolved.superAdmin) {
+            return true;
+        }
+        Integer index = resolved.snapshot.permissionIndex.get(permissionKey);
+        return index != null && resolved.permissions.get(index);
+    }
+
+    /**
+     * 判断用户是否拥有角色
+     *
+     * @param userId  用户ID
+     * @param roleKey 角色标识
+     * @return 拥有角色返回 true
+     */
+    public boolean hasRole(Long userId, String roleKey) {
+        return resolve(userId).roleKeys.contains(roleKey);
+    }
+
+    /**
+     * 获取用户的角色标识
+     *
+     * @param userId 用户ID
+     * @return 角色标识列表
+     */
+    public List<String> getRoleKeys(Long userId) {
+        return resolve(userId).roleKeys;
+    }
+
+    /**
+     * 获取用户的权限标识
+     *
+     * @param userId 用户ID
+     * @return 权限标识列表
+     */
+    public List<String> getPermissionKeys(Long userId) {
+        Resolved resolved = resolve(userId);
+        String[] keys = resolved.snapshot.permissionKeys;
+        BitSet permissions = resolved.superAdmin ? resolved.snapshot.allPermissions : resolved.permissions;
+        List<String> result = new ArrayList<>(permissions.cardinality());
+        for (int i = permissions.nextSetBit(0); i >= 0; i = permissions.nextSetBit(i + 1)) {
+            result.add(keys[i]);
+        }
+        return result;
+    }
+
+    /**
+     * 获取用户无权分配的角色：角色的权限不是用户权限的子集
+     * <p>
+     * 超级管理员可以分配任何角色；其他用户不能分配超级管理员角色（隐含全部权限），
+     * 也不能分配已停用或不存在的角色（无法确定启用后的权限）。
+     *
+     * @param userId  分配角色的用户ID
+     * @param roleIds 待分配的角色ID
+     * @return 无权分配的角色ID
+     */
+    public Set<Long> getUngrantableRoles(Long userId, Collection<Long> roleIds) {
+        Resolved resolved = resolve(userId);
+        if (resolved.superAdmin) {
+            return Set.of();
+        }
+        Set<Long> ungrantable = new LinkedHashSet<>();
+        for (Long roleId : roleIds) {
+            RoleEntry role = resolved.snapshot.roles.get(roleId);
+            if (role == null || SUPER_ADMIN_ROLE.equals(role.roleKey)) {
+                ungrantable.add(roleId);
+                continue;
+            }
+            BitSet extra = (BitSet) role.permissions.clone();
+            extra.andNot(resolved.permissions);
+            if (!extra.isEmpty()) {
+                ungrantable.add(roleId);
+            }
+        }
+        return ungrantable;
+    }
+
+    /**
+     * 用户角色变更后刷新该用户，并通知其他节点
+     *
+     * @param userId 用户ID
+     */
+    public void refreshUser(Long userId) {
+        refreshUserLocal(userId);
+        publish(SCOPE_USER, userId);
+    }
+
+    /**
+     * 角色或其权限变更后刷新该角色，并通知其他节点
+     *
+     * @param roleId 角色ID
+     */
+    public void refreshRole(Long roleId) {
+        refreshRoleLocal(roleId);
+        publish(SCOPE_ROLE, roleId);
+    }
+
+    /**
+     * 重新加载全部角色与权限（权限定义变更后调用），并通知其他节点
+     */
+    public void reload() {
+        reloadLocal();
+        publish(SCOPE_ALL, null);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split("\\" + SEPARATOR, -1);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        try {
+            switch (parts[1]) {
+                case SCOPE_USER -> refreshUserLocal(Long.valueOf(parts[2]));
+                case SCOPE_ROLE -> refreshRoleLocal(Long.valueOf(parts[2]));
+                case SCOPE_ALL -> reloadLocal();
+                default -> log.warn("忽略未知的权限刷新消息：{}", parts[1]);
+            }
+        } catch (RuntimeException e) {
+            // 角色快照刷新失败时保持旧快照，由下次刷新或重启恢复
+            log.warn("处理权限刷新消息失败：{}，{}", String.join(String.valueOf(SEPARATOR), parts), e.getMessage());
+        }
+    }
+
+    private void refreshUserLocal(Long userId) {
+        assignmentGeneration.incrementAndGet();
+        userGrants.invalidate(userId);
+    }
+
+    private void refreshRoleLocal(Long roleId) {
+        snapshotLock.lock();
+        try {
+            Snapshot current = snapshot;
+            if (current == null) {
+                return;
+            }
+            Role role = roleMapper.selectById(roleId);
+            Map<Long, RoleEntry> roles = new HashMap<>(current.roles);
+            if (role == null || role.getStatus() != STATUS_NORMAL) {
+                roles.remove(roleId);
+            } else {
+                BitSet permissions = new BitSet(current.permissionKeys.length);
+                for (RolePermission link : rolePermissionMapper.selectList(
+                        new LambdaQueryWrapper<RolePermission>().eq(RolePermission::getRoleId, roleId))) {
+                    Integer index = current.indexByPermissionId.get(link.getPermissionId());
+                    if (index == null && !current.disabledPermissionIds.contains(link.getPermissionId())) {
+                        // 引用了快照中没有的新权限，重新加载全部
+                        snapshot = loadSnapshot(current.version + 1);
+                        return;
+                    }
+                    if (index != null) {
+                        permissions.set(index);
+                    }
+                }
+                roles.put(roleId, new RoleEntry(role.getRoleKey(), permissions));
+            }
+            snapshot = new Snapshot(current.version + 1, current.loadedAt, current.permissionIndex, current.permissionKeys,
+                    current.indexByPermissionId, current.disabledPermissionIds, roles);
+            log.info("角色权限已刷新：roleId={}", roleId);
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private void reloadLocal() {
+        snapshotLock.lock();
+        try {
+            Snapshot current = snapshot;
+            snapshot = loadSnapshot(current != null ? current.version + 1 : 1);
+        } finally {
+            snapshotLock.unlock();
+        }
+        assignmentGeneration.incrementAndGet();
+        userGrants.invalidateAll();
+    }
+
+    private void publish(String scope, Long id) {
+        try {
+            byte[] body = (nodeId + SEPARATOR + scope + SEPARATOR + (id != null ? id : ""))
+                    .getBytes(StandardCharsets.UTF_8);
+            redisTemplate.execute((RedisCallback<Long>) connection ->
+                    connection.publish(REFRESH_CHANNEL.getBytes(StandardCharsets.UTF_8), body));
+        } catch (Exception e) {
+            // 广播失败时其他节点在用户角色缓存过期后恢复一致（角色权限变更需等待下次刷新或重启）
+            log.warn("广播权限刷新失败：{}:{}，{}", scope, id, e.getMessage());
+        }
+    }
+
+    private Resolved resolve(Long userId) {
+        Snapshot current = snapshot();
+        UserGrant grant = userGrants.getIfPresent(userId);
+        if (grant == null) {
+            // 加载在缓存的 compute 之外执行，避免持有监视器锁做数据库 I/O
+            long generation = assignmentGeneration.get();
+            List<UserRole> links = userRoleMapper.selectList(
+                    new LambdaQueryWrapper<UserRole>().eq(UserRole::getUserId, userId));
+            grant = new UserGrant(links.stream().mapToLong(UserRole::getRoleId).toArray());
+            if (generation == assignmentGeneration.get()) {
+                userGrants.put(userId, grant);
+            }
+        }
+        return grant.resolve(current);
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            // 过期后由一个线程重新加载，其他线程继续使用当前快照
+            if (System.currentTimeMillis() - current.loadedAt >= snapshotTtlMillis && snapshotLock.tryLock()) {
+                try {
+                    if (snapshot == current) {
+                        snapshot = loadSnapshot(current.version + 1);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("RBAC 权限快照重新加载失败，继续使用当前快照：{}", e.getMessage());
+                } finally {
+                    snapshotLock.unlock();
+                }
+                return snapshot;
+            }
+            return current;
+        }
+        snapshotLock.lock();
+        try {
+            if (snapshot == null) {
+                snapshot = loadSnapshot(1);
+            }
+            return snapshot;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    private Snapshot loadSnapshot(long version) {
+        long start = System.currentTimeMillis();
+        Map<String, Integer> permissionIndex = new HashMap<>();
+        Map<Long, Integer> indexByPermissionId = new HashMap<>();
+        Set<Long> disabledPermissionIds = new HashSet<>();
+        List<String> keys = new ArrayList<>();
+        for (Permission permission : permissionMapper.selectList(null)) {
+            String key = permission.getPermissionKey();
+            if (key == null || key.isEmpty() || permission.getStatus() != STATUS_NORMAL) {
+                disabledPermissionIds.add(permission.getId());
+                continue;
+            }
+            // 相同标识的权限共用一个编号
+            Integer index = permissionIndex.computeIfAbsent(key, k -> {
+                keys.add(k);
+                return keys.size() - 1;
+            });
+            indexByPermissionId.put(permission.getId(), index);
+        }
+
+        Map<Long, RoleEntry> roles = new HashMap<>();
+        for (Role role : roleMapper.selectList(new LambdaQueryWrapper<Role>().eq(Role::getStatus, STATUS_NORMAL))) {
+            roles.put(role.getId(), new RoleEntry(role.getRoleKey(), new BitSet(keys.size())));
+        }
+        for (RolePermission link : rolePermissionMapper.selectList(null)) {
+            RoleEntry role = roles.get(link.getRoleId());
+            Integer index = indexByPermissionId.get(link.getPermissionId());
+            if (role != null && index != null) {
+                role.permissions.set(index);
+            }
+        }
+
+        Snapshot loaded = new Snapshot(version, start, permissionIndex, keys.toArray(new String[0]),
+                indexByPermissionId, disabledPermissionIds, roles);
+        log.info("RBAC 权限快照加载完成：version={}, roles={}, permissions={}, 耗时={}ms",
+                version, roles.size(), keys.size(), System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    /**
+     * 角色与权限的不可变快照
+     */
+    private static final class Snapshot {
+
+        private final long version;
+        // 从数据库加载的时间，单个角色刷新不改变
+        private final long loadedAt;
+        private final Map<String, Integer> permissionIndex;
+        private final String[] permissionKeys;
+        private final Map<Long, Integer> indexByPermissionId;
+        private final Set<Long> disabledPermissionIds;
+        private final Map<Long, RoleEntry> roles;
+        private final BitSet allPermissions;
+
+        private Snapshot(long version, long loadedAt, Map<String, Integer> permissionIndex, String[] permissionKeys,
+                         Map<Long, Integer> indexByPermissionId, Set<Long> disabledPermissionIds,
+                         Map<Long, RoleEntry> roles) {
+            this.version = version;
+            this.loadedAt = loadedAt;
+            this.permissionIndex = permissionIndex;
+            this.permissionKeys = permissionKeys;
+            this.indexByPermissionId = indexByPermissionId;
+            this.disabledPermissionIds = disabledPermissionIds;
+            this.roles = roles;
+            this.allPermissions = new BitSet(permissionKeys.length);
+            this.allPermissions.set(0, permissionKeys.length);
+        }
+    }
+
+    /**
+     * 角色标识及其权限位图
+     */
+    private static final class RoleEntry {
+
+        private final String roleKey;
+        private final BitSet permissions;
+
+        private RoleEntry(String roleKey, BitSet permissions) {
+            this.roleKey = roleKey;
+            this.permissions = permissions;
+        }
+    }
+
+    /**
+     * 用户在某个快照版本下的角色与权限并集
+     */
+    private static final class Resolved {
+
+        private final Snapshot snapshot;
+        private final List<String> roleKeys;
+        private final BitSet permissions;
+        private final boolean superAdmin;
+
+        private Resolved(Snapshot snapshot, List<String> roleKeys, BitSet permissions, boolean superAdmin) {
+            this.snapshot = snapshot;
+            this.roleKeys = roleKeys;
+            this.permissions = permissions;
+            this.superAdmin = superAdmin;
+        }
+    }
+
+    /**
+     * 用户拥有的角色，权限并集按快照版本惰性计算
+     */
+    private static final class UserGrant {
+
+        private final long[] roleIds;
+
+        private volatile Resolved resolved;
+
+        private UserGrant(long[] roleIds) {
+            this.roleIds = roleIds;
+        }
+
+        private Resolved resolve(Snapshot snapshot) {
+            Resolved current = resolved;
+            if (current != null && current.snapshot == snapshot) {
+                return current;
+            }
+            List<String> roleKeys = new ArrayList<>(roleIds.length);
+            BitSet permissions = new BitSet(snapshot.permissionKeys.length);
+            for (long roleId : roleIds) {
+                RoleEntry role = snapshot.roles.get(roleId);
+                if (role != null) {
+                    roleKeys.add(role.roleKey);
+                    permissions.or(role.permissions);
+                }
+            }
+            current = new Resolved(snapshot, List.copyOf(roleKeys), permissions, roleKeys.contains(SUPER_ADMIN_ROLE));
+            resolved = current;
+            return current;
+        }
+    }
+}
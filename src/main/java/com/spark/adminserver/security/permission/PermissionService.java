@@ -0,0 +1,84 @@
+package com.spark.adminserver.security.permission;
+
+import com.spark.adminserver.security.entity.LoginUser;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * 方法级权限校验，供 {@code @PreAuthorize("@ss.hasPermission('system:user:list')")} 使用
+ */
+@Component("ss")
+@RequiredArgsConstructor
+public class PermissionService {
+
+    /**
+     * 分配用户角色所需的权限（分配角色接口、新增 / 修改 / 导入用户时携带角色均需要）
+     */
+    public static final String ROLE_ASSIGN_PERMISSION = "system:user:role";
+
+    private final PermissionResolver permissionResolver;
+
+    /**
+     * 当前用户是否拥有权限
+     *
+     * @param permission 权限标识
+     * @return 拥有权限返回 true
+     */
+    public boolean hasPermission(String permission) {
+        Long userId = currentUserId();
+        return userId != null && permissionResolver.hasPermission(userId, permission);
+    }
+
+    /**
+     * 当前用户是否拥有角色
+     *
+     * @param role 角色标识
+     * @return 拥有角色返回 true
+     */
+    public boolean hasRole(String role) {
+        Long userId = currentUserId();
+        return userId != null && permissionResolver.hasRole(userId, role);
+    }
+
+    /**
+     * 校验当前用户能否分配（或移除）角色：角色的权限必须是当前用户权限的子集
+     *
+     * @param roleIds 角色ID
+     * @throws AccessDeniedException 存在无权分配的角色
+     */
+    public void checkGrantable(Collection<Long> roleIds) {
+        Set<Long> ungrantable = getUngrantableRoles(roleIds);
+        if (!ungrantable.isEmpty()) {
+            throw new AccessDeniedException("无权分配角色：" + ungrantable);
+        }
+    }
+
+    /**
+     * 获取当前用户无权分配的角色
+     *
+     * @param roleIds 角色ID
+     * @return 无权分配的角色ID，未登录时为全部角色
+     */
+    public Set<Long> getUngrantableRoles(Collection<Long> roleIds) {
+        if (roleIds.isEmpty()) {
+            return Set.of();
+        }
+        Long userId = currentUserId();
+        return userId != null ? permissionResolver.getUngrantableRoles(userId, roleIds) : Set.copyOf(roleIds);
+    }
+
+    private Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof LoginUser loginUser)
+                || loginUser.getUser() == null) {
+            return null;
+        }
+        return loginUser.getUser().getUserId();
+    }
+}
@@ -1,17 +1,20 @@
 package com.spark.adminserver.security.service;
 
 import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.security.entity.LoginUser;
 import com.spark.adminserver.service.IUserService;
+import com.spark.adminserver.service.impl.UserCacheEvictor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.beans.BeanUtils;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * 用户详情服务实现类
@@ -19,40 +22,34 @@ import java.util.stream.Collectors;
 @Service
 @Slf4j
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     
     private final IUserService userService;
+    private final UserCacheEvictor userCacheEvictor;
     
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         try {
-            // 根据用户名获取用户
-            User user = userService.getByUsername(username);
-            if (user == null) {
+            // 根据用户名获取用户（缓存中的用户不含密码）
+            User cached = userService.getByUsername(username);
+            if (cached == null) {
                 log.error("用户不存在：{}", username);
                 throw new UsernameNotFoundException("用户名或密码错误");
             }
             
             // 判断用户状态
-            if (user.getStatus() != null && user.getStatus() == 1) {
+            if (cached.getStatus() != null && cached.getStatus() == 1) {
                 log.error("用户已被禁用：{}", username);
                 throw new UsernameNotFoundException("账号已被禁用");
             }
+
+            // 密码哈希按主键从数据库读取；复制一份，不修改缓存中的对象
+            User user = new User();
+            BeanUtils.copyProperties(cached, user);
+            user.setPassword(loadPassword(cached.getUserId()));
             
-            // 获取用户权限
-            List<String> permissions = userService.getUserPermissions(user.getUserId());
-            
-            // 转换为SimpleGrantedAuthority
-            List<SimpleGrantedAuthority> authorities = permissions.stream()
-                    .map(SimpleGrantedAuthority::new)
-                    .collect(Collectors.toList());
-            
-            // 返回UserDetails
-            return new org.springframework.security.core.userdetails.User(
-                    user.getUsername(),
-                    user.getPassword(),
-                    authorities
-            );
+            // 组装登录用户（包含角色与权限）
+            return buildLoginUser(user);
         } catch (Exception e) {
             // 如果不是UsernameNotFoundException，则包装一下
             if (!(e instanceof UsernameNotFoundException)) {
@@ -67,9 +64,9 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      * 根据用户ID加载用户
      *
      * @param userId 用户ID
-     * @return 用户详情
+     * @return 登录用户
      */
-    public UserDetails loadUserById(Long userId) {
+    public LoginUser loadUserById(Long userId) {
         try {
             // 根据ID获取用户
             User user = userService.getById(userId);
@@ -84,20 +81,8 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 throw new UsernameNotFoundException("账号已被禁用");
             }
             
-            // 获取用户权限
-            List<String> permissions = userService.getUserPermissions(user.getUserId());
-            
-            // 转换为SimpleGrantedAuthority
-            List<SimpleGrantedAuthority> authorities = permissions.stream()
-                    .map(SimpleGrantedAuthority::new)
-                    .collect(Collectors.toList());
-            
-            // 返回UserDetails
-            return new org.springframework.security.core.userdetails.User(
-                    user.getUsername(),
-                    user.getPassword(),
-                    authorities
-            );
+            // 组装登录用户（包含角色与权限）
+            return buildLoginUser(user);
         } catch (Exception e) {
             // 如果不是UsernameNotFoundException，则包装一下
             if (!(e instanceof UsernameNotFoundException)) {
@@ -107,4 +92,62 @@ public class UserDetailsServiceImpl implements UserDetailsService {
             throw e;
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * 登录成功后升级密码哈希
+     * <p>
+     * 存量密码的 BCrypt 强度低于当前配置时，由认证流程使用本次明文重新加密后回调此方法。
+     * 升级失败不影响本次登录，下次登录会再次尝试。
+     *
+     * @param user        登录用户
+     * @param newPassword 新的密码哈希
+     * @return 更新密码后的登录用户
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        LoginUser loginUser = (LoginUser) user;
+        Long userId = loginUser.getUser().getUserId();
+        try {
+            userService.lambdaUpdate()
+                    .set(User::getPassword, newPassword)
+                    .eq(User::getUserId, userId)
+                    .update();
+            loginUser.getUser().setPassword(newPassword);
+            userCacheEvictor.evict(userId, loginUser.getUsername());
+            log.info("用户密码哈希已升级：ID={}", userId);
+        } catch (Exception e) {
+            log.warn("用户密码哈希升级失败：ID={}", userId, e);
+        }
+        return loginUser;
+    }
+
+    /**
+     * 从数据库读取密码哈希
+     *
+     * @param userId 用户ID
+     * @return 密码哈希
+     */
+    private String loadPassword(Long userId) {
+        User user = userService.lambdaQuery()
+                .select(User::getPassword)
+                .eq(User::getUserId, userId)
+                .one();
+        if (user == null) {
+            // 缓存中存在但已被删除
+            throw new UsernameNotFoundException("用户名或密码错误");
+        }
+        return user.getPassword();
+    }
+
+    /**
+     * 组装登录用户
+     *
+     * @param user 用户信息
+     * @return 登录用户
+     */
+    private LoginUser buildLoginUser(User user) {
+        List<String> permissions = userService.getUserPermissions(user.getUserId());
+        List<String> roles = userService.getUserRoles(user.getUserId());
+        return new LoginUser(user, new HashSet<>(permissions), roles);
+    }
+}
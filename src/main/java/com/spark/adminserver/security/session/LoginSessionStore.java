@@ -0,0 +1,211 @@
+package com.spark.adminserver.security.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spark.adminserver.common.PageResult;
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.model.vo.OnlineSessionVO;
+import com.spark.adminserver.security.entity.LoginUser;
+import com.spark.adminserver.util.JwtUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 登录会话存储
+ * <p>
+ * 登录用户保存在 {@code login:user:{id}}，同时在有序集合 {@code login:sessions} 中按登录时间记录用户ID，用于在线会话列表。
+ * 退出登录、禁用、删除、重置密码时在 {@code login:revoked:{id}} 记录吊销时间，此前签发的令牌全部失效。
+ * 各项数据均按访问令牌有效期（{@code jwt.expiration}）保留：吊销记录过期时此前签发的令牌也已全部过期。
+ * 写入的登录用户不含密码哈希：认证时从数据库读取密码，Redis 中不需要也不应保存。
+ * 同一认证流程中的多条命令通过管道一次往返发送；批量读取使用 MGET。
+ */
+@Component
+@RequiredArgsConstructor
+public class LoginSessionStore {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final JwtUtil jwtUtil;
+
+    /**
+     * 登录后保存会话：写入登录用户、记录登录时间并清理索引中已过期的会话（一次往返）
+     *
+     * @param loginUser 登录用户
+     * @param loginTime 登录时间（毫秒，与令牌中的登录时间一致）
+     */
+    public void save(LoginUser loginUser, long loginTime) {
+        Long userId = loginUser.getUser().getUserId();
+        LoginUser stored = withoutPassword(loginUser);
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.opsForValue().set(Constants.LOGIN_USER_KEY + userId, stored, jwtUtil.getExpiration(), TimeUnit.MILLISECONDS);
+                ops.opsForZSet().add(Constants.LOGIN_SESSION_KEY, userId.toString(), loginTime);
+                ops.opsForZSet().removeRangeByScore(Constants.LOGIN_SESSION_KEY, Double.NEGATIVE_INFINITY,
+                        loginTime - jwtUtil.getExpiration());
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 回填登录用户，只写入 {@code login:user}，不修改在线会话索引
+     * <p>
+     * 登录用户因用户信息变更被删除后，由下一次请求从数据库加载并回填。已吊销（退出登录等）的用户不会走到这里，
+     * 因此不能把用户重新加入 {@code login:sessions}，否则已退出的用户会重新出现在在线会话列表中。
+     *
+     * @param loginUser 登录用户
+     */
+    public void refill(LoginUser loginUser) {
+        redisTemplate.opsForValue().set(Constants.LOGIN_USER_KEY + loginUser.getUser().getUserId(),
+                withoutPassword(loginUser), jwtUtil.getExpiration(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 删除登录用户（会话不失效，下次请求重新从数据库加载）
+     *
+     * @param userId 用户ID
+     */
+    public void removeLoginUser(Long userId) {
+        redisTemplate.delete(Constants.LOGIN_USER_KEY + userId);
+    }
+
+    /**
+     * 吊销会话：删除登录用户、从索引移除并记录吊销时间（一次往返）
+     *
+     * @param userId    用户ID
+     * @param revokedAt 吊销时间（毫秒）
+     */
+    public void revoke(Long userId, long revokedAt) {
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                ops.delete(Constants.LOGIN_USER_KEY + userId);
+                ops.opsForZSet().remove(Constants.LOGIN_SESSION_KEY, userId.toString());
+                ops.opsForValue().set(Constants.LOGIN_REVOKED_KEY + userId, revokedAt,
+                        jwtUtil.getExpiration(), TimeUnit.MILLISECONDS);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 获取会话状态：登录用户与吊销时间（一次 MGET）
+     *
+     * @param userId 用户ID
+     * @return 会话状态，登录用户不存在时其值为 null，未吊销时吊销时间为 0
+     */
+    public SessionState get(Long userId) {
+        List<Object> values = redisTemplate.opsForValue().multiGet(
+                List.of(Constants.LOGIN_USER_KEY + userId, Constants.LOGIN_REVOKED_KEY + userId));
+        if (values == null) {
+            return new SessionState(null, 0L);
+        }
+        Object revokedAt = values.get(1);
+        return new SessionState(toLoginUser(values.get(0)),
+                revokedAt instanceof Number number ? number.longValue() : 0L);
+    }
+
+    /**
+     * 批量获取登录用户（一次 MGET）
+     *
+     * @param userIds 用户ID
+     * @return 与 userIds 顺序一致的登录用户，不存在的位置为 null
+     */
+    public List<LoginUser> multiGet(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        List<String> keys = userIds.stream().map(id -> Constants.LOGIN_USER_KEY + id).toList();
+        List<Object> values = redisTemplate.opsForValue().multiGet(keys);
+        List<LoginUser> loginUsers = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            loginUsers.add(values != null ? toLoginUser(values.get(i)) : null);
+        }
+        return loginUsers;
+    }
+
+    /**
+     * 按登录时间倒序分页获取在线会话：索引查询与总数统计一次往返，登录用户一次 MGET
+     *
+     * @param offset 偏移量
+     * @param limit  数量
+     * @return 在线会话分页
+     */
+    @SuppressWarnings("unchecked")
+    public PageResult<OnlineSessionVO> listActive(long offset, int limit) {
+        long minScore = System.currentTimeMillis() - jwtUtil.getExpiration();
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                ZSetOperations<String, Object> zSetOps = ((RedisOperations<String, Object>) operations).opsForZSet();
+                zSetOps.count(Constants.LOGIN_SESSION_KEY, minScore, Double.POSITIVE_INFINITY);
+                zSetOps.reverseRangeByScoreWithScores(Constants.LOGIN_SESSION_KEY, minScore, Double.POSITIVE_INFINITY, offset, limit);
+                return null;
+            }
+        });
+        long total = results.get(0) != null ? ((Number) results.get(0)).longValue() : 0L;
+        Set<ZSetOperations.TypedTuple<Object>> tuples = (Set<ZSetOperations.TypedTuple<Object>>) results.get(1);
+
+        List<Long> userIds = new ArrayList<>();
+        List<Long> loginTimes = new ArrayList<>();
+        if (tuples != null) {
+            for (ZSetOperations.TypedTuple<Object> tuple : tuples) {
+                userIds.add(Long.valueOf(String.valueOf(tuple.getValue())));
+                loginTimes.add(tuple.getScore() != null ? tuple.getScore().longValue() : 0L);
+            }
+        }
+        List<LoginUser> loginUsers = multiGet(userIds);
+        List<OnlineSessionVO> sessions = new ArrayList<>(userIds.size());
+        for (int i = 0; i < userIds.size(); i++) {
+            LoginUser loginUser = loginUsers.get(i);
+            // 登录用户已被删除（退出登录、过期）时跳过
+            if (loginUser == null || loginUser.getUser() == null) {
+                continue;
+            }
+            OnlineSessionVO session = new OnlineSessionVO();
+            session.setUserId(userIds.get(i));
+            session.setUsername(loginUser.getUser().getUsername());
+            session.setNickname(loginUser.getUser().getNickname());
+            session.setRoles(loginUser.getRoles());
+            session.setLoginTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(loginTimes.get(i)), ZoneId.systemDefault()));
+            sessions.add(session);
+        }
+        return new PageResult<>(total, sessions);
+    }
+
+    private LoginUser toLoginUser(Object value) {
+        if (value == null || value instanceof LoginUser) {
+            return (LoginUser) value;
+        }
+        return objectMapper.convertValue(value, LoginUser.class);
+    }
+
+    /**
+     * 复制登录用户并去掉密码哈希（不修改调用方持有的对象）
+     */
+    private static LoginUser withoutPassword(LoginUser loginUser) {
+        User user = new User();
+        BeanUtils.copyProperties(loginUser.getUser(), user, "password");
+        return new LoginUser(user, loginUser.getPermissions(), loginUser.getRoles());
+    }
+}
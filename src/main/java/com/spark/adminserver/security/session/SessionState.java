@@ -0,0 +1,33 @@
+package com.spark.adminserver.security.session;
+
+import com.spark.adminserver.security.entity.LoginUser;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 用户的会话状态：登录用户与令牌吊销时间
+ */
+@Getter
+@AllArgsConstructor
+public final class SessionState {
+
+    /**
+     * 登录用户，Redis 中不存在时为 null
+     */
+    private final LoginUser loginUser;
+
+    /**
+     * 吊销时间（毫秒），登录时间不晚于该时间的令牌均已失效；未吊销时为 0
+     */
+    private final long revokedBefore;
+
+    /**
+     * 令牌是否已被吊销
+     *
+     * @param loginTime 令牌中的登录时间（毫秒）
+     * @return 已吊销时返回 true
+     */
+    public boolean isRevoked(long loginTime) {
+        return loginTime <= revokedBefore;
+    }
+}
@@ -1,7 +1,10 @@
 package com.spark.adminserver.service;
 
+import com.spark.adminserver.common.PageResult;
 import com.spark.adminserver.model.dto.LoginDTO;
+import com.spark.adminserver.model.vo.CaptchaImageVO;
 import com.spark.adminserver.model.vo.CaptchaVO;
+import com.spark.adminserver.model.vo.OnlineSessionVO;
 import com.spark.adminserver.model.vo.TokenVO;
 import com.spark.adminserver.model.vo.UserInfoVO;
 
@@ -17,6 +20,13 @@ public interface IAuthService {
      */
     CaptchaVO generateCaptcha();
     
+    /**
+     * 生成验证码（原始图片字节，不做 Base64 编码）
+     *
+     * @return 验证码ID与图片
+     */
+    CaptchaImageVO generateCaptchaImage();
+    
     /**
      * 用户登录
      *
@@ -36,4 +46,13 @@ public interface IAuthService {
      * @return 当前登录用户信息
      */
     UserInfoVO getCurrentUserInfo();
-} 
\ No newline at end of file
+
+    /**
+     * 分页查询在线会话
+     *
+     * @param pageNum  页码
+     * @param pageSize 每页数量
+     * @return 在线会话分页
+     */
+    PageResult<OnlineSessionVO> listOnlineSessions(int pageNum, int pageSize);
+}
@@ -0,0 +1,72 @@
+package com.spark.adminserver.service;
+
+import com.spark.adminserver.common.PageResult;
+import com.spark.adminserver.model.dto.MessageDTO;
+import com.spark.adminserver.model.vo.MessageVO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * 消息服务接口
+ */
+public interface IMessageService {
+
+    /**
+     * 发送消息（定时发送时间晚于当前时间时保存为草稿，到期后发送）
+     *
+     * @param messageDTO 消息信息
+     * @return 消息ID
+     */
+    Long sendMessage(MessageDTO messageDTO);
+
+    /**
+     * 撤回已发送的消息
+     *
+     * @param messageId 消息ID
+     */
+    void recallMessage(Long messageId);
+
+    /**
+     * 按消息ID倒序分页查询当前用户的收件箱（广播消息与私信在读取时合并）
+     *
+     * @param cursor   上一页返回的 nextCursor，为空时查询第一页
+     * @param pageSize 每页数量
+     * @return 收件箱消息（不含内容）
+     */
+    PageResult<MessageVO> getInbox(String cursor, int pageSize);
+
+    /**
+     * 获取消息详情并标记为已读
+     *
+     * @param messageId 消息ID
+     * @return 消息详情
+     */
+    MessageVO getMessage(Long messageId);
+
+    /**
+     * 标记消息为已读
+     *
+     * @param messageId 消息ID
+     */
+    void markRead(Long messageId);
+
+    /**
+     * 从当前用户的收件箱删除消息（不影响其他用户）
+     *
+     * @param messageId 消息ID
+     */
+    void deleteMessage(Long messageId);
+
+    /**
+     * 获取当前用户的未读消息数
+     *
+     * @return 未读数
+     */
+    long getUnreadCount();
+
+    /**
+     * 订阅当前用户的未读数推送（SSE），连接建立后立即推送一次当前未读数
+     *
+     * @return SSE 连接
+     */
+    SseEmitter subscribeUnreadCount();
+}
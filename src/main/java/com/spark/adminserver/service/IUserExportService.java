@@ -0,0 +1,33 @@
+package com.spark.adminserver.service;
+
+import com.spark.adminserver.model.dto.UserPageQueryDTO;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 用户导出服务接口
+ */
+public interface IUserExportService {
+
+    /**
+     * CSV 格式
+     */
+    String FORMAT_CSV = "csv";
+
+    /**
+     * NDJSON 格式（每行一个 JSON 对象）
+     */
+    String FORMAT_NDJSON = "ndjson";
+
+    /**
+     * 流式导出用户，结果经 gzip 压缩后写入输出流
+     *
+     * @param queryDTO     查询条件（分页参数不生效）
+     * @param format       导出格式：csv 或 ndjson（每行一个 JSON 对象）
+     * @param outputStream 输出流
+     * @return 导出的用户数
+     * @throws IOException 写入失败
+     */
+    long exportUsers(UserPageQueryDTO queryDTO, String format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,32 @@
+package com.spark.adminserver.service;
+
+import com.spark.adminserver.model.vo.UserImportResultVO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 用户批量导入服务接口
+ */
+public interface IUserImportService {
+
+    /**
+     * CSV 格式
+     */
+    String FORMAT_CSV = "csv";
+
+    /**
+     * JSON 格式（JSON 数组或每行一个对象）
+     */
+    String FORMAT_JSON = "json";
+
+    /**
+     * 流式导入用户
+     *
+     * @param inputStream 导入文件内容
+     * @param format      文件格式：csv 或 json（JSON 数组或每行一个对象）
+     * @return 导入结果
+     * @throws IOException 读取失败
+     */
+    UserImportResultVO importUsers(InputStream inputStream, String format) throws IOException;
+}
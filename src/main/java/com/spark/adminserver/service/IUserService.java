@@ -74,10 +74,10 @@ public interface IUserService extends IService<User> {
     boolean resetPassword(Long userId, String newPassword);
 
     /**
-     * 根据用户名获取用户
+     * 根据用户名获取用户（结果会被缓存，不包含密码）
      *
      * @param username 用户名
-     * @return 用户对象
+     * @return 用户对象，password 为 null
      */
     User getByUsername(String username);
 
@@ -97,6 +97,12 @@ public interface IUserService extends IService<User> {
      */
     List<String> getUserPermissions(Long userId);
 
-    // TODO: 添加更新用户角色等方法
-    // boolean updateUserRoles(Long userId, List<Long> roleIds);
+    /**
+     * 更新用户角色（覆盖原有角色）
+     *
+     * @param userId  用户ID
+     * @param roleIds 角色ID列表
+     * @return 是否成功
+     */
+    boolean updateUserRoles(Long userId, List<Long> roleIds);
 } 
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.spark.adminserver.service;
+
+import com.spark.adminserver.model.entity.UserSocial;
+
+import java.util.List;
+
+/**
+ * 社交登录绑定服务接口
+ */
+public interface IUserSocialService {
+
+    /**
+     * 查询社交账号绑定的用户ID（社交登录回调时调用）
+     *
+     * @param provider 社交平台标识
+     * @param openId   平台唯一用户标识
+     * @return 用户ID，未绑定时返回 null
+     */
+    Long getBoundUserId(String provider, String openId);
+
+    /**
+     * 查询用户的社交账号绑定
+     *
+     * @param userId 用户ID
+     * @return 绑定列表
+     */
+    List<UserSocial> listByUserId(Long userId);
+
+    /**
+     * 绑定社交账号；同一账号重复绑定到同一用户时更新令牌与资料
+     *
+     * @param userId     用户ID
+     * @param userSocial 社交账号信息（provider、openId 必填）
+     */
+    void bind(Long userId, UserSocial userSocial);
+
+    /**
+     * 解除用户在指定平台的绑定
+     *
+     * @param userId   用户ID
+     * @param provider 社交平台标识
+     */
+    void unbind(Long userId, String provider);
+}
@@ -1,21 +1,30 @@
 package com.spark.adminserver.service.impl;
 
+import com.spark.adminserver.common.PageResult;
 import com.spark.adminserver.common.constant.Constants;
 import com.spark.adminserver.common.exception.AuthException;
 import com.spark.adminserver.common.exception.CaptchaException;
 import com.spark.adminserver.common.exception.ServiceException;
+import com.spark.adminserver.log.LoginLogWriter;
 import com.spark.adminserver.model.dto.LoginDTO;
+import com.spark.adminserver.model.vo.CaptchaImageVO;
 import com.spark.adminserver.model.vo.CaptchaVO;
+import com.spark.adminserver.model.vo.OnlineSessionVO;
 import com.spark.adminserver.model.vo.TokenVO;
 import com.spark.adminserver.model.vo.UserInfoVO;
 import com.spark.adminserver.model.vo.UserVO;
+import com.spark.adminserver.security.cache.LoginUserCache;
 import com.spark.adminserver.security.entity.LoginUser;
+import com.spark.adminserver.security.limit.LoginRateLimiter;
+import com.spark.adminserver.security.session.LoginSessionStore;
 import com.spark.adminserver.service.IAuthService;
 import com.spark.adminserver.service.IUserService;
-import com.spark.adminserver.util.CaptchaUtil;
+import com.spark.adminserver.util.CaptchaPool;
 import com.spark.adminserver.util.JwtUtil;
+import com.spark.adminserver.util.RenderedCaptcha;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -41,10 +50,20 @@ import java.util.concurrent.TimeUnit;
 public class AuthServiceImpl implements IAuthService {
 
     private final RedisTemplate<String, Object> redisTemplate;
-    private final CaptchaUtil captchaUtil;
+    private final CaptchaPool captchaPool;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
     private final IUserService userService;
+    private final LoginUserCache loginUserCache;
+    private final LoginSessionStore loginSessionStore;
+    private final LoginLogWriter loginLogWriter;
+    private final LoginRateLimiter loginRateLimiter;
+
+    /**
+     * 是否启用验证码（压测等场景可关闭）
+     */
+    @Value("${captcha.enabled:true}")
+    private boolean captchaEnabled;
 
     /**
      * 生成验证码
@@ -53,22 +72,31 @@ public class AuthServiceImpl implements IAuthService {
      */
     @Override
     public CaptchaVO generateCaptcha() {
-        // 生成验证码
-        String[] captchaArray = captchaUtil.generateCaptcha();
-        String captchaCode = captchaArray[0];
-        String captchaImage = captchaArray[1];
-
-        // 生成验证码唯一标识
-        String uuid = UUID.randomUUID().toString();
-        String captchaKey = Constants.CAPTCHA_CODE_KEY + uuid;
-
-        // 将验证码存入Redis，设置过期时间为5分钟
-        redisTemplate.opsForValue().set(captchaKey, captchaCode, Constants.CAPTCHA_EXPIRATION, TimeUnit.MINUTES);
+        // 从预生成池获取验证码（池为空时即时渲染）
+        RenderedCaptcha captcha = captchaPool.take();
+        String uuid = storeCaptcha(captcha.getText());
 
         // 返回验证码信息
         return CaptchaVO.builder()
                 .captchaId(uuid)
-                .captchaImage(captchaImage)
+                .captchaImage(captcha.toDataUri())
+                .build();
+    }
+
+    /**
+     * 生成验证码（原始图片字节）
+     *
+     * @return 验证码ID与图片
+     */
+    @Override
+    public CaptchaImageVO generateCaptchaImage() {
+        RenderedCaptcha captcha = captchaPool.take();
+        String uuid = storeCaptcha(captcha.getText());
+
+        return CaptchaImageVO.builder()
+                .captchaId(uuid)
+                .contentType(captcha.getContentType())
+                .image(captcha.getImage())
                 .build();
     }
 
@@ -81,6 +109,9 @@ public class AuthServiceImpl implements IAuthService {
     @Override
     public TokenVO login(LoginDTO loginDTO) {
         try {
+            // 限流：在验证码与密码校验之前拒绝，被限流的请求不消耗 CPU
+            loginRateLimiter.acquire(loginDTO.getPrincipal());
+
             // 验证码校验
             validateCaptcha(loginDTO.getCaptchaId(), loginDTO.getCaptchaCode());
 
@@ -94,29 +125,39 @@ public class AuthServiceImpl implements IAuthService {
             // 获取认证成功的用户信息
             LoginUser loginUser = (LoginUser) authentication.getPrincipal();
 
-            // 生成token
+            // 生成token（登录时间用于判断令牌是否已被吊销）
+            long loginTime = System.currentTimeMillis();
             String userId = loginUser.getUser().getUserId().toString();
-            Map<String, Object> claims = new HashMap<>(2);
+            Map<String, Object> claims = new HashMap<>(4);
             claims.put("username", loginUser.getUsername());
+            claims.put(Constants.TOKEN_LOGIN_TIME_CLAIM, loginTime);
 
             String accessToken = jwtUtil.createAccessToken(userId, claims);
             String refreshToken = jwtUtil.createRefreshToken(userId);
 
-            // 将用户信息存入Redis
-            String userKey = Constants.LOGIN_USER_KEY + userId;
-            redisTemplate.opsForValue().set(userKey, loginUser, Constants.TOKEN_EXPIRATION, TimeUnit.MILLISECONDS);
+            // 将用户信息存入Redis并记录在线会话（一次管道往返）
+            loginSessionStore.save(loginUser, loginTime);
+            loginRateLimiter.onSuccess(loginDTO.getPrincipal());
+            loginLogWriter.record(loginDTO.getPrincipal(), LoginLogWriter.STATUS_SUCCESS, "登录成功");
 
             // 返回token
             return TokenVO.builder()
                     .accessToken(accessToken)
                     .refreshToken(refreshToken)
-                    .expiresIn(Constants.TOKEN_EXPIRATION_SECONDS)
+                    .expiresIn((int) TimeUnit.MILLISECONDS.toSeconds(jwtUtil.getExpiration()))
                     .build();
+        } catch (CaptchaException | ServiceException e) {
+            // 验证码错误、登录限流、密码校验繁忙等业务异常直接抛出
+            loginLogWriter.record(loginDTO.getPrincipal(), LoginLogWriter.STATUS_FAIL, e.getMessage());
+            throw e;
         } catch (BadCredentialsException | InternalAuthenticationServiceException e) {
             log.info("登录失败: {}", e.getMessage());
+            loginRateLimiter.onFailure(loginDTO.getPrincipal());
+            loginLogWriter.record(loginDTO.getPrincipal(), LoginLogWriter.STATUS_FAIL, "用户名或密码错误");
             throw new AuthException("用户名或密码错误");
         } catch (Exception e) {
             log.error("登录异常: ", e);
+            loginLogWriter.record(loginDTO.getPrincipal(), LoginLogWriter.STATUS_FAIL, "登录异常: " + e.getMessage());
             throw new ServiceException("登录失败，请联系管理员");
         }
     }
@@ -131,11 +172,9 @@ public class AuthServiceImpl implements IAuthService {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             LoginUser loginUser = (LoginUser) authentication.getPrincipal();
 
-            // 清除Redis中的用户信息
+            // 吊销已签发的令牌，并清除本地缓存及Redis中的用户信息
             if (loginUser != null && loginUser.getUser() != null) {
-                String userId = loginUser.getUser().getUserId().toString();
-                String userKey = Constants.LOGIN_USER_KEY + userId;
-                redisTemplate.delete(userKey);
+                loginUserCache.revoke(loginUser.getUser().getUserId());
             }
 
             // 清除Security上下文
@@ -186,15 +225,43 @@ public class AuthServiceImpl implements IAuthService {
         }
     }
 
+    /**
+     * 分页查询在线会话
+     *
+     * @param pageNum  页码
+     * @param pageSize 每页数量
+     * @return 在线会话分页
+     */
+    @Override
+    public PageResult<OnlineSessionVO> listOnlineSessions(int pageNum, int pageSize) {
+        return loginSessionStore.listActive((long) (pageNum - 1) * pageSize, pageSize);
+    }
+
+    /**
+     * 保存验证码到Redis
+     *
+     * @param captchaCode 验证码文本
+     * @return 验证码唯一标识
+     */
+    private String storeCaptcha(String captchaCode) {
+        // 生成验证码唯一标识
+        String uuid = UUID.randomUUID().toString();
+        String captchaKey = Constants.CAPTCHA_CODE_KEY + uuid;
+
+        // 将验证码存入Redis，设置过期时间为5分钟
+        redisTemplate.opsForValue().set(captchaKey, captchaCode, Constants.CAPTCHA_EXPIRATION, TimeUnit.MINUTES);
+        return uuid;
+    }
+
     /**
      * 验证码校验
      *
      * @param captchaId   验证码唯一标识
      * @param captchaCode 用户输入的验证码
      */
-    private void validateCaptcha(String captchaId, String captchaCode) {
+    void validateCaptcha(String captchaId, String captchaCode) {
         // 如果未配置验证码，则跳过验证
-        if (!Constants.CAPTCHA_ENABLED) {
+        if (!captchaEnabled) {
             return;
         }
 
@@ -202,18 +269,15 @@ public class AuthServiceImpl implements IAuthService {
             throw new CaptchaException("验证码不能为空");
         }
 
-        // 从Redis中获取验证码
+        // 原子地读取并删除验证码（GETDEL，一次往返），保证同一验证码只能被消费一次
         String captchaKey = Constants.CAPTCHA_CODE_KEY + captchaId;
-        String correctCode = (String) redisTemplate.opsForValue().get(captchaKey);
+        String correctCode = (String) redisTemplate.opsForValue().getAndDelete(captchaKey);
 
-        // 验证码已过期或不存在
+        // 验证码已过期、不存在或已被使用
         if (correctCode == null) {
             throw new CaptchaException("验证码已过期");
         }
 
-        // 验证后删除验证码
-        redisTemplate.delete(captchaKey);
-
         // 验证码错误
         if (!captchaCode.equalsIgnoreCase(correctCode)) {
             throw new CaptchaException("验证码错误");
@@ -0,0 +1,284 @@
+package com.spark.adminserver.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.mapper.MessageMapper;
+import com.spark.adminserver.mapper.UserMessageMapper;
+import com.spark.adminserver.model.entity.Message;
+import com.spark.adminserver.model.entity.UserMessage;
+import com.spark.adminserver.push.UnreadCountPusher;
+import com.spark.adminserver.util.TimingWheel;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 定时消息发送与过期消息清理
+ * <p>
+ * 后台线程按 load-interval 从数据库加载 lookahead 时间内到期的草稿，放入内存中的分层时间轮，每格只处理当格到期的消息，
+ * 不再轮询数据库查找到期消息；本节点新建的定时消息在事务提交后直接放入时间轮。
+ * <p>
+ * 每个节点都加载同样的草稿，到期时先以 SET NX 获取该消息的发送租约，只有持有租约的节点执行发送：
+ * 以 draft -> sent 条件更新保证只发送一次，再更新并推送未读数。租约不主动释放，节点在发送中途宕机时，
+ * 租约过期后其他节点在下次加载时补发；Redis 不可用时直接发送，由条件更新保证只发送一次。
+ * <p>
+ * 过期消息按 purge-interval 分批删除（先删关联记录再删消息），每个周期由获得清理租约的节点执行。
+ */
+@Slf4j
+@Component
+public class MessageDispatcher {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final MessageMapper messageMapper;
+    private final UserMessageMapper userMessageMapper;
+    private final MessageUnreadCounter messageUnreadCounter;
+    private final UnreadCountPusher unreadCountPusher;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final boolean enabled;
+    private final long tickMillis;
+    private final int wheelSize;
+    private final long loadIntervalMillis;
+    private final Duration lookahead;
+    private final int loadBatchSize;
+    private final Duration leaseTtl;
+    private final Duration purgeInterval;
+    private final int purgeBatchSize;
+
+    /**
+     * 等待放入时间轮的消息（时间轮只在后台线程中访问）
+     */
+    private final Queue<Message> pending = new ConcurrentLinkedQueue<>();
+
+    /**
+     * 已放入时间轮、尚未处理的消息ID，重复加载时跳过
+     */
+    private final Set<Long> scheduled = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean running = true;
+    private volatile Thread worker;
+
+    public MessageDispatcher(MessageMapper messageMapper,
+                             UserMessageMapper userMessageMapper,
+                             MessageUnreadCounter messageUnreadCounter,
+                             UnreadCountPusher unreadCountPusher,
+                             StringRedisTemplate stringRedisTemplate,
+                             @Value("${message.dispatch.enabled:true}") boolean enabled,
+                             @Value("${message.dispatch.tick:1s}") Duration tick,
+                             @Value("${message.dispatch.wheel-size:60}") int wheelSize,
+                             @Value("${message.dispatch.load-interval:1m}") Duration loadInterval,
+                             @Value("${message.dispatch.lookahead:5m}") Duration lookahead,
+                             @Value("${message.dispatch.load-batch-size:1000}") int loadBatchSize,
+                             @Value("${message.dispatch.lease-ttl:30s}") Duration leaseTtl,
+                             @Value("${message.dispatch.purge-interval:10m}") Duration purgeInterval,
+                             @Value("${message.dispatch.purge-batch-size:500}") int purgeBatchSize) {
+        this.messageMapper = messageMapper;
+        this.userMessageMapper = userMessageMapper;
+        this.messageUnreadCounter = messageUnreadCounter;
+        this.unreadCountPusher = unreadCountPusher;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.enabled = enabled;
+        this.tickMillis = tick.toMillis();
+        this.wheelSize = wheelSize;
+        this.loadIntervalMillis = loadInterval.toMillis();
+        this.lookahead = lookahead;
+        this.loadBatchSize = loadBatchSize;
+        this.leaseTtl = leaseTtl;
+        this.purgeInterval = purgeInterval;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::run, "message-dispatcher");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    /**
+     * 新建的定时消息：在 lookahead 时间内到期的直接放入时间轮，其余由定时加载处理
+     *
+     * @param message 草稿消息
+     */
+    public void schedule(Message message) {
+        if (!enabled || message.getScheduledSendTime() == null
+                || message.getScheduledSendTime().isAfter(LocalDateTime.now().plus(lookahead))) {
+            return;
+        }
+        offer(message);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        TimingWheel<Long> wheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        List<Long> due = new ArrayList<>();
+        long nextLoad = 0;
+        long nextPurge = 0;
+        while (running) {
+            long now = System.currentTimeMillis();
+            try {
+                if (now >= nextLoad) {
+                    nextLoad = now + loadIntervalMillis;
+                    load();
+                }
+                Message message;
+                while ((message = pending.poll()) != null) {
+                    if (!wheel.add(message.getId(), toMillis(message.getScheduledSendTime()))) {
+                        due.add(message.getId());
+                    }
+                }
+                wheel.advance(now, due::add);
+                for (Long messageId : due) {
+                    dispatch(messageId);
+                }
+                if (now >= nextPurge) {
+                    nextPurge = now + purgeInterval.toMillis();
+                    purge();
+                }
+            } catch (Exception e) {
+                log.warn("定时消息处理失败：{}", e.getMessage());
+            } finally {
+                due.clear();
+            }
+            long sleepMillis = wheel.currentTime() + tickMillis - System.currentTimeMillis();
+            if (sleepMillis > 0) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(sleepMillis));
+            }
+        }
+    }
+
+    private void load() {
+        List<Message> drafts = messageMapper.selectDueDrafts(LocalDateTime.now().plus(lookahead), loadBatchSize);
+        drafts.forEach(this::offer);
+    }
+
+    private void offer(Message message) {
+        if (scheduled.add(message.getId())) {
+            pending.offer(message);
+        }
+    }
+
+    /**
+     * 发送到期消息，失败时移出已调度集合，下次加载时重试
+     */
+    private void dispatch(Long messageId) {
+        try {
+            if (!acquireLease(Constants.MESSAGE_DISPATCH_LEASE_KEY + messageId, leaseTtl)) {
+                return;
+            }
+            Message message = messageMapper.selectById(messageId);
+            if (message == null || !MessageServiceImpl.STATUS_DRAFT.equals(message.getStatus())) {
+                return;
+            }
+            int updated = messageMapper.update(null, new LambdaUpdateWrapper<Message>()
+                    .set(Message::getStatus, MessageServiceImpl.STATUS_SENT)
+                    .eq(Message::getId, messageId)
+                    .eq(Message::getStatus, MessageServiceImpl.STATUS_DRAFT));
+            if (updated == 0) {
+                return;
+            }
+            // 私信的接收记录在创建草稿时已写入
+            if (MessageServiceImpl.TYPE_PRIVATE.equals(message.getMessageType())) {
+                List<Long> receiverIds = userMessageMapper.selectList(new LambdaQueryWrapper<UserMessage>()
+                                .select(UserMessage::getUserId)
+                                .eq(UserMessage::getMessageId, messageId))
+                        .stream()
+                        .map(UserMessage::getUserId)
+                        .toList();
+                messageUnreadCounter.onPrivateSent(receiverIds);
+                unreadCountPusher.notifyUsers(receiverIds);
+            } else {
+                messageUnreadCounter.onBroadcastSent(message);
+                unreadCountPusher.notifyAllUsers();
+            }
+            log.info("定时消息已发送：{}", messageId);
+        } catch (Exception e) {
+            log.warn("定时消息发送失败，等待下次加载重试：{}，{}", messageId, e.getMessage());
+        } finally {
+            scheduled.remove(messageId);
+        }
+    }
+
+    /**
+     * 分批删除过期消息及其关联记录，并重建受影响用户的未读数
+     */
+    private void purge() {
+        if (!acquireLease(Constants.MESSAGE_PURGE_LEASE_KEY, purgeInterval)) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> unreadUserIds = new HashSet<>();
+        int purged = 0;
+        List<Message> batch;
+        do {
+            batch = messageMapper.selectExpired(now, purgeBatchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            List<Long> messageIds = batch.stream().map(Message::getId).toList();
+            List<Long> privateIds = batch.stream()
+                    .filter(message -> MessageServiceImpl.TYPE_PRIVATE.equals(message.getMessageType()))
+                    .map(Message::getId)
+                    .toList();
+            if (!privateIds.isEmpty()) {
+                unreadUserIds.addAll(userMessageMapper.selectUnreadUserIds(privateIds));
+            }
+            userMessageMapper.delete(new LambdaQueryWrapper<UserMessage>().in(UserMessage::getMessageId, messageIds));
+            messageMapper.delete(new LambdaQueryWrapper<Message>().in(Message::getId, messageIds));
+            purged += batch.size();
+        } while (batch.size() == purgeBatchSize && running);
+        if (purged == 0) {
+            return;
+        }
+        messageUnreadCounter.onExpiredPurged(unreadUserIds);
+        unreadCountPusher.notifyUsers(unreadUserIds);
+        log.info("已清理过期消息 {} 条", purged);
+    }
+
+    /**
+     * 获取租约，Redis 不可用时视为获得（由数据库条件更新或幂等删除兜底）
+     */
+    private boolean acquireLease(String key, Duration ttl) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, nodeId, ttl));
+        } catch (DataAccessException e) {
+            log.warn("获取租约失败，直接执行：{}，{}", key, e.getMessage());
+            return true;
+        }
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
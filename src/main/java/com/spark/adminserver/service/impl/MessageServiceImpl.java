@@ -0,0 +1,322 @@
+package com.spark.adminserver.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.spark.adminserver.common.PageResult;
+import com.spark.adminserver.common.exception.AuthException;
+import com.spark.adminserver.mapper.MessageMapper;
+import com.spark.adminserver.mapper.UserMessageMapper;
+import com.spark.adminserver.model.dto.MessageDTO;
+import com.spark.adminserver.model.entity.Message;
+import com.spark.adminserver.model.entity.UserMessage;
+import com.spark.adminserver.model.vo.MessageVO;
+import com.spark.adminserver.push.SseEmitterRegistry;
+import com.spark.adminserver.push.UnreadCountPusher;
+import com.spark.adminserver.security.entity.LoginUser;
+import com.spark.adminserver.service.IMessageService;
+import com.spark.adminserver.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 消息服务实现类
+ * <p>
+ * 读时扩散：公告、通知只在 sys_message 保存一条，查询收件箱时与用户的已读 / 删除标记合并；
+ * sys_user_message 只在私信发送、用户阅读或删除广播消息时写入，发送广播消息的写入量与用户数无关。
+ * 未读数由 {@link MessageUnreadCounter} 在 Redis 中增量维护。
+ */
+@Service
+@RequiredArgsConstructor
+public class MessageServiceImpl implements IMessageService {
+
+    public static final String TYPE_ANNOUNCEMENT = "announcement";
+    public static final String TYPE_NOTIFICATION = "notification";
+    public static final String TYPE_PRIVATE = "private";
+
+    public static final String STATUS_DRAFT = "draft";
+    public static final String STATUS_SENT = "sent";
+    public static final String STATUS_RECALLED = "recalled";
+
+    private static final String SENDER_TYPE_ADMIN = "admin";
+
+    /**
+     * 私信接收者每批写入条数
+     */
+    private static final int RECEIVER_BATCH_SIZE = 1000;
+
+    private final MessageMapper messageMapper;
+    private final UserMessageMapper userMessageMapper;
+    private final MessageUnreadCounter messageUnreadCounter;
+    private final SseEmitterRegistry sseEmitterRegistry;
+    private final UnreadCountPusher unreadCountPusher;
+    private final MessageDispatcher messageDispatcher;
+
+    @Override
+    @Transactional
+    public Long sendMessage(MessageDTO messageDTO) {
+        boolean privateMessage = TYPE_PRIVATE.equals(messageDTO.getMessageType());
+        List<Long> receiverIds = messageDTO.getReceiverIds() != null
+                ? new ArrayList<>(new LinkedHashSet<>(messageDTO.getReceiverIds())) : List.of();
+        if (privateMessage && receiverIds.isEmpty()) {
+            throw new IllegalArgumentException("私信必须指定接收者");
+        }
+        if (!privateMessage && !receiverIds.isEmpty()) {
+            throw new IllegalArgumentException("公告和通知发送给所有用户，不能指定接收者");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        boolean scheduled = messageDTO.getScheduledSendTime() != null && messageDTO.getScheduledSendTime().isAfter(now);
+        LocalDateTime sendTime = scheduled ? messageDTO.getScheduledSendTime() : now;
+        if (messageDTO.getExpiryTime() != null && !messageDTO.getExpiryTime().isAfter(sendTime)) {
+            throw new IllegalArgumentException("有效期必须晚于发送时间");
+        }
+
+        LoginUser loginUser = currentUser();
+        Message message = new Message();
+        message.setTitle(messageDTO.getTitle());
+        message.setContent(messageDTO.getContent());
+        message.setMessageType(messageDTO.getMessageType());
+        message.setSenderId(loginUser.getUser().getUserId());
+        message.setSenderType(SENDER_TYPE_ADMIN);
+        message.setStatus(scheduled ? STATUS_DRAFT : STATUS_SENT);
+        message.setScheduledSendTime(messageDTO.getScheduledSendTime());
+        message.setExpiryTime(messageDTO.getExpiryTime());
+        message.setCreatedBy(loginUser.getUser().getUsername());
+        message.setCreatedTime(now);
+        messageMapper.insert(message);
+
+        // 私信的接收记录随消息一起写入，草稿状态下收件箱查询不可见
+        for (int i = 0; i < receiverIds.size(); i += RECEIVER_BATCH_SIZE) {
+            userMessageMapper.insertReceivers(message.getId(),
+                    receiverIds.subList(i, Math.min(i + RECEIVER_BATCH_SIZE, receiverIds.size())));
+        }
+        if (scheduled) {
+            TransactionUtil.afterCommit(() -> messageDispatcher.schedule(message));
+        } else {
+            TransactionUtil.afterCommit(() -> notifySent(message, receiverIds));
+        }
+        return message.getId();
+    }
+
+    @Override
+    @Transactional
+    public void recallMessage(Long messageId) {
+        Message message = messageMapper.selectById(messageId);
+        if (message == null) {
+            throw new IllegalArgumentException("消息不存在");
+        }
+        int updated = messageMapper.update(null, new LambdaUpdateWrapper<Message>()
+                .set(Message::getStatus, STATUS_RECALLED)
+                .eq(Message::getId, messageId)
+                .eq(Message::getStatus, STATUS_SENT));
+        if (updated == 0) {
+            throw new IllegalArgumentException("只能撤回已发送的消息");
+        }
+        if (TYPE_PRIVATE.equals(message.getMessageType())) {
+            List<Long> unreadReceiverIds = selectUserIds(new LambdaQueryWrapper<UserMessage>()
+                    .eq(UserMessage::getMessageId, messageId)
+                    .eq(UserMessage::getReadStatus, 0)
+                    .eq(UserMessage::getDeletedFlag, 0));
+            TransactionUtil.afterCommit(() -> {
+                messageUnreadCounter.onPrivateRecalled(unreadReceiverIds);
+                unreadCountPusher.notifyUsers(unreadReceiverIds);
+            });
+        } else {
+            // 广播消息只有阅读或删除过的用户才有关联记录
+            List<Long> readerIds = selectUserIds(new LambdaQueryWrapper<UserMessage>()
+                    .eq(UserMessage::getMessageId, messageId));
+            TransactionUtil.afterCommit(() -> {
+                messageUnreadCounter.onBroadcastRecalled(messageId, readerIds);
+                unreadCountPusher.notifyAllUsers();
+            });
+        }
+    }
+
+    @Override
+    public PageResult<MessageVO> getInbox(String cursor, int pageSize) {
+        Long userId = currentUser().getUser().getUserId();
+        Long beforeId = parseCursor(cursor);
+        LocalDateTime now = LocalDateTime.now();
+        // 两路各取一页，按消息ID归并
+        List<MessageVO> broadcasts = messageMapper.selectBroadcastInbox(userId, beforeId, now, pageSize + 1);
+        List<MessageVO> privates = messageMapper.selectPrivateInbox(userId, beforeId, now, pageSize + 1);
+        List<MessageVO> merged = new ArrayList<>(Math.min(pageSize + 1, broadcasts.size() + privates.size()));
+        int b = 0;
+        int p = 0;
+        while (merged.size() <= pageSize && (b < broadcasts.size() || p < privates.size())) {
+            if (p >= privates.size()
+                    || (b < broadcasts.size() && broadcasts.get(b).getMessageId() > privates.get(p).getMessageId())) {
+                merged.add(broadcasts.get(b++));
+            } else {
+                merged.add(privates.get(p++));
+            }
+        }
+        boolean hasMore = merged.size() > pageSize;
+        List<MessageVO> page = hasMore ? merged.subList(0, pageSize) : merged;
+        PageResult<MessageVO> result = new PageResult<>(null, new ArrayList<>(page));
+        result.setHasMore(hasMore);
+        if (hasMore) {
+            result.setNextCursor(page.get(page.size() - 1).getMessageId().toString());
+        }
+        return result;
+    }
+
+    @Override
+    public MessageVO getMessage(Long messageId) {
+        Long userId = currentUser().getUser().getUserId();
+        Message message = selectSentMessage(messageId);
+        UserMessage userMessage = requireVisible(userId, message);
+        LocalDateTime readTime = markRead(userId, message, userMessage);
+
+        MessageVO messageVO = new MessageVO();
+        messageVO.setMessageId(message.getId());
+        messageVO.setTitle(message.getTitle());
+        messageVO.setContent(message.getContent());
+        messageVO.setMessageType(message.getMessageType());
+        messageVO.setSenderId(message.getSenderId());
+        messageVO.setRead(true);
+        messageVO.setReadTime(readTime);
+        messageVO.setCreatedTime(message.getCreatedTime());
+        messageVO.setExpiryTime(message.getExpiryTime());
+        return messageVO;
+    }
+
+    @Override
+    public void markRead(Long messageId) {
+        Long userId = currentUser().getUser().getUserId();
+        Message message = selectSentMessage(messageId);
+        UserMessage userMessage = requireVisible(userId, message);
+        markRead(userId, message, userMessage);
+    }
+
+    @Override
+    public void deleteMessage(Long messageId) {
+        Long userId = currentUser().getUser().getUserId();
+        Message message = selectSentMessage(messageId);
+        UserMessage userMessage = requireVisible(userId, message);
+        // 删除视为已读，未读数只需在首次已读时调整
+        markRead(userId, message, userMessage);
+        userMessageMapper.update(null, new LambdaUpdateWrapper<UserMessage>()
+                .set(UserMessage::getDeletedFlag, 1)
+                .eq(UserMessage::getUserId, userId)
+                .eq(UserMessage::getMessageId, messageId));
+    }
+
+    @Override
+    public long getUnreadCount() {
+        return messageUnreadCounter.getUnreadCount(currentUser().getUser().getUserId());
+    }
+
+    @Override
+    public SseEmitter subscribeUnreadCount() {
+        Long userId = currentUser().getUser().getUserId();
+        SseEmitter emitter = sseEmitterRegistry.register(userId);
+        // 连接建立后立即推送一次当前未读数
+        unreadCountPusher.notifyLocal(List.of(userId));
+        return emitter;
+    }
+
+    /**
+     * 消息发送后更新并推送未读数
+     */
+    private void notifySent(Message message, Collection<Long> receiverIds) {
+        if (TYPE_PRIVATE.equals(message.getMessageType())) {
+            messageUnreadCounter.onPrivateSent(receiverIds);
+            unreadCountPusher.notifyUsers(receiverIds);
+        } else {
+            messageUnreadCounter.onBroadcastSent(message);
+            unreadCountPusher.notifyAllUsers();
+        }
+    }
+
+    /**
+     * 标记已读：广播消息首次阅读时插入标记，否则只把未读记录改为已读；只有真正由未读变为已读的请求调整未读数
+     *
+     * @return 阅读时间
+     */
+    private LocalDateTime markRead(Long userId, Message message, UserMessage userMessage) {
+        if (userMessage != null && Integer.valueOf(1).equals(userMessage.getReadStatus())) {
+            return userMessage.getReadTime();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        boolean changed = userMessage == null && userMessageMapper.insertReadMarker(userId, message.getId(), now) == 1;
+        if (!changed) {
+            changed = userMessageMapper.update(null, new LambdaUpdateWrapper<UserMessage>()
+                    .set(UserMessage::getReadStatus, 1)
+                    .set(UserMessage::getReadTime, now)
+                    .eq(UserMessage::getUserId, userId)
+                    .eq(UserMessage::getMessageId, message.getId())
+                    .eq(UserMessage::getReadStatus, 0)) > 0;
+        }
+        if (changed) {
+            messageUnreadCounter.onRead(userId, message);
+            // 同步该用户的其他连接（多个标签页）
+            unreadCountPusher.notifyUsers(List.of(userId));
+        }
+        return now;
+    }
+
+    /**
+     * 查询已发送且未过期的消息
+     */
+    private Message selectSentMessage(Long messageId) {
+        Message message = messageMapper.selectById(messageId);
+        if (message == null || !STATUS_SENT.equals(message.getStatus())
+                || (message.getExpiryTime() != null && !message.getExpiryTime().isAfter(LocalDateTime.now()))) {
+            throw new IllegalArgumentException("消息不存在");
+        }
+        return message;
+    }
+
+    /**
+     * 校验消息对用户可见（私信只对接收者可见，用户删除后不可见）
+     *
+     * @return 用户消息关联记录，广播消息未读时为 null
+     */
+    private UserMessage requireVisible(Long userId, Message message) {
+        UserMessage userMessage = userMessageMapper.selectOne(new LambdaQueryWrapper<UserMessage>()
+                .eq(UserMessage::getUserId, userId)
+                .eq(UserMessage::getMessageId, message.getId()));
+        boolean visible = userMessage == null
+                ? !TYPE_PRIVATE.equals(message.getMessageType())
+                : !Integer.valueOf(1).equals(userMessage.getDeletedFlag());
+        if (!visible) {
+            throw new IllegalArgumentException("消息不存在");
+        }
+        return userMessage;
+    }
+
+    private List<Long> selectUserIds(LambdaQueryWrapper<UserMessage> wrapper) {
+        wrapper.select(UserMessage::getUserId);
+        return userMessageMapper.selectList(wrapper).stream().map(UserMessage::getUserId).toList();
+    }
+
+    private static Long parseCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(cursor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("无效的分页游标");
+        }
+    }
+
+    private static LoginUser currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof LoginUser loginUser)
+                || loginUser.getUser() == null) {
+            throw new AuthException("用户未登录");
+        }
+        return loginUser;
+    }
+}
@@ -0,0 +1,367 @@
+package com.spark.adminserver.service.impl;
+
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.mapper.MessageMapper;
+import com.spark.adminserver.mapper.UserMessageMapper;
+import com.spark.adminserver.model.entity.Message;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 消息未读数统计
+ * <p>
+ * 未读数 = 未读私信数 + 有效广播消息数 - 已读（或已删除）的有效广播消息数，三项均在 Redis 中增量维护，一次管道往返得到：
+ * <ul>
+ *     <li>{@code message:broadcast}：全部有效广播消息，分值为过期时间戳，ZCOUNT 时按当前时间自动排除已过期消息</li>
+ *     <li>{@code message:read:{userId}}：用户已读的广播消息，分值同上</li>
+ *     <li>{@code message:unread:{userId}}：用户未读私信数，只在 Key 存在时增减，不存在时下次查询从数据库重建</li>
+ * </ul>
+ * 用户维度的两个 Key 在重建时设置相同的过期时间，之后读取与增减都不续期，
+ * 因此即使个别增量丢失导致计数偏差，最迟在 TTL 到期后从数据库重建而自愈；广播索引的加载标记同理，过期后重建一次。
+ * Redis 写入失败时尽力删除受影响的 Key（用户计数或广播加载标记），下次查询立即重建。
+ * 私信过期后在清理前仍计入未读，清理时删除受影响用户的计数，下次查询从数据库重建。
+ */
+@Slf4j
+@Component
+public class MessageUnreadCounter {
+
+    /**
+     * 无有效期的消息分值
+     */
+    private static final double NO_EXPIRY_SCORE = Long.MAX_VALUE;
+
+    /**
+     * Key 存在时才增减，避免不存在的计数被当作已加载
+     */
+    private static final byte[] INCR_IF_EXISTS_SCRIPT = ("if redis.call('EXISTS', KEYS[1]) == 1 then "
+            + "return redis.call('INCRBY', KEYS[1], ARGV[1]) end return false").getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 用户计数已加载（未读私信 Key 存在）时才记录已读广播，已读集合的剩余有效期与未读私信 Key 保持一致
+     */
+    private static final byte[] READ_IF_LOADED_SCRIPT = ("local ttl = redis.call('PTTL', KEYS[1]) "
+            + "if ttl <= 0 then return 0 end "
+            + "redis.call('ZADD', KEYS[2], ARGV[1], ARGV[2]) "
+            + "redis.call('PEXPIRE', KEYS[2], ttl) return 1").getBytes(StandardCharsets.UTF_8);
+
+    private final MessageMapper messageMapper;
+    private final UserMessageMapper userMessageMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Duration userTtl;
+    private final Duration broadcastReloadInterval;
+
+    public MessageUnreadCounter(MessageMapper messageMapper,
+                                UserMessageMapper userMessageMapper,
+                                StringRedisTemplate stringRedisTemplate,
+                                @Value("${message.unread.ttl:1h}") Duration userTtl,
+                                @Value("${message.unread.broadcast-reload-interval:1h}") Duration broadcastReloadInterval) {
+        this.messageMapper = messageMapper;
+        this.userMessageMapper = userMessageMapper;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.userTtl = userTtl;
+        this.broadcastReloadInterval = broadcastReloadInterval;
+    }
+
+    /**
+     * 获取用户未读消息数
+     *
+     * @param userId 用户ID
+     * @return 未读数
+     */
+    public long getUnreadCount(Long userId) {
+        try {
+            UnreadSnapshot snapshot = snapshot(userId);
+            if (snapshot.privateUnread == null || !snapshot.broadcastLoaded) {
+                if (snapshot.privateUnread == null) {
+                    loadUser(userId);
+                }
+                if (!snapshot.broadcastLoaded) {
+                    loadBroadcasts();
+                }
+                snapshot = snapshot(userId);
+            }
+            long privateUnread = snapshot.privateUnread != null ? snapshot.privateUnread : 0L;
+            return privateUnread + Math.max(0L, snapshot.broadcastCount - snapshot.readCount);
+        } catch (DataAccessException e) {
+            log.warn("从 Redis 获取未读数失败，改为查询数据库：{}", e.getMessage());
+            return countFromDatabase(userId);
+        }
+    }
+
+    /**
+     * 批量获取用户未读消息数（一次管道往返，计数未加载的用户单独重建）
+     *
+     * @param userIds 用户ID
+     * @return 用户ID到未读数的映射
+     */
+    public Map<Long, Long> getUnreadCounts(Collection<Long> userIds) {
+        Map<Long, Long> counts = new HashMap<>(userIds.size() * 2);
+        if (userIds.isEmpty()) {
+            return counts;
+        }
+        List<Long> ids = new ArrayList<>(userIds);
+        double now = System.currentTimeMillis();
+        List<Object> results;
+        try {
+            results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                stringConnection.exists(Constants.MESSAGE_BROADCAST_LOADED_KEY);
+                stringConnection.zCount(Constants.MESSAGE_BROADCAST_KEY, now, Double.POSITIVE_INFINITY);
+                for (Long userId : ids) {
+                    stringConnection.get(Constants.MESSAGE_UNREAD_KEY + userId);
+                    stringConnection.zCount(Constants.MESSAGE_READ_KEY + userId, now, Double.POSITIVE_INFINITY);
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.warn("从 Redis 批量获取未读数失败：{}", e.getMessage());
+            return counts;
+        }
+        if (!Boolean.TRUE.equals(results.get(0))) {
+            // 广播索引未加载时逐个获取（首个用户触发重建）
+            ids.forEach(userId -> counts.put(userId, getUnreadCount(userId)));
+            return counts;
+        }
+        long broadcastCount = results.get(1) != null ? ((Number) results.get(1)).longValue() : 0L;
+        for (int i = 0; i < ids.size(); i++) {
+            Object privateUnread = results.get(2 + i * 2);
+            Object readCount = results.get(3 + i * 2);
+            Long userId = ids.get(i);
+            if (privateUnread == null) {
+                counts.put(userId, getUnreadCount(userId));
+            } else {
+                long read = readCount != null ? ((Number) readCount).longValue() : 0L;
+                counts.put(userId, Long.parseLong((String) privateUnread) + Math.max(0L, broadcastCount - read));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 广播消息已发送
+     *
+     * @param message 消息
+     */
+    public void onBroadcastSent(Message message) {
+        runQuietly(() -> stringRedisTemplate.opsForZSet()
+                .add(Constants.MESSAGE_BROADCAST_KEY, message.getId().toString(), score(message.getExpiryTime())),
+                List.of(Constants.MESSAGE_BROADCAST_LOADED_KEY));
+    }
+
+    /**
+     * 广播消息已撤回：从索引及已读该消息用户的已读集合中移除
+     *
+     * @param messageId 消息ID
+     * @param readerIds 已读或已删除该消息的用户ID
+     */
+    public void onBroadcastRecalled(Long messageId, Collection<Long> readerIds) {
+        String member = messageId.toString();
+        runQuietly(() -> stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.zRem(Constants.MESSAGE_BROADCAST_KEY, member);
+            for (Long readerId : readerIds) {
+                stringConnection.zRem(Constants.MESSAGE_READ_KEY + readerId, member);
+            }
+            return null;
+        }), broadcastAndUserKeys(readerIds));
+    }
+
+    /**
+     * 私信已发送：接收者未读数加一（一次管道往返）
+     *
+     * @param receiverIds 接收用户ID
+     */
+    public void onPrivateSent(Collection<Long> receiverIds) {
+        incrementIfLoaded(receiverIds, 1);
+    }
+
+    /**
+     * 私信已撤回：未读的接收者未读数减一
+     *
+     * @param unreadReceiverIds 尚未阅读的接收用户ID
+     */
+    public void onPrivateRecalled(Collection<Long> unreadReceiverIds) {
+        incrementIfLoaded(unreadReceiverIds, -1);
+    }
+
+    /**
+     * 用户首次阅读（或删除）消息
+     *
+     * @param userId  用户ID
+     * @param message 消息
+     */
+    public void onRead(Long userId, Message message) {
+        if (MessageServiceImpl.TYPE_PRIVATE.equals(message.getMessageType())) {
+            incrementIfLoaded(List.of(userId), -1);
+            return;
+        }
+        byte[][] keysAndArgs = {
+                (Constants.MESSAGE_UNREAD_KEY + userId).getBytes(StandardCharsets.UTF_8),
+                (Constants.MESSAGE_READ_KEY + userId).getBytes(StandardCharsets.UTF_8),
+                Double.toString(score(message.getExpiryTime())).getBytes(StandardCharsets.UTF_8),
+                message.getId().toString().getBytes(StandardCharsets.UTF_8)
+        };
+        runQuietly(() -> stringRedisTemplate.execute((RedisCallback<Object>) connection ->
+                connection.scriptingCommands().eval(READ_IF_LOADED_SCRIPT, ReturnType.INTEGER, 2, keysAndArgs)),
+                userKeys(List.of(userId)));
+    }
+
+    /**
+     * 过期消息已清理：移除索引中的过期广播消息，删除仍有未读过期私信的用户计数（下次查询重建）
+     *
+     * @param unreadUserIds 被清理的私信中仍有未读记录的用户ID
+     */
+    public void onExpiredPurged(Collection<Long> unreadUserIds) {
+        double now = System.currentTimeMillis();
+        runQuietly(() -> stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.zRemRangeByScore(Constants.MESSAGE_BROADCAST_KEY, Double.NEGATIVE_INFINITY, now);
+            for (Long userId : unreadUserIds) {
+                stringConnection.del(Constants.MESSAGE_UNREAD_KEY + userId);
+            }
+            return null;
+        }), broadcastAndUserKeys(unreadUserIds));
+    }
+
+    private UnreadSnapshot snapshot(Long userId) {
+        String unreadKey = Constants.MESSAGE_UNREAD_KEY + userId;
+        String readKey = Constants.MESSAGE_READ_KEY + userId;
+        double now = System.currentTimeMillis();
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.get(unreadKey);
+            stringConnection.exists(Constants.MESSAGE_BROADCAST_LOADED_KEY);
+            stringConnection.zCount(Constants.MESSAGE_BROADCAST_KEY, now, Double.POSITIVE_INFINITY);
+            stringConnection.zCount(readKey, now, Double.POSITIVE_INFINITY);
+            // 读取不续期：计数最迟在重建后 TTL 到期时从数据库重新加载，增量丢失造成的偏差不会一直保留
+            return null;
+        });
+        UnreadSnapshot snapshot = new UnreadSnapshot();
+        snapshot.privateUnread = results.get(0) != null ? Long.valueOf((String) results.get(0)) : null;
+        snapshot.broadcastLoaded = Boolean.TRUE.equals(results.get(1));
+        snapshot.broadcastCount = results.get(2) != null ? ((Number) results.get(2)).longValue() : 0L;
+        snapshot.readCount = results.get(3) != null ? ((Number) results.get(3)).longValue() : 0L;
+        return snapshot;
+    }
+
+    /**
+     * 从数据库重建用户的未读私信数与已读广播集合（一次管道写入）
+     */
+    private void loadUser(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        long privateUnread = userMessageMapper.countUnreadPrivate(userId, now);
+        List<Message> readBroadcasts = userMessageMapper.selectReadBroadcasts(userId, now);
+        String unreadKey = Constants.MESSAGE_UNREAD_KEY + userId;
+        String readKey = Constants.MESSAGE_READ_KEY + userId;
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.del(readKey);
+            for (Message message : readBroadcasts) {
+                stringConnection.zAdd(readKey, score(message.getExpiryTime()), message.getId().toString());
+            }
+            stringConnection.expire(readKey, userTtl.toSeconds());
+            stringConnection.setEx(unreadKey, userTtl.toSeconds(), Long.toString(privateUnread));
+            return null;
+        });
+    }
+
+    /**
+     * 从数据库重建有效广播消息索引（一次管道写入）
+     */
+    private void loadBroadcasts() {
+        List<Message> broadcasts = messageMapper.selectLiveBroadcasts(LocalDateTime.now());
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.del(Constants.MESSAGE_BROADCAST_KEY);
+            for (Message message : broadcasts) {
+                stringConnection.zAdd(Constants.MESSAGE_BROADCAST_KEY, score(message.getExpiryTime()), message.getId().toString());
+            }
+            stringConnection.setEx(Constants.MESSAGE_BROADCAST_LOADED_KEY, broadcastReloadInterval.toSeconds(), "1");
+            return null;
+        });
+    }
+
+    private long countFromDatabase(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        long broadcastUnread = messageMapper.selectLiveBroadcasts(now).size()
+                - userMessageMapper.selectReadBroadcasts(userId, now).size();
+        return userMessageMapper.countUnreadPrivate(userId, now) + Math.max(0L, broadcastUnread);
+    }
+
+    private void incrementIfLoaded(Collection<Long> userIds, long delta) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        byte[] deltaBytes = Long.toString(delta).getBytes(StandardCharsets.UTF_8);
+        runQuietly(() -> stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Long userId : userIds) {
+                byte[] key = (Constants.MESSAGE_UNREAD_KEY + userId).getBytes(StandardCharsets.UTF_8);
+                connection.scriptingCommands().eval(INCR_IF_EXISTS_SCRIPT, ReturnType.INTEGER, 1, key, deltaBytes);
+            }
+            return null;
+        }), userKeys(userIds));
+    }
+
+    /**
+     * Redis 写入失败时数据库已提交，删除受影响的 Key 使下次查询从数据库重建；
+     * 删除同样失败时（如 Redis 不可用）计数最迟在 TTL 到期后重建
+     *
+     * @param action         Redis 写入
+     * @param invalidateKeys 写入失败时需要删除的 Key
+     */
+    private void runQuietly(Runnable action, Collection<String> invalidateKeys) {
+        try {
+            action.run();
+        } catch (DataAccessException e) {
+            log.warn("更新消息未读数失败，删除相关计数等待重建：{}", e.getMessage());
+            try {
+                stringRedisTemplate.delete(invalidateKeys);
+            } catch (DataAccessException deleteException) {
+                log.warn("删除消息未读数失败，计数将在过期后重建：{}", deleteException.getMessage());
+            }
+        }
+    }
+
+    private static List<String> userKeys(Collection<Long> userIds) {
+        List<String> keys = new ArrayList<>(userIds.size() * 2);
+        for (Long userId : userIds) {
+            keys.add(Constants.MESSAGE_UNREAD_KEY + userId);
+            keys.add(Constants.MESSAGE_READ_KEY + userId);
+        }
+        return keys;
+    }
+
+    private static List<String> broadcastAndUserKeys(Collection<Long> userIds) {
+        List<String> keys = userKeys(userIds);
+        keys.add(Constants.MESSAGE_BROADCAST_LOADED_KEY);
+        return keys;
+    }
+
+    private static double score(LocalDateTime expiryTime) {
+        return expiryTime == null ? NO_EXPIRY_SCORE
+                : expiryTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class UnreadSnapshot {
+        private Long privateUnread;
+        private boolean broadcastLoaded;
+        private long broadcastCount;
+        private long readCount;
+    }
+}
@@ -0,0 +1,47 @@
+package com.spark.adminserver.service.impl;
+
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.security.cache.LoginUserCache;
+import com.spark.adminserver.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * 用户缓存清除
+ * <p>
+ * 在事务提交后按用户ID与用户名精确清除用户缓存与登录用户缓存（均会广播到所有节点），
+ * 避免提交前清除后被并发读取以旧数据回填。
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final LoginUserCache loginUserCache;
+
+    /**
+     * 清除用户缓存
+     *
+     * @param userId    用户ID
+     * @param usernames 用户名（修改用户名时需同时传入新旧用户名）
+     */
+    public void evict(Long userId, String... usernames) {
+        TransactionUtil.afterCommit(() -> {
+            Cache userCache = cacheManager.getCache(Constants.USER_CACHE);
+            if (userCache != null) {
+                userCache.evict(userId);
+            }
+            Cache usernameCache = cacheManager.getCache(Constants.USER_BY_USERNAME_CACHE);
+            if (usernameCache != null) {
+                for (String username : usernames) {
+                    if (username != null) {
+                        usernameCache.evict(username);
+                    }
+                }
+            }
+            loginUserCache.evict(userId);
+        });
+    }
+}
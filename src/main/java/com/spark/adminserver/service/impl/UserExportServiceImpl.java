@@ -0,0 +1,114 @@
+package com.spark.adminserver.service.impl;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.spark.adminserver.converter.UserConverter;
+import com.spark.adminserver.mapper.UserMapper;
+import com.spark.adminserver.model.dto.UserPageQueryDTO;
+import com.spark.adminserver.model.vo.UserVO;
+import com.spark.adminserver.search.SearchCandidates;
+import com.spark.adminserver.search.UserSearchIndex;
+import com.spark.adminserver.service.IUserExportService;
+import com.spark.adminserver.util.CsvWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 用户导出服务实现
+ * <p>
+ * 通过 MyBatis ResultHandler 配合流式结果集逐行读取 sys_user，每行转换后立即写入 gzip 输出流，
+ * 内存占用与导出数量无关。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserExportServiceImpl implements IUserExportService {
+
+
+    private static final String[] CSV_HEADER = {"userId", "username", "nickname", "email", "phone", "status", "createTime", "updateTime"};
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UserMapper userMapper;
+    private final UserConverter userConverter;
+    private final UserSearchIndex userSearchIndex;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public long exportUsers(UserPageQueryDTO queryDTO, String format, OutputStream outputStream) throws IOException {
+        if (!FORMAT_CSV.equals(format) && !FORMAT_NDJSON.equals(format)) {
+            throw new IllegalArgumentException("不支持的导出格式: " + format);
+        }
+        long start = System.currentTimeMillis();
+        SearchCandidates search = userSearchIndex.resolve(queryDTO);
+
+        GZIPOutputStream gzip = new GZIPOutputStream(outputStream, BUFFER_SIZE);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RowWriter rowWriter = FORMAT_CSV.equals(format) ? csvRowWriter(writer) : ndjsonRowWriter(writer);
+        long[] count = {0};
+        try {
+            userMapper.exportUsers(queryDTO, search, context -> {
+                try {
+                    rowWriter.write(userConverter.userToUserVO(context.getResultObject()));
+                } catch (IOException e) {
+                    // 客户端断开等写入失败，终止结果集读取
+                    throw new UncheckedIOException(e);
+                }
+                count[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            log.warn("用户导出中断：已写出 {} 行", count[0]);
+            throw e.getCause();
+        }
+        writer.flush();
+        gzip.finish();
+        log.info("用户导出完成：格式={}, 行数={}, 耗时={}ms", format, count[0], System.currentTimeMillis() - start);
+        return count[0];
+    }
+
+    private RowWriter csvRowWriter(Writer writer) throws IOException {
+        CsvWriter csvWriter = new CsvWriter(writer);
+        // UTF-8 BOM，便于 Excel 正确识别中文
+        writer.write('\uFEFF');
+        csvWriter.writeRecord((Object[]) CSV_HEADER);
+        return user -> csvWriter.writeRecord(user.getUserId(), user.getUsername(), user.getNickname(),
+                user.getEmail(), user.getPhone(), user.getStatus(),
+                user.getCreateTime() != null ? DATE_TIME_FORMATTER.format(user.getCreateTime()) : null,
+                user.getUpdateTime() != null ? DATE_TIME_FORMATTER.format(user.getUpdateTime()) : null);
+    }
+
+    private RowWriter ndjsonRowWriter(Writer writer) {
+        // 逐行写入，不关闭也不刷新底层输出流（由缓冲区决定何时写出）
+        ObjectWriter objectWriter = objectMapper.writerFor(UserVO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return user -> {
+            objectWriter.writeValue(writer, user);
+            writer.write('\n');
+        };
+    }
+
+    /**
+     * 单行写入
+     */
+    @FunctionalInterface
+    private interface RowWriter {
+
+        void write(UserVO user) throws IOException;
+    }
+}
@@ -0,0 +1,446 @@
+package com.spark.adminserver.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.baomidou.mybatisplus.core.toolkit.support.SFunction;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spark.adminserver.converter.UserConverter;
+import com.spark.adminserver.mapper.RoleMapper;
+import com.spark.adminserver.mapper.UserMapper;
+import com.spark.adminserver.model.dto.UserDTO;
+import com.spark.adminserver.model.entity.Role;
+import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.model.entity.UserRole;
+import com.spark.adminserver.model.vo.UserImportResultVO;
+import com.spark.adminserver.search.UserSearchIndex;
+import com.spark.adminserver.security.permission.PermissionService;
+import com.spark.adminserver.security.password.PooledPasswordEncoder;
+import com.spark.adminserver.service.IUserImportService;
+import com.spark.adminserver.service.IUserService;
+import com.spark.adminserver.util.CsvReader;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 用户批量导入服务实现类
+ * <p>
+ * 逐行流式读取导入文件，按块（user.import.chunk-size）处理：
+ * 块内用户名 / 邮箱 / 手机号的唯一性各用一条 IN 查询校验，密码在独立线程池中并行加密，
+ * 再通过 MyBatis 批量执行器写入。每块一个事务，整块写入失败时逐行重试，单行错误只影响该行。
+ * <p>
+ * 加密线程池默认只占 CPU 核数的 1/4（上限为一半），与登录使用的密码哈希线程池合计不会占满 CPU。
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements IUserImportService {
+
+    /**
+     * 返回的失败明细上限
+     */
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    /**
+     * CSV 中多个角色ID的分隔符
+     */
+    private static final String ROLE_ID_SEPARATOR = "\\|";
+
+    private final IUserService userService;
+    private final UserMapper userMapper;
+    private final RoleMapper roleMapper;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final UserConverter userConverter;
+    private final TransactionTemplate transactionTemplate;
+    private final UserPageCounter userPageCounter;
+    private final UserSearchIndex userSearchIndex;
+    private final PermissionService permissionService;
+    private final int chunkSize;
+    private final ExecutorService hashExecutor;
+
+    public UserImportServiceImpl(IUserService userService,
+                                 UserMapper userMapper,
+                                 RoleMapper roleMapper,
+                                 PasswordEncoder passwordEncoder,
+                                 Validator validator,
+                                 ObjectMapper objectMapper,
+                                 UserConverter userConverter,
+                                 TransactionTemplate transactionTemplate,
+                                 UserPageCounter userPageCounter,
+                                 UserSearchIndex userSearchIndex,
+                                 PermissionService permissionService,
+                                 @Value("${user.import.chunk-size:1000}") int chunkSize,
+                                 @Value("${user.import.hash-threads:0}") int hashThreads) {
+        this.userService = userService;
+        this.userMapper = userMapper;
+        this.roleMapper = roleMapper;
+        // 导入有独立的加密线程池，直接使用底层编码器，避免占满登录使用的密码哈希队列
+        this.passwordEncoder = passwordEncoder instanceof PooledPasswordEncoder pooled
+                ? pooled.getDelegate() : passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.userConverter = userConverter;
+        this.transactionTemplate = transactionTemplate;
+        this.userPageCounter = userPageCounter;
+        this.userSearchIndex = userSearchIndex;
+        this.permissionService = permissionService;
+        this.chunkSize = chunkSize;
+        int processors = Runtime.getRuntime().availableProcessors();
+        int maxThreads = Math.max(1, processors / 2);
+        int threads = hashThreads > 0 ? Math.min(hashThreads, maxThreads) : Math.max(1, processors / 4);
+        if (hashThreads > maxThreads) {
+            log.warn("导入密码加密线程数 {} 超过 CPU 核数的一半，按 {} 执行", hashThreads, maxThreads);
+        }
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.hashExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    @Override
+    public UserImportResultVO importUsers(InputStream inputStream, String format) throws IOException {
+        long start = System.nanoTime();
+        ImportContext context = new ImportContext();
+        if (FORMAT_JSON.equals(format)) {
+            readJson(inputStream, context);
+        } else {
+            readCsv(inputStream, context);
+        }
+        context.flush();
+
+        UserImportResultVO result = context.result;
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        result.setRowsPerSecond(result.getElapsedMillis() > 0 ? result.getTotal() * 1000.0 / result.getElapsedMillis() : result.getTotal());
+        if (result.getSuccess() > 0) {
+            userPageCounter.invalidate();
+        }
+        log.info("批量导入用户完成：total={}, success={}, failed={}, 耗时={}ms, {} 行/秒",
+                result.getTotal(), result.getSuccess(), result.getFailed(), result.getElapsedMillis(), Math.round(result.getRowsPerSecond()));
+        return result;
+    }
+
+    /**
+     * 读取 CSV：首行为表头，支持列 username,password,nickname,email,phone,roleIds（roleIds 以 | 分隔）
+     */
+    private void readCsv(InputStream inputStream, ImportContext context) throws IOException {
+        try (CsvReader reader = new CsvReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                return;
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                // 去掉可能存在的 UTF-8 BOM
+                columns.put(header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("username")) {
+                throw new IllegalArgumentException("CSV 表头缺少 username 列");
+            }
+
+            List<String> record;
+            long row = 0;
+            while ((record = reader.readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                row++;
+                UserDTO userDTO = new UserDTO();
+                userDTO.setUsername(column(record, columns, "username"));
+                userDTO.setPassword(column(record, columns, "password"));
+                userDTO.setNickname(column(record, columns, "nickname"));
+                userDTO.setEmail(column(record, columns, "email"));
+                userDTO.setPhone(column(record, columns, "phone"));
+                String roleIds = column(record, columns, "roleids");
+                if (roleIds != null) {
+                    try {
+                        userDTO.setRoleIds(Arrays.stream(roleIds.split(ROLE_ID_SEPARATOR))
+                                .map(String::trim).filter(s -> !s.isEmpty()).map(Long::valueOf).toList());
+                    } catch (NumberFormatException e) {
+                        context.rejectRow(row, userDTO.getUsername(), "角色ID格式不正确");
+                        continue;
+                    }
+                }
+                context.add(row, userDTO);
+            }
+        }
+    }
+
+    /**
+     * 读取 JSON：支持 JSON 数组或每行一个 JSON 对象，逐个对象解析
+     */
+    private void readJson(InputStream inputStream, ImportContext context) throws IOException {
+        try (MappingIterator<UserDTO> iterator = objectMapper.readerFor(UserDTO.class).readValues(inputStream)) {
+            long row = 0;
+            try {
+                while (iterator.hasNextValue()) {
+                    row++;
+                    context.add(row, iterator.nextValue());
+                }
+            } catch (JsonProcessingException e) {
+                // 格式错误后无法可靠定位下一个对象，停止读取，已读取的数据照常导入
+                context.rejectRow(row, null, "JSON 格式错误，停止读取：" + e.getOriginalMessage());
+            }
+        }
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * 待导入的行
+     */
+    private static final class PendingRow {
+
+        private final long row;
+        private final UserDTO userDTO;
+        private User user;
+
+        private PendingRow(long row, UserDTO userDTO) {
+            this.row = row;
+            this.userDTO = userDTO;
+        }
+    }
+
+    /**
+     * 单次导入的状态：当前块、文件内已出现的唯一键、结果统计
+     */
+    private final class ImportContext {
+
+        private final UserImportResultVO result = new UserImportResultVO();
+        private final List<PendingRow> chunk = new ArrayList<>(chunkSize);
+
+        private final Set<String> seenUsernames = new HashSet<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final Set<String> seenPhones = new HashSet<>();
+
+        private void add(long row, UserDTO userDTO) {
+            result.setTotal(result.getTotal() + 1);
+            Set<ConstraintViolation<UserDTO>> violations = validator.validate(userDTO);
+            if (!violations.isEmpty()) {
+                reject(row, userDTO.getUsername(), violations.iterator().next().getMessage());
+                return;
+            }
+            if (StringUtils.isBlank(userDTO.getPassword())) {
+                reject(row, userDTO.getUsername(), "密码不能为空");
+                return;
+            }
+            // 文件内重复
+            if (!seenUsernames.add(userDTO.getUsername())) {
+                reject(row, userDTO.getUsername(), "用户名在导入文件中重复");
+                return;
+            }
+            if (StringUtils.isNotBlank(userDTO.getEmail()) && !seenEmails.add(userDTO.getEmail())) {
+                reject(row, userDTO.getUsername(), "邮箱在导入文件中重复");
+                return;
+            }
+            if (StringUtils.isNotBlank(userDTO.getPhone()) && !seenPhones.add(userDTO.getPhone())) {
+                reject(row, userDTO.getUsername(), "手机号在导入文件中重复");
+                return;
+            }
+            chunk.add(new PendingRow(row, userDTO));
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        /**
+         * 拒绝未进入 add 的行（读取阶段的错误）
+         */
+        private void rejectRow(long row, String username, String message) {
+            result.setTotal(result.getTotal() + 1);
+            reject(row, username, message);
+        }
+
+        private void reject(long row, String username, String message) {
+            result.setFailed(result.getFailed() + 1);
+            if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+                result.getErrors().add(new UserImportResultVO.RowError(row, username, message));
+            }
+        }
+
+        /**
+         * 处理当前块：批量唯一性校验 → 并行加密密码 → 批量写入
+         */
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<PendingRow> rows = new ArrayList<>(chunk);
+            chunk.clear();
+
+            rows = rejectExisting(rows, User::getUsername, UserDTO::getUsername, "用户名已存在");
+            rows = rejectExisting(rows, User::getEmail, UserDTO::getEmail, "邮箱已存在");
+            rows = rejectExisting(rows, User::getPhone, UserDTO::getPhone, "手机号已存在");
+            rows = rejectUnknownRoles(rows);
+            rows = rejectUngrantableRoles(rows);
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            List<CompletableFuture<Void>> hashing = new ArrayList<>(rows.size());
+            for (PendingRow pending : rows) {
+                hashing.add(CompletableFuture.runAsync(() -> pending.user = toUser(pending.userDTO), hashExecutor));
+            }
+            CompletableFuture.allOf(hashing.toArray(new CompletableFuture[0])).join();
+
+            List<PendingRow> toInsert = rows;
+            List<PendingRow> inserted = toInsert;
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(toInsert));
+            } catch (Exception e) {
+                log.warn("批量导入写入失败，本块 {} 行逐行重试", toInsert.size(), e);
+                inserted = insertEach(toInsert);
+            }
+            result.setSuccess(result.getSuccess() + inserted.size());
+            userSearchIndex.onUsersSaved(inserted.stream().map(pending -> pending.user).toList());
+        }
+
+        /**
+         * 整块回滚后逐行写入（每行一个事务），找出具体失败的行
+         *
+         * @return 写入成功的行
+         */
+        private List<PendingRow> insertEach(List<PendingRow> rows) {
+            List<PendingRow> inserted = new ArrayList<>(rows.size());
+            for (PendingRow pending : rows) {
+                // 回滚前批量写入可能已回填自增主键
+                pending.user.setUserId(null);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(pending)));
+                    inserted.add(pending);
+                } catch (DuplicateKeyException e) {
+                    // 校验之后被并发写入的同名用户
+                    reject(pending.row, pending.userDTO.getUsername(), "用户名、邮箱或手机号已存在");
+                } catch (Exception e) {
+                    // 数据库异常信息可能包含表结构等内部细节，只写入日志
+                    log.warn("导入第 {} 行写入失败", pending.row, e);
+                    reject(pending.row, pending.userDTO.getUsername(), "写入失败");
+                }
+            }
+            return inserted;
+        }
+
+        private void insert(List<PendingRow> rows) {
+            List<User> users = rows.stream().map(pending -> pending.user).toList();
+            userService.saveBatch(users, chunkSize);
+            List<UserRole> userRoles = new ArrayList<>();
+            for (PendingRow pending : rows) {
+                if (pending.userDTO.getRoleIds() != null) {
+                    for (Long roleId : new HashSet<>(pending.userDTO.getRoleIds())) {
+                        userRoles.add(new UserRole(null, pending.user.getUserId(), roleId));
+                    }
+                }
+            }
+            if (!userRoles.isEmpty()) {
+                Db.saveBatch(userRoles, chunkSize);
+            }
+        }
+
+        /**
+         * 用一条 IN 查询找出块内已存在于数据库的值，并拒绝对应的行
+         */
+        private List<PendingRow> rejectExisting(List<PendingRow> rows,
+                                                SFunction<User, String> column,
+                                                Function<UserDTO, String> value,
+                                                String message) {
+            Set<String> values = rows.stream().map(pending -> value.apply(pending.userDTO))
+                    .filter(StringUtils::isNotBlank).collect(Collectors.toSet());
+            if (values.isEmpty()) {
+                return rows;
+            }
+            LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
+            queryWrapper.select(column).in(column, values);
+            Set<String> existing = userMapper.selectList(queryWrapper).stream()
+                    .map(column).collect(Collectors.toSet());
+            return filter(rows, pending -> !existing.contains(value.apply(pending.userDTO)), message);
+        }
+
+        private List<PendingRow> rejectUnknownRoles(List<PendingRow> rows) {
+            Set<Long> roleIds = rows.stream().filter(pending -> pending.userDTO.getRoleIds() != null)
+                    .flatMap(pending -> pending.userDTO.getRoleIds().stream()).collect(Collectors.toSet());
+            if (roleIds.isEmpty()) {
+                return rows;
+            }
+            Set<Long> existing = roleMapper.selectBatchIds(roleIds).stream().map(Role::getId).collect(Collectors.toSet());
+            return filter(rows, pending -> pending.userDTO.getRoleIds() == null
+                    || existing.containsAll(pending.userDTO.getRoleIds()), "角色不存在");
+        }
+
+        /**
+         * 拒绝分配了当前用户无权分配的角色的行（与单个用户分配角色的校验一致）；没有分配角色权限时拒绝所有携带角色的行
+         */
+        private List<PendingRow> rejectUngrantableRoles(List<PendingRow> rows) {
+            Set<Long> roleIds = rows.stream().filter(pending -> pending.userDTO.getRoleIds() != null)
+                    .flatMap(pending -> pending.userDTO.getRoleIds().stream()).collect(Collectors.toSet());
+            if (roleIds.isEmpty()) {
+                return rows;
+            }
+            Set<Long> ungrantable = permissionService.hasPermission(PermissionService.ROLE_ASSIGN_PERMISSION)
+                    ? permissionService.getUngrantableRoles(roleIds) : roleIds;
+            return filter(rows, pending -> pending.userDTO.getRoleIds() == null
+                    || pending.userDTO.getRoleIds().stream().noneMatch(ungrantable::contains), "无权分配角色");
+        }
+
+        private List<PendingRow> filter(List<PendingRow> rows, Predicate<PendingRow> accept, String message) {
+            List<PendingRow> accepted = new ArrayList<>(rows.size());
+            for (PendingRow pending : rows) {
+                if (accept.test(pending)) {
+                    accepted.add(pending);
+                } else {
+                    reject(pending.row, pending.userDTO.getUsername(), message);
+                }
+            }
+            return accepted;
+        }
+    }
+
+    private User toUser(UserDTO userDTO) {
+        User user = userConverter.userDTOToUser(userDTO);
+        user.setStatus(0); // 默认正常状态
+        user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
+        return user;
+    }
+}
@@ -0,0 +1,142 @@
+package com.spark.adminserver.service.impl;
+
+import com.baomidou.mybatisplus.core.toolkit.StringUtils;
+import com.spark.adminserver.mapper.UserMapper;
+import com.spark.adminserver.model.dto.UserPageQueryDTO;
+import com.spark.adminserver.search.SearchCandidates;
+import com.spark.adminserver.util.TransactionUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 用户分页总数统计
+ * <p>
+ * 支持三种统计方式：
+ * <ul>
+ *     <li>exact：每次执行 COUNT(*)</li>
+ *     <li>cached：按规范化后的查询条件缓存 COUNT(*) 结果，短时过期，用户写操作后整体失效</li>
+ *     <li>estimated：按 EXPLAIN 的 rows × filtered / 100 估算（基于表统计信息与索引采样，不扫描数据）。
+ *     结果只是估算值，可能与实际数量相差较大，只适合展示大致规模，不能用于计算最后一页</li>
+ * </ul>
+ * 缓存失效通过递增版本号实现：缓存 Key 中带有版本号，写操作后旧版本的 Key 不再被读取，随 TTL 自然过期。
+ */
+@Slf4j
+@Component
+public class UserPageCounter {
+
+    public static final String COUNT_MODE_EXACT = "exact";
+    public static final String COUNT_MODE_CACHED = "cached";
+    public static final String COUNT_MODE_ESTIMATED = "estimated";
+
+    private static final String COUNT_KEY_PREFIX = "user:page:count:";
+    private static final String VERSION_KEY = COUNT_KEY_PREFIX + "version";
+
+    private final UserMapper userMapper;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final String defaultMode;
+    private final Duration cacheTtl;
+
+    public UserPageCounter(UserMapper userMapper,
+                           RedisTemplate<String, Object> redisTemplate,
+                           @Value("${user.page.count-mode:exact}") String defaultMode,
+                           @Value("${user.page.count-cache-ttl:30s}") Duration cacheTtl) {
+        this.userMapper = userMapper;
+        this.redisTemplate = redisTemplate;
+        this.defaultMode = defaultMode;
+        this.cacheTtl = cacheTtl;
+    }
+
+    /**
+     * 统计满足查询条件的用户总数
+     *
+     * @param queryDTO 查询条件，countMode 为空时使用配置的默认方式
+     * @param search 搜索索引候选，可为 null
+     * @return 用户总数
+     */
+    public long count(UserPageQueryDTO queryDTO, SearchCandidates search) {
+        String mode = StringUtils.isNotBlank(queryDTO.getCountMode()) ? queryDTO.getCountMode() : defaultMode;
+        switch (mode) {
+            case COUNT_MODE_CACHED:
+                return countCached(queryDTO, search);
+            case COUNT_MODE_ESTIMATED:
+                return countEstimated(queryDTO, search);
+            default:
+                return userMapper.countUserPage(queryDTO, search);
+        }
+    }
+
+    /**
+     * 使已缓存的总数失效，存在事务时在提交后执行
+     */
+    public void invalidate() {
+        TransactionUtil.afterCommit(this::bumpVersion);
+    }
+
+    private long countCached(UserPageQueryDTO queryDTO, SearchCandidates search) {
+        String key;
+        try {
+            Object version = redisTemplate.opsForValue().get(VERSION_KEY);
+            key = COUNT_KEY_PREFIX + (version != null ? version : 0) + ":" + normalizedFilterDigest(queryDTO);
+            Object cached = redisTemplate.opsForValue().get(key);
+            if (cached instanceof Number) {
+                return ((Number) cached).longValue();
+            }
+        } catch (Exception e) {
+            log.warn("读取用户总数缓存失败，改为实时统计：{}", e.getMessage());
+            return userMapper.countUserPage(queryDTO, search);
+        }
+
+        long total = userMapper.countUserPage(queryDTO, search);
+        try {
+            redisTemplate.opsForValue().set(key, total, cacheTtl);
+        } catch (Exception e) {
+            log.warn("写入用户总数缓存失败：{}", e.getMessage());
+        }
+        return total;
+    }
+
+    /**
+     * 估算总数：rows 为优化器预计扫描的行数，filtered 为其中满足其余条件的百分比
+     */
+    private long countEstimated(UserPageQueryDTO queryDTO, SearchCandidates search) {
+        List<Map<String, Object>> plan = userMapper.explainUserPage(queryDTO, search);
+        if (plan.isEmpty() || !(plan.get(0).get("rows") instanceof Number rows)) {
+            return userMapper.countUserPage(queryDTO, search);
+        }
+        double filtered = plan.get(0).get("filtered") instanceof Number percent ? percent.doubleValue() : 100D;
+        return Math.round(rows.doubleValue() * filtered / 100D);
+    }
+
+    private void bumpVersion() {
+        try {
+            redisTemplate.opsForValue().increment(VERSION_KEY);
+        } catch (Exception e) {
+            log.warn("用户总数缓存失效失败，将在 {} 后自然过期：{}", cacheTtl, e.getMessage());
+        }
+    }
+
+    /**
+     * 规范化查询条件（与 SQL 条件语义一致：用户名、昵称模糊匹配不区分大小写），生成固定长度的摘要
+     */
+    static String normalizedFilterDigest(UserPageQueryDTO queryDTO) {
+        String username = StringUtils.isNotBlank(queryDTO.getUsername()) ? queryDTO.getUsername().toLowerCase(Locale.ROOT) : "";
+        String nickname = StringUtils.isNotBlank(queryDTO.getNickname()) ? queryDTO.getNickname().toLowerCase(Locale.ROOT) : "";
+        String phone = StringUtils.isNotBlank(queryDTO.getPhone()) ? queryDTO.getPhone() : "";
+        String status = queryDTO.getStatus() != null ? queryDTO.getStatus().toString() : "";
+        // 每个字段带长度前缀，字段值中含有分隔符（如 "a&n=b"）时也不会与其他条件组合拼出相同的串
+        StringBuilder filter = new StringBuilder();
+        for (String field : new String[]{username, nickname, phone, status}) {
+            filter.append(field.length()).append(':').append(field);
+        }
+        return DigestUtils.md5DigestAsHex(filter.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -4,23 +4,39 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.StringUtils;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import com.spark.adminserver.common.PageCursor;
 import com.spark.adminserver.common.PageResult;
+import com.spark.adminserver.common.constant.Constants;
 import com.spark.adminserver.converter.UserConverter;
+import com.spark.adminserver.mapper.RoleMapper;
 import com.spark.adminserver.mapper.UserMapper;
+import com.spark.adminserver.mapper.UserRoleMapper;
 import com.spark.adminserver.model.dto.UserDTO;
 import com.spark.adminserver.model.dto.UserPageQueryDTO;
 import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.model.entity.UserRole;
 import com.spark.adminserver.model.vo.UserVO;
+import com.spark.adminserver.search.SearchCandidates;
+import com.spark.adminserver.search.UserSearchIndex;
+import com.spark.adminserver.security.cache.LoginUserCache;
+import com.spark.adminserver.security.permission.PermissionResolver;
+import com.spark.adminserver.security.permission.PermissionService;
+import com.spark.adminserver.util.TransactionUtil;
 import com.spark.adminserver.service.IUserService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * 用户服务实现类
@@ -31,37 +47,90 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements IU
 
     private static final Logger log = LoggerFactory.getLogger(UserServiceImpl.class);
 
+    /**
+     * 游标分页模式
+     */
+    private static final String PAGE_MODE_CURSOR = "cursor";
+
     private final UserMapper userMapper;
     private final UserConverter userConverter;
     private final PasswordEncoder passwordEncoder;
+    private final UserPageCounter userPageCounter;
+    private final UserSearchIndex userSearchIndex;
+    private final RoleMapper roleMapper;
+    private final UserRoleMapper userRoleMapper;
+    private final PermissionResolver permissionResolver;
+    private final UserCacheEvictor userCacheEvictor;
+    private final LoginUserCache loginUserCache;
+    private final PermissionService permissionService;
 
     @Override
+    @Cacheable(cacheNames = Constants.USER_CACHE, key = "#userId", unless = "#result == null")
     public UserVO getUserVOById(Long userId) {
         User user = this.getById(userId);
         if (user == null || user.getDeleted() == 1) {
             return null;
         }
-        return userConverter.userToUserVO(user);
-        // TODO: 查询并设置用户的角色信息到 userVO
+        UserVO userVO = userConverter.userToUserVO(user);
+        fillRoles(List.of(userVO));
+        return userVO;
     }
 
     @Override
     public PageResult<UserVO> getUserPage(UserPageQueryDTO queryDTO) {
-        // 创建分页对象
-        Page<User> page = new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize());
+        // 用户名、昵称条件先由内存搜索索引缩小到候选ID，再按主键查询
+        SearchCandidates search = userSearchIndex.resolve(queryDTO);
+        if (PAGE_MODE_CURSOR.equals(queryDTO.getPageMode())) {
+            return getUserPageByCursor(queryDTO, search);
+        }
+        // 创建分页对象，总数由 UserPageCounter 按统计方式单独计算
+        Page<User> page = new Page<>(queryDTO.getPageNum(), queryDTO.getPageSize(), false);
         // 执行分页查询
-        Page<User> userPage = userMapper.selectUserPage(page, queryDTO);
+        Page<User> userPage = userMapper.selectUserPage(page, queryDTO, search);
         
         // 转换结果
         List<UserVO> userVOList = userConverter.usersToUserVOs(userPage.getRecords());
-        // TODO: 查询并设置用户的角色信息
+        fillRoles(userVOList);
 
-        return new PageResult<>(userPage.getTotal(), userVOList);
+        Long total = !Boolean.FALSE.equals(queryDTO.getSearchCount()) ? userPageCounter.count(queryDTO, search) : null;
+        return new PageResult<>(total, userVOList);
+    }
+
+    /**
+     * 游标分页：按 (create_time, user_id) 定位，多取一条判断是否还有下一页，
+     * 翻到任意深度的成本都相同；总数仅在显式要求时统计。
+     */
+    private PageResult<UserVO> getUserPageByCursor(UserPageQueryDTO queryDTO, SearchCandidates search) {
+        int pageSize = queryDTO.getPageSize();
+        PageCursor cursor = StringUtils.isNotBlank(queryDTO.getCursor()) ? PageCursor.decode(queryDTO.getCursor()) : null;
+        List<User> users = userMapper.selectUserPageAfter(queryDTO, search,
+                cursor != null ? cursor.getCreateTime() : null,
+                cursor != null ? cursor.getId() : null,
+                pageSize + 1);
+
+        boolean hasMore = users.size() > pageSize;
+        if (hasMore) {
+            users = users.subList(0, pageSize);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            User last = users.get(users.size() - 1);
+            nextCursor = new PageCursor(last.getCreateTime(), last.getUserId()).encode();
+        }
+        Long total = Boolean.TRUE.equals(queryDTO.getSearchCount()) ? userPageCounter.count(queryDTO, search) : null;
+
+        List<UserVO> userVOList = userConverter.usersToUserVOs(users);
+        fillRoles(userVOList);
+        return new PageResult<>(total, userVOList, nextCursor, hasMore);
     }
 
     @Override
     @Transactional
     public Long createUser(UserDTO userDTO) {
+        if (userDTO.getRoleIds() != null && !userDTO.getRoleIds().isEmpty()) {
+            checkRoleAssignPermission();
+        }
+
         // 检查用户名是否已存在
         if (checkUsernameExists(userDTO.getUsername(), null)) {
             throw new IllegalArgumentException("用户名已存在");
@@ -89,8 +158,13 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements IU
 
         // 使用 MybatisPlus 的 save 方法插入
         this.save(user);
+        userPageCounter.invalidate();
+        userSearchIndex.onUserSaved(user.getUserId(), user.getUsername(), user.getNickname());
 
-        // TODO: 处理用户与角色的关联关系 (userDTO.getRoleIds())
+        // 处理用户与角色的关联关系
+        if (userDTO.getRoleIds() != null && !userDTO.getRoleIds().isEmpty()) {
+            saveUserRoles(user.getUserId(), userDTO.getRoleIds());
+        }
 
         return user.getUserId();
     }
@@ -98,6 +172,9 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements IU
     @Override
     @Transactional
     public boolean updateUser(Long userId, UserDTO userDTO) {
+        if (userDTO.getRoleIds() != null) {
+            checkRoleAssignPermission();
+        }
         User existingUser = this.getById(userId);
         if (existingUser == null || existingUser.getDeleted() == 1) {
             throw new IllegalArgumentException("用户不存在或已被删除");
@@ -130,9 +207,16 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements IU
 
         // 使用 MybatisPlus 的 updateById 方法更新 (null 值字段不会被更新)
         boolean success = this.updateById(userToUpdate);
-
-        // TODO: 处理用户与角色的关联关系 (userDTO.getRoleIds())
-        // 可能需要先删除旧关联，再插入新关联
+        userPageCounter.invalidate();
+        userCacheEvictor.evict(userId, existingUser.getUsername(), userToUpdate.getUsername());
+        userSearchIndex.onUserSaved(userId,
+                userToUpdate.getUsername() != null ? userToUpdate.getUsername() : existingUser.getUsername(),
+                userToUpdate.getNickname() != null ? userToUpdate.getNickname() : existingUser.getNickname());
+
+        // 处理用户与角色的关联关系：传入 roleIds 时先删除旧关联，再插入新关联
+        if (userDTO.getRoleIds() != null) {
+            saveUserRoles(userId, userDTO.getRoleIds());
+        }
 
         return success;
     }
@@ -140,10 +224,20 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements IU
     @Override
     @Transactional // 涉及写操作，添加事务
     public boolean deleteUser(Long userId) {
+        User user = this.getById(userId);
         // 逻辑删除，使用 MybatisPlus 的 removeById
         // ServiceImpl<M, T> 默认实现了逻辑删除
-        return this.removeById(userId);
+        boolean success = this.removeById(userId);
         // 如果需要物理删除，则需要调用 mapper.deleteById(userId);
+        userPageCounter.invalidate();
+        userCacheEvictor.evict(userId, user != null ? user.getUsername() : null);
+        userSearchIndex.onUserDeleted(userId);
+        TransactionUtil.afterCommit(() -> {
+            permissionResolver.refreshUser(userId);
+            // 已登录的会话立即失效
+            loginUserCache.revoke(userId);
+        });
+        return success;
     }
 
     @Override
@@ -160,7 +254,11 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements IU
         User userToUpdate = new User();
         userToUpdate.setUserId(userId);
         userToUpdate.setStatus(status);
-        return this.updateById(userToUpdate);
+        boolean success = this.updateById(userToUpdate);
+        userPageCounter.invalidate();
+        userCacheEvictor.evict(userId, user.getUsername());
+        TransactionUtil.afterCommit(() -> loginUserCache.revoke(userId));
+        return success;
     }
 
     @Override
@@ -177,26 +275,94 @@ public class UserServiceImpl extends ServiceImpl<UserMapper, User> implements IU
         User userToUpdate = new User();
         userToUpdate.setUserId(userId);
         userToUpdate.setPassword(passwordEncoder.encode(newPassword));
-        return this.updateById(userToUpdate);
+        boolean success = this.updateById(userToUpdate);
+        userCacheEvictor.evict(userId, user.getUsername());
+        TransactionUtil.afterCommit(() -> loginUserCache.revoke(userId));
+        return success;
     }
 
     @Override
+    @Cacheable(cacheNames = Constants.USER_BY_USERNAME_CACHE, key = "#username", unless = "#result == null")
     public User getByUsername(String username) {
-        return null;
+        if (StringUtils.isBlank(username)) {
+            return null;
+        }
+        // 结果写入 Redis 缓存，不查询密码哈希
+        LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
+        queryWrapper.select(User.class, field -> !"password".equals(field.getColumn()))
+                .eq(User::getUsername, username);
+        return userMapper.selectOne(queryWrapper);
     }
 
     @Override
     public List<String> getUserRoles(Long userId) {
-        return List.of();
+        return permissionResolver.getRoleKeys(userId);
     }
 
     @Override
     public List<String> getUserPermissions(Long userId) {
-        return List.of();
+        return permissionResolver.getPermissionKeys(userId);
+    }
+
+    @Override
+    @Transactional
+    public boolean updateUserRoles(Long userId, List<Long> roleIds) {
+        User user = this.getById(userId);
+        if (user == null || user.getDeleted() == 1) {
+            throw new IllegalArgumentException("用户不存在或已被删除");
+        }
+        saveUserRoles(userId, roleIds != null ? roleIds : List.of());
+        return true;
     }
 
     // --- 辅助方法 --- //
 
+    /**
+     * 填充用户角色信息：整页用户只执行一条 IN 查询，在内存中按用户合并
+     */
+    private void fillRoles(List<UserVO> userVOs) {
+        if (userVOs.isEmpty()) {
+            return;
+        }
+        List<Long> userIds = userVOs.stream().map(UserVO::getUserId).toList();
+        userConverter.fillRoles(userVOs, userRoleMapper.selectRolesByUserIds(userIds));
+    }
+
+    /**
+     * 覆盖保存用户角色关联，事务提交后刷新该用户的权限与登录用户缓存
+     * <p>
+     * 新增与移除的角色都必须是当前用户有权分配的角色，避免越权提升或剥夺更高权限的用户。
+     */
+    /**
+     * 新增、修改用户时携带角色与分配角色接口需要相同的权限，只有编辑权限的用户不能借此修改角色
+     */
+    private void checkRoleAssignPermission() {
+        if (!permissionService.hasPermission(PermissionService.ROLE_ASSIGN_PERMISSION)) {
+            throw new AccessDeniedException("无权分配角色");
+        }
+    }
+
+    private void saveUserRoles(Long userId, List<Long> roleIds) {
+        Set<Long> distinctRoleIds = new LinkedHashSet<>(roleIds);
+        if (!distinctRoleIds.isEmpty() && roleMapper.selectBatchIds(distinctRoleIds).size() != distinctRoleIds.size()) {
+            throw new IllegalArgumentException("角色不存在");
+        }
+        Set<Long> changed = new HashSet<>(distinctRoleIds);
+        for (UserRole current : userRoleMapper.selectList(new LambdaQueryWrapper<UserRole>().eq(UserRole::getUserId, userId))) {
+            if (!changed.remove(current.getRoleId())) {
+                changed.add(current.getRoleId());
+            }
+        }
+        permissionService.checkGrantable(changed);
+        userRoleMapper.delete(new LambdaQueryWrapper<UserRole>().eq(UserRole::getUserId, userId));
+        for (Long roleId : distinctRoleIds) {
+            userRoleMapper.insert(new UserRole(null, userId, roleId));
+        }
+        TransactionUtil.afterCommit(() -> permissionResolver.refreshUser(userId));
+        // 用户详情与登录用户缓存中包含角色
+        userCacheEvictor.evict(userId);
+    }
+
     private boolean checkUsernameExists(String username, Long excludeUserId) {
         LambdaQueryWrapper<User> queryWrapper = new LambdaQueryWrapper<>();
         queryWrapper.eq(User::getUsername, username);
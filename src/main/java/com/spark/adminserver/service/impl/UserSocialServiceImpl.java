@@ -0,0 +1,93 @@
+package com.spark.adminserver.service.impl;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.spark.adminserver.mapper.UserSocialMapper;
+import com.spark.adminserver.model.entity.UserSocial;
+import com.spark.adminserver.security.cache.SocialBindingCache;
+import com.spark.adminserver.service.IUserSocialService;
+import com.spark.adminserver.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 社交登录绑定服务实现
+ * <p>
+ * 查询走 {@link SocialBindingCache}；绑定与解绑在事务提交后立即清除各节点的缓存。
+ */
+@Service
+@RequiredArgsConstructor
+public class UserSocialServiceImpl implements IUserSocialService {
+
+    private final UserSocialMapper userSocialMapper;
+    private final SocialBindingCache socialBindingCache;
+
+    @Override
+    public Long getBoundUserId(String provider, String openId) {
+        if (!StringUtils.hasText(provider) || !StringUtils.hasText(openId)) {
+            return null;
+        }
+        return socialBindingCache.getUserId(provider, openId);
+    }
+
+    @Override
+    public List<UserSocial> listByUserId(Long userId) {
+        return userSocialMapper.selectList(new LambdaQueryWrapper<UserSocial>()
+                .eq(UserSocial::getUserId, userId)
+                .orderByAsc(UserSocial::getId));
+    }
+
+    @Override
+    @Transactional
+    public void bind(Long userId, UserSocial userSocial) {
+        String provider = userSocial.getProvider();
+        String openId = userSocial.getOpenId();
+        if (!StringUtils.hasText(provider) || !StringUtils.hasText(openId)) {
+            throw new IllegalArgumentException("社交平台标识和OpenID不能为空");
+        }
+        UserSocial existing = userSocialMapper.selectOne(new LambdaQueryWrapper<UserSocial>()
+                .eq(UserSocial::getProvider, provider)
+                .eq(UserSocial::getOpenId, openId));
+        if (existing != null) {
+            if (!existing.getUserId().equals(userId)) {
+                throw new IllegalArgumentException("该社交账号已绑定其他用户");
+            }
+            // 重复授权只刷新令牌与资料，绑定关系不变，无需清除缓存
+            userSocial.setId(existing.getId());
+            userSocial.setUserId(userId);
+            userSocial.setBindTime(null);
+            userSocialMapper.updateById(userSocial);
+            return;
+        }
+
+        socialBindingCache.markBound(provider, openId);
+        userSocial.setId(null);
+        userSocial.setUserId(userId);
+        userSocial.setBindTime(LocalDateTime.now());
+        try {
+            userSocialMapper.insert(userSocial);
+        } catch (DuplicateKeyException e) {
+            // uk_user_provider 或并发绑定同一账号触发 uk_provider_openid
+            throw new IllegalArgumentException("该用户已绑定此平台或该社交账号已被绑定");
+        }
+        TransactionUtil.afterCommit(() -> socialBindingCache.invalidate(provider, openId));
+    }
+
+    @Override
+    @Transactional
+    public void unbind(Long userId, String provider) {
+        UserSocial binding = userSocialMapper.selectOne(new LambdaQueryWrapper<UserSocial>()
+                .eq(UserSocial::getUserId, userId)
+                .eq(UserSocial::getProvider, provider));
+        if (binding == null) {
+            throw new IllegalArgumentException("未绑定该平台");
+        }
+        userSocialMapper.deleteById(binding.getId());
+        TransactionUtil.afterCommit(() -> socialBindingCache.invalidate(provider, binding.getOpenId()));
+    }
+}
@@ -0,0 +1,151 @@
+package com.spark.adminserver.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 验证码预生成池
+ * <p>
+ * 由独立线程池在后台渲染配置类型（captcha.type）的验证码并放入有界队列，
+ * 请求线程只需出队；队列为空时回退为当前线程即时渲染。
+ */
+@Slf4j
+@Component
+public class CaptchaPool {
+
+    private static final String METRIC_PREFIX = "captcha.pool";
+
+    /**
+     * 渲染失败后的重试间隔（毫秒）
+     */
+    private static final long FAILURE_BACKOFF_MILLIS = 5000L;
+
+    private final CaptchaUtil captchaUtil;
+
+    private final boolean enabled;
+
+    private final int producerThreads;
+
+    private final BlockingQueue<RenderedCaptcha> queue;
+
+    private final Timer renderTimer;
+    private final Counter pooledCounter;
+    private final Counter fallbackCounter;
+
+    private ExecutorService producers;
+
+    private volatile boolean running;
+
+    public CaptchaPool(CaptchaUtil captchaUtil,
+                       MeterRegistry meterRegistry,
+                       @Value("${captcha.pool.enabled:true}") boolean enabled,
+                       @Value("${captcha.pool.size:200}") int size,
+                       @Value("${captcha.pool.threads:2}") int producerThreads) {
+        this.captchaUtil = captchaUtil;
+        this.enabled = enabled;
+        this.producerThreads = producerThreads;
+        this.queue = new ArrayBlockingQueue<>(size);
+        this.renderTimer = Timer.builder(METRIC_PREFIX + ".refill")
+                .description("验证码后台渲染耗时")
+                .tag("type", captchaUtil.getCaptchaType())
+                .register(meterRegistry);
+        this.pooledCounter = Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("type", captchaUtil.getCaptchaType())
+                .tag("source", "pool")
+                .register(meterRegistry);
+        this.fallbackCounter = Counter.builder(METRIC_PREFIX + ".requests")
+                .tag("type", captchaUtil.getCaptchaType())
+                .tag("source", "inline")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".depth", queue, BlockingQueue::size)
+                .description("池中可用验证码数量")
+                .tag("type", captchaUtil.getCaptchaType())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 启动后台生产线程
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        AtomicInteger threadIndex = new AtomicInteger();
+        producers = Executors.newFixedThreadPool(producerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "captcha-pool-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1);
+            return thread;
+        });
+        for (int i = 0; i < producerThreads; i++) {
+            producers.execute(this::produce);
+        }
+        log.info("验证码预生成池已启动：type={}, size={}, threads={}",
+                captchaUtil.getCaptchaType(), queue.remainingCapacity(), producerThreads);
+    }
+
+    /**
+     * 停止后台生产线程
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (producers != null) {
+            producers.shutdownNow();
+        }
+    }
+
+    /**
+     * 获取一个验证码，池为空时即时渲染
+     *
+     * @return 已渲染的验证码
+     */
+    public RenderedCaptcha take() {
+        RenderedCaptcha captcha = queue.poll();
+        if (captcha != null) {
+            pooledCounter.increment();
+            return captcha;
+        }
+        fallbackCounter.increment();
+        return captchaUtil.render();
+    }
+
+    /**
+     * 生产循环：队列满时阻塞等待
+     */
+    private void produce() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                long start = System.nanoTime();
+                RenderedCaptcha captcha = captchaUtil.render();
+                renderTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                queue.put(captcha);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.warn("验证码预生成失败，{}ms 后重试：{}", FAILURE_BACKOFF_MILLIS, e.getMessage());
+                try {
+                    TimeUnit.MILLISECONDS.sleep(FAILURE_BACKOFF_MILLIS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
@@ -8,7 +8,6 @@ import org.springframework.stereotype.Component;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Base64;
 import java.util.Random;
 import java.awt.FontFormatException;
 
@@ -39,14 +38,37 @@ public class CaptchaUtil {
      * @return 包含验证码文本和图片的数组，第一个元素是验证码文本，第二个元素是Base64编码的图片
      */
     public String[] generateCaptcha() {
+        RenderedCaptcha captcha = render();
+        
+        // 返回验证码文本和图片
+        return new String[] {captcha.getText(), captcha.toDataUri()};
+    }
+    
+    /**
+     * 渲染验证码图片
+     *
+     * @return 已渲染的验证码
+     */
+    public RenderedCaptcha render() {
         // 创建验证码
         Captcha captcha = createCaptcha();
         
-        // 转为Base64编码
-        String base64 = captchaToBase64(captcha);
+        // 输出图片字节
+        ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        captcha.out(out);
+        String contentType = captcha instanceof GifCaptcha || captcha instanceof ChineseGifCaptcha
+                ? "image/gif" : "image/png";
         
-        // 返回验证码文本和图片
-        return new String[] {captcha.text(), base64};
+        return new RenderedCaptcha(captcha.text(), out.toByteArray(), contentType);
+    }
+    
+    /**
+     * 获取配置的验证码类型
+     *
+     * @return 验证码类型
+     */
+    public String getCaptchaType() {
+        return captchaType;
     }
     
     /**
@@ -94,18 +116,4 @@ public class CaptchaUtil {
         
         return captcha;
     }
-    
-    /**
-     * 将验证码转换为Base64编码
-     *
-     * @param captcha 验证码
-     * @return Base64编码的图片
-     */
-    private String captchaToBase64(Captcha captcha) {
-        String base64 = captcha.toBase64();
-        if (!base64.startsWith("data:")) {
-            base64 = "data:image/png;base64," + base64;
-        }
-        return base64;
-    }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,65 @@
+package com.spark.adminserver.util;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * 流式 CSV 写入器（RFC 4180）
+ * <p>
+ * 逐条写入记录，字段包含逗号、双引号或换行时使用双引号包裹并转义双引号；不负责关闭底层 Writer。
+ * <p>
+ * 防止公式注入：以 = + - @ 制表符或回车开头的字符串字段前加单引号，电子表格软件打开时按文本显示而不是执行公式。
+ * 数值类型字段（如负数）原样写入。
+ */
+public class CsvWriter {
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * 写入一条记录
+     *
+     * @param fields 字段，null 写为空字段
+     * @throws IOException 写入失败
+     */
+    public void writeRecord(Object... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (fields[i] instanceof CharSequence text) {
+                writeField(escapeFormula(text.toString()));
+            } else if (fields[i] != null) {
+                writeField(fields[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeFormula(String field) {
+        if (field.isEmpty()) {
+            return field;
+        }
+        char first = field.charAt(0);
+        boolean formula = first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        return formula ? "'" + field : field;
+    }
+
+    private void writeField(String field) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(field);
+            return;
+        }
+        writer.write('"');
+        writer.write(field.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,88 @@
+package com.spark.adminserver.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.util.StringUtils;
+
+/**
+ * 客户端 IP 与 User-Agent 工具类
+ */
+public final class IpUtil {
+
+    private IpUtil() {
+    }
+
+    /**
+     * 获取客户端 IP
+     * <p>
+     * 不直接读取 X-Forwarded-For 等请求头（客户端可任意伪造）。经过代理时由容器按
+     * {@code server.forward-headers-strategy} 与可信代理列表（{@code server.tomcat.remoteip.internal-proxies}）
+     * 解析转发头，并将结果设置为 {@link HttpServletRequest#getRemoteAddr()}。
+     *
+     * @param request 请求
+     * @return IP 地址
+     */
+    public static String getIpAddress(HttpServletRequest request) {
+        String ip = request.getRemoteAddr();
+        return "0:0:0:0:0:0:0:1".equals(ip) ? "127.0.0.1" : ip;
+    }
+
+    /**
+     * 从 User-Agent 识别浏览器
+     *
+     * @param userAgent User-Agent
+     * @return 浏览器名称，无法识别时返回 Unknown
+     */
+    public static String getBrowser(String userAgent) {
+        if (!StringUtils.hasText(userAgent)) {
+            return "Unknown";
+        }
+        // Edge 与 Chrome、Chrome 与 Safari 的 UA 互相包含，需按顺序判断
+        if (userAgent.contains("Edg/")) {
+            return "Edge";
+        }
+        if (userAgent.contains("MicroMessenger")) {
+            return "WeChat";
+        }
+        if (userAgent.contains("Firefox/")) {
+            return "Firefox";
+        }
+        if (userAgent.contains("Chrome/")) {
+            return "Chrome";
+        }
+        if (userAgent.contains("Safari/")) {
+            return "Safari";
+        }
+        if (userAgent.contains("MSIE") || userAgent.contains("Trident/")) {
+            return "IE";
+        }
+        return "Unknown";
+    }
+
+    /**
+     * 从 User-Agent 识别操作系统
+     *
+     * @param userAgent User-Agent
+     * @return 操作系统名称，无法识别时返回 Unknown
+     */
+    public static String getOs(String userAgent) {
+        if (!StringUtils.hasText(userAgent)) {
+            return "Unknown";
+        }
+        if (userAgent.contains("Android")) {
+            return "Android";
+        }
+        if (userAgent.contains("iPhone") || userAgent.contains("iPad")) {
+            return "iOS";
+        }
+        if (userAgent.contains("Windows")) {
+            return "Windows";
+        }
+        if (userAgent.contains("Mac OS X")) {
+            return "Mac OS X";
+        }
+        if (userAgent.contains("Linux")) {
+            return "Linux";
+        }
+        return "Unknown";
+    }
+}
@@ -2,6 +2,8 @@ package com.spark.adminserver.util;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -15,19 +17,37 @@ import java.util.Map;
 
 /**
  * JWT工具类
+ * <p>
+ * 签名密钥与解析器在启动时构建一次，均为不可变且线程安全的对象，可在所有请求间复用。
  */
 @Slf4j
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secret;
+    private final long expiration;
 
-    @Value("${jwt.expiration}")
-    private long expiration;
+    private final long refreshExpiration;
 
-    @Value("${jwt.refresh-expiration}")
-    private long refreshExpiration;
+    /**
+     * 签名密钥
+     */
+    private final SecretKey key;
+
+    /**
+     * 令牌解析器
+     */
+    private final JwtParser parser;
+
+    public JwtUtil(@Value("${jwt.secret}") String secret,
+                   @Value("${jwt.expiration}") long expiration,
+                   @Value("${jwt.refresh-expiration}") long refreshExpiration) {
+        this.expiration = expiration;
+        this.refreshExpiration = refreshExpiration;
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser()
+                .verifyWith(key)
+                .build();
+    }
 
     /**
      * 创建JWT token
@@ -41,8 +61,6 @@ public class JwtUtil {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expirationMillis);
         
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        
         JwtBuilder builder = Jwts.builder()
                 .subject(subject)
                 .issuedAt(now)
@@ -57,6 +75,15 @@ public class JwtUtil {
                 .compact();
     }
     
+    /**
+     * 访问令牌有效期（毫秒），会话相关的 Redis 数据（登录用户、在线会话、吊销记录）均按此保留
+     *
+     * @return 有效期（毫秒）
+     */
+    public long getExpiration() {
+        return expiration;
+    }
+
     /**
      * 创建访问令牌
      *
@@ -85,12 +112,24 @@ public class JwtUtil {
      * @return 声明信息
      */
     public Claims parseToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * 校验并解析令牌（每个请求只需解析一次）
+     *
+     * @param token JWT token
+     * @return 校验通过的令牌信息，令牌无效时返回 null
+     */
+    public VerifiedToken verifyToken(String token) {
+        try {
+            Claims claims = parseToken(token);
+            return new VerifiedToken(claims.getSubject(), claims, claims.getExpiration());
+        } catch (JwtException | IllegalArgumentException e) {
+            // 无效令牌属于常规情况，不输出堆栈
+            log.debug("JWT token验证失败：{}", e.getMessage());
+            return null;
+        }
     }
     
     /**
@@ -100,13 +139,7 @@ public class JwtUtil {
      * @return 是否有效
      */
     public boolean validateToken(String token) {
-        try {
-            parseToken(token);
-            return true;
-        } catch (Exception e) {
-            log.error("JWT token验证失败：", e);
-            return false;
-        }
+        return verifyToken(token) != null;
     }
     
     /**
@@ -119,4 +152,4 @@ public class JwtUtil {
         Claims claims = parseToken(token);
         return claims.getSubject();
     }
-} 
\ No newline at end of file
+}
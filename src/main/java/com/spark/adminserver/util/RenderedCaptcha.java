@@ -0,0 +1,38 @@
+package com.spark.adminserver.util;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Base64;
+
+/**
+ * 已渲染的验证码
+ */
+@Getter
+@AllArgsConstructor
+public final class RenderedCaptcha {
+
+    /**
+     * 验证码文本（算术验证码为计算结果）
+     */
+    private final String text;
+
+    /**
+     * 图片字节
+     */
+    private final byte[] image;
+
+    /**
+     * 图片类型，如 image/png、image/gif
+     */
+    private final String contentType;
+
+    /**
+     * 转换为 data URI 形式的 Base64 图片
+     *
+     * @return data URI
+     */
+    public String toDataUri() {
+        return "data:" + contentType + ";base64," + Base64.getEncoder().encodeToString(image);
+    }
+}
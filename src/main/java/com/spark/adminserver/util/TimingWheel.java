@@ -0,0 +1,155 @@
+package com.spark.adminserver.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 分层时间轮
+ * <p>
+ * 第一层每格 tickMillis、共 wheelSize 格；超出本层范围的任务放入上一层（每格为下一层一圈），上层按需创建。
+ * 上层的格子到期时把其中的任务重新放入时间轮，逐层下沉到最底层后到期。
+ * 添加任务和每次推进一格都是 O(1)（不计下沉），与任务总数无关。
+ * 到期时间向上取整到最底层的格，任务不会提前到期，最多延迟一格。
+ * <p>
+ * 非线程安全，添加与推进需在同一线程中进行。
+ *
+ * @param <T> 任务类型
+ */
+public class TimingWheel<T> {
+
+    private final int wheelSize;
+    private final Level root;
+    private int size;
+
+    /**
+     * @param tickMillis  最底层每格时长（毫秒），即到期精度
+     * @param wheelSize   每层格数
+     * @param startMillis 起始时间（毫秒）
+     */
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("时间轮格长必须大于 0，格数不能小于 2");
+        }
+        this.wheelSize = wheelSize;
+        this.root = new Level(tickMillis, startMillis - startMillis % tickMillis);
+    }
+
+    /**
+     * 添加任务
+     *
+     * @param task           任务
+     * @param deadlineMillis 到期时间（毫秒）
+     * @return 已到期（不晚于当前格的起始时间）时返回 false，任务未加入，由调用方立即执行
+     */
+    public boolean add(T task, long deadlineMillis) {
+        long remainder = Math.floorMod(deadlineMillis, root.tick);
+        long expiration = remainder == 0 ? deadlineMillis : deadlineMillis - remainder + root.tick;
+        if (!add(root, new Entry<>(task, expiration))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * 推进到指定时间，依次处理到期任务
+     *
+     * @param nowMillis 当前时间（毫秒）
+     * @param expired   到期任务处理
+     */
+    public void advance(long nowMillis, Consumer<T> expired) {
+        List<Entry<T>> due = new ArrayList<>();
+        while (root.currentTime + root.tick <= nowMillis) {
+            root.currentTime += root.tick;
+            root.drain(due);
+            // 本层走完上层的一格时，上层推进一格，其到期格中的任务重新放入时间轮
+            Level level = root;
+            while (level.overflow != null && level.currentTime >= level.overflow.currentTime + level.overflow.tick) {
+                level = level.overflow;
+                level.currentTime += level.tick;
+                level.drain(due);
+            }
+            for (Entry<T> entry : due) {
+                if (!add(root, entry)) {
+                    size--;
+                    expired.accept(entry.task);
+                }
+            }
+            due.clear();
+        }
+    }
+
+    /**
+     * 时间轮中的任务数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 当前时间（最底层已推进到的格子起始时间，毫秒）
+     */
+    public long currentTime() {
+        return root.currentTime;
+    }
+
+    private boolean add(Level level, Entry<T> entry) {
+        while (true) {
+            if (entry.expiration < level.currentTime + level.tick) {
+                return false;
+            }
+            if (entry.expiration < level.currentTime + level.interval) {
+                level.bucket(entry.expiration).add(entry);
+                return true;
+            }
+            if (level.overflow == null) {
+                level.overflow = new Level(level.interval, level.currentTime - level.currentTime % level.interval);
+            }
+            level = level.overflow;
+        }
+    }
+
+    private final class Level {
+
+        private final long tick;
+        private final long interval;
+        private final List<List<Entry<T>>> buckets;
+        private long currentTime;
+        private Level overflow;
+
+        private Level(long tick, long currentTime) {
+            this.tick = tick;
+            this.interval = tick * wheelSize;
+            this.currentTime = currentTime;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+
+        private List<Entry<T>> bucket(long time) {
+            return buckets.get((int) ((time / tick) % wheelSize));
+        }
+
+        private void drain(List<Entry<T>> target) {
+            List<Entry<T>> bucket = bucket(currentTime);
+            if (!bucket.isEmpty()) {
+                target.addAll(bucket);
+                bucket.clear();
+            }
+        }
+    }
+
+    private static final class Entry<T> {
+
+        private final T task;
+        // 向上取整到最底层格的到期时间
+        private final long expiration;
+
+        private Entry(T task, long expiration) {
+            this.task = task;
+            this.expiration = expiration;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.spark.adminserver.util;
+
+import io.jsonwebtoken.Claims;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * 已校验的JWT令牌
+ */
+@Getter
+@AllArgsConstructor
+public final class VerifiedToken {
+
+    /**
+     * 主题（用户ID）
+     */
+    private final String subject;
+
+    /**
+     * 声明信息
+     */
+    private final Claims claims;
+
+    /**
+     * 过期时间
+     */
+    private final Date expiration;
+}
@@ -0,0 +1,84 @@
+package com.spark.adminserver.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 验证码校验 Redis 往返基准测试
+ * <p>
+ * 需要可访问的 Redis（6.2+ 支持 GETDEL），通过 -Dredis.host / -Dredis.port 指定，默认 localhost:6379。
+ * getThenDelete 为旧实现（GET + DEL 两次往返），getAndDelete 为当前实现（GETDEL 一次往返）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CaptchaValidationBenchmark {
+
+    private static final String KEY = "captcha:code:benchmark";
+
+    private LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redisTemplate;
+
+    @Setup(Level.Trial)
+    public void connect() {
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(
+                System.getProperty("redis.host", "localhost"),
+                Integer.getInteger("redis.port", 6379));
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @Setup(Level.Invocation)
+    public void storeCaptcha() {
+        redisTemplate.opsForValue().set(KEY, "1234", 5, TimeUnit.MINUTES);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        connectionFactory.destroy();
+    }
+
+    @Benchmark
+    public boolean getThenDelete() {
+        String code = redisTemplate.opsForValue().get(KEY);
+        redisTemplate.delete(KEY);
+        return "1234".equalsIgnoreCase(code);
+    }
+
+    @Benchmark
+    public boolean getAndDelete() {
+        String code = redisTemplate.opsForValue().getAndDelete(KEY);
+        return "1234".equalsIgnoreCase(code);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(CaptchaValidationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,160 @@
+package com.spark.adminserver.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spark.adminserver.cache.serializer.CompactRedisSerializer;
+import com.spark.adminserver.cache.serializer.LoginUserCodec;
+import com.spark.adminserver.cache.serializer.StringCodec;
+import com.spark.adminserver.cache.serializer.UserCodec;
+import com.spark.adminserver.cache.serializer.UserVOCodec;
+import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.model.vo.UserVO;
+import com.spark.adminserver.security.entity.LoginUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis 值序列化基准测试：原 JSON 序列化器与紧凑二进制序列化器
+ * <p>
+ * JSON 读取 LoginUser 得到的是 Map，与 LoginUserCache 一致再经 convertValue 转换，计入读取成本。
+ * 序列化后大小在 Setup 阶段输出。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Jackson2JsonRedisSerializer<Object> jsonSerializer;
+    private CompactRedisSerializer compactSerializer;
+
+    private LoginUser loginUser;
+    private UserVO userVO;
+
+    private byte[] loginUserJson;
+    private byte[] loginUserBinary;
+    private byte[] userVOJson;
+    private byte[] userVOBinary;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        objectMapper.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        jsonSerializer = new Jackson2JsonRedisSerializer<>(objectMapper, Object.class);
+        compactSerializer = new CompactRedisSerializer(jsonSerializer, true, List.of(
+                UserCodec.INSTANCE, LoginUserCodec.INSTANCE, UserVOCodec.INSTANCE, StringCodec.INSTANCE));
+
+        User user = new User();
+        user.setUserId(1790000000000000001L);
+        user.setUsername("zhangsan");
+        user.setPassword("$2a$10$7JB720yubVSZvUI0rEqK/.VqGOZTH.ulu33dHOiBE8ByOhJIrdAu2");
+        user.setNickname("张三");
+        user.setEmail("zhangsan@example.com");
+        user.setPhone("13800138000");
+        user.setStatus(0);
+        user.setCreateTime(LocalDateTime.of(2024, 1, 1, 8, 0));
+        user.setUpdateTime(LocalDateTime.of(2024, 6, 1, 18, 30));
+        user.setDeleted(0);
+        Set<String> permissions = new HashSet<>();
+        for (String module : List.of("user", "role", "permission", "article")) {
+            for (String action : List.of("list", "add", "edit", "remove", "detail")) {
+                permissions.add("system:" + module + ":" + action);
+            }
+        }
+        loginUser = new LoginUser(user, permissions, List.of("admin", "editor"));
+
+        userVO = new UserVO();
+        userVO.setUserId(user.getUserId());
+        userVO.setUsername(user.getUsername());
+        userVO.setNickname(user.getNickname());
+        userVO.setEmail(user.getEmail());
+        userVO.setPhone(user.getPhone());
+        userVO.setStatus(user.getStatus());
+        userVO.setCreateTime(user.getCreateTime());
+        userVO.setUpdateTime(user.getUpdateTime());
+        userVO.setRoleIds(new ArrayList<>(List.of(1L, 3L)));
+        userVO.setRoleNames(new ArrayList<>(List.of("管理员", "编辑")));
+
+        loginUserJson = jsonSerializer.serialize(loginUser);
+        loginUserBinary = compactSerializer.serialize(loginUser);
+        userVOJson = jsonSerializer.serialize(userVO);
+        userVOBinary = compactSerializer.serialize(userVO);
+        System.out.printf("%nLoginUser: json=%d bytes, binary=%d bytes; UserVO: json=%d bytes, binary=%d bytes%n",
+                loginUserJson.length, loginUserBinary.length, userVOJson.length, userVOBinary.length);
+    }
+
+    @Benchmark
+    public byte[] loginUserSerializeJson() {
+        return jsonSerializer.serialize(loginUser);
+    }
+
+    @Benchmark
+    public byte[] loginUserSerializeBinary() {
+        return compactSerializer.serialize(loginUser);
+    }
+
+    @Benchmark
+    public LoginUser loginUserDeserializeJson() {
+        return objectMapper.convertValue(jsonSerializer.deserialize(loginUserJson), LoginUser.class);
+    }
+
+    @Benchmark
+    public Object loginUserDeserializeBinary() {
+        return compactSerializer.deserialize(loginUserBinary);
+    }
+
+    @Benchmark
+    public byte[] userVOSerializeJson() {
+        return jsonSerializer.serialize(userVO);
+    }
+
+    @Benchmark
+    public byte[] userVOSerializeBinary() {
+        return compactSerializer.serialize(userVO);
+    }
+
+    @Benchmark
+    public UserVO userVODeserializeJson() {
+        return objectMapper.convertValue(jsonSerializer.deserialize(userVOJson), UserVO.class);
+    }
+
+    @Benchmark
+    public Object userVODeserializeBinary() {
+        return compactSerializer.deserialize(userVOBinary);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RedisSerializerBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,88 @@
+package com.spark.adminserver.benchmark;
+
+import com.spark.adminserver.search.TrigramIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 用户名搜索基准测试（100 万用户）
+ * <p>
+ * likeScan 模拟 {@code LIKE '%x%'} 的全量扫描（逐行 contains，不含数据库 I/O，是扫描成本的下限），
+ * trigramSearch 为内存 Trigram 索引查询。查询串分别为命中少量用户的选择性查询与命中大量用户的宽泛查询。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class UserSearchIndexBenchmark {
+
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+    @Param({"1000000"})
+    private int users;
+
+    @Param({"k7q2", "user12"})
+    private String query;
+
+    private String[] usernames;
+
+    private TrigramIndex index;
+
+    @Setup(Level.Trial)
+    public void build() {
+        Random random = new Random(42);
+        usernames = new String[users];
+        index = new TrigramIndex();
+        for (int i = 0; i < users; i++) {
+            StringBuilder username = new StringBuilder(i % 3 == 0 ? "user" + i : "");
+            int length = 6 + random.nextInt(8);
+            while (username.length() < length) {
+                username.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            usernames[i] = username.toString();
+            index.put(i, usernames[i]);
+        }
+    }
+
+    @Benchmark
+    public int likeScan() {
+        int matched = 0;
+        for (String username : usernames) {
+            if (username.contains(query)) {
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    @Benchmark
+    public long[] trigramSearch() {
+        return index.search(query, Integer.MAX_VALUE - 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(UserSearchIndexBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,193 @@
+package com.spark.adminserver.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spark.adminserver.model.vo.UserVO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 两级缓存测试
+ */
+@ExtendWith(MockitoExtension.class)
+class TwoLevelCacheManagerTest {
+
+    private static final String CACHE_NAME = "user";
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    private TwoLevelCacheManager cacheManager;
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new TwoLevelCacheManager(redisTemplate, new ObjectMapper(), new SimpleMeterRegistry())
+                .addCache(CACHE_NAME, UserVO.class, Duration.ofMinutes(30), Duration.ofMinutes(1), 100);
+        cache = cacheManager.getCache(CACHE_NAME);
+    }
+
+    @Test
+    void redisHitIsConvertedAndKeptLocally() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get("cache:user:1")).thenReturn(Map.of("userId", 1, "username", "alice"));
+
+        UserVO first = cache.get(1L, UserVO.class);
+        UserVO second = cache.get(1L, UserVO.class);
+
+        assertEquals("alice", first.getUsername());
+        assertEquals(first, second);
+        // 第二次由本地缓存命中
+        verify(valueOperations, times(1)).get("cache:user:1");
+    }
+
+    @Test
+    void evictDeletesBothLevelsAndPublishes() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache.put(1L, user(1L));
+
+        cache.evict(1L);
+
+        verify(redisTemplate).delete("cache:user:1");
+        String message = publishedMessage();
+        assertEquals(CACHE_NAME + "|1", message.substring(message.indexOf('|') + 1));
+        assertNull(cache.get(1L));
+    }
+
+    @Test
+    void broadcastFromOtherNodeEvictsLocalOnly() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache.put(1L, user(1L));
+
+        cacheManager.onMessage(message("other-node|user|1"), null);
+
+        // 本地已清除，回查 Redis
+        cache.get(1L);
+        verify(valueOperations).get("cache:user:1");
+        verify(redisTemplate, times(0)).delete(any(String.class));
+    }
+
+    @Test
+    void broadcastFromSelfIsIgnored() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        cache.put(1L, user(1L));
+        cache.evict(2L);
+        String own = publishedMessage();
+
+        cacheManager.onMessage(message(own.replace("|2", "|1")), null);
+
+        assertEquals(1L, cache.get(1L, UserVO.class).getUserId());
+        verify(valueOperations, times(0)).get(eq("cache:user:1"));
+    }
+
+    @Test
+    void slowLoadOfOneKeyDoesNotBlockOtherKeys() throws Exception {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<UserVO> slow = executor.submit(() -> cache.get(1L, () -> {
+                loading.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return user(1L);
+            }));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            // 键 1 仍在加载，键 2 不需要等待
+            assertEquals(2L, cache.get(2L, () -> user(2L)).getUserId());
+
+            release.countDown();
+            assertEquals(1L, slow.get(5, TimeUnit.SECONDS).getUserId());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentMissesOfSameKeyLoadOnce() throws Exception {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        int threads = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<UserVO>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> cache.get(1L, () -> {
+                    loads.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return user(1L);
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<UserVO> result : results) {
+                assertEquals(1L, result.get(5, TimeUnit.SECONDS).getUserId());
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private String publishedMessage() {
+        ArgumentCaptor<RedisCallback<Long>> captor = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate).execute(captor.capture());
+        RedisConnection connection = mock(RedisConnection.class);
+        captor.getValue().doInRedis(connection);
+        ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(connection).publish(eq(TwoLevelCacheManager.EVICT_CHANNEL.getBytes(StandardCharsets.UTF_8)), body.capture());
+        return new String(body.getValue(), StandardCharsets.UTF_8);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage(TwoLevelCacheManager.EVICT_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static UserVO user(Long userId) {
+        UserVO user = new UserVO();
+        user.setUserId(userId);
+        return user;
+    }
+}
@@ -0,0 +1,97 @@
+package com.spark.adminserver.cache.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.model.vo.UserVO;
+import com.spark.adminserver.security.entity.LoginUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 紧凑二进制序列化器测试
+ */
+class CompactRedisSerializerTest {
+
+    private static final List<BinaryCodec<?>> CODECS = List.of(
+            UserCodec.INSTANCE, LoginUserCodec.INSTANCE, UserVOCodec.INSTANCE, StringCodec.INSTANCE);
+
+    private final Jackson2JsonRedisSerializer<Object> jsonSerializer = new Jackson2JsonRedisSerializer<>(
+            new ObjectMapper().registerModule(new JavaTimeModule()).disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS),
+            Object.class);
+
+    private final CompactRedisSerializer serializer = new CompactRedisSerializer(jsonSerializer, true, CODECS);
+
+    @Test
+    void loginUserRoundTrip() {
+        LoginUser loginUser = new LoginUser(user(), Set.of("system:user:list", "system:user:add"), List.of("admin"));
+
+        byte[] bytes = serializer.serialize(loginUser);
+        LoginUser decoded = (LoginUser) serializer.deserialize(bytes);
+
+        assertEquals(loginUser, decoded);
+        assertTrue(bytes.length < jsonSerializer.serialize(loginUser).length);
+    }
+
+    @Test
+    void userVORoundTripWithNullFields() {
+        UserVO userVO = new UserVO();
+        userVO.setUserId(1790000000000000001L);
+        userVO.setUsername("alice");
+        userVO.setCreateTime(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123000000));
+        userVO.setRoleIds(List.of(1L, 2L));
+        userVO.setRoleNames(List.of("管理员", "普通用户"));
+
+        assertEquals(userVO, serializer.deserialize(serializer.serialize(userVO)));
+    }
+
+    @Test
+    void unregisteredTypesAndLegacyJsonUseFallback() {
+        assertEquals(5, serializer.deserialize(serializer.serialize(5)));
+        assertEquals("1234", serializer.deserialize(jsonSerializer.serialize("1234")));
+
+        // 切换前写入的 JSON 登录用户仍可读取（与原来一样为 Map）
+        Object legacy = serializer.deserialize(jsonSerializer.serialize(new LoginUser(user(), Set.of(), List.of())));
+        assertInstanceOf(Map.class, legacy);
+    }
+
+    @Test
+    void binaryDisabledWritesJsonButReadsBinary() {
+        CompactRedisSerializer jsonOnly = new CompactRedisSerializer(jsonSerializer, false, CODECS);
+
+        assertEquals('"', jsonOnly.serialize("1234")[0]);
+        assertEquals("1234", jsonOnly.deserialize(serializer.serialize("1234")));
+    }
+
+    @Test
+    void newerVersionIsTreatedAsMiss() {
+        byte[] bytes = serializer.serialize("1234");
+        bytes[2] = (byte) (StringCodec.INSTANCE.version() + 1);
+
+        assertNull(serializer.deserialize(bytes));
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setUserId(1790000000000000001L);
+        user.setUsername("admin");
+        user.setPassword("$2a$10$7JB720yubVSZvUI0rEqK/.VqGOZTH.ulu33dHOiBE8ByOhJIrdAu2");
+        user.setNickname("管理员");
+        user.setEmail("admin@example.com");
+        user.setStatus(0);
+        user.setCreateTime(LocalDateTime.of(2024, 1, 1, 8, 0));
+        user.setDeleted(0);
+        return user;
+    }
+}
@@ -0,0 +1,36 @@
+package com.spark.adminserver.common;
+
+import com.spark.adminserver.common.exception.ServiceException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * 全局异常处理器测试
+ */
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void overloadIsReturnedAsHttp503() {
+        ResponseEntity<Result<?>> response = handler.handleServiceException(
+                new ServiceException(503, "系统繁忙，请稍后重试"));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertNotNull(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(503, response.getBody().getCode());
+    }
+
+    @Test
+    void otherServiceErrorsKeepHttp200() {
+        ResponseEntity<Result<?>> response = handler.handleServiceException(new ServiceException("密码处理失败"));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(500, response.getBody().getCode());
+    }
+}
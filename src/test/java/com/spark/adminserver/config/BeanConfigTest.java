@@ -0,0 +1,25 @@
+package com.spark.adminserver.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 全局Bean配置测试
+ */
+class BeanConfigTest {
+
+    @Test
+    void passwordQueueIsBoundedByWhatCompletesWithinTimeout() {
+        // 4 线程 × (1s / 250ms) = 16，小于 200 / 4
+        assertEquals(16, BeanConfig.passwordQueueCapacity(4, Duration.ofSeconds(1), Duration.ofMillis(250), 200));
+    }
+
+    @Test
+    void passwordQueueNeverExceedsQuarterOfTomcatThreads() {
+        assertEquals(50, BeanConfig.passwordQueueCapacity(32, Duration.ofSeconds(1), Duration.ofMillis(250), 200));
+        assertEquals(1, BeanConfig.passwordQueueCapacity(1, Duration.ofSeconds(1), Duration.ofMillis(250), 2));
+    }
+}
@@ -0,0 +1,184 @@
+package com.spark.adminserver.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 简易压测工具：对比平台线程与虚拟线程模式下的吞吐量与延迟
+ * <p>
+ * 分别以 {@code --spring.threads.virtual.enabled=false/true} 启动服务后运行本类 main 方法，比较输出结果。
+ * 压测登录接口时服务端需设置 {@code --captcha.enabled=false --login.limit.enabled=false}。
+ * <pre>
+ * 参数（系统属性）：
+ *   -Dbase.url=http://localhost:8080   服务地址
+ *   -Dscenario=users-page|login         压测场景
+ *   -Dconcurrency=200                   并发数
+ *   -Dduration=30                       持续时间（秒）
+ *   -Dwarmup=5                          预热时间（秒），不计入统计
+ *   -Dtoken=xxx                         users-page 场景使用的访问令牌
+ *   -Dusername=admin -Dpassword=123456  login 场景使用的账号
+ * </pre>
+ * 接口失败时 HTTP 状态码仍可能为 200（业务错误码在响应体的 code 中），因此只有 HTTP 200 且 code 为 200 的响应计为成功。
+ */
+public class LoadTestHarness {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("base.url", "http://localhost:8080");
+        String scenario = System.getProperty("scenario", "users-page");
+        int concurrency = Integer.getInteger("concurrency", 200);
+        long durationMillis = Long.getLong("duration", 30L) * 1000;
+        long warmupMillis = Long.getLong("warmup", 5L) * 1000;
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+        HttpRequest request = buildRequest(baseUrl, scenario);
+
+        System.out.printf("场景=%s, 并发=%d, 预热=%ds, 持续=%ds%n",
+                scenario, concurrency, warmupMillis / 1000, durationMillis / 1000);
+
+        long warmupEnd = System.currentTimeMillis() + warmupMillis;
+        long end = warmupEnd + durationMillis;
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Worker>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> new Worker().run(client, request, warmupEnd, end)));
+        }
+
+        long requests = 0;
+        long errors = 0;
+        Map<String, Long> errorCodes = new TreeMap<>();
+        long[] merged = new long[0];
+        for (Future<Worker> future : futures) {
+            Worker worker = future.get();
+            requests += worker.count;
+            errors += worker.errors;
+            worker.errorCodes.forEach((code, count) -> errorCodes.merge(code, count, Long::sum));
+            long[] latencies = Arrays.copyOf(worker.latencies, worker.count);
+            long[] combined = Arrays.copyOf(merged, merged.length + latencies.length);
+            System.arraycopy(latencies, 0, combined, merged.length, latencies.length);
+            merged = combined;
+        }
+        workers.shutdownNow();
+
+        Arrays.sort(merged);
+        double seconds = durationMillis / 1000.0;
+        System.out.printf("请求数=%d, 错误数=%d, 吞吐量=%.1f req/s%n", requests, errors, requests / seconds);
+        if (!errorCodes.isEmpty()) {
+            System.out.printf("错误分布=%s%n", errorCodes);
+        }
+        System.out.printf("p50=%.2fms, p90=%.2fms, p99=%.2fms, max=%.2fms%n",
+                percentile(merged, 0.50), percentile(merged, 0.90), percentile(merged, 0.99), percentile(merged, 1.0));
+        System.exit(0);
+    }
+
+    private static HttpRequest buildRequest(String baseUrl, String scenario) {
+        switch (scenario) {
+            case "login":
+                String body = String.format(
+                        "{\"principal\":\"%s\",\"password\":\"%s\",\"captchaId\":\"load-test\",\"captchaCode\":\"load-test\"}",
+                        System.getProperty("username", "admin"), System.getProperty("password", "123456"));
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/auth/login"))
+                        .timeout(Duration.ofSeconds(30))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            case "users-page":
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/users/page?pageNum=1&pageSize=10"))
+                        .timeout(Duration.ofSeconds(30))
+                        .header("Authorization", "Bearer " + System.getProperty("token", ""))
+                        .GET()
+                        .build();
+            default:
+                throw new IllegalArgumentException("未知场景: " + scenario);
+        }
+    }
+
+    /**
+     * 判断响应是否成功，失败时返回错误标识（HTTP 状态码或响应体中的 code）
+     *
+     * @return 成功时返回 null
+     */
+    static String failure(int statusCode, byte[] body) {
+        if (statusCode != 200) {
+            return "http-" + statusCode;
+        }
+        try {
+            JsonNode code = OBJECT_MAPPER.readTree(body).get("code");
+            if (code == null || !code.canConvertToInt()) {
+                return "no-code";
+            }
+            return code.intValue() == 200 ? null : "code-" + code.intValue();
+        } catch (IOException e) {
+            return "invalid-body";
+        }
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    /**
+     * 单个压测线程：循环发送请求并记录延迟
+     */
+    private static class Worker {
+
+        private long[] latencies = new long[1024];
+
+        private int count;
+
+        private long errors;
+
+        private final Map<String, Long> errorCodes = new HashMap<>();
+
+        Worker run(HttpClient client, HttpRequest request, long warmupEnd, long end) {
+            long now;
+            while ((now = System.currentTimeMillis()) < end) {
+                long start = System.nanoTime();
+                String failure;
+                try {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    failure = failure(response.statusCode(), response.body());
+                } catch (Exception e) {
+                    failure = e.getClass().getSimpleName();
+                }
+                long elapsed = System.nanoTime() - start;
+                if (now < warmupEnd) {
+                    continue;
+                }
+                if (failure != null) {
+                    errors++;
+                    errorCodes.merge(failure, 1L, Long::sum);
+                }
+                if (count == latencies.length) {
+                    latencies = Arrays.copyOf(latencies, count * 2);
+                }
+                latencies[count++] = elapsed;
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.spark.adminserver.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 压测工具响应判定测试
+ */
+class LoadTestHarnessTest {
+
+    @Test
+    void businessErrorWithHttp200IsFailure() {
+        assertEquals("code-401", LoadTestHarness.failure(200, body("{\"code\":401,\"msg\":\"用户名或密码错误\"}")));
+        assertEquals("code-503", LoadTestHarness.failure(200, body("{\"code\":503,\"msg\":\"系统繁忙\"}")));
+    }
+
+    @Test
+    void onlyCode200IsSuccess() {
+        assertNull(LoadTestHarness.failure(200, body("{\"code\":200,\"msg\":\"操作成功\",\"data\":{}}")));
+        assertEquals("http-503", LoadTestHarness.failure(503, body("{\"code\":503}")));
+        assertEquals("invalid-body", LoadTestHarness.failure(200, body("<html>")));
+    }
+
+    private static byte[] body(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,212 @@
+package com.spark.adminserver.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SSE 未读数推送压测：建立大量并发订阅，发送一条公告后统计推送到达各订阅者的延迟
+ * <p>
+ * 同一用户的连接数受 {@code message.push.max-connections-per-user} 限制，
+ * 只使用一个令牌时服务端需以 {@code --message.push.max-connections-per-user=10000} 启动；
+ * 也可通过 tokens.file 提供多个用户的令牌（每行一个），订阅按顺序轮流使用。
+ * 客户端同样需要足够的文件句柄（{@code ulimit -n}）。
+ * <pre>
+ * 参数（系统属性）：
+ *   -Dbase.url=http://localhost:8080   服务地址
+ *   -Dsubscribers=10000                 订阅连接数
+ *   -Dtoken=xxx                         订阅使用的访问令牌
+ *   -Dtokens.file=tokens.txt            订阅使用的访问令牌文件，优先于 token
+ *   -Dadmin.token=xxx                   发送公告使用的访问令牌（需 system:message:send 权限），为空时只测试连接
+ *   -Dconnect.timeout=60                等待全部连接建立的时间（秒）
+ *   -Dpush.timeout=30                   等待推送到达的时间（秒）
+ * </pre>
+ */
+public class SseLoadTest {
+
+    private static final String EVENT_UNREAD_COUNT = "event:unread-count";
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("base.url", "http://localhost:8080");
+        int subscribers = Integer.getInteger("subscribers", 10000);
+        long connectTimeoutMillis = Long.getLong("connect.timeout", 60L) * 1000;
+        long pushTimeoutMillis = Long.getLong("push.timeout", 30L) * 1000;
+        String adminToken = System.getProperty("admin.token", "");
+        List<String> tokens = loadTokens();
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors())))
+                .build();
+
+        System.out.printf("订阅数=%d, 令牌数=%d%n", subscribers, tokens.size());
+
+        AtomicInteger failed = new AtomicInteger();
+        List<EventSubscriber> subscriberList = new ArrayList<>(subscribers);
+        long connectStart = System.nanoTime();
+        for (int i = 0; i < subscribers; i++) {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/messages/stream"))
+                    .header("Authorization", "Bearer " + tokens.get(i % tokens.size()))
+                    .header("Accept", "text/event-stream")
+                    .GET()
+                    .build();
+            EventSubscriber subscriber = new EventSubscriber();
+            subscriberList.add(subscriber);
+            client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(subscriber))
+                    .whenComplete((response, e) -> {
+                        if (e != null || response.statusCode() != 200) {
+                            failed.incrementAndGet();
+                        }
+                    });
+        }
+
+        // 连接建立后服务端立即推送一次未读数，以收到首个事件作为连接成功
+        long deadline = System.currentTimeMillis() + connectTimeoutMillis;
+        int connected;
+        while ((connected = countReceived(subscriberList, 1)) + failed.get() < subscribers
+                && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(200);
+        }
+        double connectSeconds = (System.nanoTime() - connectStart) / 1_000_000_000.0;
+        System.out.printf("已连接=%d, 失败=%d, 耗时=%.1fs%n", connected, failed.get(), connectSeconds);
+        long[] firstEvent = subscriberList.stream()
+                .filter(subscriber -> subscriber.events.get() >= 1)
+                .mapToLong(subscriber -> subscriber.firstEventNanos - connectStart)
+                .sorted()
+                .toArray();
+        System.out.printf("首个事件（自开始建立连接）p50=%.0fms, p99=%.0fms, max=%.0fms%n",
+                percentile(firstEvent, 0.50), percentile(firstEvent, 0.99), percentile(firstEvent, 1.0));
+
+        if (!adminToken.isEmpty()) {
+            measureFanOut(client, baseUrl, adminToken, subscriberList, pushTimeoutMillis);
+        }
+        System.exit(0);
+    }
+
+    private static void measureFanOut(HttpClient client, String baseUrl, String adminToken,
+                                      List<EventSubscriber> subscriberList, long pushTimeoutMillis) throws Exception {
+        String body = "{\"title\":\"SSE 压测\",\"content\":\"SSE 压测公告\",\"messageType\":\"announcement\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/messages"))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + adminToken)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        List<EventSubscriber> ready = subscriberList.stream()
+                .filter(subscriber -> subscriber.events.get() >= 1)
+                .toList();
+        ready.forEach(EventSubscriber::mark);
+
+        long sendStart = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        System.out.printf("发送公告：status=%d, 耗时=%.1fms%n",
+                response.statusCode(), (System.nanoTime() - sendStart) / 1_000_000.0);
+
+        long deadline = System.currentTimeMillis() + pushTimeoutMillis;
+        int received;
+        while ((received = (int) ready.stream().filter(EventSubscriber::receivedSinceMark).count()) < ready.size()
+                && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+        long[] latencies = ready.stream()
+                .filter(EventSubscriber::receivedSinceMark)
+                .mapToLong(subscriber -> subscriber.lastEventNanos - sendStart)
+                .sorted()
+                .toArray();
+        System.out.printf("推送到达=%d/%d%n", received, ready.size());
+        System.out.printf("推送延迟 p50=%.1fms, p90=%.1fms, p99=%.1fms, max=%.1fms%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90),
+                percentile(latencies, 0.99), percentile(latencies, 1.0));
+    }
+
+    private static List<String> loadTokens() throws Exception {
+        String file = System.getProperty("tokens.file");
+        if (file != null && !file.isEmpty()) {
+            List<String> tokens = Files.readAllLines(Path.of(file)).stream()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .toList();
+            if (!tokens.isEmpty()) {
+                return tokens;
+            }
+        }
+        return List.of(System.getProperty("token", ""));
+    }
+
+    private static int countReceived(List<EventSubscriber> subscriberList, int events) {
+        int count = 0;
+        for (EventSubscriber subscriber : subscriberList) {
+            if (subscriber.events.get() >= events) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static double percentile(long[] sortedNanos, double percentile) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    /**
+     * 单个订阅连接：按行解析事件流，记录未读数事件的到达时间
+     */
+    private static class EventSubscriber implements Flow.Subscriber<String> {
+
+        private final AtomicInteger events = new AtomicInteger();
+
+        private volatile long firstEventNanos;
+
+        private volatile long lastEventNanos;
+
+        private volatile int markedEvents;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (!EVENT_UNREAD_COUNT.equals(line)) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (events.get() == 0) {
+                firstEventNanos = now;
+            }
+            lastEventNanos = now;
+            events.incrementAndGet();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        void mark() {
+            markedEvents = events.get();
+        }
+
+        boolean receivedSinceMark() {
+            return events.get() > markedEvents;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.spark.adminserver.log;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 异步批量写入器测试
+ */
+class AsyncBatchWriterTest {
+
+    private final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private AsyncBatchWriter<Integer> writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    void flushesFullBatchesBeforeInterval() throws InterruptedException {
+        CountDownLatch flushed = new CountDownLatch(2);
+        writer = new AsyncBatchWriter<>("test", 100, 5, Duration.ofMinutes(1), AsyncBatchWriter.OverflowPolicy.DISCARD,
+                batch -> {
+                    batches.add(new ArrayList<>(batch));
+                    flushed.countDown();
+                }, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            writer.submit(i);
+        }
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(0, 1, 2, 3, 4), batches.get(0));
+        assertEquals(List.of(5, 6, 7, 8, 9), batches.get(1));
+    }
+
+    @Test
+    void flushesPartialBatchAfterInterval() throws InterruptedException {
+        CountDownLatch flushed = new CountDownLatch(1);
+        writer = new AsyncBatchWriter<>("test", 100, 100, Duration.ofMillis(50), AsyncBatchWriter.OverflowPolicy.DISCARD,
+                batch -> {
+                    batches.add(new ArrayList<>(batch));
+                    flushed.countDown();
+                }, new SimpleMeterRegistry());
+
+        writer.submit(1);
+        writer.submit(2);
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(1, 2), batches.get(0));
+    }
+
+    @Test
+    void overflowPolicies() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writer = new AsyncBatchWriter<>("test", 2, 1, Duration.ofMillis(10), AsyncBatchWriter.OverflowPolicy.DISCARD_OLDEST,
+                batch -> {
+                    blocked.countDown();
+                    await(release);
+                    batches.add(new ArrayList<>(batch));
+                }, new SimpleMeterRegistry());
+
+        // 第一条被后台线程取走并阻塞在写入中，队列随后被 2、3 占满
+        writer.submit(1);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        writer.submit(2);
+        writer.submit(3);
+        assertTrue(writer.submit(4));
+        release.countDown();
+        writer.shutdown();
+
+        assertEquals(List.of(List.of(1), List.of(3), List.of(4)), batches);
+        writer = null;
+    }
+
+    @Test
+    void discardRejectsNewRecordsWhenFull() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writer = new AsyncBatchWriter<>("test", 1, 1, Duration.ofMillis(10), AsyncBatchWriter.OverflowPolicy.DISCARD,
+                batch -> {
+                    blocked.countDown();
+                    await(release);
+                }, new SimpleMeterRegistry());
+
+        writer.submit(1);
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        assertTrue(writer.submit(2));
+        assertFalse(writer.submit(3));
+        release.countDown();
+    }
+
+    @Test
+    void shutdownFlushesRemainingRecords() {
+        writer = new AsyncBatchWriter<>("test", 100, 100, Duration.ofMinutes(1), AsyncBatchWriter.OverflowPolicy.DISCARD,
+                batch -> batches.add(new ArrayList<>(batch)), new SimpleMeterRegistry());
+        for (int i = 0; i < 3; i++) {
+            writer.submit(i);
+        }
+
+        writer.shutdown();
+        writer = null;
+
+        assertEquals(3, batches.stream().mapToInt(List::size).sum());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.spark.adminserver.log;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spark.adminserver.common.Result;
+import com.spark.adminserver.model.dto.LoginDTO;
+import com.spark.adminserver.model.entity.OperationLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 操作日志切面与写入测试
+ */
+class OperationLogAspectTest {
+
+    private static final int MAX_PAYLOAD_LENGTH = 100;
+
+    private final List<List<OperationLog>> batches = Collections.synchronizedList(new ArrayList<>());
+
+    private OperationLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new OperationLogWriter(1000, 1000, Duration.ofMinutes(1),
+                batch -> batches.add(new ArrayList<>(batch)), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        writer.shutdown();
+    }
+
+    @Test
+    void recordsRedactedAndTruncatedPayload() {
+        SampleController controller = proxy(new MockEnvironment());
+        LoginDTO loginDTO = new LoginDTO();
+        loginDTO.setPrincipal("admin");
+        loginDTO.setPassword("secret123");
+
+        controller.save(loginDTO, "plain-password", "x".repeat(500));
+        writer.shutdown();
+
+        OperationLog operationLog = single();
+        assertEquals("sample", operationLog.getModule());
+        assertEquals(OperationLogAspect.STATUS_SUCCESS, operationLog.getStatus());
+        assertTrue(operationLog.getDuration() >= 0);
+        String params = operationLog.getRequestParams();
+        assertTrue(params.contains("\"principal\":\"admin\""));
+        assertFalse(params.contains("secret123"));
+        assertFalse(params.contains("plain-password"));
+        assertTrue(params.contains(OperationLogAspect.MASK));
+        assertTrue(params.endsWith("...(truncated)"));
+        assertTrue(params.length() <= MAX_PAYLOAD_LENGTH + "...(truncated)".length());
+        assertTrue(operationLog.getResponseResult().startsWith("{\"code\":200,"));
+        assertTrue(operationLog.getResponseResult().endsWith("\"data\":\"ok\"}"));
+    }
+
+    @Test
+    void unsampledModuleStillRecordsFailures() {
+        SampleController controller = proxy(new MockEnvironment().withProperty("operation-log.sampling.sample", "0"));
+
+        for (int i = 0; i < 10; i++) {
+            controller.save(new LoginDTO(), null, "v");
+        }
+        assertEquals(500, controller.fail().getCode());
+        assertThrows(IllegalStateException.class, controller::error);
+        writer.shutdown();
+
+        List<OperationLog> logs = batches.stream().flatMap(List::stream).toList();
+        assertEquals(2, logs.size());
+        assertEquals(OperationLogAspect.STATUS_FAIL, logs.get(0).getStatus());
+        assertEquals("业务失败", logs.get(0).getErrorMessage());
+        assertEquals("boom", logs.get(1).getErrorMessage());
+    }
+
+    @Test
+    void writerFlushesFullBatchWithoutWaitingForInterval() throws InterruptedException {
+        writer.shutdown();
+        CountDownLatch flushed = new CountDownLatch(2);
+        writer = new OperationLogWriter(100, 5, Duration.ofMinutes(1), batch -> {
+            batches.add(new ArrayList<>(batch));
+            flushed.countDown();
+        }, new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            assertTrue(writer.submit(new OperationLog()));
+        }
+
+        assertTrue(flushed.await(5, TimeUnit.SECONDS));
+        assertEquals(5, batches.get(0).size());
+        assertEquals(5, batches.get(1).size());
+    }
+
+    @Test
+    void writerDropsRecordsWhenFull() throws InterruptedException {
+        writer.shutdown();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        writer = new OperationLogWriter(3, 1, Duration.ofMinutes(1), batch -> {
+            blocked.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            batches.add(new ArrayList<>(batch));
+        }, new SimpleMeterRegistry());
+
+        // 第一条被后台线程取走并阻塞在写入中，队列随后被占满
+        assertTrue(writer.submit(new OperationLog()));
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            assertTrue(writer.submit(new OperationLog()));
+        }
+        assertFalse(writer.submit(new OperationLog()));
+        assertEquals(3, writer.queueSize());
+
+        release.countDown();
+        writer.shutdown();
+        assertEquals(4, batches.stream().mapToInt(List::size).sum());
+    }
+
+    private SampleController proxy(MockEnvironment environment) {
+        OperationLogAspect aspect = new OperationLogAspect(writer, new ObjectMapper(), environment,
+                true, MAX_PAYLOAD_LENGTH, 1.0);
+        AspectJProxyFactory factory = new AspectJProxyFactory(new SampleController());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    private OperationLog single() {
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).size());
+        return batches.get(0).get(0);
+    }
+
+    static class SampleController {
+
+        @Log(module = "sample", type = "新增")
+        public Result<String> save(LoginDTO loginDTO, String newPassword, String remark) {
+            return Result.ok("ok");
+        }
+
+        @Log(module = "sample", type = "修改")
+        public Result<Void> fail() {
+            return Result.fail(500, "业务失败");
+        }
+
+        @Log(module = "sample", type = "删除")
+        public Result<Void> error() {
+            throw new IllegalStateException("boom");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.spark.adminserver.push;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SSE 连接注册表测试
+ */
+class SseEmitterRegistryTest {
+
+    private SseEmitterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SseEmitterRegistry(new SimpleMeterRegistry(), Duration.ofMinutes(30), 2, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        registry.shutdown();
+    }
+
+    @Test
+    void registersTenThousandConcurrentSubscribers() throws Exception {
+        int subscribers = 10_000;
+        List<CountingEmitter> emitters = new ArrayList<>(subscribers);
+        for (int i = 0; i < subscribers; i++) {
+            emitters.add(new CountingEmitter(false));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch latch = new CountDownLatch(subscribers);
+        for (int i = 0; i < subscribers; i++) {
+            long userId = i;
+            CountingEmitter emitter = emitters.get(i);
+            executor.execute(() -> {
+                registry.register(userId, emitter);
+                latch.countDown();
+            });
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(subscribers, registry.connectionCount());
+        assertEquals(subscribers, registry.connectedUserIds().size());
+        for (long userId : registry.connectedUserIds()) {
+            registry.send(userId, UnreadCountPusher.EVENT_UNREAD_COUNT, 1L);
+        }
+        assertTrue(emitters.stream().allMatch(emitter -> emitter.sent.get() == 1));
+    }
+
+    @Test
+    void closesOldestConnectionWhenUserExceedsLimit() {
+        CountingEmitter first = new CountingEmitter(false);
+        CountingEmitter second = new CountingEmitter(false);
+        CountingEmitter third = new CountingEmitter(false);
+        registry.register(1L, first);
+        registry.register(1L, second);
+        registry.register(1L, third);
+
+        assertEquals(2, registry.connectionCount());
+        registry.send(1L, UnreadCountPusher.EVENT_UNREAD_COUNT, 3L);
+        assertEquals(0, first.sent.get());
+        assertEquals(1, second.sent.get());
+        assertEquals(1, third.sent.get());
+    }
+
+    @Test
+    void removesConnectionWhenSendFails() {
+        registry.register(1L, new CountingEmitter(true));
+
+        registry.send(1L, UnreadCountPusher.EVENT_UNREAD_COUNT, 1L);
+
+        assertEquals(0, registry.connectionCount());
+        assertFalse(registry.isConnected(1L));
+    }
+
+    /**
+     * 记录发送次数的连接，可模拟客户端已断开
+     */
+    private static class CountingEmitter extends SseEmitter {
+
+        private final AtomicInteger sent = new AtomicInteger();
+
+        private final boolean disconnected;
+
+        CountingEmitter(boolean disconnected) {
+            this.disconnected = disconnected;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (disconnected) {
+                throw new IOException("Broken pipe");
+            }
+            sent.incrementAndGet();
+        }
+    }
+}
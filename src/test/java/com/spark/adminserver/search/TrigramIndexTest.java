@@ -0,0 +1,117 @@
+package com.spark.adminserver.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Trigram 倒排索引测试
+ */
+class TrigramIndexTest {
+
+    @Test
+    void findsSubstringsIgnoringCase() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "Administrator");
+        index.put(2, "admin");
+        index.put(3, "guest");
+
+        assertArrayEquals(new long[]{1, 2}, index.search("ADMIN", 10));
+        assertArrayEquals(new long[]{1}, index.search("strat", 10));
+        assertArrayEquals(new long[0], index.search("nobody", 10));
+    }
+
+    @Test
+    void updatesAndRemovalsReplaceOldText() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "alice");
+        index.put(1, "bob-renamed");
+        index.put(2, "alice2");
+        index.remove(2);
+
+        assertArrayEquals(new long[0], index.search("alice", 10));
+        assertArrayEquals(new long[]{1}, index.search("renamed", 10));
+        assertEquals(1, index.size());
+
+        index.put(1, null);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void queriesThatDifferFromLikeAreNotHandled() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "a_b_c");
+
+        // 过短、LIKE 通配符、带变音符号的字母交给 SQL
+        assertNull(index.search("ab", 10));
+        assertNull(index.search("a_b", 10));
+        assertNull(index.search("50%", 10));
+        assertNull(index.search("josé", 10));
+        assertFalse(TrigramIndex.isSearchable("a\\b"));
+        assertTrue(TrigramIndex.isSearchable("张三丰"));
+    }
+
+    @Test
+    void textsWithAccentedLettersAreAlwaysCandidates() {
+        TrigramIndex index = new TrigramIndex();
+        index.put(1, "José");
+        index.put(2, "joseph");
+        index.put(3, "mary");
+
+        // utf8mb4_general_ci 下 'é' = 'e'，LIKE '%jose%' 能匹配 José，候选中必须包含
+        assertArrayEquals(new long[]{1, 2}, index.search("jose", 10));
+        assertArrayEquals(new long[]{1}, index.search("zzz", 10));
+
+        index.remove(1);
+        assertArrayEquals(new long[0], index.search("zzz", 10));
+    }
+
+    @Test
+    void returnsNullWhenCandidatesExceedLimit() {
+        TrigramIndex index = new TrigramIndex();
+        for (long i = 0; i < 20; i++) {
+            index.put(i, "user" + i);
+        }
+
+        assertNull(index.search("user", 19));
+        assertEquals(20, index.search("user", 20).length);
+    }
+
+    @Test
+    void matchesBruteForceAcrossCompaction() {
+        TrigramIndex index = new TrigramIndex();
+        Random random = new Random(42);
+        int keys = 3000;
+        String[] texts = new String[keys];
+        // 反复更新触发压缩（删除标记超过一半）
+        for (int round = 0; round < 3; round++) {
+            for (int key = 0; key < keys; key++) {
+                texts[key] = randomText(random);
+                index.put(key, texts[key]);
+            }
+        }
+
+        for (String query : new String[]{"abc", "bca", "aab", "cccc", "abcab"}) {
+            long[] expected = LongStream.range(0, keys)
+                    .filter(key -> texts[(int) key].toLowerCase(Locale.ROOT).contains(query))
+                    .toArray();
+            assertArrayEquals(expected, index.search(query, keys), query);
+        }
+    }
+
+    private static String randomText(Random random) {
+        char[] chars = new char[4 + random.nextInt(8)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ((random.nextBoolean() ? 'a' : 'A') + random.nextInt(3));
+        }
+        return new String(chars);
+    }
+}
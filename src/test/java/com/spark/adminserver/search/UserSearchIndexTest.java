@@ -0,0 +1,134 @@
+package com.spark.adminserver.search;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.mapper.UserMapper;
+import com.spark.adminserver.model.dto.UserPageQueryDTO;
+import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.support.EmbeddedRedis;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.apache.ibatis.session.ResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户搜索索引测试（内嵌真实 Redis）
+ */
+class UserSearchIndexTest {
+
+    private static EmbeddedRedis redis;
+    private static RedisTemplate<String, Object> redisTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private UserMapper userMapper;
+    private UserSearchIndex index;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        // LambdaQueryWrapper 解析列名需要实体元数据
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), User.class);
+        redis = EmbeddedRedis.start();
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(redis.getConnectionFactory());
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(RedisSerializer.string());
+        redisTemplate.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redis != null) {
+            redis.stop();
+        }
+    }
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate.delete(Constants.USER_SEARCH_RECENT_KEY);
+        users.clear();
+        userMapper = mock(UserMapper.class);
+        doAnswer(invocation -> {
+            ResultHandler<User> handler = invocation.getArgument(1);
+            for (User user : List.copyOf(users)) {
+                ResultContext<User> context = mock(ResultContext.class);
+                when(context.getResultObject()).thenReturn(user);
+                handler.handleResult(context);
+            }
+            return null;
+        }).when(userMapper).selectList(any(Wrapper.class), any(ResultHandler.class));
+        when(userMapper.selectList(any(Wrapper.class))).thenAnswer(invocation -> List.copyOf(users));
+        index = new UserSearchIndex(userMapper, redisTemplate, new SimpleMeterRegistry(), true, 5000,
+                Duration.ofMinutes(30), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void syncPicksUpUserWhoseBroadcastWasLost() {
+        users.add(user(1L, "alice"));
+        index.load();
+        assertEquals(List.of(1L), index.resolve(query("alic")).getIds());
+
+        // 另一节点新增用户：近期变化已记录，但广播未送达本节点
+        users.add(user(2L, "alicia"));
+        redisTemplate.opsForZSet().add(Constants.USER_SEARCH_RECENT_KEY, "2", System.currentTimeMillis());
+        assertEquals(List.of(1L), index.resolve(query("alic")).getIds());
+
+        assertEquals(1, index.syncRecent());
+        assertEquals(List.of(1L, 2L), index.resolve(query("alic")).getIds());
+    }
+
+    @Test
+    void staleIndexFallsBackToLike() {
+        users.add(user(1L, "alice"));
+        index.load();
+
+        // 模拟同步连续失败超过 3 个间隔
+        ReflectionTestUtils.setField(index, "syncedAt", System.currentTimeMillis() - Duration.ofSeconds(91).toMillis());
+
+        assertNull(index.resolve(query("alic")));
+    }
+
+    @Test
+    void localChangesAreRecordedForOtherNodes() {
+        index.load();
+
+        index.onUserSaved(3L, "carol", "Carol");
+
+        assertEquals(1L, redisTemplate.opsForZSet().count(Constants.USER_SEARCH_RECENT_KEY, 0, Double.MAX_VALUE));
+    }
+
+    private static User user(Long userId, String username) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setUsername(username);
+        user.setNickname(username);
+        return user;
+    }
+
+    private static UserPageQueryDTO query(String username) {
+        UserPageQueryDTO queryDTO = new UserPageQueryDTO();
+        queryDTO.setUsername(username);
+        return queryDTO;
+    }
+}
@@ -0,0 +1,133 @@
+package com.spark.adminserver.security.cache;
+
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.mapper.UserSocialMapper;
+import com.spark.adminserver.model.entity.UserSocial;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 社交绑定查询缓存测试
+ */
+@ExtendWith(MockitoExtension.class)
+class SocialBindingCacheTest {
+
+    @Mock
+    private UserSocialMapper userSocialMapper;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private SocialBindingCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SocialBindingCache(userSocialMapper, redisTemplate, new SimpleMeterRegistry(),
+                1000, Duration.ofMinutes(30), Duration.ofMinutes(1), 1000, 0.01, Duration.ofHours(6),
+                Duration.ofSeconds(30));
+    }
+
+    @Test
+    void bloomFilterRejectsUnboundOpenIdWithoutQuery() {
+        when(userSocialMapper.selectOpenIdsAfter(anyLong(), anyInt())).thenReturn(List.of(binding(1L, "github", "a")));
+        assertEquals(1, cache.rebuild());
+
+        assertNull(cache.getUserId("github", "unknown"));
+        verify(userSocialMapper, never()).selectUserIdByOpenId(anyString(), anyString());
+
+        when(userSocialMapper.selectUserIdByOpenId("github", "a")).thenReturn(7L);
+        assertEquals(7L, cache.getUserId("github", "a"));
+        assertEquals(7L, cache.getUserId("github", "a"));
+        verify(userSocialMapper, times(1)).selectUserIdByOpenId("github", "a");
+    }
+
+    @Test
+    void bindInvalidatesNegativeEntry() {
+        // 布隆过滤器未构建时未命中都查询数据库，未绑定结果同样缓存
+        when(userSocialMapper.selectUserIdByOpenId("wechat", "b")).thenReturn(null);
+        assertNull(cache.getUserId("wechat", "b"));
+        assertNull(cache.getUserId("wechat", "b"));
+        verify(userSocialMapper, times(1)).selectUserIdByOpenId("wechat", "b");
+
+        cache.markBound("wechat", "b");
+        when(userSocialMapper.selectUserIdByOpenId("wechat", "b")).thenReturn(8L);
+        cache.invalidate("wechat", "b");
+
+        assertEquals(8L, cache.getUserId("wechat", "b"));
+    }
+
+    @Test
+    void bindingOnOtherNodeIsAddedToBloomFilter() {
+        when(userSocialMapper.selectOpenIdsAfter(anyLong(), anyInt())).thenReturn(List.of());
+        cache.rebuild();
+        assertNull(cache.getUserId("github", "c"));
+
+        cache.onMessage(new DefaultMessage(new byte[0], "other-node|github|c".getBytes(StandardCharsets.UTF_8)), null);
+        when(userSocialMapper.selectUserIdByOpenId("github", "c")).thenReturn(9L);
+
+        assertEquals(9L, cache.getUserId("github", "c"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void missedBroadcastIsRecoveredFromRecentBindings() {
+        when(userSocialMapper.selectOpenIdsAfter(anyLong(), anyInt())).thenReturn(List.of());
+        cache.rebuild();
+        assertNull(cache.getUserId("github", "d"));
+
+        // 其他节点绑定后广播丢失，只写入了近期绑定记录
+        ZSetOperations<String, Object> zSetOperations = mock(ZSetOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.rangeByScore(eq(Constants.SOCIAL_BINDING_RECENT_KEY), anyDouble(), anyDouble()))
+                .thenReturn(Set.of("github|d"));
+        assertEquals(1, cache.syncRecent());
+        when(userSocialMapper.selectUserIdByOpenId("github", "d")).thenReturn(10L);
+
+        assertEquals(10L, cache.getUserId("github", "d"));
+    }
+
+    @Test
+    void staleBloomFilterIsNotTrusted() {
+        cache = new SocialBindingCache(userSocialMapper, redisTemplate, new SimpleMeterRegistry(),
+                1000, Duration.ofMinutes(30), Duration.ofMinutes(1), 1000, 0.01, Duration.ofHours(6), Duration.ZERO);
+        when(userSocialMapper.selectOpenIdsAfter(anyLong(), anyInt())).thenReturn(List.of());
+        cache.rebuild();
+        when(userSocialMapper.selectUserIdByOpenId("github", "e")).thenReturn(11L);
+
+        // 同步间隔为 0，构建后立即视为过期，否定结果交给数据库确认
+        assertEquals(11L, cache.getUserId("github", "e"));
+    }
+
+    private static UserSocial binding(Long id, String provider, String openId) {
+        UserSocial userSocial = new UserSocial();
+        userSocial.setId(id);
+        userSocial.setProvider(provider);
+        userSocial.setOpenId(openId);
+        return userSocial;
+    }
+}
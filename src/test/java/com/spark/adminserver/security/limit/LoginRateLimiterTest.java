@@ -0,0 +1,106 @@
+package com.spark.adminserver.security.limit;
+
+import com.spark.adminserver.common.exception.ServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 登录限流与滑动窗口计数测试
+ */
+class LoginRateLimiterTest {
+
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new LoginRateLimiter(null, new SimpleMeterRegistry(), true, false,
+                3, Duration.ofMinutes(1), 2, Duration.ofMinutes(15), 1000, 1000, 4);
+        bindRequest("10.0.0.1");
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void throttlesIpAfterMaxAttempts() {
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("user" + i);
+        }
+        ServiceException e = assertThrows(ServiceException.class, () -> limiter.acquire("another"));
+        assertEquals(429, e.getCode());
+
+        // 其他 IP 不受影响
+        bindRequest("10.0.0.2");
+        limiter.acquire("another");
+    }
+
+    @Test
+    void locksUsernameAfterFailuresAndResetsOnSuccess() {
+        limiter.onFailure("Admin");
+        limiter.onSuccess("admin");
+        limiter.onFailure("admin");
+        limiter.acquire("admin");
+        limiter.onFailure(" ADMIN ");
+
+        ServiceException e = assertThrows(ServiceException.class, () -> limiter.acquire("admin"));
+        assertEquals(429, e.getCode());
+    }
+
+    @Test
+    void slidingWindowWeightsPreviousWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 4, 100);
+        for (int i = 0; i < 10; i++) {
+            counter.increment("k", 1000);
+        }
+        // 下一窗口过去 1/4 时，上一窗口计数按 3/4 计入
+        assertEquals(7.5, counter.get("k", 2250), 1e-9);
+        assertEquals(8.5, counter.increment("k", 2250), 1e-9);
+        // 相隔超过一个窗口后清零
+        assertEquals(0, counter.get("k", 4000), 1e-9);
+    }
+
+    @Test
+    void counterKeysAreBounded() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 4, 100);
+        for (int i = 0; i < 10_000; i++) {
+            counter.increment("ip-" + i, 1000);
+        }
+        assertEquals(100, counter.size());
+    }
+
+    @Test
+    void fullCounterKeepsLiveKeysAndRejectsNewOnes() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(1000, 1, 2);
+        counter.increment("locked-user", 1000);
+        counter.increment("locked-user", 1000);
+        counter.increment("other", 1000);
+
+        // 已满时新 Key 不记录，已有计数不被冲掉
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, counter.increment("spray-" + i, 1500), 1e-9);
+        }
+        assertEquals(2, counter.get("locked-user", 1500), 1e-9);
+        assertEquals(100, counter.rejectedKeys());
+
+        // 两个窗口后旧 Key 过期，腾出空间
+        assertEquals(1, counter.increment("new", 3000), 1e-9);
+    }
+
+    private static void bindRequest(String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(ip);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+}
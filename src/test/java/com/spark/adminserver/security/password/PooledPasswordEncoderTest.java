@@ -0,0 +1,118 @@
+package com.spark.adminserver.security.password;
+
+import com.spark.adminserver.common.exception.ServiceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 线程池密码编码器测试
+ */
+class PooledPasswordEncoderTest {
+
+    private PooledPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void encodeAndMatches() {
+        encoder = new PooledPasswordEncoder(new BCryptPasswordEncoder(4), 2, 10, Duration.ofSeconds(5),
+                new SimpleMeterRegistry());
+
+        String encoded = encoder.encode("123456");
+
+        assertTrue(encoder.matches("123456", encoded));
+        assertFalse(encoder.matches("654321", encoded));
+    }
+
+    @Test
+    void upgradeEncodingWhenStrengthIncreased() {
+        encoder = new PooledPasswordEncoder(new BCryptPasswordEncoder(5), 1, 10, Duration.ofSeconds(5),
+                new SimpleMeterRegistry());
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("123456")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("123456")));
+    }
+
+    @Test
+    void rejectWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        encoder = new PooledPasswordEncoder(blockingEncoder(started, release), 1, 1, Duration.ofSeconds(5), registry);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // 第一个请求占用唯一的线程，第二个请求占满队列
+            callers.submit(() -> encoder.encode("a"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> encoder.encode("b"));
+            waitForQueued(registry, 1);
+
+            ServiceException e = assertThrows(ServiceException.class, () -> encoder.encode("c"));
+            assertEquals(503, e.getCode().intValue());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectWhenTimeout() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        encoder = new PooledPasswordEncoder(blockingEncoder(started, release), 1, 10, Duration.ofMillis(100),
+                new SimpleMeterRegistry());
+        try {
+            ServiceException e = assertThrows(ServiceException.class, () -> encoder.encode("a"));
+            assertEquals(503, e.getCode().intValue());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void waitForQueued(SimpleMeterRegistry registry, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (registry.get("security.password.hash.queue").gauge().value() < expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+    }
+}
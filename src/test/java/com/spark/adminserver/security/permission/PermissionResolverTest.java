@@ -0,0 +1,176 @@
+package com.spark.adminserver.security.permission;
+
+import com.spark.adminserver.mapper.PermissionMapper;
+import com.spark.adminserver.mapper.RoleMapper;
+import com.spark.adminserver.mapper.RolePermissionMapper;
+import com.spark.adminserver.mapper.UserRoleMapper;
+import com.spark.adminserver.model.entity.Permission;
+import com.spark.adminserver.model.entity.Role;
+import com.spark.adminserver.model.entity.RolePermission;
+import com.spark.adminserver.model.entity.UserRole;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * RBAC 权限解析器测试
+ */
+@ExtendWith(MockitoExtension.class)
+class PermissionResolverTest {
+
+    @Mock
+    private RoleMapper roleMapper;
+
+    @Mock
+    private PermissionMapper permissionMapper;
+
+    @Mock
+    private RolePermissionMapper rolePermissionMapper;
+
+    @Mock
+    private UserRoleMapper userRoleMapper;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private PermissionResolver resolver;
+
+    @BeforeEach
+    void setUp() {
+        resolver = new PermissionResolver(roleMapper, permissionMapper, rolePermissionMapper, userRoleMapper,
+                redisTemplate, 100, Duration.ofMinutes(10), Duration.ofMinutes(10));
+        when(permissionMapper.selectList(isNull())).thenReturn(List.of(
+                permission(101L, "system:user:list", 0),
+                permission(102L, "system:user:add", 0),
+                permission(103L, "system:user:edit", 1)));
+        when(roleMapper.selectList(any())).thenReturn(List.of(role(1L, "superadmin"), role(2L, "user"), role(3L, "editor")));
+        when(rolePermissionMapper.selectList(isNull())).thenReturn(List.of(
+                link(2L, 101L), link(3L, 102L), link(3L, 103L)));
+    }
+
+    @Test
+    void userPermissionsAreUnionOfEnabledRolePermissions() {
+        when(userRoleMapper.selectList(any())).thenReturn(List.of(new UserRole(1L, 10L, 2L), new UserRole(2L, 10L, 3L)));
+
+        assertTrue(resolver.hasPermission(10L, "system:user:list"));
+        assertTrue(resolver.hasPermission(10L, "system:user:add"));
+        // 已禁用的权限不生效
+        assertFalse(resolver.hasPermission(10L, "system:user:edit"));
+        assertFalse(resolver.hasPermission(10L, "system:user:remove"));
+        assertEquals(List.of("user", "editor"), resolver.getRoleKeys(10L));
+        assertEquals(List.of("system:user:list", "system:user:add"), resolver.getPermissionKeys(10L));
+        // 角色只加载一次
+        verify(userRoleMapper, times(1)).selectList(any());
+    }
+
+    @Test
+    void superAdminHasEveryPermission() {
+        when(userRoleMapper.selectList(any())).thenReturn(List.of(new UserRole(1L, 1L, 1L)));
+
+        assertTrue(resolver.hasPermission(1L, "system:user:add"));
+        assertTrue(resolver.hasPermission(1L, "system:any:thing"));
+        assertTrue(resolver.hasRole(1L, PermissionResolver.SUPER_ADMIN_ROLE));
+    }
+
+    @Test
+    void onlyRolesWithinOwnPermissionsAreGrantable() {
+        when(userRoleMapper.selectList(any())).thenReturn(List.of(new UserRole(1L, 10L, 2L)));
+
+        // user 角色的权限是自身权限的子集；editor 超出自身权限；超级管理员角色与未知角色不能分配
+        assertEquals(Set.of(), resolver.getUngrantableRoles(10L, List.of(2L)));
+        assertEquals(Set.of(1L, 3L, 99L), resolver.getUngrantableRoles(10L, List.of(1L, 2L, 3L, 99L)));
+    }
+
+    @Test
+    void superAdminCanGrantAnyRole() {
+        when(userRoleMapper.selectList(any())).thenReturn(List.of(new UserRole(1L, 1L, 1L)));
+
+        assertEquals(Set.of(), resolver.getUngrantableRoles(1L, List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void refreshUserReloadsRoleAssignments() {
+        when(userRoleMapper.selectList(any()))
+                .thenReturn(List.of(new UserRole(1L, 10L, 2L)))
+                .thenReturn(List.of(new UserRole(2L, 10L, 3L)));
+
+        assertTrue(resolver.hasPermission(10L, "system:user:list"));
+        resolver.refreshUser(10L);
+
+        assertFalse(resolver.hasPermission(10L, "system:user:list"));
+        assertTrue(resolver.hasPermission(10L, "system:user:add"));
+    }
+
+    @Test
+    void refreshIsBroadcastAndAppliedFromOtherNodes() {
+        when(userRoleMapper.selectList(any()))
+                .thenReturn(List.of(new UserRole(1L, 10L, 2L)))
+                .thenReturn(List.of(new UserRole(2L, 10L, 3L)));
+        assertTrue(resolver.hasPermission(10L, "system:user:list"));
+
+        resolver.refreshUser(11L);
+        verify(redisTemplate).execute(any(RedisCallback.class));
+
+        // 其他节点刷新了用户 10
+        resolver.onMessage(new DefaultMessage(PermissionResolver.REFRESH_CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "other-node|user|10".getBytes(StandardCharsets.UTF_8)), null);
+        assertFalse(resolver.hasPermission(10L, "system:user:list"));
+        assertTrue(resolver.hasPermission(10L, "system:user:add"));
+    }
+
+    @Test
+    void refreshRoleReplacesRolePermissions() {
+        when(userRoleMapper.selectList(any())).thenReturn(List.of(new UserRole(1L, 10L, 2L)));
+        assertFalse(resolver.hasPermission(10L, "system:user:add"));
+
+        when(roleMapper.selectById(2L)).thenReturn(role(2L, "user"));
+        when(rolePermissionMapper.selectList(any())).thenReturn(List.of(link(2L, 101L), link(2L, 102L)));
+        resolver.refreshRole(2L);
+
+        assertTrue(resolver.hasPermission(10L, "system:user:add"));
+        // 用户角色未变更，不重新查询
+        verify(userRoleMapper, times(1)).selectList(any());
+    }
+
+    private static Permission permission(Long id, String key, int status) {
+        Permission permission = new Permission();
+        permission.setId(id);
+        permission.setPermissionKey(key);
+        permission.setStatus(status);
+        return permission;
+    }
+
+    private static Role role(Long id, String key) {
+        Role role = new Role();
+        role.setId(id);
+        role.setRoleKey(key);
+        role.setStatus(0);
+        return role;
+    }
+
+    private static RolePermission link(Long roleId, Long permissionId) {
+        RolePermission link = new RolePermission();
+        link.setRoleId(roleId);
+        link.setPermissionId(permissionId);
+        return link;
+    }
+}
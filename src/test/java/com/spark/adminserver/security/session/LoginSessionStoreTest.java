@@ -0,0 +1,121 @@
+package com.spark.adminserver.security.session;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.security.entity.LoginUser;
+import com.spark.adminserver.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 登录会话存储测试：会话数据的保留时间不能短于访问令牌有效期，写入 Redis 的登录用户不含密码哈希
+ */
+@ExtendWith(MockitoExtension.class)
+class LoginSessionStoreTest {
+
+    private static final long TOKEN_LIFETIME = 7_200_000L;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisOperations<String, Object> operations;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private ZSetOperations<String, Object> zSetOperations;
+
+    private LoginSessionStore store;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        JwtUtil jwtUtil = new JwtUtil("abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789",
+                TOKEN_LIFETIME, 604_800_000L);
+        store = new LoginSessionStore(redisTemplate, new ObjectMapper(), jwtUtil);
+        lenient().when(operations.opsForValue()).thenReturn(valueOperations);
+        lenient().when(operations.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(redisTemplate.executePipelined(any(SessionCallback.class))).thenAnswer(invocation -> {
+            invocation.getArgument(0, SessionCallback.class).execute(operations);
+            return List.of();
+        });
+    }
+
+    @Test
+    void revocationOutlivesEveryTokenIssuedBeforeIt() {
+        store.revoke(1L, 1000L);
+
+        ArgumentCaptor<Long> ttl = ArgumentCaptor.forClass(Long.class);
+        verify(valueOperations).set(eq(Constants.LOGIN_REVOKED_KEY + 1), eq(1000L), ttl.capture(), eq(TimeUnit.MILLISECONDS));
+        assertTrue(ttl.getValue() >= TOKEN_LIFETIME, "吊销记录保留 " + ttl.getValue() + "ms，短于令牌有效期");
+    }
+
+    @Test
+    void sessionIsKeptForTokenLifetime() {
+        User user = new User();
+        user.setUserId(2L);
+        long loginTime = 10_000_000L;
+        store.save(new LoginUser(user, new HashSet<>(), List.of()), loginTime);
+
+        ArgumentCaptor<Long> ttl = ArgumentCaptor.forClass(Long.class);
+        verify(valueOperations).set(eq(Constants.LOGIN_USER_KEY + 2), any(), ttl.capture(), eq(TimeUnit.MILLISECONDS));
+        assertTrue(ttl.getValue() >= TOKEN_LIFETIME);
+        // 只清理登录时间早于一个令牌有效期的会话
+        ArgumentCaptor<Double> cutoff = ArgumentCaptor.forClass(Double.class);
+        verify(zSetOperations).removeRangeByScore(eq(Constants.LOGIN_SESSION_KEY), anyDouble(), cutoff.capture());
+        assertTrue(cutoff.getValue() <= loginTime - TOKEN_LIFETIME);
+    }
+
+    @Test
+    void passwordHashIsNeverWrittenToRedis() {
+        User user = new User();
+        user.setUserId(3L);
+        user.setUsername("alice");
+        user.setPassword("$2a$10$7JB720yubVSZvUI0rEqK/.VqGOZTH.ulu33dHOiBE8ByOhJIrdAu2");
+        LoginUser loginUser = new LoginUser(user, new HashSet<>(), List.of("admin"));
+
+        store.save(loginUser, 10_000_000L);
+        store.refill(loginUser);
+
+        ArgumentCaptor<Object> stored = ArgumentCaptor.forClass(Object.class);
+        verify(valueOperations, times(2)).set(eq(Constants.LOGIN_USER_KEY + 3), stored.capture(), anyLong(),
+                eq(TimeUnit.MILLISECONDS));
+        for (Object value : stored.getAllValues()) {
+            LoginUser storedUser = (LoginUser) value;
+            assertNull(storedUser.getUser().getPassword());
+            assertEquals("alice", storedUser.getUsername());
+            assertEquals(List.of("admin"), storedUser.getRoles());
+        }
+        // 调用方持有的登录用户不受影响
+        assertNotNull(loginUser.getPassword());
+    }
+}
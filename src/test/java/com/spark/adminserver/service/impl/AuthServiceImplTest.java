@@ -0,0 +1,132 @@
+package com.spark.adminserver.service.impl;
+
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.common.exception.CaptchaException;
+import com.spark.adminserver.common.exception.ServiceException;
+import com.spark.adminserver.log.LoginLogWriter;
+import com.spark.adminserver.model.dto.LoginDTO;
+import com.spark.adminserver.security.limit.LoginRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 认证服务验证码校验与登录限流测试
+ */
+@ExtendWith(MockitoExtension.class)
+class AuthServiceImplTest {
+
+    private static final String CAPTCHA_ID = "captcha-id";
+
+    private static final String CAPTCHA_KEY = Constants.CAPTCHA_CODE_KEY + CAPTCHA_ID;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, Object> valueOperations;
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private LoginRateLimiter loginRateLimiter;
+
+    @Mock
+    private LoginLogWriter loginLogWriter;
+
+    @InjectMocks
+    private AuthServiceImpl authService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(authService, "captchaEnabled", true);
+    }
+
+    /**
+     * 以 ConcurrentHashMap.remove 模拟 Redis GETDEL 的原子语义
+     */
+    private Map<String, Object> mockRedis() {
+        Map<String, Object> store = new ConcurrentHashMap<>();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.getAndDelete(anyString())).thenAnswer(invocation -> store.remove(invocation.<String>getArgument(0)));
+        return store;
+    }
+
+    @Test
+    void captchaIsReadAndDeletedInOneCommand() {
+        Map<String, Object> store = mockRedis();
+        store.put(CAPTCHA_KEY, "1234");
+
+        authService.validateCaptcha(CAPTCHA_ID, "1234");
+
+        // 依靠 Redis GETDEL 的原子性保证验证码只能被消费一次，不能拆成 GET 与 DELETE
+        verify(valueOperations).getAndDelete(CAPTCHA_KEY);
+        verify(valueOperations, never()).get(anyString());
+        verify(redisTemplate, never()).delete(anyString());
+
+        // 重放同一验证码被拒绝
+        CaptchaException replayed = assertThrows(CaptchaException.class, () -> authService.validateCaptcha(CAPTCHA_ID, "1234"));
+        assertEquals("验证码已过期", replayed.getMessage());
+    }
+
+    @Test
+    void wrongCodeConsumesCaptcha() {
+        Map<String, Object> store = mockRedis();
+        store.put(CAPTCHA_KEY, "1234");
+
+        CaptchaException wrong = assertThrows(CaptchaException.class, () -> authService.validateCaptcha(CAPTCHA_ID, "0000"));
+        assertEquals("验证码错误", wrong.getMessage());
+
+        // 错误输入后验证码同样失效，不能继续尝试
+        CaptchaException expired = assertThrows(CaptchaException.class, () -> authService.validateCaptcha(CAPTCHA_ID, "1234"));
+        assertEquals("验证码已过期", expired.getMessage());
+    }
+
+    @Test
+    void throttledLoginSkipsCaptchaAndPasswordCheck() {
+        LoginDTO loginDTO = new LoginDTO();
+        loginDTO.setPrincipal("admin");
+        loginDTO.setPassword("wrong");
+        loginDTO.setCaptchaId(CAPTCHA_ID);
+        loginDTO.setCaptchaCode("1234");
+        doThrow(new ServiceException(429, "登录请求过于频繁，请稍后重试")).when(loginRateLimiter).acquire("admin");
+
+        ServiceException e = assertThrows(ServiceException.class, () -> authService.login(loginDTO));
+
+        assertEquals(429, e.getCode());
+        verify(redisTemplate, never()).opsForValue();
+        verify(authenticationManager, never()).authenticate(any());
+        verify(loginLogWriter).record("admin", LoginLogWriter.STATUS_FAIL, "登录请求过于频繁，请稍后重试");
+    }
+
+    @Test
+    void codeComparisonIgnoresCase() {
+        Map<String, Object> store = mockRedis();
+        store.put(CAPTCHA_KEY, "AbCd");
+
+        authService.validateCaptcha(CAPTCHA_ID, "abcd");
+
+        assertTrue(store.isEmpty());
+    }
+}
@@ -0,0 +1,93 @@
+package com.spark.adminserver.service.impl;
+
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.common.exception.CaptchaException;
+import com.spark.adminserver.support.EmbeddedRedis;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 验证码并发消费测试（内嵌真实 Redis）
+ */
+class CaptchaConsumptionRedisTest {
+
+    private static final int THREADS = 32;
+
+    private static EmbeddedRedis redis;
+    private static RedisTemplate<String, Object> redisTemplate;
+    private static AuthServiceImpl authService;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redis = EmbeddedRedis.start();
+        redisTemplate = new RedisTemplate<>();
+        redisTemplate.setConnectionFactory(redis.getConnectionFactory());
+        redisTemplate.setKeySerializer(RedisSerializer.string());
+        redisTemplate.setValueSerializer(RedisSerializer.string());
+        redisTemplate.afterPropertiesSet();
+
+        authService = new AuthServiceImpl(redisTemplate, null, null, null, null, null, null, null, null);
+        ReflectionTestUtils.setField(authService, "captchaEnabled", true);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redis != null) {
+            redis.stop();
+        }
+    }
+
+    @Test
+    void sameCaptchaIsAcceptedExactlyOnceUnderConcurrency() throws Exception {
+        String captchaId = "concurrent-" + System.nanoTime();
+        redisTemplate.opsForValue().set(Constants.CAPTCHA_CODE_KEY + captchaId, "1234", 1, TimeUnit.MINUTES);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    try {
+                        authService.validateCaptcha(captchaId, "1234");
+                        return true;
+                    } catch (CaptchaException e) {
+                        assertEquals("验证码已过期", e.getMessage());
+                        return false;
+                    }
+                }));
+            }
+            ready.await();
+            start.countDown();
+
+            int accepted = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    accepted++;
+                }
+            }
+            assertEquals(1, accepted);
+            assertEquals(Boolean.FALSE, redisTemplate.hasKey(Constants.CAPTCHA_CODE_KEY + captchaId));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.spark.adminserver.service.impl;
+
+import com.spark.adminserver.common.PageResult;
+import com.spark.adminserver.mapper.MessageMapper;
+import com.spark.adminserver.mapper.UserMessageMapper;
+import com.spark.adminserver.model.entity.Message;
+import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.model.entity.UserMessage;
+import com.spark.adminserver.model.vo.MessageVO;
+import com.spark.adminserver.push.SseEmitterRegistry;
+import com.spark.adminserver.push.UnreadCountPusher;
+import com.spark.adminserver.security.entity.LoginUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 消息收件箱合并与未读数调整测试
+ */
+@ExtendWith(MockitoExtension.class)
+class MessageServiceImplTest {
+
+    private static final Long USER_ID = 10L;
+
+    @Mock
+    private MessageMapper messageMapper;
+
+    @Mock
+    private UserMessageMapper userMessageMapper;
+
+    @Mock
+    private MessageUnreadCounter messageUnreadCounter;
+
+    @Mock
+    private SseEmitterRegistry sseEmitterRegistry;
+
+    @Mock
+    private UnreadCountPusher unreadCountPusher;
+
+    @Mock
+    private MessageDispatcher messageDispatcher;
+
+    @InjectMocks
+    private MessageServiceImpl messageService;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setUserId(USER_ID);
+        user.setUsername("tester");
+        LoginUser loginUser = new LoginUser(user);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(loginUser, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void inboxMergesBroadcastAndPrivateByMessageId() {
+        when(messageMapper.selectBroadcastInbox(eq(USER_ID), isNull(), any(), eq(4))).thenReturn(items(9, 6, 2));
+        when(messageMapper.selectPrivateInbox(eq(USER_ID), isNull(), any(), eq(4))).thenReturn(items(8, 7, 1));
+
+        PageResult<MessageVO> page = messageService.getInbox(null, 3);
+
+        assertEquals(List.of(9L, 8L, 7L), page.getList().stream().map(MessageVO::getMessageId).toList());
+        assertTrue(page.getHasMore());
+        assertEquals("7", page.getNextCursor());
+
+        when(messageMapper.selectBroadcastInbox(eq(USER_ID), eq(7L), any(), eq(4))).thenReturn(items(6, 2));
+        when(messageMapper.selectPrivateInbox(eq(USER_ID), eq(7L), any(), eq(4))).thenReturn(items(1));
+
+        PageResult<MessageVO> next = messageService.getInbox(page.getNextCursor(), 3);
+
+        assertEquals(List.of(6L, 2L, 1L), next.getList().stream().map(MessageVO::getMessageId).toList());
+        assertFalse(next.getHasMore());
+    }
+
+    @Test
+    void firstReadOfBroadcastInsertsMarkerAndAdjustsCounterOnce() {
+        Message message = message(5L, MessageServiceImpl.TYPE_ANNOUNCEMENT);
+        when(messageMapper.selectById(5L)).thenReturn(message);
+        when(userMessageMapper.insertReadMarker(eq(USER_ID), eq(5L), any())).thenReturn(1);
+
+        messageService.markRead(5L);
+        verify(messageUnreadCounter).onRead(USER_ID, message);
+        verify(unreadCountPusher).notifyUsers(List.of(USER_ID));
+
+        // 已有已读标记时不再调整未读数
+        UserMessage marker = new UserMessage();
+        marker.setReadStatus(1);
+        marker.setDeletedFlag(0);
+        when(userMessageMapper.selectOne(any())).thenReturn(marker);
+        messageService.markRead(5L);
+        verify(userMessageMapper).insertReadMarker(eq(USER_ID), eq(5L), any());
+        verify(messageUnreadCounter).onRead(USER_ID, message);
+    }
+
+    @Test
+    void privateMessageIsInvisibleToNonReceivers() {
+        when(messageMapper.selectById(6L)).thenReturn(message(6L, MessageServiceImpl.TYPE_PRIVATE));
+
+        assertThrows(IllegalArgumentException.class, () -> messageService.markRead(6L));
+        verify(userMessageMapper, never()).insertReadMarker(any(), any(), any());
+    }
+
+    private static Message message(Long id, String type) {
+        Message message = new Message();
+        message.setId(id);
+        message.setMessageType(type);
+        message.setStatus(MessageServiceImpl.STATUS_SENT);
+        return message;
+    }
+
+    private static List<MessageVO> items(long... ids) {
+        return Arrays.stream(ids).mapToObj(id -> {
+            MessageVO messageVO = new MessageVO();
+            messageVO.setMessageId(id);
+            return messageVO;
+        }).toList();
+    }
+}
@@ -0,0 +1,118 @@
+package com.spark.adminserver.service.impl;
+
+import com.spark.adminserver.common.constant.Constants;
+import com.spark.adminserver.mapper.MessageMapper;
+import com.spark.adminserver.mapper.UserMessageMapper;
+import com.spark.adminserver.model.entity.Message;
+import com.spark.adminserver.support.EmbeddedRedis;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.when;
+
+/**
+ * 消息未读数统计测试（内嵌真实 Redis）
+ */
+class MessageUnreadCounterTest {
+
+    private static final Long USER_ID = 1L;
+
+    private static EmbeddedRedis redis;
+
+    private StringRedisTemplate redisTemplate;
+    private UserMessageMapper userMessageMapper;
+    private MessageMapper messageMapper;
+    private MessageUnreadCounter counter;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        redis = EmbeddedRedis.start();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redis != null) {
+            redis.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = spy(new StringRedisTemplate(redis.getConnectionFactory()));
+        redisTemplate.getRequiredConnectionFactory().getConnection().serverCommands().flushDb();
+        messageMapper = mock(MessageMapper.class);
+        userMessageMapper = mock(UserMessageMapper.class);
+        when(messageMapper.selectLiveBroadcasts(any())).thenReturn(List.of());
+        when(userMessageMapper.selectReadBroadcasts(anyLong(), any())).thenReturn(List.of());
+        when(userMessageMapper.countUnreadPrivate(anyLong(), any())).thenReturn(2L);
+        counter = new MessageUnreadCounter(messageMapper, userMessageMapper, redisTemplate,
+                Duration.ofHours(1), Duration.ofHours(1));
+    }
+
+    @Test
+    void readsDoNotRenewUserKeys() {
+        assertEquals(2L, counter.getUnreadCount(USER_ID));
+        redisTemplate.expire(Constants.MESSAGE_UNREAD_KEY + USER_ID, 5, TimeUnit.SECONDS);
+
+        assertEquals(2L, counter.getUnreadCount(USER_ID));
+        assertTrue(redisTemplate.getExpire(Constants.MESSAGE_UNREAD_KEY + USER_ID) <= 5);
+    }
+
+    @Test
+    void broadcastReadFollowsLoadedUserLifetime() {
+        Message broadcast = broadcast(10L);
+        when(messageMapper.selectLiveBroadcasts(any())).thenReturn(List.of(broadcast));
+
+        // 未加载的用户不创建已读集合，否则集合会脱离未读私信 Key 单独存在
+        counter.onRead(USER_ID, broadcast);
+        assertFalse(redisTemplate.hasKey(Constants.MESSAGE_READ_KEY + USER_ID));
+
+        assertEquals(3L, counter.getUnreadCount(USER_ID));
+        redisTemplate.expire(Constants.MESSAGE_UNREAD_KEY + USER_ID, 5, TimeUnit.SECONDS);
+        counter.onRead(USER_ID, broadcast);
+
+        assertEquals(2L, counter.getUnreadCount(USER_ID));
+        long readTtl = redisTemplate.getExpire(Constants.MESSAGE_READ_KEY + USER_ID);
+        assertTrue(readTtl > 0 && readTtl <= 5);
+    }
+
+    @Test
+    void failedWriteDropsUserKeysSoNextReadRebuilds() {
+        assertEquals(2L, counter.getUnreadCount(USER_ID));
+
+        doThrow(new RedisSystemException("connection reset", null))
+                .when(redisTemplate).executePipelined(any(RedisCallback.class));
+        counter.onPrivateSent(List.of(USER_ID));
+        doCallRealMethod().when(redisTemplate).executePipelined(any(RedisCallback.class));
+
+        assertFalse(redisTemplate.hasKey(Constants.MESSAGE_UNREAD_KEY + USER_ID));
+        when(userMessageMapper.countUnreadPrivate(anyLong(), any())).thenReturn(3L);
+        assertEquals(3L, counter.getUnreadCount(USER_ID));
+    }
+
+    private static Message broadcast(Long id) {
+        Message message = new Message();
+        message.setId(id);
+        message.setMessageType(MessageServiceImpl.TYPE_ANNOUNCEMENT);
+        return message;
+    }
+}
@@ -0,0 +1,116 @@
+package com.spark.adminserver.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.spark.adminserver.converter.UserConverterImpl;
+import com.spark.adminserver.mapper.UserMapper;
+import com.spark.adminserver.model.dto.UserPageQueryDTO;
+import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.search.UserSearchIndex;
+import com.spark.adminserver.service.IUserExportService;
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * 用户流式导出测试
+ */
+@ExtendWith(MockitoExtension.class)
+class UserExportServiceImplTest {
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    private UserExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        exportService = new UserExportServiceImpl(userMapper, new UserConverterImpl(), userSearchIndex, objectMapper);
+    }
+
+    @Test
+    void exportCsvEscapesFields() throws IOException {
+        mockRows(user(1L, "alice", "Alice, \"A\""), user(2L, "bob", null));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exportService.exportUsers(new UserPageQueryDTO(), IUserExportService.FORMAT_CSV, out);
+
+        assertEquals(2, count);
+        List<String> lines = gunzip(out).lines().toList();
+        assertEquals("\uFEFFuserId,username,nickname,email,phone,status,createTime,updateTime", lines.get(0));
+        assertEquals("1,alice,\"Alice, \"\"A\"\"\",,,0,2024-01-01 08:00:00,", lines.get(1));
+        assertEquals("2,bob,,,,0,2024-01-01 08:00:00,", lines.get(2));
+    }
+
+    @Test
+    void exportNdjsonWritesOneObjectPerLine() throws IOException {
+        mockRows(user(1L, "alice", "Alice"), user(2L, "bob", "Bob"));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportUsers(new UserPageQueryDTO(), IUserExportService.FORMAT_NDJSON, out);
+
+        List<String> lines = gunzip(out).lines().toList();
+        assertEquals(2, lines.size());
+        JsonNode second = new ObjectMapper().readTree(lines.get(1));
+        assertEquals(2L, second.get("userId").asLong());
+        assertEquals("Bob", second.get("nickname").asText());
+    }
+
+    @Test
+    void rejectUnknownFormat() {
+        assertThrows(IllegalArgumentException.class,
+                () -> exportService.exportUsers(new UserPageQueryDTO(), "xlsx", new ByteArrayOutputStream()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockRows(User... users) {
+        doAnswer(invocation -> {
+            ResultHandler<User> handler = invocation.getArgument(2);
+            DefaultResultContext<User> context = new DefaultResultContext<>();
+            for (User user : users) {
+                context.nextResultObject(user);
+                handler.handleResult(context);
+            }
+            return null;
+        }).when(userMapper).exportUsers(any(), isNull(), any(ResultHandler.class));
+    }
+
+    private static User user(Long id, String username, String nickname) {
+        User user = new User();
+        user.setUserId(id);
+        user.setUsername(username);
+        user.setNickname(nickname);
+        user.setStatus(0);
+        user.setCreateTime(LocalDateTime.of(2024, 1, 1, 8, 0));
+        return user;
+    }
+
+    private static String gunzip(ByteArrayOutputStream out) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.spark.adminserver.service.impl;
+
+import com.baomidou.mybatisplus.core.MybatisConfiguration;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spark.adminserver.converter.UserConverterImpl;
+import com.spark.adminserver.mapper.RoleMapper;
+import com.spark.adminserver.mapper.UserMapper;
+import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.model.vo.UserImportResultVO;
+import com.spark.adminserver.search.UserSearchIndex;
+import com.spark.adminserver.security.permission.PermissionService;
+import com.spark.adminserver.service.IUserImportService;
+import com.spark.adminserver.service.IUserService;
+import jakarta.validation.Validator;
+import org.apache.ibatis.builder.MapperBuilderAssistant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户批量导入测试
+ */
+class UserImportServiceImplTest {
+
+    private IUserService userService;
+    private UserImportServiceImpl importService;
+
+    @BeforeAll
+    static void initTableInfo() {
+        // LambdaQueryWrapper 解析列名需要实体元数据
+        TableInfoHelper.initTableInfo(new MapperBuilderAssistant(new MybatisConfiguration(), ""), User.class);
+    }
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "deprecation"})
+    void setUp() {
+        userService = mock(IUserService.class);
+        UserMapper userMapper = mock(UserMapper.class);
+        when(userMapper.selectList(any(Wrapper.class))).thenReturn(List.of());
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(mock(TransactionStatus.class));
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        importService = new UserImportServiceImpl(userService, userMapper, mock(RoleMapper.class),
+                NoOpPasswordEncoder.getInstance(), mock(Validator.class), new ObjectMapper(), new UserConverterImpl(),
+                transactionTemplate, mock(UserPageCounter.class), mock(UserSearchIndex.class),
+                mock(PermissionService.class), 1000, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        importService.shutdown();
+    }
+
+    @Test
+    void failedChunkIsRetriedRowByRow() throws Exception {
+        when(userService.saveBatch(anyCollection(), anyInt())).thenAnswer(invocation -> {
+            Collection<User> users = invocation.getArgument(0);
+            if (users.size() > 1) {
+                throw new DuplicateKeyException("Duplicate entry 'bob'");
+            }
+            String username = users.iterator().next().getUsername();
+            if ("bob".equals(username)) {
+                throw new DuplicateKeyException("Duplicate entry 'bob'");
+            }
+            if ("carol".equals(username)) {
+                throw new DataIntegrityViolationException("Data too long");
+            }
+            return true;
+        });
+
+        UserImportResultVO result = importService.importUsers(json("alice", "bob", "carol", "dave"),
+                IUserImportService.FORMAT_JSON);
+
+        assertEquals(4, result.getTotal());
+        assertEquals(2, result.getSuccess());
+        assertEquals(2, result.getFailed());
+        assertEquals(2L, result.getErrors().get(0).getRow());
+        assertEquals("用户名、邮箱或手机号已存在", result.getErrors().get(0).getMessage());
+        assertEquals(3L, result.getErrors().get(1).getRow());
+        assertEquals("写入失败", result.getErrors().get(1).getMessage());
+    }
+
+    private static ByteArrayInputStream json(String... usernames) {
+        StringBuilder json = new StringBuilder();
+        for (String username : usernames) {
+            json.append("{\"username\":\"").append(username).append("\",\"password\":\"123456\"}\n");
+        }
+        return new ByteArrayInputStream(json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,33 @@
+package com.spark.adminserver.service.impl;
+
+import com.spark.adminserver.model.dto.UserPageQueryDTO;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * 用户分页总数统计测试
+ */
+class UserPageCounterTest {
+
+    @Test
+    void filterValuesContainingDelimitersDoNotCollide() {
+        // 旧格式下两者都拼成 "u=a&n=b&n=&p=&s="
+        assertNotEquals(UserPageCounter.normalizedFilterDigest(query("a&n=b", null)),
+                UserPageCounter.normalizedFilterDigest(query("a", "b&n=")));
+    }
+
+    @Test
+    void equivalentFiltersShareDigest() {
+        assertEquals(UserPageCounter.normalizedFilterDigest(query("Admin", " ")),
+                UserPageCounter.normalizedFilterDigest(query("admin", null)));
+    }
+
+    private static UserPageQueryDTO query(String username, String nickname) {
+        UserPageQueryDTO queryDTO = new UserPageQueryDTO();
+        queryDTO.setUsername(username);
+        queryDTO.setNickname(nickname);
+        return queryDTO;
+    }
+}
@@ -0,0 +1,160 @@
+package com.spark.adminserver.service.impl;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.spark.adminserver.common.PageResult;
+import com.spark.adminserver.converter.UserConverterImpl;
+import com.spark.adminserver.mapper.UserMapper;
+import com.spark.adminserver.mapper.UserRoleMapper;
+import com.spark.adminserver.model.dto.UserPageQueryDTO;
+import com.spark.adminserver.model.entity.User;
+import com.spark.adminserver.model.vo.UserRoleVO;
+import com.spark.adminserver.model.vo.UserVO;
+import com.spark.adminserver.model.dto.UserDTO;
+import com.spark.adminserver.search.UserSearchIndex;
+import com.spark.adminserver.security.permission.PermissionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * 用户分页查询角色填充测试
+ */
+@ExtendWith(MockitoExtension.class)
+class UserServiceImplTest {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private UserRoleMapper userRoleMapper;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private PermissionService permissionService;
+
+    @Spy
+    private UserConverterImpl userConverter;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    @Test
+    void offsetPageLoadsRolesWithSingleStatement() {
+        List<User> users = users(PAGE_SIZE);
+        Page<User> page = new Page<>(1, PAGE_SIZE, false);
+        page.setRecords(users);
+        when(userMapper.selectUserPage(any(), any(), any())).thenReturn(page);
+        when(userRoleMapper.selectRolesByUserIds(anyCollection())).thenReturn(roles(users));
+
+        UserPageQueryDTO query = new UserPageQueryDTO();
+        query.setPageSize(PAGE_SIZE);
+        query.setSearchCount(false);
+        PageResult<UserVO> result = userService.getUserPage(query);
+
+        assertRolesFilled(result);
+        // 无论页大小多少：一条分页查询 + 一条角色查询
+        verify(userMapper, times(1)).selectUserPage(any(), any(), any());
+        verify(userRoleMapper, times(1)).selectRolesByUserIds(anyCollection());
+        verifyNoMoreInteractions(userMapper, userRoleMapper);
+    }
+
+    @Test
+    void cursorPageLoadsRolesWithSingleStatement() {
+        List<User> users = users(PAGE_SIZE + 1);
+        when(userMapper.selectUserPageAfter(any(), any(), any(), any(), eq(PAGE_SIZE + 1))).thenReturn(users);
+        when(userRoleMapper.selectRolesByUserIds(anyCollection())).thenReturn(roles(users));
+
+        UserPageQueryDTO query = new UserPageQueryDTO();
+        query.setPageSize(PAGE_SIZE);
+        query.setPageMode("cursor");
+        PageResult<UserVO> result = userService.getUserPage(query);
+
+        assertRolesFilled(result);
+        assertEquals(Boolean.TRUE, result.getHasMore());
+        verify(userMapper, times(1)).selectUserPageAfter(any(), any(), any(), any(), anyInt());
+        verify(userRoleMapper, times(1)).selectRolesByUserIds(anyCollection());
+        verifyNoMoreInteractions(userMapper, userRoleMapper);
+    }
+
+    @Test
+    void editOnlyCallerCannotChangeRolesThroughUpdate() {
+        when(permissionService.hasPermission(PermissionService.ROLE_ASSIGN_PERMISSION)).thenReturn(false);
+        UserDTO userDTO = new UserDTO();
+        userDTO.setNickname("renamed");
+        userDTO.setRoleIds(List.of(1L));
+
+        assertThrows(AccessDeniedException.class, () -> userService.updateUser(2L, userDTO));
+        assertThrows(AccessDeniedException.class, () -> userService.createUser(userDTO));
+        // 在任何读写之前拒绝
+        verifyNoInteractions(userMapper, userRoleMapper);
+    }
+
+    private static void assertRolesFilled(PageResult<UserVO> result) {
+        assertEquals(PAGE_SIZE, result.getList().size());
+        for (UserVO userVO : result.getList()) {
+            // 偶数ID用户有两个角色，奇数ID用户没有角色
+            if (userVO.getUserId() % 2 == 0) {
+                assertEquals(List.of(1L, 2L), userVO.getRoleIds());
+                assertEquals(List.of("管理员", "普通用户"), userVO.getRoleNames());
+            } else {
+                assertEquals(List.of(), userVO.getRoleIds());
+            }
+        }
+    }
+
+    private static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = count; id >= 1; id--) {
+            User user = new User();
+            user.setUserId(id);
+            user.setUsername("user" + id);
+            user.setCreateTime(now.minusSeconds(count - id));
+            users.add(user);
+        }
+        return users;
+    }
+
+    private static List<UserRoleVO> roles(List<User> users) {
+        List<UserRoleVO> roles = new ArrayList<>();
+        for (User user : users) {
+            if (user.getUserId() % 2 == 0) {
+                roles.add(role(user.getUserId(), 1L, "管理员"));
+                roles.add(role(user.getUserId(), 2L, "普通用户"));
+            }
+        }
+        return roles;
+    }
+
+    private static UserRoleVO role(Long userId, Long roleId, String roleName) {
+        UserRoleVO role = new UserRoleVO();
+        role.setUserId(userId);
+        role.setRoleId(roleId);
+        role.setRoleName(roleName);
+        return role;
+    }
+}
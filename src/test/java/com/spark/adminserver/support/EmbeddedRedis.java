@@ -0,0 +1,55 @@
+package com.spark.adminserver.support;
+
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+/**
+ * 测试用内嵌 Redis（随机端口，无需 Docker）
+ */
+public final class EmbeddedRedis {
+
+    private final RedisServer server;
+    private final LettuceConnectionFactory connectionFactory;
+
+    private EmbeddedRedis(RedisServer server, LettuceConnectionFactory connectionFactory) {
+        this.server = server;
+        this.connectionFactory = connectionFactory;
+    }
+
+    /**
+     * 启动 Redis 并建立连接
+     *
+     * @return 内嵌 Redis
+     * @throws IOException 启动失败
+     */
+    public static EmbeddedRedis start() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        RedisServer server = new RedisServer(port);
+        server.start();
+        LettuceConnectionFactory connectionFactory =
+                new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        return new EmbeddedRedis(server, connectionFactory);
+    }
+
+    public LettuceConnectionFactory getConnectionFactory() {
+        return connectionFactory;
+    }
+
+    /**
+     * 关闭连接并停止 Redis
+     *
+     * @throws IOException 停止失败
+     */
+    public void stop() throws IOException {
+        connectionFactory.destroy();
+        server.stop();
+    }
+}
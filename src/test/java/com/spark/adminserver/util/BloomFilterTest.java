@@ -0,0 +1,31 @@
+package com.spark.adminserver.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 布隆过滤器测试
+ */
+class BloomFilterTest {
+
+    @Test
+    void hasNoFalseNegativesAndStaysNearExpectedFalsePositiveRate() {
+        int insertions = 100_000;
+        BloomFilter filter = new BloomFilter(insertions, 0.01);
+        for (int i = 0; i < insertions; i++) {
+            filter.put("github|" + i);
+        }
+        for (int i = 0; i < insertions; i++) {
+            assertTrue(filter.mightContain("github|" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < insertions; i++) {
+            if (filter.mightContain("wechat|" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < insertions * 0.015, "误判数 " + falsePositives);
+    }
+}
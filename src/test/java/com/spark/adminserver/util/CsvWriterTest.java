@@ -0,0 +1,37 @@
+package com.spark.adminserver.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * CSV 写入器测试
+ */
+class CsvWriterTest {
+
+    @Test
+    void quotesFieldsWithSeparators() throws IOException {
+        assertEquals("a,\"b,c\",\"say \"\"hi\"\"\",\r\n", write("a", "b,c", "say \"hi\"", null));
+    }
+
+    @Test
+    void prefixesFormulaLikeTextWithQuote() throws IOException {
+        assertEquals("'=1+1,'+86 138,'-x,'@SUM(A1),\"'\r\n\",plain\r\n",
+                write("=1+1", "+86 138", "-x", "@SUM(A1)", "\r\n", "plain"));
+        assertEquals("'\tx\r\n", write("\tx"));
+    }
+
+    @Test
+    void writesNumbersUnchanged() throws IOException {
+        assertEquals("-5,0\r\n", write(-5L, 0));
+    }
+
+    private static String write(Object... fields) throws IOException {
+        StringWriter out = new StringWriter();
+        new CsvWriter(out).writeRecord(fields);
+        return out.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package com.spark.adminserver.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 分层时间轮测试
+ */
+class TimingWheelTest {
+
+    @Test
+    void expiresTasksWithinOneTickOfDeadlineAcrossLevels() {
+        long start = 1_000_000L;
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 8, start);
+        Random random = new Random(42);
+        List<Long> deadlines = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // 覆盖第一层（80ms）到第四层（40960ms）
+            long deadline = start + 10 + random.nextInt(40_000);
+            deadlines.add(deadline);
+            assertTrue(wheel.add(deadline, deadline));
+        }
+        assertEquals(2000, wheel.size());
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = start; now <= start + 41_000; now += 7) {
+            long current = now;
+            wheel.advance(now, deadline -> {
+                assertTrue(deadline <= current, "不能提前到期");
+                assertTrue(current - deadline < 10 + 7, "到期延迟不能超过一格加推进步长");
+                fired.add(deadline);
+            });
+        }
+
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(0, wheel.size());
+        assertEquals(deadlines.stream().sorted().toList(), fired.stream().sorted().toList());
+    }
+
+    @Test
+    void rejectsDeadlineNotAfterCurrentTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 10, 1000);
+
+        assertFalse(wheel.add("past", 900));
+        assertFalse(wheel.add("current", 1000));
+        assertTrue(wheel.add("next", 1001));
+    }
+
+    @Test
+    void catchesUpAfterLongPause() {
+        TimingWheel<String> wheel = new TimingWheel<>(100, 10, 0);
+        wheel.add("a", 250);
+        wheel.add("b", 5_000);
+        wheel.add("c", 120_000);
+
+        List<String> fired = new ArrayList<>();
+        wheel.advance(10_000, fired::add);
+        assertEquals(List.of("a", "b"), fired);
+
+        wheel.advance(200_000, fired::add);
+        assertEquals(List.of("a", "b", "c"), fired);
+    }
+}